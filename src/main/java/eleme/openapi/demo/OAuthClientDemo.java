@@ -7,11 +7,11 @@ import eleme.openapi.sdk.api.service.UserService;
 import eleme.openapi.sdk.config.Config;
 import eleme.openapi.sdk.oauth.OAuthClient;
 import eleme.openapi.sdk.oauth.response.Token;
-import eleme.openapi.sdk.utils.PropertiesUtils;
+import eleme.openapi.sdk.oauth.token.FileTokenStore;
+import eleme.openapi.sdk.oauth.token.TokenStore;
 
-import java.util.HashMap;
+import java.io.IOException;
 import java.util.List;
-import java.util.Map;
 
 public class OAuthClientDemo {
 
@@ -23,13 +23,20 @@ public class OAuthClientDemo {
     private static final String secret = "app secret";
     // 初始化OAuthClient
     private static OAuthClient client = null;
-    private static Map<String, String> tokenMap = new HashMap<String, String>();
+    // Token保存在本地文件中, 单个商户时租户id可以任取
+    private static final String tenantId = "default";
+    private static TokenStore tokenStore = null;
     private static Config config = null;
 
     static {
         // 初始化全局配置工具
         config = new Config(isSandbox, key, secret);
         client = new OAuthClient(config);
+        try {
+            tokenStore = new FileTokenStore("token.log");
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
     public static void main(String[] args) throws ServiceException {
@@ -115,29 +122,16 @@ public class OAuthClientDemo {
      * @return
      */
     private static Token getToken() {
-        String access_token = PropertiesUtils.getPropValueByKey("access_token");
-        String token_type = PropertiesUtils.getPropValueByKey("token_type");
-        String expires_in = PropertiesUtils.getPropValueByKey("expires_in");
-        String refresh_token = PropertiesUtils.getPropValueByKey("refresh_token");
-        if (access_token.isEmpty()) {
+        Token token = tokenStore.get(tenantId);
+        if (token == null) {
             System.out.println("access_token is null");
-            return null;
         }
-        Token token = new Token();
-        token.setAccessToken(access_token);
-        token.setTokenType(token_type);
-        token.setExpires(Long.valueOf(expires_in));
-        token.setRefreshToken(refresh_token);
         return token;
     }
 
     private static void setTokenInfo(Token token) {
         if (null != token && token.isSuccess()) {
-            tokenMap.put("access_token", token.getAccessToken());
-            tokenMap.put("token_type", token.getTokenType());
-            tokenMap.put("expires_in", String.valueOf(token.getExpires()));
-            tokenMap.put("refresh_token", token.getRefreshToken());
-            PropertiesUtils.setProps(tokenMap);
+            tokenStore.put(tenantId, token);
         }
     }
 }
@@ -0,0 +1,285 @@
+package eleme.openapi.sdk.api.async;
+
+import eleme.openapi.sdk.api.base.BaseAsyncService;
+import eleme.openapi.sdk.api.exception.ServiceException;
+import eleme.openapi.sdk.api.service.ActivityService;
+import eleme.openapi.sdk.oauth.response.Token;
+import eleme.openapi.sdk.config.Config;
+import eleme.openapi.sdk.api.entity.activity.*;
+import eleme.openapi.sdk.api.enumeration.activity.*;
+import java.util.List;
+import java.util.Map;
+import java.util.*;
+import java.util.concurrent.Callable;
+
+/**
+ * 活动服务(异步)
+ */
+public class ActivityServiceAsync extends BaseAsyncService {
+    private final ActivityService service;
+
+    public ActivityServiceAsync(Config config, Token token) {
+        this(config, new ActivityService(config, token));
+    }
+
+    public ActivityServiceAsync(Config config, ActivityService service) {
+        super(config);
+        this.service = service;
+    }
+
+    /**
+     * 创建代金券活动
+     *
+     * @param createInfo 创建代金券活动的结构体
+     * @return 创建好的代金券活动Id
+     */
+    public ServiceFuture<Long> createCouponActivity(final CreateInfo createInfo) {
+        return invoke(new Callable<Long>() {
+            public Long call() throws ServiceException {
+                return service.createCouponActivity(createInfo);
+            }
+        });
+    }
+
+    /**
+     * 向指定用户发放代金券
+     *
+     * @param shopId 店铺Id
+     * @param couponActivityId 代金券活动Id
+     * @param mobiles 需要发放代金券的用户手机号列表
+     * @return 代金券发放结果：key(手机号)，value(成功或失败信息)
+     */
+    public ServiceFuture<Map<String,String>> giveOutCoupons(final Long shopId, final Long couponActivityId, final List<String> mobiles) {
+        return invoke(new Callable<Map<String,String>>() {
+            public Map<String,String> call() throws ServiceException {
+                return service.giveOutCoupons(shopId, couponActivityId, mobiles);
+            }
+        });
+    }
+
+    /**
+     * 分页查询店铺代金券活动信息
+     *
+     * @param shopId 店铺Id
+     * @param couponActivityType 代金券活动类型
+     * @param activityStatus 活动状态
+     * @param pageNo 页码（第几页）
+     * @param pageSize 每页数量
+     * @return 代金券活动信息列表
+     */
+    public ServiceFuture<List<OCouponActivity>> queryCouponActivities(final Long shopId, final CouponActivityType couponActivityType, final OActivityStatus activityStatus, final Integer pageNo, final Integer pageSize) {
+        return invoke(new Callable<List<OCouponActivity>>() {
+            public List<OCouponActivity> call() throws ServiceException {
+                return service.queryCouponActivities(shopId, couponActivityType, activityStatus, pageNo, pageSize);
+            }
+        });
+    }
+
+    /**
+     * 分页查询店铺代金券领取详情
+     *
+     * @param shopId 店铺Id
+     * @param couponActivityId 代金券活动Id
+     * @param couponStatus 代金券状态
+     * @param pageNo 页码（第几页）
+     * @param pageSize 每页数量
+     * @return 代金券领取详情
+     */
+    public ServiceFuture<ReceivedCouponDetail> queryReceivedCouponDetails(final Long shopId, final Long couponActivityId, final CouponStatus couponStatus, final Integer pageNo, final Integer pageSize) {
+        return invoke(new Callable<ReceivedCouponDetail>() {
+            public ReceivedCouponDetail call() throws ServiceException {
+                return service.queryReceivedCouponDetails(shopId, couponActivityId, couponStatus, pageNo, pageSize);
+            }
+        });
+    }
+
+    /**
+     * 通过店铺Id查询该店铺被邀约的美食活动
+     *
+     * @param shopId 店铺Id
+     * @return 店铺的邀约活动信息列表
+     */
+    public ServiceFuture<List<OActivityDetail>> queryInvitedFoodActivities(final Long shopId) {
+        return invoke(new Callable<List<OActivityDetail>>() {
+            public List<OActivityDetail> call() throws ServiceException {
+                return service.queryInvitedFoodActivities(shopId);
+            }
+        });
+    }
+
+    /**
+     * 报名美食活动
+     *
+     * @param activityId 活动Id
+     * @param activityApplyInfo 活动报名信息
+     * @return 报名结果（true表示操作成功）
+     */
+    public ServiceFuture<Boolean> applyFoodActivity(final Long activityId, final ActivityApplyInfo activityApplyInfo) {
+        return invoke(new Callable<Boolean>() {
+            public Boolean call() throws ServiceException {
+                return service.applyFoodActivity(activityId, activityApplyInfo);
+            }
+        });
+    }
+
+    /**
+     * 通过店铺Id和活动Id分页查询店铺已报名的美食活动
+     *
+     * @param activityId 活动Id
+     * @param shopId 店铺Id
+     * @param pageNo 页码
+     * @param pageSize 每页数量
+     * @return 该活动中所报名菜品的信息
+     */
+    public ServiceFuture<List<OActivityFoodApplyResult>> queryFoodActivities(final Long activityId, final Long shopId, final Long pageNo, final Long pageSize) {
+        return invoke(new Callable<List<OActivityFoodApplyResult>>() {
+            public List<OActivityFoodApplyResult> call() throws ServiceException {
+                return service.queryFoodActivities(activityId, shopId, pageNo, pageSize);
+            }
+        });
+    }
+
+    /**
+     * 修改美食活动的菜品库存
+     *
+     * @param activityId 活动Id
+     * @param shopId 店铺Id
+     * @param itemId 菜品Id
+     * @param stock 库存
+     * @return 报名结果（true表示操作成功）
+     */
+    public ServiceFuture<Boolean> updateFoodActivityItemStock(final Long activityId, final Long shopId, final Long itemId, final Long stock) {
+        return invoke(new Callable<Boolean>() {
+            public Boolean call() throws ServiceException {
+                return service.updateFoodActivityItemStock(activityId, shopId, itemId, stock);
+            }
+        });
+    }
+
+    /**
+     * 取消参与了美食活动的菜品
+     *
+     * @param activityId 活动Id
+     * @param shopId 店铺Id
+     * @param itemId 菜品Id
+     * @return 报名结果（true表示操作成功）
+ 该接口目前只支持限量抢购活动
+     */
+    public ServiceFuture<Boolean> offlineFoodActivityItem(final Long activityId, final Long shopId, final Long itemId) {
+        return invoke(new Callable<Boolean>() {
+            public Boolean call() throws ServiceException {
+                return service.offlineFoodActivityItem(activityId, shopId, itemId);
+            }
+        });
+    }
+
+    /**
+     * 作废店铺与美食活动的关联关系
+     *
+     * @param activityId 活动Id
+     * @param shopId 店铺Id
+     * @return 报名结果（true表示操作成功）
+ 该接口目前只支持限量抢购活动
+     */
+    public ServiceFuture<Boolean> unbindFoodActivity(final Long activityId, final Long shopId) {
+        return invoke(new Callable<Boolean>() {
+            public Boolean call() throws ServiceException {
+                return service.unbindFoodActivity(activityId, shopId);
+            }
+        });
+    }
+
+    /**
+     * 查询店铺邀约活动信息
+     *
+     * @param shopId 店铺Id
+     * @return 店铺的邀约活动信息列表
+     */
+    public ServiceFuture<List<OActivityDetail>> getInvitedActivityInfos(final Long shopId) {
+        return invoke(new Callable<List<OActivityDetail>>() {
+            public List<OActivityDetail> call() throws ServiceException {
+                return service.getInvitedActivityInfos(shopId);
+            }
+        });
+    }
+
+    /**
+     * 报名限量抢购活动
+     *
+     * @param activityId 活动Id
+     * @param activityApplyInfo 活动报名信息
+     * @return 报名结果（true表示操作成功）
+     */
+    public ServiceFuture<Boolean> applyFlashActivity(final Long activityId, final ActivityApplyInfo activityApplyInfo) {
+        return invoke(new Callable<Boolean>() {
+            public Boolean call() throws ServiceException {
+                return service.applyFlashActivity(activityId, activityApplyInfo);
+            }
+        });
+    }
+
+    /**
+     * 通过店铺Id和活动Id分页查询报名详情
+     *
+     * @param activityId 活动Id
+     * @param shopId 店铺Id
+     * @param pageNo 页码
+     * @param pageSize 每页数量
+     * @return 该活动中所报名菜品的信息
+     */
+    public ServiceFuture<List<OActivityFoodApplyResult>> getActivityApplyInfos(final Long activityId, final Long shopId, final Long pageNo, final Long pageSize) {
+        return invoke(new Callable<List<OActivityFoodApplyResult>>() {
+            public List<OActivityFoodApplyResult> call() throws ServiceException {
+                return service.getActivityApplyInfos(activityId, shopId, pageNo, pageSize);
+            }
+        });
+    }
+
+    /**
+     * 修改活动菜品库存
+     *
+     * @param activityId 活动Id
+     * @param shopId 店铺Id
+     * @param itemId 菜品Id
+     * @param stock 库存
+     * @return 报名结果（true表示操作成功）
+     */
+    public ServiceFuture<Boolean> updateActivityItemStock(final Long activityId, final Long shopId, final Long itemId, final Long stock) {
+        return invoke(new Callable<Boolean>() {
+            public Boolean call() throws ServiceException {
+                return service.updateActivityItemStock(activityId, shopId, itemId, stock);
+            }
+        });
+    }
+
+    /**
+     * 取消活动菜品
+     *
+     * @param activityId 活动Id
+     * @param shopId 店铺Id
+     * @param itemId 菜品Id
+     * @return 报名结果（true表示操作成功）
+     */
+    public ServiceFuture<Boolean> offlineFlashActivityItem(final Long activityId, final Long shopId, final Long itemId) {
+        return invoke(new Callable<Boolean>() {
+            public Boolean call() throws ServiceException {
+                return service.offlineFlashActivityItem(activityId, shopId, itemId);
+            }
+        });
+    }
+
+    /**
+     * 作废店铺与活动的关联关系
+     *
+     * @param activityId 活动Id
+     * @param shopId 店铺Id
+     * @return 报名结果（true表示操作成功）
+     */
+    public ServiceFuture<Boolean> invalidShopActivity(final Long activityId, final Long shopId) {
+        return invoke(new Callable<Boolean>() {
+            public Boolean call() throws ServiceException {
+                return service.invalidShopActivity(activityId, shopId);
+            }
+        });
+    }
+}
@@ -0,0 +1,132 @@
+package eleme.openapi.sdk.api.async;
+
+import eleme.openapi.sdk.api.base.BaseAsyncService;
+import eleme.openapi.sdk.api.exception.ServiceException;
+import eleme.openapi.sdk.api.service.FinanceService;
+import eleme.openapi.sdk.oauth.response.Token;
+import eleme.openapi.sdk.config.Config;
+import eleme.openapi.sdk.api.entity.finance.*;
+import eleme.openapi.sdk.api.enumeration.finance.*;
+import java.util.List;
+import java.util.Map;
+import java.util.*;
+import java.util.concurrent.Callable;
+
+/**
+ * 金融服务(异步)
+ */
+public class FinanceServiceAsync extends BaseAsyncService {
+    private final FinanceService service;
+
+    public FinanceServiceAsync(Config config, Token token) {
+        this(config, new FinanceService(config, token));
+    }
+
+    public FinanceServiceAsync(Config config, FinanceService service) {
+        super(config);
+        this.service = service;
+    }
+
+    /**
+     * 查询商户余额,返回可用余额和总余额
+     *
+     * @param shopId 饿了么店铺id
+     * @return 商户余额
+     */
+    public ServiceFuture<OQueryBalanceResponse> queryBalance(final int shopId) {
+        return invoke(new Callable<OQueryBalanceResponse>() {
+            public OQueryBalanceResponse call() throws ServiceException {
+                return service.queryBalance(shopId);
+            }
+        });
+    }
+
+    /**
+     * 查询余额流水,有流水改动的交易
+     *
+     * @param request 查询条件
+     * @return 余额流水
+     */
+    public ServiceFuture<OBalanceLogResponse> queryBalanceLog(final OQueryBalanceLogRequest request) {
+        return invoke(new Callable<OBalanceLogResponse>() {
+            public OBalanceLogResponse call() throws ServiceException {
+                return service.queryBalanceLog(request);
+            }
+        });
+    }
+
+    /**
+     * 查询总店账单
+     *
+     * @param shopId 饿了么总店店铺id
+     * @param query 查询条件
+     * @return 总店账单
+     */
+    public ServiceFuture<Bills> queryHeadBills(final Long shopId, final HeadQuery query) {
+        return invoke(new Callable<Bills>() {
+            public Bills call() throws ServiceException {
+                return service.queryHeadBills(shopId, query);
+            }
+        });
+    }
+
+    /**
+     * 查询总店订单
+     *
+     * @param shopId 饿了么总店店铺id
+     * @param query 查询条件
+     * @return 总店金融订单
+     */
+    public ServiceFuture<FinanceOrders> queryHeadOrders(final Long shopId, final HeadQuery query) {
+        return invoke(new Callable<FinanceOrders>() {
+            public FinanceOrders call() throws ServiceException {
+                return service.queryHeadOrders(shopId, query);
+            }
+        });
+    }
+
+    /**
+     * 查询分店账单
+     *
+     * @param shopId 饿了么分店店铺id
+     * @param query 查询条件
+     * @return 分店账单
+     */
+    public ServiceFuture<Bills> queryBranchBills(final Long shopId, final BranchQuery query) {
+        return invoke(new Callable<Bills>() {
+            public Bills call() throws ServiceException {
+                return service.queryBranchBills(shopId, query);
+            }
+        });
+    }
+
+    /**
+     * 查询分店订单
+     *
+     * @param shopId 饿了么分店店铺id
+     * @param query 查询条件
+     * @return 分店金融订单
+     */
+    public ServiceFuture<FinanceOrders> queryBranchOrders(final Long shopId, final BranchQuery query) {
+        return invoke(new Callable<FinanceOrders>() {
+            public FinanceOrders call() throws ServiceException {
+                return service.queryBranchOrders(shopId, query);
+            }
+        });
+    }
+
+    /**
+     * 查询订单
+     *
+     * @param shopId 饿了么店铺id
+     * @param orderId 订单id
+     * @return 金融订单
+     */
+    public ServiceFuture<FinanceOrders> getOrder(final Long shopId, final String orderId) {
+        return invoke(new Callable<FinanceOrders>() {
+            public FinanceOrders call() throws ServiceException {
+                return service.getOrder(shopId, orderId);
+            }
+        });
+    }
+}
@@ -0,0 +1,57 @@
+package eleme.openapi.sdk.api.async;
+
+import eleme.openapi.sdk.api.base.BaseAsyncService;
+import eleme.openapi.sdk.api.exception.ServiceException;
+import eleme.openapi.sdk.api.service.MessageService;
+import eleme.openapi.sdk.oauth.response.Token;
+import eleme.openapi.sdk.config.Config;
+import eleme.openapi.sdk.api.entity.message.*;
+import eleme.openapi.sdk.api.enumeration.message.*;
+import java.util.List;
+import java.util.Map;
+import java.util.*;
+import java.util.concurrent.Callable;
+
+/**
+ * 消息服务(异步)
+ */
+public class MessageServiceAsync extends BaseAsyncService {
+    private final MessageService service;
+
+    public MessageServiceAsync(Config config, Token token) {
+        this(config, new MessageService(config, token));
+    }
+
+    public MessageServiceAsync(Config config, MessageService service) {
+        super(config);
+        this.service = service;
+    }
+
+    /**
+     * 获取未到达的推送消息
+     *
+     * @param appId 应用ID
+     * @return 消息列表
+     */
+    public ServiceFuture<List<String>> getNonReachedMessages(final int appId) {
+        return invoke(new Callable<List<String>>() {
+            public List<String> call() throws ServiceException {
+                return service.getNonReachedMessages(appId);
+            }
+        });
+    }
+
+    /**
+     * 获取未到达的推送消息实体
+     *
+     * @param appId 应用ID
+     * @return 消息列表
+     */
+    public ServiceFuture<List<OMessage>> getNonReachedOMessages(final int appId) {
+        return invoke(new Callable<List<OMessage>>() {
+            public List<OMessage> call() throws ServiceException {
+                return service.getNonReachedOMessages(appId);
+            }
+        });
+    }
+}
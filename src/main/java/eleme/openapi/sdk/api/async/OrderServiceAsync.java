@@ -0,0 +1,519 @@
+package eleme.openapi.sdk.api.async;
+
+import eleme.openapi.sdk.api.base.BaseAsyncService;
+import eleme.openapi.sdk.api.exception.ServiceException;
+import eleme.openapi.sdk.api.service.OrderService;
+import eleme.openapi.sdk.oauth.response.Token;
+import eleme.openapi.sdk.config.Config;
+import eleme.openapi.sdk.api.entity.order.*;
+import eleme.openapi.sdk.api.enumeration.order.*;
+import java.util.List;
+import java.util.Map;
+import java.util.*;
+import java.util.concurrent.Callable;
+
+/**
+ * 订单服务(异步)
+ */
+public class OrderServiceAsync extends BaseAsyncService {
+    private final OrderService service;
+
+    public OrderServiceAsync(Config config, Token token) {
+        this(config, new OrderService(config, token));
+    }
+
+    public OrderServiceAsync(Config config, OrderService service) {
+        super(config);
+        this.service = service;
+    }
+
+    /**
+     * 获取订单
+     *
+     * @param orderId 订单Id
+     * @return 订单
+     */
+    public ServiceFuture<OOrder> getOrder(final String orderId) {
+        return invoke(new Callable<OOrder>() {
+            public OOrder call() throws ServiceException {
+                return service.getOrder(orderId);
+            }
+        });
+    }
+
+    /**
+     * 批量获取订单
+     *
+     * @param orderIds 订单Id的列表
+     * @return 订单列表
+     */
+    public ServiceFuture<Map<String,OOrder>> mgetOrders(final List<String> orderIds) {
+        return invoke(new Callable<Map<String,OOrder>>() {
+            public Map<String,OOrder> call() throws ServiceException {
+                return service.mgetOrders(orderIds);
+            }
+        });
+    }
+
+    /**
+     * 确认订单(推荐)
+     *
+     * @param orderId 订单Id
+     */
+    public ServiceFuture<Void> confirmOrderLite(final String orderId) {
+        return invoke(new Callable<Void>() {
+            public Void call() throws ServiceException {
+                service.confirmOrderLite(orderId);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * 确认订单
+     *
+     * @param orderId 订单Id
+     * @return 订单
+     */
+    public ServiceFuture<OOrder> confirmOrder(final String orderId) {
+        return invoke(new Callable<OOrder>() {
+            public OOrder call() throws ServiceException {
+                return service.confirmOrder(orderId);
+            }
+        });
+    }
+
+    /**
+     * 取消订单(推荐)
+     *
+     * @param orderId 订单Id
+     * @param type 取消原因
+     * @param remark 备注说明
+     */
+    public ServiceFuture<Void> cancelOrderLite(final String orderId, final OInvalidateType type, final String remark) {
+        return invoke(new Callable<Void>() {
+            public Void call() throws ServiceException {
+                service.cancelOrderLite(orderId, type, remark);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * 取消订单
+     *
+     * @param orderId 订单Id
+     * @param type 取消原因
+     * @param remark 备注说明
+     * @return 订单
+     */
+    public ServiceFuture<OOrder> cancelOrder(final String orderId, final OInvalidateType type, final String remark) {
+        return invoke(new Callable<OOrder>() {
+            public OOrder call() throws ServiceException {
+                return service.cancelOrder(orderId, type, remark);
+            }
+        });
+    }
+
+    /**
+     * 同意退单/同意取消单(推荐)
+     *
+     * @param orderId 订单Id
+     */
+    public ServiceFuture<Void> agreeRefundLite(final String orderId) {
+        return invoke(new Callable<Void>() {
+            public Void call() throws ServiceException {
+                service.agreeRefundLite(orderId);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * 同意退单/同意取消单
+     *
+     * @param orderId 订单Id
+     * @return 订单
+     */
+    public ServiceFuture<OOrder> agreeRefund(final String orderId) {
+        return invoke(new Callable<OOrder>() {
+            public OOrder call() throws ServiceException {
+                return service.agreeRefund(orderId);
+            }
+        });
+    }
+
+    /**
+     * 不同意退单/不同意取消单(推荐)
+     *
+     * @param orderId 订单Id
+     * @param reason 商家不同意退单原因
+     */
+    public ServiceFuture<Void> disagreeRefundLite(final String orderId, final String reason) {
+        return invoke(new Callable<Void>() {
+            public Void call() throws ServiceException {
+                service.disagreeRefundLite(orderId, reason);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * 不同意退单/不同意取消单
+     *
+     * @param orderId 订单Id
+     * @param reason 商家不同意退单原因
+     * @return 订单
+     */
+    public ServiceFuture<OOrder> disagreeRefund(final String orderId, final String reason) {
+        return invoke(new Callable<OOrder>() {
+            public OOrder call() throws ServiceException {
+                return service.disagreeRefund(orderId, reason);
+            }
+        });
+    }
+
+    /**
+     * 获取订单配送记录
+     *
+     * @param orderId 订单Id
+     * @return 配送记录列表
+     */
+    public ServiceFuture<List<ODeliveryRecord>> getDeliveryStateRecord(final String orderId) {
+        return invoke(new Callable<List<ODeliveryRecord>>() {
+            public List<ODeliveryRecord> call() throws ServiceException {
+                return service.getDeliveryStateRecord(orderId);
+            }
+        });
+    }
+
+    /**
+     * 批量获取订单最新配送记录
+     *
+     * @param orderIds 订单Id列表
+     * @return 订单配送记录
+     */
+    public ServiceFuture<Map<String,ODeliveryRecord>> batchGetDeliveryStates(final List<String> orderIds) {
+        return invoke(new Callable<Map<String,ODeliveryRecord>>() {
+            public Map<String,ODeliveryRecord> call() throws ServiceException {
+                return service.batchGetDeliveryStates(orderIds);
+            }
+        });
+    }
+
+    /**
+     * 配送异常或者物流拒单后选择自行配送(推荐)
+ 全推调用
+     *
+     * @param orderId 订单Id
+     */
+    public ServiceFuture<Void> deliveryBySelfLite(final String orderId) {
+        return invoke(new Callable<Void>() {
+            public Void call() throws ServiceException {
+                service.deliveryBySelfLite(orderId);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * 配送异常或者物流拒单后选择自行配送
+     *
+     * @param orderId 订单Id
+     * @return 订单
+     */
+    public ServiceFuture<OOrder> deliveryBySelf(final String orderId) {
+        return invoke(new Callable<OOrder>() {
+            public OOrder call() throws ServiceException {
+                return service.deliveryBySelf(orderId);
+            }
+        });
+    }
+
+    /**
+     * 配送异常或者物流拒单后选择不再配送(推荐)
+ 全推调用
+     *
+     * @param orderId 订单Id
+     */
+    public ServiceFuture<Void> noMoreDeliveryLite(final String orderId) {
+        return invoke(new Callable<Void>() {
+            public Void call() throws ServiceException {
+                service.noMoreDeliveryLite(orderId);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * 配送异常或者物流拒单后选择不再配送
+     *
+     * @param orderId 订单Id
+     * @return 订单
+     */
+    public ServiceFuture<OOrder> noMoreDelivery(final String orderId) {
+        return invoke(new Callable<OOrder>() {
+            public OOrder call() throws ServiceException {
+                return service.noMoreDelivery(orderId);
+            }
+        });
+    }
+
+    /**
+     * 订单确认送达(推荐)
+     *
+     * @param orderId 订单ID
+     */
+    public ServiceFuture<Void> receivedOrderLite(final String orderId) {
+        return invoke(new Callable<Void>() {
+            public Void call() throws ServiceException {
+                service.receivedOrderLite(orderId);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * 订单确认送达
+     *
+     * @param orderId 订单ID
+     * @return 订单
+     */
+    public ServiceFuture<OOrder> receivedOrder(final String orderId) {
+        return invoke(new Callable<OOrder>() {
+            public OOrder call() throws ServiceException {
+                return service.receivedOrder(orderId);
+            }
+        });
+    }
+
+    /**
+     * 回复催单
+     *
+     * @param remindId 催单Id
+     * @param type 回复类别
+     * @param content 回复内容,如果type为custom,content必填,回复内容不能超过30个字符
+     */
+    public ServiceFuture<Void> replyReminder(final String remindId, final ReplyReminderType type, final String content) {
+        return invoke(new Callable<Void>() {
+            public Void call() throws ServiceException {
+                service.replyReminder(remindId, type, content);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * 获取指定订单菜品活动价格.
+     *
+     * @param orderId 订单Id
+     * @return 菜品价格信息
+     */
+    public ServiceFuture<Map<String,OCommodity>> getCommodities(final String orderId) {
+        return invoke(new Callable<Map<String,OCommodity>>() {
+            public Map<String,OCommodity> call() throws ServiceException {
+                return service.getCommodities(orderId);
+            }
+        });
+    }
+
+    /**
+     * 批量获取订单菜品活动价格
+     *
+     * @param orderIds 订单Id列表
+     * @return 每个订单菜品价格信息
+     */
+    public ServiceFuture<Map<String,Map<String,OCommodity>>> mgetCommodities(final List<String> orderIds) {
+        return invoke(new Callable<Map<String,Map<String,OCommodity>>>() {
+            public Map<String,Map<String,OCommodity>> call() throws ServiceException {
+                return service.mgetCommodities(orderIds);
+            }
+        });
+    }
+
+    /**
+     * 获取订单退款信息
+     *
+     * @param orderId 订单Id
+     * @return 订单退款信息
+     */
+    public ServiceFuture<ORefundOrder> getRefundOrder(final String orderId) {
+        return invoke(new Callable<ORefundOrder>() {
+            public ORefundOrder call() throws ServiceException {
+                return service.getRefundOrder(orderId);
+            }
+        });
+    }
+
+    /**
+     * 批量获取订单退款信息
+     *
+     * @param orderIds 订单Id列表
+     * @return 每个订单的退款信息
+     */
+    public ServiceFuture<Map<String,ORefundOrder>> mgetRefundOrders(final List<String> orderIds) {
+        return invoke(new Callable<Map<String,ORefundOrder>>() {
+            public Map<String,ORefundOrder> call() throws ServiceException {
+                return service.mgetRefundOrders(orderIds);
+            }
+        });
+    }
+
+    /**
+     * 取消呼叫配送
+     *
+     * @param orderId 订单Id
+     */
+    public ServiceFuture<Void> cancelDelivery(final String orderId) {
+        return invoke(new Callable<Void>() {
+            public Void call() throws ServiceException {
+                service.cancelDelivery(orderId);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * 呼叫配送
+     *
+     * @param orderId 订单Id
+     * @param fee 小费,1-8之间的整数
+     */
+    public ServiceFuture<Void> callDelivery(final String orderId, final Integer fee) {
+        return invoke(new Callable<Void>() {
+            public Void call() throws ServiceException {
+                service.callDelivery(orderId, fee);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * 获取店铺未回复的催单
+     *
+     * @param shopId 店铺id
+     * @return 催单集合
+     */
+    public ServiceFuture<List<OReminder>> getUnreplyReminders(final long shopId) {
+        return invoke(new Callable<List<OReminder>>() {
+            public List<OReminder> call() throws ServiceException {
+                return service.getUnreplyReminders(shopId);
+            }
+        });
+    }
+
+    /**
+     * 查询店铺未处理订单
+     *
+     * @param shopId 店铺id
+     * @return 订单Id集合
+     */
+    public ServiceFuture<List<String>> getUnprocessOrders(final long shopId) {
+        return invoke(new Callable<List<String>>() {
+            public List<String> call() throws ServiceException {
+                return service.getUnprocessOrders(shopId);
+            }
+        });
+    }
+
+    /**
+     * 查询店铺未处理的取消单
+     *
+     * @param shopId 店铺id
+     * @return 订单Id集合
+     */
+    public ServiceFuture<List<String>> getCancelOrders(final long shopId) {
+        return invoke(new Callable<List<String>>() {
+            public List<String> call() throws ServiceException {
+                return service.getCancelOrders(shopId);
+            }
+        });
+    }
+
+    /**
+     * 查询店铺未处理的退单
+     *
+     * @param shopId 店铺id
+     * @return 订单Id集合
+     */
+    public ServiceFuture<List<String>> getRefundOrders(final long shopId) {
+        return invoke(new Callable<List<String>>() {
+            public List<String> call() throws ServiceException {
+                return service.getRefundOrders(shopId);
+            }
+        });
+    }
+
+    /**
+     * 查询全部订单
+     *
+     * @param shopId 店铺id
+     * @param pageNo 页码。取值范围:大于零的整数最大限制为100
+     * @param pageSize 每页获取条数。最小值1，最大值50。
+     * @param date 日期,默认当天,格式:yyyy-MM-dd
+     * @return 订单分页数据
+     */
+    public ServiceFuture<OrderList> getAllOrders(final long shopId, final int pageNo, final int pageSize, final String date) {
+        return invoke(new Callable<OrderList>() {
+            public OrderList call() throws ServiceException {
+                return service.getAllOrders(shopId, pageNo, pageSize, date);
+            }
+        });
+    }
+
+    /**
+     * 批量查询订单是否支持索赔
+     *
+     * @param orderIds 索赔订单Id的列表
+     * @return 订单索赔详情
+     */
+    public ServiceFuture<Map<String,CompensationOrder>> querySupportedCompensationOrders(final List<String> orderIds) {
+        return invoke(new Callable<Map<String,CompensationOrder>>() {
+            public Map<String,CompensationOrder> call() throws ServiceException {
+                return service.querySupportedCompensationOrders(orderIds);
+            }
+        });
+    }
+
+    /**
+     * 批量申请索赔
+     *
+     * @param requests 索赔请求的列表
+     * @return 申请索赔结果
+     */
+    public ServiceFuture<Map<String,Boolean>> batchApplyCompensations(final List<CompensationRequest> requests) {
+        return invoke(new Callable<Map<String,Boolean>>() {
+            public Map<String,Boolean> call() throws ServiceException {
+                return service.batchApplyCompensations(requests);
+            }
+        });
+    }
+
+    /**
+     * 批量查询索赔结果
+     *
+     * @param orderIds 索赔订单Id的列表
+     * @return 索赔信息
+     */
+    public ServiceFuture<Map<String,CompensationInfo>> queryCompensationOrders(final List<String> orderIds) {
+        return invoke(new Callable<Map<String,CompensationInfo>>() {
+            public Map<String,CompensationInfo> call() throws ServiceException {
+                return service.queryCompensationOrders(orderIds);
+            }
+        });
+    }
+
+    /**
+     * 众包订单询价，获取配送费
+     *
+     * @param orderId 订单Id
+     * @return 配送费
+     */
+    public ServiceFuture<Double> getDeliveryFeeForCrowd(final String orderId) {
+        return invoke(new Callable<Double>() {
+            public Double call() throws ServiceException {
+                return service.getDeliveryFeeForCrowd(orderId);
+            }
+        });
+    }
+}
@@ -0,0 +1,43 @@
+package eleme.openapi.sdk.api.async;
+
+import eleme.openapi.sdk.api.base.BaseAsyncService;
+import eleme.openapi.sdk.api.exception.ServiceException;
+import eleme.openapi.sdk.api.service.PacksService;
+import eleme.openapi.sdk.oauth.response.Token;
+import eleme.openapi.sdk.config.Config;
+import eleme.openapi.sdk.api.entity.packs.*;
+import eleme.openapi.sdk.api.enumeration.packs.*;
+import java.util.List;
+import java.util.Map;
+import java.util.*;
+import java.util.concurrent.Callable;
+
+/**
+ * 签约服务(异步)
+ */
+public class PacksServiceAsync extends BaseAsyncService {
+    private final PacksService service;
+
+    public PacksServiceAsync(Config config, Token token) {
+        this(config, new PacksService(config, token));
+    }
+
+    public PacksServiceAsync(Config config, PacksService service) {
+        super(config);
+        this.service = service;
+    }
+
+    /**
+     * 查询店铺当前生效合同类型
+     *
+     * @param shopId 店铺id
+     * @return 当前店铺生效的服务包合同类型名称
+     */
+    public ServiceFuture<ShopContract> getEffectServicePackContract(final Long shopId) {
+        return invoke(new Callable<ShopContract>() {
+            public ShopContract call() throws ServiceException {
+                return service.getEffectServicePackContract(shopId);
+            }
+        });
+    }
+}
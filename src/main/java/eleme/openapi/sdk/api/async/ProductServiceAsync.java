@@ -0,0 +1,670 @@
+package eleme.openapi.sdk.api.async;
+
+import eleme.openapi.sdk.api.base.BaseAsyncService;
+import eleme.openapi.sdk.api.exception.ServiceException;
+import eleme.openapi.sdk.api.service.ProductService;
+import eleme.openapi.sdk.oauth.response.Token;
+import eleme.openapi.sdk.config.Config;
+import eleme.openapi.sdk.api.entity.product.*;
+import eleme.openapi.sdk.api.enumeration.product.*;
+import java.util.List;
+import java.util.Map;
+import java.util.*;
+import java.util.concurrent.Callable;
+
+/**
+ * 商品服务(异步)
+ */
+public class ProductServiceAsync extends BaseAsyncService {
+    private final ProductService service;
+
+    public ProductServiceAsync(Config config, Token token) {
+        this(config, new ProductService(config, token));
+    }
+
+    public ProductServiceAsync(Config config, ProductService service) {
+        super(config);
+        this.service = service;
+    }
+
+    /**
+     * 上传图片，返回图片的hash值
+     *
+     * @param image 文件内容base64编码值
+     * @return 图片的 hash 值
+     */
+    public ServiceFuture<String> uploadImage(final String image) {
+        return invoke(new Callable<String>() {
+            public String call() throws ServiceException {
+                return service.uploadImage(image);
+            }
+        });
+    }
+
+    /**
+     * 通过远程URL上传图片，返回图片的hash值
+     *
+     * @param url 远程Url地址
+     * @return 图片的 hash 值
+     */
+    public ServiceFuture<String> uploadImageWithRemoteUrl(final String url) {
+        return invoke(new Callable<String>() {
+            public String call() throws ServiceException {
+                return service.uploadImageWithRemoteUrl(url);
+            }
+        });
+    }
+
+    /**
+     * 获取上传文件的访问URL，返回文件的Url地址
+     *
+     * @param hash 图片hash值
+     * @return 文件的Url地址
+     */
+    public ServiceFuture<String> getUploadedUrl(final String hash) {
+        return invoke(new Callable<String>() {
+            public String call() throws ServiceException {
+                return service.getUploadedUrl(hash);
+            }
+        });
+    }
+
+    /**
+     * 获取上传图片的url地址(新版)
+     *
+     * @param hash 图片hash值
+     * @return 文件的Url地址
+     */
+    public ServiceFuture<String> getImageUrl(final String hash) {
+        return invoke(new Callable<String>() {
+            public String call() throws ServiceException {
+                return service.getImageUrl(hash);
+            }
+        });
+    }
+
+    /**
+     * 查询店铺商品分类
+     *
+     * @param shopId 店铺Id
+     * @return 商品分类列表
+     */
+    public ServiceFuture<List<OCategory>> getShopCategories(final long shopId) {
+        return invoke(new Callable<List<OCategory>>() {
+            public List<OCategory> call() throws ServiceException {
+                return service.getShopCategories(shopId);
+            }
+        });
+    }
+
+    /**
+     * 查询店铺商品分类，包含二级分类
+     *
+     * @param shopId 店铺Id
+     * @return 商品分类列表
+     */
+    public ServiceFuture<List<OCategory>> getShopCategoriesWithChildren(final long shopId) {
+        return invoke(new Callable<List<OCategory>>() {
+            public List<OCategory> call() throws ServiceException {
+                return service.getShopCategoriesWithChildren(shopId);
+            }
+        });
+    }
+
+    /**
+     * 查询商品分类详情
+     *
+     * @param categoryId 商品分类Id
+     * @return 商品分类
+     */
+    public ServiceFuture<OCategory> getCategory(final Long categoryId) {
+        return invoke(new Callable<OCategory>() {
+            public OCategory call() throws ServiceException {
+                return service.getCategory(categoryId);
+            }
+        });
+    }
+
+    /**
+     * 查询商品分类详情，包含二级分类
+     *
+     * @param categoryId 商品分类Id
+     * @return 商品分类
+     */
+    public ServiceFuture<OCategory> getCategoryWithChildren(final long categoryId) {
+        return invoke(new Callable<OCategory>() {
+            public OCategory call() throws ServiceException {
+                return service.getCategoryWithChildren(categoryId);
+            }
+        });
+    }
+
+    /**
+     * 添加商品分类
+     *
+     * @param shopId 店铺Id
+     * @param name 商品分类名称，长度需在50字以内
+     * @param description 商品分类描述，长度需在50字以内
+     * @return 商品分类
+     */
+    public ServiceFuture<OCategory> createCategory(final long shopId, final String name, final String description) {
+        return invoke(new Callable<OCategory>() {
+            public OCategory call() throws ServiceException {
+                return service.createCategory(shopId, name, description);
+            }
+        });
+    }
+
+    /**
+     * 添加商品分类，支持二级分类
+     *
+     * @param shopId 店铺Id
+     * @param name 商品分类名称，长度需在50字以内
+     * @param parentId 父分类ID，如果没有可以填0
+     * @param description 商品分类描述，长度需在50字以内
+     * @return 商品分类
+     */
+    public ServiceFuture<OCategory> createCategoryWithChildren(final long shopId, final String name, final long parentId, final String description) {
+        return invoke(new Callable<OCategory>() {
+            public OCategory call() throws ServiceException {
+                return service.createCategoryWithChildren(shopId, name, parentId, description);
+            }
+        });
+    }
+
+    /**
+     * 更新商品分类
+     *
+     * @param categoryId 商品分类Id
+     * @param name 商品分类名称，长度需在50字以内
+     * @param description 商品分类描述，长度需在50字以内
+     * @return 商品分类
+     */
+    public ServiceFuture<OCategory> updateCategory(final long categoryId, final String name, final String description) {
+        return invoke(new Callable<OCategory>() {
+            public OCategory call() throws ServiceException {
+                return service.updateCategory(categoryId, name, description);
+            }
+        });
+    }
+
+    /**
+     * 更新商品分类，包含二级分类
+     *
+     * @param categoryId 商品分类Id
+     * @param name 商品分类名称，长度需在50字以内
+     * @param parentId 父分类ID，如果没有可以填0
+     * @param description 商品分类描述，长度需在50字以内
+     * @return 商品分类
+     */
+    public ServiceFuture<OCategory> updateCategoryWithChildren(final long categoryId, final String name, final long parentId, final String description) {
+        return invoke(new Callable<OCategory>() {
+            public OCategory call() throws ServiceException {
+                return service.updateCategoryWithChildren(categoryId, name, parentId, description);
+            }
+        });
+    }
+
+    /**
+     * 删除商品分类
+     *
+     * @param categoryId 商品分类Id
+     * @return 商品分类
+     */
+    public ServiceFuture<OCategory> removeCategory(final long categoryId) {
+        return invoke(new Callable<OCategory>() {
+            public OCategory call() throws ServiceException {
+                return service.removeCategory(categoryId);
+            }
+        });
+    }
+
+    /**
+     * 删除商品分类(新版)
+     *
+     * @param categoryId 商品分类Id
+     * @return 商品分类
+     */
+    public ServiceFuture<OCategory> invalidCategory(final Long categoryId) {
+        return invoke(new Callable<OCategory>() {
+            public OCategory call() throws ServiceException {
+                return service.invalidCategory(categoryId);
+            }
+        });
+    }
+
+    /**
+     * 设置分类排序
+     *
+     * @param shopId 饿了么店铺Id
+     * @param categoryIds 需要排序的分类Id
+     */
+    public ServiceFuture<Void> setCategoryPositions(final Long shopId, final List<Long> categoryIds) {
+        return invoke(new Callable<Void>() {
+            public Void call() throws ServiceException {
+                service.setCategoryPositions(shopId, categoryIds);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * 设置分类排序(新版)
+     *
+     * @param shopId 饿了么店铺Id
+     * @param categoryIds 需要排序的全部一级分类Id
+     */
+    public ServiceFuture<Void> setCategorySequence(final Long shopId, final List<Long> categoryIds) {
+        return invoke(new Callable<Void>() {
+            public Void call() throws ServiceException {
+                service.setCategorySequence(shopId, categoryIds);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * 设置二级分类排序
+     *
+     * @param shopId 饿了么店铺Id
+     * @param categoryWithChildrenIds 需要排序的父分类Id，及其下属的二级分类ID
+     */
+    public ServiceFuture<Void> setCategoryPositionsWithChildren(final Long shopId, final List<CategoryWithChildrenIds> categoryWithChildrenIds) {
+        return invoke(new Callable<Void>() {
+            public Void call() throws ServiceException {
+                service.setCategoryPositionsWithChildren(shopId, categoryWithChildrenIds);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * 查询商品后台类目
+     *
+     * @param shopId 店铺Id
+     * @return 商品后台类目列表
+     */
+    public ServiceFuture<List<OBackCategory>> getBackCategory(final Long shopId) {
+        return invoke(new Callable<List<OBackCategory>>() {
+            public List<OBackCategory> call() throws ServiceException {
+                return service.getBackCategory(shopId);
+            }
+        });
+    }
+
+    /**
+     * 设置分类类型
+     *
+     * @param shopId 店铺Id
+     * @param categoryId 商品分类Id
+     * @param categoryType 分类类型
+     */
+    public ServiceFuture<Void> setCategoryType(final Long shopId, final Long categoryId, final OCategoryType categoryType) {
+        return invoke(new Callable<Void>() {
+            public Void call() throws ServiceException {
+                service.setCategoryType(shopId, categoryId, categoryType);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * 获取一个分类下的所有商品
+     *
+     * @param categoryId 商品分类Id
+     * @return 商品列表
+     */
+    public ServiceFuture<Map<Long,OItem>> getItemsByCategoryId(final long categoryId) {
+        return invoke(new Callable<Map<Long,OItem>>() {
+            public Map<Long,OItem> call() throws ServiceException {
+                return service.getItemsByCategoryId(categoryId);
+            }
+        });
+    }
+
+    /**
+     * 查询商品详情
+     *
+     * @param itemId 商品Id
+     * @return 商品
+     */
+    public ServiceFuture<OItem> getItem(final long itemId) {
+        return invoke(new Callable<OItem>() {
+            public OItem call() throws ServiceException {
+                return service.getItem(itemId);
+            }
+        });
+    }
+
+    /**
+     * 批量查询商品详情
+     *
+     * @param itemIds 商品Id的列表
+     * @return 商品列表
+     */
+    public ServiceFuture<Map<Long,OItem>> batchGetItems(final List<Long> itemIds) {
+        return invoke(new Callable<Map<Long,OItem>>() {
+            public Map<Long,OItem> call() throws ServiceException {
+                return service.batchGetItems(itemIds);
+            }
+        });
+    }
+
+    /**
+     * 添加商品
+     *
+     * @param categoryId 商品分类Id
+     * @param properties 商品属性
+     * @return 商品
+     */
+    public ServiceFuture<OItem> createItem(final long categoryId, final Map<OItemCreateProperty,Object> properties) {
+        return invoke(new Callable<OItem>() {
+            public OItem call() throws ServiceException {
+                return service.createItem(categoryId, properties);
+            }
+        });
+    }
+
+    /**
+     * 批量添加商品
+     *
+     * @param categoryId 商品分类Id
+     * @param items 商品属性的列表
+     * @return 商品列表
+     */
+    public ServiceFuture<Map<Long,OItem>> batchCreateItems(final long categoryId, final List<Map<OItemCreateProperty,Object>> items) {
+        return invoke(new Callable<Map<Long,OItem>>() {
+            public Map<Long,OItem> call() throws ServiceException {
+                return service.batchCreateItems(categoryId, items);
+            }
+        });
+    }
+
+    /**
+     * 更新商品
+     *
+     * @param itemId 商品Id
+     * @param categoryId 商品分类Id
+     * @param properties 商品属性
+     * @return 商品列表
+     */
+    public ServiceFuture<OItem> updateItem(final long itemId, final long categoryId, final Map<OItemUpdateProperty,Object> properties) {
+        return invoke(new Callable<OItem>() {
+            public OItem call() throws ServiceException {
+                return service.updateItem(itemId, categoryId, properties);
+            }
+        });
+    }
+
+    /**
+     * 批量置满库存
+     *
+     * @param specIds 商品及商品规格的列表
+     */
+    public ServiceFuture<Void> batchFillStock(final List<OItemIdWithSpecIds> specIds) {
+        return invoke(new Callable<Void>() {
+            public Void call() throws ServiceException {
+                service.batchFillStock(specIds);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * 批量沽清库存
+     *
+     * @param specIds 商品及商品规格的列表
+     */
+    public ServiceFuture<Void> batchClearStock(final List<OItemIdWithSpecIds> specIds) {
+        return invoke(new Callable<Void>() {
+            public Void call() throws ServiceException {
+                service.batchClearStock(specIds);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * 批量上架商品
+     *
+     * @param specIds 商品及商品规格的列表
+     */
+    public ServiceFuture<Void> batchOnShelf(final List<OItemIdWithSpecIds> specIds) {
+        return invoke(new Callable<Void>() {
+            public Void call() throws ServiceException {
+                service.batchOnShelf(specIds);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * 批量上架商品(新版)
+     *
+     * @param itemIds 商品ID列表
+     * @return 操作失败列表
+     */
+    public ServiceFuture<OBatchModifiedResult> batchListItems(final List<Long> itemIds) {
+        return invoke(new Callable<OBatchModifiedResult>() {
+            public OBatchModifiedResult call() throws ServiceException {
+                return service.batchListItems(itemIds);
+            }
+        });
+    }
+
+    /**
+     * 批量下架商品
+     *
+     * @param specIds 商品及商品规格的列表
+     */
+    public ServiceFuture<Void> batchOffShelf(final List<OItemIdWithSpecIds> specIds) {
+        return invoke(new Callable<Void>() {
+            public Void call() throws ServiceException {
+                service.batchOffShelf(specIds);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * 批量下架商品(新版)
+     *
+     * @param itemIds 商品ID列表
+     * @return 操作失败列表
+     */
+    public ServiceFuture<OBatchModifiedResult> batchDelistItems(final List<Long> itemIds) {
+        return invoke(new Callable<OBatchModifiedResult>() {
+            public OBatchModifiedResult call() throws ServiceException {
+                return service.batchDelistItems(itemIds);
+            }
+        });
+    }
+
+    /**
+     * 删除商品
+     *
+     * @param itemId 商品Id
+     * @return 商品
+     */
+    public ServiceFuture<OItem> removeItem(final long itemId) {
+        return invoke(new Callable<OItem>() {
+            public OItem call() throws ServiceException {
+                return service.removeItem(itemId);
+            }
+        });
+    }
+
+    /**
+     * 删除商品(新版)
+     *
+     * @param itemId 商品Id
+     */
+    public ServiceFuture<Void> invalidItem(final long itemId) {
+        return invoke(new Callable<Void>() {
+            public Void call() throws ServiceException {
+                service.invalidItem(itemId);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * 批量删除商品
+     *
+     * @param itemIds 商品Id的列表
+     * @return 被删除的商品列表
+     */
+    public ServiceFuture<Map<Long,OItem>> batchRemoveItems(final List<Long> itemIds) {
+        return invoke(new Callable<Map<Long,OItem>>() {
+            public Map<Long,OItem> call() throws ServiceException {
+                return service.batchRemoveItems(itemIds);
+            }
+        });
+    }
+
+    /**
+     * 批量更新商品库存
+     *
+     * @param specStocks 商品以及规格库存列表
+     */
+    public ServiceFuture<Void> batchUpdateSpecStocks(final List<OItemIdWithSpecStock> specStocks) {
+        return invoke(new Callable<Void>() {
+            public Void call() throws ServiceException {
+                service.batchUpdateSpecStocks(specStocks);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * 批量更新商品库存(新版)
+     *
+     * @param stockMap 商品规格ID和库存设值的映射
+     * @return 操作失败列表
+     */
+    public ServiceFuture<OBatchModifiedResult> batchUpdateStock(final Map<Long,Integer> stockMap) {
+        return invoke(new Callable<OBatchModifiedResult>() {
+            public OBatchModifiedResult call() throws ServiceException {
+                return service.batchUpdateStock(stockMap);
+            }
+        });
+    }
+
+    /**
+     * 设置商品排序
+     *
+     * @param categoryId 商品分类Id
+     * @param itemIds 商品Id列表
+     */
+    public ServiceFuture<Void> setItemPositions(final Long categoryId, final List<Long> itemIds) {
+        return invoke(new Callable<Void>() {
+            public Void call() throws ServiceException {
+                service.setItemPositions(categoryId, itemIds);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * 批量沽清库存并在次日2:00开始置满
+     *
+     * @param clearStocks 店铺Id及商品Id的列表
+     */
+    public ServiceFuture<Void> clearAndTimingMaxStock(final List<ClearStock> clearStocks) {
+        return invoke(new Callable<Void>() {
+            public Void call() throws ServiceException {
+                service.clearAndTimingMaxStock(clearStocks);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * 根据商品扩展码获取商品
+     *
+     * @param shopId 店铺Id
+     * @param extendCode 商品扩展码
+     * @return 商品
+     */
+    public ServiceFuture<OItem> getItemByShopIdAndExtendCode(final Long shopId, final String extendCode) {
+        return invoke(new Callable<OItem>() {
+            public OItem call() throws ServiceException {
+                return service.getItemByShopIdAndExtendCode(shopId, extendCode);
+            }
+        });
+    }
+
+    /**
+     * 根据商品条形码获取商品
+     *
+     * @param shopId 店铺Id
+     * @param barCode 商品条形码
+     * @return 商品
+     */
+    public ServiceFuture<List<OItem>> getItemsByShopIdAndBarCode(final Long shopId, final String barCode) {
+        return invoke(new Callable<List<OItem>>() {
+            public List<OItem> call() throws ServiceException {
+                return service.getItemsByShopIdAndBarCode(shopId, barCode);
+            }
+        });
+    }
+
+    /**
+     * 批量修改商品价格
+     *
+     * @param shopId 店铺Id
+     * @param specPrices 商品Id及其下SkuId和价格对应Map(限制最多50个)
+     */
+    public ServiceFuture<Void> batchUpdatePrices(final Long shopId, final List<OItemIdWithSpecPrice> specPrices) {
+        return invoke(new Callable<Void>() {
+            public Void call() throws ServiceException {
+                service.batchUpdatePrices(shopId, specPrices);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * 查询活动商品
+     *
+     * @param shopId 店铺Id
+     * @return 商品ID集合
+     */
+    public ServiceFuture<List<Long>> getItemIdsHasActivityByShopId(final Long shopId) {
+        return invoke(new Callable<List<Long>>() {
+            public List<Long> call() throws ServiceException {
+                return service.getItemIdsHasActivityByShopId(shopId);
+            }
+        });
+    }
+
+    /**
+     * 查询店铺活动商品(新版)
+     *
+     * @param shopId 店铺Id
+     * @return 商品ID集合
+     */
+    public ServiceFuture<List<Long>> getShopSalesItems(final Long shopId) {
+        return invoke(new Callable<List<Long>>() {
+            public List<Long> call() throws ServiceException {
+                return service.getShopSalesItems(shopId);
+            }
+        });
+    }
+
+    /**
+     * 设置订单餐盒费
+     *
+     * @param shopId  店铺ID
+     * @param status 是否按照订单设置餐盒费
+     * @param packingFee 订单餐盒费费用
+     */
+    public ServiceFuture<Void> setOrderPackingFee(final Long shopId, final boolean status, final Double packingFee) {
+        return invoke(new Callable<Void>() {
+            public Void call() throws ServiceException {
+                service.setOrderPackingFee(shopId, status, packingFee);
+                return null;
+            }
+        });
+    }
+}
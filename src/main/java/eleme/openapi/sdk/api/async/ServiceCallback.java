@@ -0,0 +1,21 @@
+package eleme.openapi.sdk.api.async;
+
+/**
+ * 异步调用回调
+ */
+public interface ServiceCallback<T> {
+
+    /**
+     * 调用成功
+     *
+     * @param result 调用结果, 无返回值的接口为null
+     */
+    void onSuccess(T result);
+
+    /**
+     * 调用失败
+     *
+     * @param cause 失败原因, 一般为ServiceException或ServerErrorException
+     */
+    void onFailure(Throwable cause);
+}
@@ -0,0 +1,179 @@
+package eleme.openapi.sdk.api.async;
+
+import eleme.openapi.sdk.api.exception.ServiceException;
+import eleme.openapi.sdk.config.Config;
+import eleme.openapi.sdk.utils.LogUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 异步调用结果, 支持注册回调
+ */
+public class ServiceFuture<T> implements Future<T> {
+    private final Config config;
+    private final CountDownLatch latch = new CountDownLatch(1);
+    private final List<ServiceCallback<? super T>> callbacks = new ArrayList<ServiceCallback<? super T>>();
+    private boolean done;
+    private boolean cancelled;
+    private T result;
+    private Throwable cause;
+
+    public ServiceFuture() {
+        this(null);
+    }
+
+    /**
+     * @param config 用于记录回调抛出的异常, 为null时交给当前线程的UncaughtExceptionHandler
+     */
+    public ServiceFuture(Config config) {
+        this.config = config;
+    }
+
+    /**
+     * 以成功结果完成
+     *
+     * @return 是否由本次调用完成, 已完成时返回false
+     */
+    public boolean complete(T value) {
+        return finish(value, null, false);
+    }
+
+    /**
+     * 以异常完成
+     *
+     * @return 是否由本次调用完成, 已完成时返回false
+     */
+    public boolean fail(Throwable cause) {
+        return finish(null, cause, false);
+    }
+
+    /**
+     * 取消调用, 已发出的请求不会被中断, 其结果将被丢弃
+     */
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        return finish(null, new CancellationException(), true);
+    }
+
+    private boolean finish(T value, Throwable cause, boolean cancelled) {
+        List<ServiceCallback<? super T>> pending;
+        synchronized (this) {
+            if (done) {
+                return false;
+            }
+            this.done = true;
+            this.result = value;
+            this.cause = cause;
+            this.cancelled = cancelled;
+            pending = new ArrayList<ServiceCallback<? super T>>(callbacks);
+            callbacks.clear();
+        }
+        latch.countDown();
+        for (ServiceCallback<? super T> callback : pending) {
+            invokeCallback(callback);
+        }
+        return true;
+    }
+
+    /**
+     * 注册回调, 已完成时在当前线程立即执行, 否则在完成调用的线程中执行
+     */
+    public void addCallback(ServiceCallback<? super T> callback) {
+        synchronized (this) {
+            if (!done) {
+                callbacks.add(callback);
+                return;
+            }
+        }
+        invokeCallback(callback);
+    }
+
+    private void invokeCallback(ServiceCallback<? super T> callback) {
+        try {
+            if (cause == null) {
+                callback.onSuccess(result);
+            } else {
+                callback.onFailure(cause);
+            }
+        } catch (RuntimeException e) {
+            // 回调异常不影响其他回调
+            if (config != null) {
+                LogUtils.error(config, "service callback failed: {}", e.toString());
+            } else {
+                Thread thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+            }
+        }
+    }
+
+    public synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    public synchronized boolean isDone() {
+        return done;
+    }
+
+    public T get() throws InterruptedException, ExecutionException {
+        latch.await();
+        return report();
+    }
+
+    public T get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+        if (!latch.await(timeout, unit)) {
+            throw new TimeoutException();
+        }
+        return report();
+    }
+
+    private synchronized T report() throws ExecutionException {
+        if (cancelled) {
+            throw new CancellationException();
+        }
+        if (cause != null) {
+            throw new ExecutionException(cause);
+        }
+        return result;
+    }
+
+    /**
+     * 等待调用完成, 与同步接口一样抛出ServiceException
+     *
+     * @return 调用结果
+     * @throws ServiceException 服务异常
+     */
+    public T getResult() throws ServiceException {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceException(e.getClass().getName(), e);
+        }
+        Throwable failure;
+        synchronized (this) {
+            if (cancelled) {
+                throw new CancellationException();
+            }
+            if (cause == null) {
+                return result;
+            }
+            failure = cause;
+        }
+        if (failure instanceof ServiceException) {
+            throw (ServiceException) failure;
+        }
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        throw new ServiceException(failure.getClass().getName(), failure);
+    }
+}
@@ -0,0 +1,103 @@
+package eleme.openapi.sdk.api.async;
+
+import eleme.openapi.sdk.api.base.BaseAsyncService;
+import eleme.openapi.sdk.api.exception.ServiceException;
+import eleme.openapi.sdk.api.service.ShopService;
+import eleme.openapi.sdk.oauth.response.Token;
+import eleme.openapi.sdk.config.Config;
+import eleme.openapi.sdk.api.entity.shop.*;
+import eleme.openapi.sdk.api.enumeration.shop.*;
+import java.util.List;
+import java.util.Map;
+import java.util.*;
+import java.util.concurrent.Callable;
+
+/**
+ * 店铺服务(异步)
+ */
+public class ShopServiceAsync extends BaseAsyncService {
+    private final ShopService service;
+
+    public ShopServiceAsync(Config config, Token token) {
+        this(config, new ShopService(config, token));
+    }
+
+    public ShopServiceAsync(Config config, ShopService service) {
+        super(config);
+        this.service = service;
+    }
+
+    /**
+     * 查询店铺信息
+     *
+     * @param shopId 店铺Id
+     * @return 店铺
+     */
+    public ServiceFuture<OShop> getShop(final long shopId) {
+        return invoke(new Callable<OShop>() {
+            public OShop call() throws ServiceException {
+                return service.getShop(shopId);
+            }
+        });
+    }
+
+    /**
+     * 更新店铺基本信息
+     *
+     * @param shopId 店铺Id
+     * @param properties 店铺属性
+     * @return 店铺
+     */
+    public ServiceFuture<OShop> updateShop(final long shopId, final Map<OShopProperty,Object> properties) {
+        return invoke(new Callable<OShop>() {
+            public OShop call() throws ServiceException {
+                return service.updateShop(shopId, properties);
+            }
+        });
+    }
+
+    /**
+     * 批量获取店铺简要
+     *
+     * @param shopIds 店铺Id的列表
+     * @return 店铺简要列表
+     */
+    public ServiceFuture<Map<Long,OSimpleShop>> mgetShopStatus(final List<Long> shopIds) {
+        return invoke(new Callable<Map<Long,OSimpleShop>>() {
+            public Map<Long,OSimpleShop> call() throws ServiceException {
+                return service.mgetShopStatus(shopIds);
+            }
+        });
+    }
+
+    /**
+     * 设置送达时间
+     *
+     * @param shopId 店铺Id
+     * @param deliveryBasicMins 配送基准时间(单位分钟)
+     * @param deliveryAdjustMins 配送调整时间(单位分钟)
+     */
+    public ServiceFuture<Void> setDeliveryTime(final long shopId, final int deliveryBasicMins, final int deliveryAdjustMins) {
+        return invoke(new Callable<Void>() {
+            public Void call() throws ServiceException {
+                service.setDeliveryTime(shopId, deliveryBasicMins, deliveryAdjustMins);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * 设置是否支持在线退单
+     *
+     * @param shopId 店铺Id
+     * @param enable 是否支持
+     */
+    public ServiceFuture<Void> setOnlineRefund(final long shopId, final boolean enable) {
+        return invoke(new Callable<Void>() {
+            public Void call() throws ServiceException {
+                service.setOnlineRefund(shopId, enable);
+                return null;
+            }
+        });
+    }
+}
@@ -0,0 +1,294 @@
+package eleme.openapi.sdk.api.async;
+
+import eleme.openapi.sdk.api.base.BaseAsyncService;
+import eleme.openapi.sdk.api.exception.ServiceException;
+import eleme.openapi.sdk.api.service.UgcService;
+import eleme.openapi.sdk.oauth.response.Token;
+import eleme.openapi.sdk.config.Config;
+import eleme.openapi.sdk.api.entity.ugc.*;
+import eleme.openapi.sdk.api.enumeration.ugc.*;
+import java.util.List;
+import java.util.Map;
+import java.util.*;
+import java.util.concurrent.Callable;
+
+/**
+ * 订单评论服务(异步)
+ */
+public class UgcServiceAsync extends BaseAsyncService {
+    private final UgcService service;
+
+    public UgcServiceAsync(Config config, Token token) {
+        this(config, new UgcService(config, token));
+    }
+
+    public UgcServiceAsync(Config config, UgcService service) {
+        super(config);
+        this.service = service;
+    }
+
+    /**
+     * 获取指定订单的评论
+     *
+     * @param orderId 订单id
+     * @return 评论信息
+     */
+    public ServiceFuture<OpenapiOrderRate> getOrderRateByOrderId(final String orderId) {
+        return invoke(new Callable<OpenapiOrderRate>() {
+            public OpenapiOrderRate call() throws ServiceException {
+                return service.getOrderRateByOrderId(orderId);
+            }
+        });
+    }
+
+    /**
+     * 获取指定订单的评论
+     *
+     * @param orderIds 订单id
+     * @return  评论信息
+     */
+    public ServiceFuture<List<OpenapiOrderRate>> getOrderRatesByOrderIds(final List<String> orderIds) {
+        return invoke(new Callable<List<OpenapiOrderRate>>() {
+            public List<OpenapiOrderRate> call() throws ServiceException {
+                return service.getOrderRatesByOrderIds(orderIds);
+            }
+        });
+    }
+
+    /**
+     * 获取未回复的评论
+     *
+     * @param orderIds 订单id
+     * @return 未回复的评论信息
+     */
+    public ServiceFuture<List<OpenapiOrderRate>> getUnreplyOrderRatesByOrderIds(final List<String> orderIds) {
+        return invoke(new Callable<List<OpenapiOrderRate>>() {
+            public List<OpenapiOrderRate> call() throws ServiceException {
+                return service.getUnreplyOrderRatesByOrderIds(orderIds);
+            }
+        });
+    }
+
+    /**
+     * 获取指定店铺的评论
+     *
+     * @param shopId  餐厅id
+     * @param startTime   开始时间,只能查询最近90天的数据
+     * @param endTime   结束时间
+     * @param offset 页面偏移量
+     * @param pageSize 页面大小
+     * @return 评论信息
+     */
+    public ServiceFuture<List<OpenapiOrderRate>> getOrderRatesByShopId(final String shopId, final String startTime, final String endTime, final int offset, final int pageSize) {
+        return invoke(new Callable<List<OpenapiOrderRate>>() {
+            public List<OpenapiOrderRate> call() throws ServiceException {
+                return service.getOrderRatesByShopId(shopId, startTime, endTime, offset, pageSize);
+            }
+        });
+    }
+
+    /**
+     * 获取指定店铺的评论
+     *
+     * @param shopIds 店铺id
+     * @param startTime   开始时间,只能查询最近90天的数据
+     * @param endTime   结束时间
+     * @param offset 页面偏移量
+     * @param pageSize 页面大小
+     * @return  评论信息
+     */
+    public ServiceFuture<List<OpenapiOrderRate>> getOrderRatesByShopIds(final List<String> shopIds, final String startTime, final String endTime, final int offset, final int pageSize) {
+        return invoke(new Callable<List<OpenapiOrderRate>>() {
+            public List<OpenapiOrderRate> call() throws ServiceException {
+                return service.getOrderRatesByShopIds(shopIds, startTime, endTime, offset, pageSize);
+            }
+        });
+    }
+
+    /**
+     * 获取未回复的评论
+     *
+     * @param shopIds 店铺id
+     * @param startTime   开始时间,只能查询最近90天的数据
+     * @param endTime   结束时间
+     * @param offset 页面偏移量
+     * @param pageSize 页面大小
+     * @return   未回复的评论信息
+     */
+    public ServiceFuture<List<OpenapiOrderRate>> getUnreplyOrderRatesByShopIds(final List<String> shopIds, final String startTime, final String endTime, final int offset, final int pageSize) {
+        return invoke(new Callable<List<OpenapiOrderRate>>() {
+            public List<OpenapiOrderRate> call() throws ServiceException {
+                return service.getUnreplyOrderRatesByShopIds(shopIds, startTime, endTime, offset, pageSize);
+            }
+        });
+    }
+
+    /**
+     * 获取店铺的满意度评价信息
+     *
+     * @param shopId  餐厅id
+     * @param score 满意度,取值范围为1~5，1为最不满意，5为非常满意
+     * @param startTime   开始时间,只能查询最近90天的数据
+     * @param endTime   结束时间
+     * @param offset 页面偏移量
+     * @param pageSize 页面大小
+     * @return  评论信息
+     */
+    public ServiceFuture<List<OpenapiOrderRate>> getOrderRatesByShopAndRating(final String shopId, final int score, final String startTime, final String endTime, final int offset, final int pageSize) {
+        return invoke(new Callable<List<OpenapiOrderRate>>() {
+            public List<OpenapiOrderRate> call() throws ServiceException {
+                return service.getOrderRatesByShopAndRating(shopId, score, startTime, endTime, offset, pageSize);
+            }
+        });
+    }
+
+    /**
+     * 获取单个商品的评论
+     *
+     * @param itemId  商品id
+     * @param startTime   开始时间,只能查询最近90天的数据
+     * @param endTime   结束时间
+     * @param offset 页面偏移量
+     * @param pageSize 页面大小
+     * @return  评论信息
+     */
+    public ServiceFuture<List<OpenapiItemRate>> getItemRatesByItemId(final String itemId, final String startTime, final String endTime, final int offset, final int pageSize) {
+        return invoke(new Callable<List<OpenapiItemRate>>() {
+            public List<OpenapiItemRate> call() throws ServiceException {
+                return service.getItemRatesByItemId(itemId, startTime, endTime, offset, pageSize);
+            }
+        });
+    }
+
+    /**
+     * 获取多个商品的评论
+     *
+     * @param itemIds 商品id
+     * @param startTime   开始时间,只能查询最近90天的数据
+     * @param endTime   结束时间
+     * @param offset 页面偏移量
+     * @param pageSize 页面大小
+     * @return  评论信息
+     */
+    public ServiceFuture<List<OpenapiItemRate>> getItemRatesByItemIds(final List<String> itemIds, final String startTime, final String endTime, final int offset, final int pageSize) {
+        return invoke(new Callable<List<OpenapiItemRate>>() {
+            public List<OpenapiItemRate> call() throws ServiceException {
+                return service.getItemRatesByItemIds(itemIds, startTime, endTime, offset, pageSize);
+            }
+        });
+    }
+
+    /**
+     * 获取多个商品未回复的评论
+     *
+     * @param itemIds 店铺id
+     * @param startTime   开始时间,只能查询最近90天的数据
+     * @param endTime   结束时间
+     * @param offset 页面偏移量
+     * @param pageSize 页面大小
+     * @return 未回复的评论信息
+     */
+    public ServiceFuture<List<OpenapiItemRate>> getUnreplyItemRatesByItemIds(final List<String> itemIds, final String startTime, final String endTime, final int offset, final int pageSize) {
+        return invoke(new Callable<List<OpenapiItemRate>>() {
+            public List<OpenapiItemRate> call() throws ServiceException {
+                return service.getUnreplyItemRatesByItemIds(itemIds, startTime, endTime, offset, pageSize);
+            }
+        });
+    }
+
+    /**
+     * 回复指定类型的评论
+     *
+     * @param rateId 评论编号
+     * @param replyType 评论类型
+     * @param reply 回复的内容
+     */
+    public ServiceFuture<Void> replyRateByRateId(final String rateId, final ReplyType replyType, final String reply) {
+        return invoke(new Callable<Void>() {
+            public Void call() throws ServiceException {
+                service.replyRateByRateId(rateId, replyType, reply);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * 回复指定类型的评论
+     *
+     * @param rateIds  评论编号
+     * @param replyType 评论类型
+     * @param reply 回复的内容
+     */
+    public ServiceFuture<Void> replyRateByRateIds(final List<String> rateIds, final ReplyType replyType, final String reply) {
+        return invoke(new Callable<Void>() {
+            public Void call() throws ServiceException {
+                service.replyRateByRateIds(rateIds, replyType, reply);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * 回复订单未回复的评论
+     *
+     * @param orderId 订单id
+     * @param reply 回复内容
+     */
+    public ServiceFuture<Void> replyRateByOrderId(final String orderId, final String reply) {
+        return invoke(new Callable<Void>() {
+            public Void call() throws ServiceException {
+                service.replyRateByOrderId(orderId, reply);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * 批量回复订单未回复的评论
+     *
+     * @param orderIds 订单id
+     * @param reply 回复信息
+     */
+    public ServiceFuture<Void> replyCommentByOrderIds(final List<String> orderIds, final String reply) {
+        return invoke(new Callable<Void>() {
+            public Void call() throws ServiceException {
+                service.replyCommentByOrderIds(orderIds, reply);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * 回复商品回复的评论
+     *
+     * @param itemId 商品id
+     * @param reply 回复内容
+     * @param startTime   开始时间,只能查询最近90天的数据
+     * @param endTime   结束时间
+     */
+    public ServiceFuture<Void> replyRatesByItemId(final String itemId, final String reply, final String startTime, final String endTime) {
+        return invoke(new Callable<Void>() {
+            public Void call() throws ServiceException {
+                service.replyRatesByItemId(itemId, reply, startTime, endTime);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * 回复多个商品评论
+     *
+     * @param itemIds 商品d
+     * @param reply 回复信息
+     * @param startTime 开始时间,只能查询最近90天的数据
+     * @param endTime 结束时间
+     */
+    public ServiceFuture<Void> replyRatesByItemIds(final List<String> itemIds, final String reply, final String startTime, final String endTime) {
+        return invoke(new Callable<Void>() {
+            public Void call() throws ServiceException {
+                service.replyRatesByItemIds(itemIds, reply, startTime, endTime);
+                return null;
+            }
+        });
+    }
+}
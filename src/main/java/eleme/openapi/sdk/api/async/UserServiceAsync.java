@@ -0,0 +1,55 @@
+package eleme.openapi.sdk.api.async;
+
+import eleme.openapi.sdk.api.base.BaseAsyncService;
+import eleme.openapi.sdk.api.exception.ServiceException;
+import eleme.openapi.sdk.api.service.UserService;
+import eleme.openapi.sdk.oauth.response.Token;
+import eleme.openapi.sdk.config.Config;
+import eleme.openapi.sdk.api.entity.user.*;
+import eleme.openapi.sdk.api.enumeration.user.*;
+import java.util.List;
+import java.util.Map;
+import java.util.*;
+import java.util.concurrent.Callable;
+
+/**
+ * 商户服务(异步)
+ */
+public class UserServiceAsync extends BaseAsyncService {
+    private final UserService service;
+
+    public UserServiceAsync(Config config, Token token) {
+        this(config, new UserService(config, token));
+    }
+
+    public UserServiceAsync(Config config, UserService service) {
+        super(config);
+        this.service = service;
+    }
+
+    /**
+     * 获取商户账号信息
+     *
+     * @return 商户账号
+     */
+    public ServiceFuture<OUser> getUser() {
+        return invoke(new Callable<OUser>() {
+            public OUser call() throws ServiceException {
+                return service.getUser();
+            }
+        });
+    }
+
+    /**
+     * 获取当前授权账号的手机号,特权接口仅部分帐号可以调用
+     *
+     * @return 手机号
+     */
+    public ServiceFuture<String> getPhoneNumber() {
+        return invoke(new Callable<String>() {
+            public String call() throws ServiceException {
+                return service.getPhoneNumber();
+            }
+        });
+    }
+}
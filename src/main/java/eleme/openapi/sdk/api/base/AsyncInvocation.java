@@ -0,0 +1,47 @@
+package eleme.openapi.sdk.api.base;
+
+import eleme.openapi.sdk.api.async.ServiceFuture;
+
+/**
+ * 在当前线程中执行服务方法时, 捕获其发起的第一个接口调用并改为非阻塞调用
+ */
+class AsyncInvocation {
+    private static final ThreadLocal<AsyncInvocation> CURRENT = new ThreadLocal<AsyncInvocation>();
+
+    private final AsyncInvocation previous;
+    private ServiceFuture<?> future;
+
+    private AsyncInvocation(AsyncInvocation previous) {
+        this.previous = previous;
+    }
+
+    static AsyncInvocation begin() {
+        AsyncInvocation invocation = new AsyncInvocation(CURRENT.get());
+        CURRENT.set(invocation);
+        return invocation;
+    }
+
+    /**
+     * @return 当前线程中尚未捕获到调用的AsyncInvocation, 没有时返回null, 接口调用按同步执行
+     */
+    static AsyncInvocation take() {
+        AsyncInvocation invocation = CURRENT.get();
+        return invocation == null || invocation.future != null ? null : invocation;
+    }
+
+    void end() {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    void setFuture(ServiceFuture<?> future) {
+        this.future = future;
+    }
+
+    ServiceFuture<?> getFuture() {
+        return future;
+    }
+}
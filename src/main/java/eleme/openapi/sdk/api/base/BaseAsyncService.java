@@ -0,0 +1,70 @@
+package eleme.openapi.sdk.api.base;
+
+import eleme.openapi.sdk.api.async.ServiceFuture;
+import eleme.openapi.sdk.config.Config;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+
+public class BaseAsyncService {
+    private Config config;
+
+    public BaseAsyncService(Config config) {
+        this.config = config;
+    }
+
+    /**
+     * 有非阻塞传输层时在当前线程中执行task, task中服务方法发起的接口调用改为非阻塞发送, 返回该调用的结果;
+     * task未发起接口调用(如服务方法被重写)时以其返回值完成. 没有非阻塞传输层时与{@link #submit}相同
+     */
+    protected <T> ServiceFuture<T> invoke(Callable<T> task) {
+        if (config.getAsyncHttpTransport() == null) {
+            return submit(task);
+        }
+        AsyncInvocation invocation = AsyncInvocation.begin();
+        T value = null;
+        Throwable failure = null;
+        try {
+            value = task.call();
+        } catch (Throwable t) {
+            failure = t;
+        } finally {
+            invocation.end();
+        }
+        ServiceFuture<T> captured = (ServiceFuture<T>) invocation.getFuture();
+        if (captured != null) {
+            return captured;
+        }
+        ServiceFuture<T> future = new ServiceFuture<T>(config);
+        if (failure == null) {
+            future.complete(value);
+        } else {
+            future.fail(failure);
+        }
+        return future;
+    }
+
+    /**
+     * 在异步线程池中执行task
+     */
+    protected <T> ServiceFuture<T> submit(final Callable<T> task) {
+        final ServiceFuture<T> future = new ServiceFuture<T>(config);
+        try {
+            config.getAsyncExecutor().execute(new Runnable() {
+                public void run() {
+                    if (future.isDone()) {
+                        return;
+                    }
+                    try {
+                        future.complete(task.call());
+                    } catch (Throwable t) {
+                        future.fail(t);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.fail(e);
+        }
+        return future;
+    }
+}
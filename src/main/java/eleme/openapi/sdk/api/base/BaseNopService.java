@@ -12,30 +12,54 @@ import java.util.Map;
 
 public class BaseNopService {
     private Token token;
-    private Map<String, Method> methodMap = new HashMap<String, Method>();
+    private volatile Map<String, Method> methodMap;
     private Class service;
+    private String serviceName;
     private Config config;
 
     public BaseNopService(Config config, Token token, Class service) {
         this.token = token;
         this.service = service;
         this.config = config;
-        Method[] methods = service.getMethods();
-        for (Method method : methods) {
-            methodMap.put(method.getName(), method);
+        Service annotation = (Service) service.getAnnotation(Service.class);
+        if (annotation == null)
+            throw new RuntimeException("服务未找到Service注解");
+        this.serviceName = annotation.value();
+    }
+
+    /**
+     * 由{@link BaseAsyncService}发起时改为非阻塞调用, 结果通过其返回的ServiceFuture获取, 此处返回空值
+     */
+    protected <T> T call(CallDescriptor descriptor, Map<String, Object> parameters) throws ServiceException {
+        AsyncInvocation invocation = AsyncInvocation.take();
+        if (invocation != null) {
+            invocation.setFuture(WebUtils.callAsync(config, serviceName, descriptor.getAction(), parameters, token, descriptor.getReader()));
+            return (T) descriptor.emptyValue();
         }
+        return WebUtils.call(config, serviceName, descriptor.getAction(), parameters, token, descriptor.getReader());
     }
 
+    /**
+     * 通过调用栈查找服务方法以确定返回值类型, 开销较大
+     *
+     * @deprecated 使用 {@link #call(CallDescriptor, Map)}
+     */
+    @Deprecated
     public <T> T call(String action,Map<String, Object> parameters) throws ServiceException {
         String methodName = Thread.currentThread().getStackTrace()[2].getMethodName();
         Method method = getMethod(methodName);
-        Service annotation = (Service) service.getAnnotation(Service.class);
-        if (annotation == null)
-            throw new RuntimeException("服务未找到Service注解");
         return WebUtils.call(config, action, parameters, token, method.getGenericReturnType());
     }
 
     private Method getMethod(String methodName) {
-        return methodMap.get(methodName);
+        Map<String, Method> methods = methodMap;
+        if (methods == null) {
+            methods = new HashMap<String, Method>();
+            for (Method method : service.getMethods()) {
+                methods.put(method.getName(), method);
+            }
+            methodMap = methods;
+        }
+        return methods.get(methodName);
     }
 }
@@ -0,0 +1,128 @@
+package eleme.openapi.sdk.api.base;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectReader;
+import eleme.openapi.sdk.utils.JacksonUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+
+/**
+ * 接口调用描述, 首次调用时解析一次返回值类型并缓存对应的ObjectReader, 之后调用无需再反射
+ */
+public class CallDescriptor {
+    private final String action;
+    private final Class<?> service;
+    private final String methodName;
+    private volatile Type returnType;
+    private volatile JavaType javaType;
+    private volatile ObjectReader reader;
+
+    public CallDescriptor(String action, Type returnType) {
+        this.action = action;
+        this.service = null;
+        this.methodName = null;
+        this.returnType = returnType;
+    }
+
+    private CallDescriptor(Class<?> service, String methodName, String action) {
+        this.action = action;
+        this.service = service;
+        this.methodName = methodName;
+    }
+
+    /**
+     * 根据服务方法的泛型返回值创建调用描述
+     *
+     * @param service    服务类
+     * @param methodName 服务方法名
+     * @param action     接口名, 如eleme.order.getOrder
+     * @return 调用描述
+     */
+    public static CallDescriptor of(Class<?> service, String methodName, String action) {
+        return new CallDescriptor(service, methodName, action);
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public Type getReturnType() {
+        Type type = returnType;
+        if (type == null) {
+            for (Method method : service.getMethods()) {
+                if (method.getName().equals(methodName)) {
+                    type = method.getGenericReturnType();
+                    break;
+                }
+            }
+            if (type == null) {
+                throw new IllegalStateException("未找到服务方法 " + service.getName() + "." + methodName);
+            }
+            returnType = type;
+        }
+        return type;
+    }
+
+    public JavaType getJavaType() {
+        JavaType type = javaType;
+        if (type == null) {
+            type = JacksonUtils.javaType(getReturnType());
+            javaType = type;
+        }
+        return type;
+    }
+
+    /**
+     * 返回值的ObjectReader, 无返回值时为null
+     */
+    public ObjectReader getReader() {
+        ObjectReader objectReader = reader;
+        if (objectReader == null && !isVoid()) {
+            objectReader = JacksonUtils.reader(getJavaType());
+            reader = objectReader;
+        }
+        return objectReader;
+    }
+
+    public boolean isVoid() {
+        return getJavaType().getRawClass() == void.class;
+    }
+
+    /**
+     * 非阻塞调用时服务方法的占位返回值, 基本类型为0或false, 其余为null
+     */
+    Object emptyValue() {
+        Class<?> type = getJavaType().getRawClass();
+        if (!type.isPrimitive() || type == void.class) {
+            return null;
+        }
+        if (type == boolean.class) {
+            return Boolean.FALSE;
+        }
+        if (type == char.class) {
+            return Character.valueOf((char) 0);
+        }
+        if (type == byte.class) {
+            return Byte.valueOf((byte) 0);
+        }
+        if (type == short.class) {
+            return Short.valueOf((short) 0);
+        }
+        if (type == int.class) {
+            return Integer.valueOf(0);
+        }
+        if (type == long.class) {
+            return Long.valueOf(0);
+        }
+        if (type == float.class) {
+            return Float.valueOf(0);
+        }
+        return Double.valueOf(0);
+    }
+
+    @Override
+    public String toString() {
+        return action;
+    }
+}
@@ -0,0 +1,44 @@
+package eleme.openapi.sdk.api.batch;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 分批调用的合并结果, 部分批次失败时结果只包含成功批次的数据
+ */
+public class BatchResult<R> {
+    private final R result;
+    private final List<ChunkFailure> failures;
+    private final int chunks;
+
+    BatchResult(R result, List<ChunkFailure> failures, int chunks) {
+        this.result = result;
+        this.failures = failures;
+        this.chunks = chunks;
+    }
+
+    /**
+     * @return 成功批次合并后的结果, 全部失败时为null
+     */
+    public R getResult() {
+        return result;
+    }
+
+    /**
+     * @return 失败的批次, 按输入顺序排列
+     */
+    public List<ChunkFailure> getFailures() {
+        return Collections.unmodifiableList(failures);
+    }
+
+    public boolean hasFailures() {
+        return !failures.isEmpty();
+    }
+
+    /**
+     * @return 拆分的批次数
+     */
+    public int getChunks() {
+        return chunks;
+    }
+}
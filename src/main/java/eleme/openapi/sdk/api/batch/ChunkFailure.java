@@ -0,0 +1,39 @@
+package eleme.openapi.sdk.api.batch;
+
+import java.util.List;
+
+/**
+ * 失败的批次
+ */
+public class ChunkFailure {
+    private final int index;
+    private final List<?> items;
+    private final Throwable cause;
+
+    ChunkFailure(int index, List<?> items, Throwable cause) {
+        this.index = index;
+        this.items = items;
+        this.cause = cause;
+    }
+
+    /**
+     * @return 批次序号, 从0开始
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * @return 该批次的输入, Map类型的输入为Map.Entry列表
+     */
+    public List<?> getItems() {
+        return items;
+    }
+
+    /**
+     * @return 失败原因, 一般为ServiceException或ServerErrorException
+     */
+    public Throwable getCause() {
+        return cause;
+    }
+}
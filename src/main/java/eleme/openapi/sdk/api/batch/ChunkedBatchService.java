@@ -0,0 +1,321 @@
+package eleme.openapi.sdk.api.batch;
+
+import eleme.openapi.sdk.api.entity.product.OBatchModifiedFailure;
+import eleme.openapi.sdk.api.entity.product.OBatchModifiedResult;
+import eleme.openapi.sdk.api.entity.product.OItem;
+import eleme.openapi.sdk.api.entity.shop.OSimpleShop;
+import eleme.openapi.sdk.api.entity.ugc.OpenapiOrderRate;
+import eleme.openapi.sdk.api.exception.ServiceException;
+import eleme.openapi.sdk.api.service.ProductService;
+import eleme.openapi.sdk.api.service.ShopService;
+import eleme.openapi.sdk.api.service.UgcService;
+import eleme.openapi.sdk.config.Config;
+import eleme.openapi.sdk.oauth.response.Token;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 自动分批的批量接口
+ * <p>
+ * 输入超过接口单次上限时按上限拆分为多个批次, 在Config的异步线程池中并发执行(同一次调用最多parallelism个批次同时进行),
+ * 按输入顺序合并各批次的Map、List或OBatchModifiedResult结果. 某个批次失败不影响其他批次, 失败的批次及其输入通过{@link BatchResult#getFailures()}返回.
+ * <p>
+ * 修改类接口(如batchUpdateStock、batchRemoveItems)的批次失败时不会重试, 需由调用方根据失败的输入自行处理.
+ * 调用线程被中断时不再发出新的批次, 等待已发出的批次完成后返回, 未发出的批次以InterruptedException作为失败原因
+ */
+public class ChunkedBatchService {
+    /**
+     * 未单独配置的接口默认单次最多处理的数量
+     */
+    public static final int DEFAULT_MAX_BATCH_SIZE = 50;
+    /**
+     * 默认同一次调用最多同时进行的批次数
+     */
+    public static final int DEFAULT_PARALLELISM = 4;
+
+    /**
+     * 执行一个批次
+     */
+    public interface ChunkCall<I, R> {
+        R call(List<I> chunk) throws ServiceException;
+    }
+
+    /**
+     * 合并批次结果
+     */
+    public interface Merger<R> {
+        /**
+         * @param merged 已合并的结果, 第一个成功批次时为null
+         * @param chunk  当前批次的结果
+         * @return 合并后的结果
+         */
+        R merge(R merged, R chunk);
+    }
+
+    private final Config config;
+    private final ProductService productService;
+    private final ShopService shopService;
+    private final UgcService ugcService;
+    private final ConcurrentMap<String, Integer> maxBatchSizes = new ConcurrentHashMap<String, Integer>();
+    private volatile int defaultMaxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+    private volatile int parallelism = DEFAULT_PARALLELISM;
+
+    public ChunkedBatchService(Config config, Token token) {
+        this.config = config;
+        this.productService = new ProductService(config, token);
+        this.shopService = new ShopService(config, token);
+        this.ugcService = new UgcService(config, token);
+    }
+
+    /**
+     * 设置接口单次最多处理的数量
+     *
+     * @param action 接口名, 如eleme.product.item.batchGetItems
+     */
+    public void setMaxBatchSize(String action, int maxBatchSize) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("maxBatchSize must be positive");
+        }
+        maxBatchSizes.put(action, maxBatchSize);
+    }
+
+    public void setDefaultMaxBatchSize(int defaultMaxBatchSize) {
+        if (defaultMaxBatchSize <= 0) {
+            throw new IllegalArgumentException("maxBatchSize must be positive");
+        }
+        this.defaultMaxBatchSize = defaultMaxBatchSize;
+    }
+
+    public int getMaxBatchSize(String action) {
+        Integer size = maxBatchSizes.get(action);
+        return size == null ? defaultMaxBatchSize : size;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * 批量查询商品详情
+     *
+     * @param itemIds 商品Id的列表
+     */
+    public BatchResult<Map<Long, OItem>> batchGetItems(List<Long> itemIds) {
+        return execute("eleme.product.item.batchGetItems", itemIds, new ChunkCall<Long, Map<Long, OItem>>() {
+            public Map<Long, OItem> call(List<Long> chunk) throws ServiceException {
+                return productService.batchGetItems(chunk);
+            }
+        }, ChunkedBatchService.<Long, OItem>mapMerger());
+    }
+
+    /**
+     * 批量删除商品
+     *
+     * @param itemIds 商品Id的列表
+     */
+    public BatchResult<Map<Long, OItem>> batchRemoveItems(List<Long> itemIds) {
+        return execute("eleme.product.item.batchRemoveItems", itemIds, new ChunkCall<Long, Map<Long, OItem>>() {
+            public Map<Long, OItem> call(List<Long> chunk) throws ServiceException {
+                return productService.batchRemoveItems(chunk);
+            }
+        }, ChunkedBatchService.<Long, OItem>mapMerger());
+    }
+
+    /**
+     * 批量更新商品库存, 失败批次的输入为Map.Entry列表
+     *
+     * @param stockMap 商品Id及其下SkuId和库存对应Map
+     */
+    public BatchResult<OBatchModifiedResult> batchUpdateStock(Map<Long, Integer> stockMap) {
+        List<Map.Entry<Long, Integer>> entries = new ArrayList<Map.Entry<Long, Integer>>(stockMap.entrySet());
+        return execute("eleme.product.item.batchUpdateStock", entries, new ChunkCall<Map.Entry<Long, Integer>, OBatchModifiedResult>() {
+            public OBatchModifiedResult call(List<Map.Entry<Long, Integer>> chunk) throws ServiceException {
+                Map<Long, Integer> chunkMap = new LinkedHashMap<Long, Integer>();
+                for (Map.Entry<Long, Integer> entry : chunk) {
+                    chunkMap.put(entry.getKey(), entry.getValue());
+                }
+                return productService.batchUpdateStock(chunkMap);
+            }
+        }, modifiedResultMerger());
+    }
+
+    /**
+     * 批量获取店铺简要
+     *
+     * @param shopIds 店铺Id的列表
+     */
+    public BatchResult<Map<Long, OSimpleShop>> mgetShopStatus(List<Long> shopIds) {
+        return execute("eleme.shop.mgetShopStatus", shopIds, new ChunkCall<Long, Map<Long, OSimpleShop>>() {
+            public Map<Long, OSimpleShop> call(List<Long> chunk) throws ServiceException {
+                return shopService.mgetShopStatus(chunk);
+            }
+        }, ChunkedBatchService.<Long, OSimpleShop>mapMerger());
+    }
+
+    /**
+     * 获取指定订单的评论
+     *
+     * @param orderIds 订单ID
+     */
+    public BatchResult<List<OpenapiOrderRate>> getOrderRatesByOrderIds(List<String> orderIds) {
+        return execute("eleme.ugc.getOrderRatesByOrderIds", orderIds, new ChunkCall<String, List<OpenapiOrderRate>>() {
+            public List<OpenapiOrderRate> call(List<String> chunk) throws ServiceException {
+                return ugcService.getOrderRatesByOrderIds(chunk);
+            }
+        }, ChunkedBatchService.<OpenapiOrderRate>listMerger());
+    }
+
+    /**
+     * 按接口的单次上限拆分输入并发执行
+     *
+     * @param action 接口名, 用于查找单次上限
+     * @param items  全部输入
+     * @param call   执行一个批次
+     * @param merger 合并批次结果, 按输入顺序调用
+     */
+    public <I, R> BatchResult<R> execute(String action, List<I> items, ChunkCall<I, R> call, Merger<R> merger) {
+        List<List<I>> chunks = partition(items, getMaxBatchSize(action));
+        Object[] results = new Object[chunks.size()];
+        Throwable[] errors = new Throwable[chunks.size()];
+        if (chunks.size() == 1) {
+            run(call, chunks.get(0), 0, results, errors);
+        } else if (chunks.size() > 1) {
+            runConcurrently(call, chunks, results, errors);
+        }
+
+        R merged = null;
+        List<ChunkFailure> failures = new ArrayList<ChunkFailure>();
+        for (int i = 0; i < chunks.size(); i++) {
+            if (errors[i] != null) {
+                failures.add(new ChunkFailure(i, chunks.get(i), errors[i]));
+            } else {
+                @SuppressWarnings("unchecked")
+                R chunkResult = (R) results[i];
+                if (chunkResult != null) {
+                    merged = merger.merge(merged, chunkResult);
+                }
+            }
+        }
+        return new BatchResult<R>(merged, failures, chunks.size());
+    }
+
+    private <I, R> void runConcurrently(final ChunkCall<I, R> call, final List<List<I>> chunks,
+                                        final Object[] results, final Throwable[] errors) {
+        ExecutorCompletionService<Integer> completion = new ExecutorCompletionService<Integer>(config.getAsyncExecutor());
+        int next = 0;
+        int running = 0;
+        InterruptedException interrupted = null;
+        try {
+            while (next < chunks.size() || running > 0) {
+                while (interrupted == null && next < chunks.size() && running < parallelism) {
+                    final int index = next++;
+                    try {
+                        completion.submit(new Callable<Integer>() {
+                            public Integer call() {
+                                run(call, chunks.get(index), index, results, errors);
+                                return index;
+                            }
+                        });
+                        running++;
+                    } catch (RejectedExecutionException e) {
+                        errors[index] = e;
+                    }
+                }
+                if (running == 0) {
+                    break;
+                }
+                try {
+                    completion.take().get();
+                    running--;
+                } catch (InterruptedException e) {
+                    // 已发出的批次可能已被服务端执行, 等待其完成以得到确定的结果, 避免调用方重复修改
+                    interrupted = e;
+                }
+            }
+        } catch (ExecutionException e) {
+            // run已捕获所有异常
+            throw new IllegalStateException(e.getCause());
+        }
+        if (interrupted != null) {
+            Thread.currentThread().interrupt();
+            // 未发出的批次按失败返回, 可以安全地重新提交
+            for (int i = next; i < chunks.size(); i++) {
+                errors[i] = interrupted;
+            }
+        }
+    }
+
+    private static <I, R> void run(ChunkCall<I, R> call, List<I> chunk, int index, Object[] results, Throwable[] errors) {
+        try {
+            results[index] = call.call(chunk);
+        } catch (Throwable t) {
+            errors[index] = t;
+        }
+    }
+
+    private static <I> List<List<I>> partition(List<I> items, int size) {
+        List<List<I>> chunks = new ArrayList<List<I>>();
+        if (items == null) {
+            return chunks;
+        }
+        for (int from = 0; from < items.size(); from += size) {
+            chunks.add(new ArrayList<I>(items.subList(from, Math.min(items.size(), from + size))));
+        }
+        return chunks;
+    }
+
+    public static <K, V> Merger<Map<K, V>> mapMerger() {
+        return new Merger<Map<K, V>>() {
+            public Map<K, V> merge(Map<K, V> merged, Map<K, V> chunk) {
+                if (merged == null) {
+                    merged = new LinkedHashMap<K, V>();
+                }
+                merged.putAll(chunk);
+                return merged;
+            }
+        };
+    }
+
+    public static <E> Merger<List<E>> listMerger() {
+        return new Merger<List<E>>() {
+            public List<E> merge(List<E> merged, List<E> chunk) {
+                if (merged == null) {
+                    merged = new ArrayList<E>();
+                }
+                merged.addAll(chunk);
+                return merged;
+            }
+        };
+    }
+
+    public static Merger<OBatchModifiedResult> modifiedResultMerger() {
+        return new Merger<OBatchModifiedResult>() {
+            public OBatchModifiedResult merge(OBatchModifiedResult merged, OBatchModifiedResult chunk) {
+                if (merged == null) {
+                    merged = new OBatchModifiedResult();
+                    merged.setModifications(new ArrayList<Long>());
+                    merged.setFailures(new ArrayList<OBatchModifiedFailure>());
+                }
+                if (merged.getType() == null) {
+                    merged.setType(chunk.getType());
+                }
+                if (chunk.getModifications() != null) {
+                    merged.getModifications().addAll(chunk.getModifications());
+                }
+                if (chunk.getFailures() != null) {
+                    merged.getFailures().addAll(chunk.getFailures());
+                }
+                return merged;
+            }
+        };
+    }
+}
@@ -0,0 +1,138 @@
+package eleme.openapi.sdk.api.batch;
+
+import eleme.openapi.sdk.api.async.ServiceFuture;
+import eleme.openapi.sdk.api.exception.ServiceException;
+import eleme.openapi.sdk.config.Config;
+import eleme.openapi.sdk.utils.NamedThreadFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 合并一个时间窗口内的单条查询为一次批量查询, 相同的key只查询一次
+ * <p>
+ * 窗口内第一个请求到达时开始计时, 达到maxDelayMillis或请求数达到maxBatchSize时发出批量查询
+ */
+class Coalescer<V> {
+    private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(
+            new NamedThreadFactory("eleme-sdk-batch-timer"));
+
+    interface Loader<V> {
+        /**
+         * @return key到结果的映射, 不存在的key可以缺失
+         */
+        Map<String, V> load(List<String> keys) throws ServiceException;
+    }
+
+    private final Loader<V> loader;
+    private final Config config;
+    private final Executor executor;
+    private final int maxBatchSize;
+    private final long maxDelayMillis;
+    private final Runnable flushTask = new Runnable() {
+        public void run() {
+            flush();
+        }
+    };
+    private Map<String, List<ServiceFuture<V>>> pending = new LinkedHashMap<String, List<ServiceFuture<V>>>();
+    private boolean scheduled;
+
+    Coalescer(Loader<V> loader, Config config, int maxBatchSize, long maxDelayMillis) {
+        this.loader = loader;
+        this.config = config;
+        this.executor = config.getAsyncExecutor();
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayMillis = maxDelayMillis;
+    }
+
+    ServiceFuture<V> get(String key) {
+        ServiceFuture<V> future = new ServiceFuture<V>(config);
+        Map<String, List<ServiceFuture<V>>> full = null;
+        boolean schedule = false;
+        synchronized (this) {
+            List<ServiceFuture<V>> waiters = pending.get(key);
+            if (waiters == null) {
+                waiters = new ArrayList<ServiceFuture<V>>(1);
+                pending.put(key, waiters);
+            }
+            waiters.add(future);
+            if (pending.size() >= maxBatchSize) {
+                full = pending;
+                pending = new LinkedHashMap<String, List<ServiceFuture<V>>>();
+            } else if (!scheduled) {
+                scheduled = true;
+                schedule = true;
+            }
+        }
+        if (full != null) {
+            dispatch(full);
+        }
+        if (schedule) {
+            try {
+                TIMER.schedule(flushTask, maxDelayMillis, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                flush();
+            }
+        }
+        return future;
+    }
+
+    /**
+     * 立即发出当前窗口内的请求
+     */
+    void flush() {
+        Map<String, List<ServiceFuture<V>>> batch;
+        synchronized (this) {
+            scheduled = false;
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new LinkedHashMap<String, List<ServiceFuture<V>>>();
+        }
+        dispatch(batch);
+    }
+
+    private void dispatch(final Map<String, List<ServiceFuture<V>>> batch) {
+        try {
+            executor.execute(new Runnable() {
+                public void run() {
+                    load(batch);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            fail(batch, e);
+        }
+    }
+
+    private void load(Map<String, List<ServiceFuture<V>>> batch) {
+        Map<String, V> result;
+        try {
+            result = loader.load(new ArrayList<String>(batch.keySet()));
+        } catch (Throwable t) {
+            fail(batch, t);
+            return;
+        }
+        for (Map.Entry<String, List<ServiceFuture<V>>> entry : batch.entrySet()) {
+            V value = result == null ? null : result.get(entry.getKey());
+            for (ServiceFuture<V> future : entry.getValue()) {
+                future.complete(value);
+            }
+        }
+    }
+
+    private void fail(Map<String, List<ServiceFuture<V>>> batch, Throwable cause) {
+        for (List<ServiceFuture<V>> waiters : batch.values()) {
+            for (ServiceFuture<V> future : waiters) {
+                future.fail(cause);
+            }
+        }
+    }
+}
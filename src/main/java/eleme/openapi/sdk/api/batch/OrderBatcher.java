@@ -0,0 +1,174 @@
+package eleme.openapi.sdk.api.batch;
+
+import eleme.openapi.sdk.api.async.ServiceFuture;
+import eleme.openapi.sdk.api.entity.order.OCommodity;
+import eleme.openapi.sdk.api.entity.order.ODeliveryRecord;
+import eleme.openapi.sdk.api.entity.order.OOrder;
+import eleme.openapi.sdk.api.entity.order.ORefundOrder;
+import eleme.openapi.sdk.api.exception.ServiceException;
+import eleme.openapi.sdk.api.service.OrderService;
+import eleme.openapi.sdk.config.Config;
+import eleme.openapi.sdk.oauth.response.Token;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 将并发的单个订单查询合并为批量查询
+ * <p>
+ * 一个时间窗口(默认5毫秒)内的getOrder、getRefundOrder、getCommodities、getDeliveryState请求
+ * 分别合并为一次mgetOrders、mgetRefundOrders、mgetCommodities、batchGetDeliveryStates调用, 再将结果分发到各自的ServiceFuture.
+ * 批量查询在Config的异步线程池中执行, 批量查询失败时同一批次的请求全部失败; 批量结果中不存在的订单返回null.
+ * <p>
+ * 窗口大小和批次上限需在首次查询前设置
+ */
+public class OrderBatcher {
+    /**
+     * 默认合并窗口(毫秒)
+     */
+    public static final long DEFAULT_MAX_DELAY_MILLIS = 5;
+    /**
+     * 默认单批最多订单数
+     */
+    public static final int DEFAULT_MAX_BATCH_SIZE = 50;
+
+    private final Config config;
+    private final OrderService service;
+    private long maxDelayMillis = DEFAULT_MAX_DELAY_MILLIS;
+    private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+    private volatile Coalescer<OOrder> orders;
+    private volatile Coalescer<ORefundOrder> refundOrders;
+    private volatile Coalescer<Map<String, OCommodity>> commodities;
+    private volatile Coalescer<ODeliveryRecord> deliveryStates;
+
+    public OrderBatcher(Config config, Token token) {
+        this(config, new OrderService(config, token));
+    }
+
+    public OrderBatcher(Config config, OrderService service) {
+        this.config = config;
+        this.service = service;
+    }
+
+    public void setMaxDelayMillis(long maxDelayMillis) {
+        this.maxDelayMillis = maxDelayMillis;
+    }
+
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * 获取订单, 合并为mgetOrders
+     *
+     * @param orderId 订单Id
+     * @return 订单, 不存在时为null
+     */
+    public ServiceFuture<OOrder> getOrder(String orderId) {
+        Coalescer<OOrder> coalescer = orders;
+        if (coalescer == null) {
+            synchronized (this) {
+                if (orders == null) {
+                    orders = coalescer(new Coalescer.Loader<OOrder>() {
+                        public Map<String, OOrder> load(List<String> orderIds) throws ServiceException {
+                            return service.mgetOrders(orderIds);
+                        }
+                    });
+                }
+                coalescer = orders;
+            }
+        }
+        return coalescer.get(orderId);
+    }
+
+    /**
+     * 获取订单退款信息, 合并为mgetRefundOrders
+     *
+     * @param orderId 订单Id
+     * @return 订单退款信息, 不存在时为null
+     */
+    public ServiceFuture<ORefundOrder> getRefundOrder(String orderId) {
+        Coalescer<ORefundOrder> coalescer = refundOrders;
+        if (coalescer == null) {
+            synchronized (this) {
+                if (refundOrders == null) {
+                    refundOrders = coalescer(new Coalescer.Loader<ORefundOrder>() {
+                        public Map<String, ORefundOrder> load(List<String> orderIds) throws ServiceException {
+                            return service.mgetRefundOrders(orderIds);
+                        }
+                    });
+                }
+                coalescer = refundOrders;
+            }
+        }
+        return coalescer.get(orderId);
+    }
+
+    /**
+     * 获取订单菜品活动价格, 合并为mgetCommodities
+     *
+     * @param orderId 订单Id
+     * @return 菜品价格信息, 不存在时为null
+     */
+    public ServiceFuture<Map<String, OCommodity>> getCommodities(String orderId) {
+        Coalescer<Map<String, OCommodity>> coalescer = commodities;
+        if (coalescer == null) {
+            synchronized (this) {
+                if (commodities == null) {
+                    commodities = coalescer(new Coalescer.Loader<Map<String, OCommodity>>() {
+                        public Map<String, Map<String, OCommodity>> load(List<String> orderIds) throws ServiceException {
+                            return service.mgetCommodities(orderIds);
+                        }
+                    });
+                }
+                coalescer = commodities;
+            }
+        }
+        return coalescer.get(orderId);
+    }
+
+    /**
+     * 获取订单最新配送记录, 合并为batchGetDeliveryStates
+     * <p>
+     * 批量接口只返回最新一条记录, 需要完整配送记录时使用{@link OrderService#getDeliveryStateRecord}
+     *
+     * @param orderId 订单Id
+     * @return 最新配送记录, 不存在时为null
+     */
+    public ServiceFuture<ODeliveryRecord> getDeliveryState(String orderId) {
+        Coalescer<ODeliveryRecord> coalescer = deliveryStates;
+        if (coalescer == null) {
+            synchronized (this) {
+                if (deliveryStates == null) {
+                    deliveryStates = coalescer(new Coalescer.Loader<ODeliveryRecord>() {
+                        public Map<String, ODeliveryRecord> load(List<String> orderIds) throws ServiceException {
+                            return service.batchGetDeliveryStates(orderIds);
+                        }
+                    });
+                }
+                coalescer = deliveryStates;
+            }
+        }
+        return coalescer.get(orderId);
+    }
+
+    /**
+     * 立即发出所有窗口内尚未发出的查询
+     */
+    public void flush() {
+        flush(orders);
+        flush(refundOrders);
+        flush(commodities);
+        flush(deliveryStates);
+    }
+
+    private <V> Coalescer<V> coalescer(Coalescer.Loader<V> loader) {
+        return new Coalescer<V>(loader, config, maxBatchSize, maxDelayMillis);
+    }
+
+    private static void flush(Coalescer<?> coalescer) {
+        if (coalescer != null) {
+            coalescer.flush();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package eleme.openapi.sdk.api.exception;
+
+/**
+ * 服务并发调用数已达上限, 请求未发送到开放平台
+ */
+public class BulkheadFullException extends ServiceException {
+    public BulkheadFullException() {
+        super("BULKHEAD_FULL", "服务并发调用数已达上限");
+    }
+
+    public BulkheadFullException(String message) {
+        super("BULKHEAD_FULL", message);
+    }
+}
@@ -0,0 +1,14 @@
+package eleme.openapi.sdk.api.exception;
+
+/**
+ * 服务熔断中, 请求未发送到开放平台
+ */
+public class CircuitOpenException extends ServiceException {
+    public CircuitOpenException() {
+        super("CIRCUIT_OPEN", "服务熔断中");
+    }
+
+    public CircuitOpenException(String message) {
+        super("CIRCUIT_OPEN", message);
+    }
+}
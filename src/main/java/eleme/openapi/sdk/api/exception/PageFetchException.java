@@ -0,0 +1,17 @@
+package eleme.openapi.sdk.api.exception;
+
+/**
+ * 分页遍历时获取某一页失败, 原因为ServiceException或ServerErrorException
+ */
+public class PageFetchException extends RuntimeException {
+    private final int pageNo;
+
+    public PageFetchException(int pageNo, Throwable cause) {
+        super("获取第" + pageNo + "页失败: " + cause.getMessage(), cause);
+        this.pageNo = pageNo;
+    }
+
+    public int getPageNo() {
+        return pageNo;
+    }
+}
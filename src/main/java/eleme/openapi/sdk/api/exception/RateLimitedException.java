@@ -0,0 +1,12 @@
+package eleme.openapi.sdk.api.exception;
+
+/**
+ * 被SDK本地限流拒绝, 请求未发送到开放平台
+ */
+public class RateLimitedException extends ExceedLimitException {
+
+    public RateLimitedException(String message) {
+        super(message);
+        setCode("RATE_LIMITED");
+    }
+}
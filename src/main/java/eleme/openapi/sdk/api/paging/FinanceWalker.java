@@ -0,0 +1,280 @@
+package eleme.openapi.sdk.api.paging;
+
+import eleme.openapi.sdk.api.entity.finance.Bill;
+import eleme.openapi.sdk.api.entity.finance.Bills;
+import eleme.openapi.sdk.api.entity.finance.BranchQuery;
+import eleme.openapi.sdk.api.entity.finance.DateRange;
+import eleme.openapi.sdk.api.entity.finance.FinanceOrder;
+import eleme.openapi.sdk.api.entity.finance.FinanceOrders;
+import eleme.openapi.sdk.api.entity.finance.HeadQuery;
+import eleme.openapi.sdk.api.entity.finance.OBalanceLogResponse;
+import eleme.openapi.sdk.api.entity.finance.OBalanceLogV0;
+import eleme.openapi.sdk.api.entity.finance.OQueryBalanceLogRequest;
+import eleme.openapi.sdk.api.entity.finance.Paging;
+import eleme.openapi.sdk.api.exception.ServiceException;
+import eleme.openapi.sdk.api.service.FinanceService;
+import eleme.openapi.sdk.config.Config;
+import eleme.openapi.sdk.oauth.response.Token;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 多店铺的金融账单、订单及余额流水遍历
+ * <p>
+ * 每个店铺先取第一页, 按返回的总数展开其余页; 所有店铺的页在Config的异步线程池中并发获取, 同时进行的请求不超过concurrency.
+ * 每取到一页即交给{@link RowHandler}, 不在内存中累积. 某一页失败不影响其他页, 失败的页通过{@link WalkResult#getFailures()}返回
+ */
+public class FinanceWalker {
+    /**
+     * 默认每页条数
+     */
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    /**
+     * 默认最多同时进行的请求数
+     */
+    public static final int DEFAULT_CONCURRENCY = 8;
+
+    /**
+     * 处理一页数据
+     */
+    public interface RowHandler<T> {
+        /**
+         * 在调用遍历方法的线程中按到达顺序调用, 不会并发调用; 抛出异常时遍历终止, 已发出的请求结果被丢弃
+         *
+         * @param shopId 店铺id
+         * @param rows   该页数据, 不为空
+         */
+        void handle(long shopId, List<T> rows);
+    }
+
+    private interface Query<T> {
+        Page<T> fetch(long shopId, int pageNo, int pageSize) throws ServiceException;
+    }
+
+    private final Config config;
+    private final FinanceService financeService;
+    private volatile int pageSize = DEFAULT_PAGE_SIZE;
+    private volatile int concurrency = DEFAULT_CONCURRENCY;
+
+    public FinanceWalker(Config config, Token token) {
+        this.config = config;
+        this.financeService = new FinanceService(config, token);
+    }
+
+    /**
+     * 设置每页条数, 不应超过接口允许的上限, 否则会按服务端的实际每页条数漏取数据
+     */
+    public void setPageSize(int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be positive");
+        }
+        this.pageSize = pageSize;
+    }
+
+    public void setConcurrency(int concurrency) {
+        this.concurrency = Math.max(1, concurrency);
+    }
+
+    /**
+     * 遍历分店账单
+     *
+     * @param shopIds 饿了么分店店铺id
+     * @param range   账单日期范围
+     */
+    public WalkResult branchBills(Collection<Long> shopIds, final DateRange range, RowHandler<Bill> handler) {
+        return walk(shopIds, new Query<Bill>() {
+            public Page<Bill> fetch(long shopId, int pageNo, int pageSize) throws ServiceException {
+                BranchQuery query = new BranchQuery();
+                query.setRange(range);
+                query.setPaging(paging(pageNo, pageSize));
+                return bills(financeService.queryBranchBills(shopId, query));
+            }
+        }, handler);
+    }
+
+    /**
+     * 遍历分店金融订单
+     *
+     * @param shopIds 饿了么分店店铺id
+     * @param range   日期范围
+     */
+    public WalkResult branchOrders(Collection<Long> shopIds, final DateRange range, RowHandler<FinanceOrder> handler) {
+        return walk(shopIds, new Query<FinanceOrder>() {
+            public Page<FinanceOrder> fetch(long shopId, int pageNo, int pageSize) throws ServiceException {
+                BranchQuery query = new BranchQuery();
+                query.setRange(range);
+                query.setPaging(paging(pageNo, pageSize));
+                return orders(financeService.queryBranchOrders(shopId, query));
+            }
+        }, handler);
+    }
+
+    /**
+     * 遍历总店账单
+     *
+     * @param shopIds      饿了么总店店铺id
+     * @param checkoutDate 结算日期
+     */
+    public WalkResult headBills(Collection<Long> shopIds, final Date checkoutDate, RowHandler<Bill> handler) {
+        return walk(shopIds, new Query<Bill>() {
+            public Page<Bill> fetch(long shopId, int pageNo, int pageSize) throws ServiceException {
+                HeadQuery query = new HeadQuery();
+                query.setCheckoutDate(checkoutDate);
+                query.setPaging(paging(pageNo, pageSize));
+                return bills(financeService.queryHeadBills(shopId, query));
+            }
+        }, handler);
+    }
+
+    /**
+     * 遍历总店金融订单
+     *
+     * @param shopIds      饿了么总店店铺id
+     * @param checkoutDate 结算日期
+     */
+    public WalkResult headOrders(Collection<Long> shopIds, final Date checkoutDate, RowHandler<FinanceOrder> handler) {
+        return walk(shopIds, new Query<FinanceOrder>() {
+            public Page<FinanceOrder> fetch(long shopId, int pageNo, int pageSize) throws ServiceException {
+                HeadQuery query = new HeadQuery();
+                query.setCheckoutDate(checkoutDate);
+                query.setPaging(paging(pageNo, pageSize));
+                return orders(financeService.queryHeadOrders(shopId, query));
+            }
+        }, handler);
+    }
+
+    /**
+     * 遍历余额流水, 页码从1开始
+     *
+     * @param shopIds   饿了么店铺id
+     * @param beginDate 开始日期
+     * @param endDate   结束日期
+     */
+    public WalkResult balanceLogs(Collection<Long> shopIds, final Date beginDate, final Date endDate, RowHandler<OBalanceLogV0> handler) {
+        return walk(shopIds, new Query<OBalanceLogV0>() {
+            public Page<OBalanceLogV0> fetch(long shopId, int pageNo, int pageSize) throws ServiceException {
+                OQueryBalanceLogRequest request = new OQueryBalanceLogRequest();
+                request.setShopId(shopId);
+                request.setBeginDate(beginDate);
+                request.setEndDate(endDate);
+                request.setPageIndex(pageNo);
+                request.setPageSize(pageSize);
+                OBalanceLogResponse response = financeService.queryBalanceLog(request);
+                return response == null ? new Page<OBalanceLogV0>(null, 0)
+                        : new Page<OBalanceLogV0>(response.getPageList(), response.getTotalNum());
+            }
+        }, handler);
+    }
+
+    private <T> WalkResult walk(Collection<Long> shopIds, final Query<T> query, RowHandler<T> handler) {
+        final int size = pageSize;
+        int limit = concurrency;
+        LinkedList<PageTask<T>> queue = new LinkedList<PageTask<T>>();
+        for (Long shopId : new LinkedHashSet<Long>(shopIds)) {
+            queue.add(new PageTask<T>(shopId, 1));
+        }
+        Set<PageTask<T>> running = new LinkedHashSet<PageTask<T>>();
+        List<PageFailure> failures = new ArrayList<PageFailure>();
+        ExecutorCompletionService<PageTask<T>> completion = new ExecutorCompletionService<PageTask<T>>(config.getAsyncExecutor());
+        long rows = 0;
+        int pages = 0;
+        try {
+            while (!queue.isEmpty() || !running.isEmpty()) {
+                while (!queue.isEmpty() && running.size() < limit) {
+                    final PageTask<T> task = queue.removeFirst();
+                    try {
+                        completion.submit(new Callable<PageTask<T>>() {
+                            public PageTask<T> call() {
+                                task.run(query, size);
+                                return task;
+                            }
+                        });
+                        running.add(task);
+                    } catch (RejectedExecutionException e) {
+                        failures.add(new PageFailure(task.shopId, task.pageNo, e));
+                    }
+                }
+                if (running.isEmpty()) {
+                    continue;
+                }
+                PageTask<T> done = completion.take().get();
+                running.remove(done);
+                if (done.error != null) {
+                    failures.add(new PageFailure(done.shopId, done.pageNo, done.error));
+                    continue;
+                }
+                if (done.pageNo == 1) {
+                    // 其余页排在队首, 先取完已开始的店铺
+                    int totalPages = (done.page.getTotal() + size - 1) / size;
+                    for (int pageNo = totalPages; pageNo > 1; pageNo--) {
+                        queue.addFirst(new PageTask<T>(done.shopId, pageNo));
+                    }
+                }
+                List<T> items = done.page.getItems();
+                pages++;
+                rows += items.size();
+                if (!items.isEmpty()) {
+                    handler.handle(done.shopId, items);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            // 未完成和未发出的页按失败返回
+            for (PageTask<T> task : running) {
+                failures.add(new PageFailure(task.shopId, task.pageNo, e));
+            }
+            for (PageTask<T> task : queue) {
+                failures.add(new PageFailure(task.shopId, task.pageNo, e));
+            }
+        } catch (ExecutionException e) {
+            // PageTask.run已捕获所有异常
+            throw new IllegalStateException(e.getCause());
+        }
+        return new WalkResult(rows, pages, failures);
+    }
+
+    private static Paging paging(int pageNo, int pageSize) {
+        Paging paging = new Paging();
+        paging.setOffset((pageNo - 1) * pageSize);
+        paging.setLimit(pageSize);
+        return paging;
+    }
+
+    private static Page<Bill> bills(Bills bills) {
+        return bills == null ? new Page<Bill>(null, 0) : new Page<Bill>(bills.getBills(), bills.getCount());
+    }
+
+    private static Page<FinanceOrder> orders(FinanceOrders orders) {
+        return orders == null ? new Page<FinanceOrder>(null, 0) : new Page<FinanceOrder>(orders.getOrders(), orders.getCount());
+    }
+
+    private static class PageTask<T> {
+        private final long shopId;
+        private final int pageNo;
+        private Page<T> page;
+        private Throwable error;
+
+        private PageTask(long shopId, int pageNo) {
+            this.shopId = shopId;
+            this.pageNo = pageNo;
+        }
+
+        private void run(Query<T> query, int pageSize) {
+            try {
+                page = query.fetch(shopId, pageNo, pageSize);
+            } catch (Throwable t) {
+                error = t;
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package eleme.openapi.sdk.api.paging;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 一页数据
+ */
+public class Page<T> {
+    private final List<T> items;
+    private final int total;
+
+    /**
+     * @param items 本页数据
+     * @param total 总条数, 接口不返回总数时为-1
+     */
+    public Page(List<T> items, int total) {
+        this.items = items == null ? Collections.<T>emptyList() : items;
+        this.total = total;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+}
@@ -0,0 +1,34 @@
+package eleme.openapi.sdk.api.paging;
+
+/**
+ * 获取失败的一页
+ */
+public class PageFailure {
+    private final long shopId;
+    private final int pageNo;
+    private final Throwable cause;
+
+    PageFailure(long shopId, int pageNo, Throwable cause) {
+        this.shopId = shopId;
+        this.pageNo = pageNo;
+        this.cause = cause;
+    }
+
+    public long getShopId() {
+        return shopId;
+    }
+
+    /**
+     * @return 页码, 从1开始; 第一页失败时该店铺的其余页均未获取
+     */
+    public int getPageNo() {
+        return pageNo;
+    }
+
+    /**
+     * @return 失败原因, 一般为ServiceException或ServerErrorException
+     */
+    public Throwable getCause() {
+        return cause;
+    }
+}
@@ -0,0 +1,178 @@
+package eleme.openapi.sdk.api.paging;
+
+import eleme.openapi.sdk.api.async.ServiceFuture;
+import eleme.openapi.sdk.api.exception.PageFetchException;
+import eleme.openapi.sdk.api.exception.ServiceException;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 按需逐页遍历数据, 消费当前页的同时在后台预取后续页
+ * <p>
+ * 内存中最多保留maxBufferedPages页(含正在消费的一页), 预取的页按页码顺序返回.
+ * 总页数由第一页返回的总条数确定, 接口不返回总数时读到不足一页为止; 页码不超过maxPages.
+ * 获取某一页失败时next/hasNext抛出{@link PageFetchException}, 遍历结束.
+ * <p>
+ * 提前结束遍历时应调用{@link #close()}, 丢弃尚未发出的预取请求
+ */
+public class PageIterator<T> implements Iterator<T>, Closeable {
+    private final Executor executor;
+    private final PageSource<T> source;
+    private final int pageSize;
+    private final int prefetch;
+    private final LinkedList<PendingPage<T>> pending = new LinkedList<PendingPage<T>>();
+    private int lastPage;
+    private int nextPage = 1;
+    private boolean firstPageSeen;
+    private boolean noMorePages;
+    private boolean truncated;
+    private boolean closed;
+    private Iterator<T> current;
+
+    /**
+     * @param executor         执行预取的线程池
+     * @param source           数据来源
+     * @param pageSize         每页条数, 与source请求的每页条数一致
+     * @param maxPages         最大页码
+     * @param maxBufferedPages 内存中最多保留的页数, 1表示不预取
+     */
+    public PageIterator(Executor executor, PageSource<T> source, int pageSize, int maxPages, int maxBufferedPages) {
+        if (pageSize <= 0 || maxPages <= 0 || maxBufferedPages <= 0) {
+            throw new IllegalArgumentException("pageSize, maxPages and maxBufferedPages must be positive");
+        }
+        this.executor = executor;
+        this.source = source;
+        this.pageSize = pageSize;
+        this.lastPage = maxPages;
+        this.prefetch = maxBufferedPages - 1;
+    }
+
+    public boolean hasNext() {
+        while (current == null || !current.hasNext()) {
+            current = null;
+            if (closed || noMorePages) {
+                return false;
+            }
+            if (pending.isEmpty()) {
+                if (nextPage > lastPage) {
+                    noMorePages = true;
+                    return false;
+                }
+                submit(nextPage++);
+            }
+            PendingPage<T> head = pending.removeFirst();
+            Page<T> page = await(head);
+            if (!firstPageSeen) {
+                firstPageSeen = true;
+                if (page.getTotal() >= 0) {
+                    int totalPages = (page.getTotal() + pageSize - 1) / pageSize;
+                    truncated = totalPages > lastPage;
+                    lastPage = Math.min(lastPage, totalPages);
+                }
+            }
+            if (page.getItems().size() < pageSize || head.pageNo >= lastPage) {
+                noMorePages = true;
+                cancelPending();
+            } else {
+                fill();
+            }
+            current = page.getItems().iterator();
+        }
+        return true;
+    }
+
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * 结束遍历, 已发出的预取请求结果将被丢弃
+     */
+    public void close() {
+        closed = true;
+        current = null;
+        cancelPending();
+    }
+
+    /**
+     * @return 总条数超过最大页码可取的范围, 超出部分不会被遍历
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    private void fill() {
+        while (pending.size() < prefetch && nextPage <= lastPage) {
+            submit(nextPage++);
+        }
+    }
+
+    private void submit(final int pageNo) {
+        final ServiceFuture<Page<T>> future = new ServiceFuture<Page<T>>();
+        pending.addLast(new PendingPage<T>(pageNo, future));
+        if (prefetch == 0) {
+            fetch(pageNo, future);
+            return;
+        }
+        try {
+            executor.execute(new Runnable() {
+                public void run() {
+                    if (!future.isDone()) {
+                        fetch(pageNo, future);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.fail(e);
+        }
+    }
+
+    private void fetch(int pageNo, ServiceFuture<Page<T>> future) {
+        try {
+            future.complete(source.fetch(pageNo));
+        } catch (Throwable t) {
+            future.fail(t);
+        }
+    }
+
+    private Page<T> await(PendingPage<T> page) {
+        try {
+            return page.future.getResult();
+        } catch (ServiceException e) {
+            close();
+            throw new PageFetchException(page.pageNo, e);
+        } catch (RuntimeException e) {
+            close();
+            throw new PageFetchException(page.pageNo, e);
+        }
+    }
+
+    private void cancelPending() {
+        for (PendingPage<T> page : pending) {
+            page.future.cancel(false);
+        }
+        pending.clear();
+    }
+
+    private static class PendingPage<T> {
+        private final int pageNo;
+        private final ServiceFuture<Page<T>> future;
+
+        private PendingPage(int pageNo, ServiceFuture<Page<T>> future) {
+            this.pageNo = pageNo;
+            this.future = future;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package eleme.openapi.sdk.api.paging;
+
+import eleme.openapi.sdk.api.entity.order.OOrder;
+import eleme.openapi.sdk.api.entity.order.OrderList;
+import eleme.openapi.sdk.api.entity.ugc.OpenapiItemRate;
+import eleme.openapi.sdk.api.entity.ugc.OpenapiOrderRate;
+import eleme.openapi.sdk.api.exception.ServiceException;
+import eleme.openapi.sdk.api.service.OrderService;
+import eleme.openapi.sdk.api.service.UgcService;
+import eleme.openapi.sdk.config.Config;
+
+import java.util.List;
+
+/**
+ * 常用分页接口的遍历器, 预取在Config的异步线程池中执行
+ */
+public class PageIterators {
+    /**
+     * getAllOrders每页最多条数
+     */
+    public static final int ALL_ORDERS_MAX_PAGE_SIZE = 50;
+    /**
+     * getAllOrders最大页码
+     */
+    public static final int ALL_ORDERS_MAX_PAGE_NO = 100;
+
+    private PageIterators() {
+    }
+
+    /**
+     * 遍历店铺某一天的全部订单, 每页50条, 消费当前页时预取下一页
+     *
+     * @param shopId 店铺id
+     * @param date   日期, 格式:yyyy-MM-dd, 为null时为当天
+     */
+    public static PageIterator<OOrder> allOrders(Config config, OrderService service, long shopId, String date) {
+        return allOrders(config, service, shopId, date, ALL_ORDERS_MAX_PAGE_SIZE, 2);
+    }
+
+    /**
+     * 遍历店铺某一天的全部订单; 接口最多返回前100页, 超出部分可通过{@link PageIterator#isTruncated()}判断
+     *
+     * @param shopId           店铺id
+     * @param date             日期, 格式:yyyy-MM-dd, 为null时为当天
+     * @param pageSize         每页条数, 最大50
+     * @param maxBufferedPages 内存中最多保留的页数, 1表示不预取
+     */
+    public static PageIterator<OOrder> allOrders(Config config, final OrderService service, final long shopId, final String date,
+                                                 int pageSize, int maxBufferedPages) {
+        final int size = Math.min(pageSize, ALL_ORDERS_MAX_PAGE_SIZE);
+        return new PageIterator<OOrder>(config.getAsyncExecutor(), new PageSource<OOrder>() {
+            public Page<OOrder> fetch(int pageNo) throws ServiceException {
+                OrderList orders = service.getAllOrders(shopId, pageNo, size, date);
+                return orders == null ? new Page<OOrder>(null, 0) : new Page<OOrder>(orders.getList(), orders.getTotal());
+            }
+        }, size, ALL_ORDERS_MAX_PAGE_NO, maxBufferedPages);
+    }
+
+    /**
+     * 遍历店铺的评论, 第一页取满后并发预取后续parallelism页, 按offset顺序返回
+     *
+     * @param shopId      餐厅id
+     * @param startTime   开始时间,只能查询最近90天的数据
+     * @param endTime     结束时间
+     * @param pageSize    页面大小
+     * @param parallelism 同时预取的页数, 0表示不预取
+     */
+    public static PageIterator<OpenapiOrderRate> orderRatesByShopId(Config config, final UgcService service, final String shopId,
+                                                                    final String startTime, final String endTime,
+                                                                    final int pageSize, int parallelism) {
+        return offsetPaged(config, new OffsetSource<OpenapiOrderRate>() {
+            public List<OpenapiOrderRate> fetch(int offset) throws ServiceException {
+                return service.getOrderRatesByShopId(shopId, startTime, endTime, offset, pageSize);
+            }
+        }, pageSize, parallelism);
+    }
+
+    /**
+     * 遍历多个店铺的评论
+     *
+     * @see #orderRatesByShopId
+     */
+    public static PageIterator<OpenapiOrderRate> orderRatesByShopIds(Config config, final UgcService service, final List<String> shopIds,
+                                                                     final String startTime, final String endTime,
+                                                                     final int pageSize, int parallelism) {
+        return offsetPaged(config, new OffsetSource<OpenapiOrderRate>() {
+            public List<OpenapiOrderRate> fetch(int offset) throws ServiceException {
+                return service.getOrderRatesByShopIds(shopIds, startTime, endTime, offset, pageSize);
+            }
+        }, pageSize, parallelism);
+    }
+
+    /**
+     * 遍历多个店铺未回复的评论; 遍历期间回复评论会使后续offset错位, 应遍历结束后再回复
+     *
+     * @see #orderRatesByShopId
+     */
+    public static PageIterator<OpenapiOrderRate> unreplyOrderRatesByShopIds(Config config, final UgcService service, final List<String> shopIds,
+                                                                            final String startTime, final String endTime,
+                                                                            final int pageSize, int parallelism) {
+        return offsetPaged(config, new OffsetSource<OpenapiOrderRate>() {
+            public List<OpenapiOrderRate> fetch(int offset) throws ServiceException {
+                return service.getUnreplyOrderRatesByShopIds(shopIds, startTime, endTime, offset, pageSize);
+            }
+        }, pageSize, parallelism);
+    }
+
+    /**
+     * 遍历多个商品的评论
+     *
+     * @see #orderRatesByShopId
+     */
+    public static PageIterator<OpenapiItemRate> itemRatesByItemIds(Config config, final UgcService service, final List<String> itemIds,
+                                                                   final String startTime, final String endTime,
+                                                                   final int pageSize, int parallelism) {
+        return offsetPaged(config, new OffsetSource<OpenapiItemRate>() {
+            public List<OpenapiItemRate> fetch(int offset) throws ServiceException {
+                return service.getItemRatesByItemIds(itemIds, startTime, endTime, offset, pageSize);
+            }
+        }, pageSize, parallelism);
+    }
+
+    /**
+     * 遍历多个商品未回复的评论; 遍历期间回复评论会使后续offset错位, 应遍历结束后再回复
+     *
+     * @see #orderRatesByShopId
+     */
+    public static PageIterator<OpenapiItemRate> unreplyItemRatesByItemIds(Config config, final UgcService service, final List<String> itemIds,
+                                                                          final String startTime, final String endTime,
+                                                                          final int pageSize, int parallelism) {
+        return offsetPaged(config, new OffsetSource<OpenapiItemRate>() {
+            public List<OpenapiItemRate> fetch(int offset) throws ServiceException {
+                return service.getUnreplyItemRatesByItemIds(itemIds, startTime, endTime, offset, pageSize);
+            }
+        }, pageSize, parallelism);
+    }
+
+    /**
+     * 按offset分页且不返回总数的接口, 读到不足一页为止
+     */
+    private static <T> PageIterator<T> offsetPaged(Config config, final OffsetSource<T> source, final int pageSize, int parallelism) {
+        return new PageIterator<T>(config.getAsyncExecutor(), new PageSource<T>() {
+            public Page<T> fetch(int pageNo) throws ServiceException {
+                return new Page<T>(source.fetch((pageNo - 1) * pageSize), -1);
+            }
+        }, pageSize, Integer.MAX_VALUE, Math.max(0, parallelism) + 1);
+    }
+
+    private interface OffsetSource<T> {
+        List<T> fetch(int offset) throws ServiceException;
+    }
+}
@@ -0,0 +1,16 @@
+package eleme.openapi.sdk.api.paging;
+
+import eleme.openapi.sdk.api.exception.ServiceException;
+
+/**
+ * 按页码获取数据
+ */
+public interface PageSource<T> {
+
+    /**
+     * @param pageNo 页码, 从1开始
+     * @return 该页数据, 不足一页表示已是最后一页
+     * @throws ServiceException 服务异常
+     */
+    Page<T> fetch(int pageNo) throws ServiceException;
+}
@@ -0,0 +1,44 @@
+package eleme.openapi.sdk.api.paging;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 多店铺分页遍历的统计, 数据已逐页交给{@link FinanceWalker.RowHandler}
+ */
+public class WalkResult {
+    private final long rows;
+    private final int pages;
+    private final List<PageFailure> failures;
+
+    WalkResult(long rows, int pages, List<PageFailure> failures) {
+        this.rows = rows;
+        this.pages = pages;
+        this.failures = failures;
+    }
+
+    /**
+     * @return 成功获取的条数
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * @return 成功获取的页数
+     */
+    public int getPages() {
+        return pages;
+    }
+
+    /**
+     * @return 失败的页, 按失败先后排列
+     */
+    public List<PageFailure> getFailures() {
+        return Collections.unmodifiableList(failures);
+    }
+
+    public boolean hasFailures() {
+        return !failures.isEmpty();
+    }
+}
@@ -0,0 +1,102 @@
+package eleme.openapi.sdk.api.protocol;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import eleme.openapi.sdk.api.exception.JsonParseException;
+import eleme.openapi.sdk.utils.JacksonUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+
+/**
+ * 流式解析NOP响应, 直接将result绑定为目标类型, 不再经过Map中转和二次序列化
+ */
+public class ResponseDecoder {
+
+    private ResponseDecoder() {
+    }
+
+    /**
+     * 解析响应
+     *
+     * @param response     响应报文
+     * @param resultReader result目标类型的ObjectReader, 为null时忽略result
+     * @return 响应, result已转换为目标类型
+     */
+    public static ResponsePayload decode(String response, ObjectReader resultReader) {
+        ObjectMapper mapper = JacksonUtils.getInstance();
+        try {
+            JsonParser parser = mapper.getFactory().createParser(response);
+            try {
+                return read(mapper, parser, resultReader);
+            } finally {
+                parser.close();
+            }
+        } catch (IOException e) {
+            throw new JsonParseException();
+        }
+    }
+
+    /**
+     * 直接从响应流解析, 不经过字符解码和String中转
+     *
+     * @param in           UTF-8编码的响应体
+     * @param resultReader result目标类型的ObjectReader, 为null时忽略result
+     * @return 响应, result已转换为目标类型
+     * @throws IOException 读取响应流失败
+     */
+    public static ResponsePayload decode(InputStream in, ObjectReader resultReader) throws IOException {
+        ObjectMapper mapper = JacksonUtils.getInstance();
+        return decode(mapper, mapper.getFactory().createParser(in), resultReader);
+    }
+
+    /**
+     * 从非UTF-8编码的响应流解析
+     *
+     * @see #decode(InputStream, ObjectReader)
+     */
+    public static ResponsePayload decode(Reader reader, ObjectReader resultReader) throws IOException {
+        ObjectMapper mapper = JacksonUtils.getInstance();
+        return decode(mapper, mapper.getFactory().createParser(reader), resultReader);
+    }
+
+    /**
+     * 报文格式错误转换为JsonParseException, 读取流产生的IOException原样抛出
+     */
+    private static ResponsePayload decode(ObjectMapper mapper, JsonParser parser, ObjectReader resultReader) throws IOException {
+        try {
+            try {
+                return read(mapper, parser, resultReader);
+            } finally {
+                parser.close();
+            }
+        } catch (JsonProcessingException e) {
+            throw new JsonParseException();
+        }
+    }
+
+    private static ResponsePayload read(ObjectMapper mapper, JsonParser parser, ObjectReader resultReader) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException();
+        }
+        ResponsePayload payload = new ResponsePayload();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            if ("id".equals(field)) {
+                payload.setId(token == JsonToken.VALUE_NULL ? null : parser.getText());
+            } else if ("error".equals(field) && token != JsonToken.VALUE_NULL) {
+                payload.setError(mapper.readValue(parser, ErrorPayload.class));
+            } else if ("result".equals(field) && token != JsonToken.VALUE_NULL && resultReader != null) {
+                payload.setResult(resultReader.readValue(parser));
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return payload;
+    }
+}
@@ -2,6 +2,7 @@ package eleme.openapi.sdk.api.service;
 
 import eleme.openapi.sdk.api.annotation.Service;
 import eleme.openapi.sdk.api.base.BaseNopService;
+import eleme.openapi.sdk.api.base.CallDescriptor;
 import eleme.openapi.sdk.api.exception.ServiceException;
 import eleme.openapi.sdk.oauth.response.Token;
 import eleme.openapi.sdk.config.Config;
@@ -17,6 +18,23 @@ import java.util.*;
  */
 @Service("eleme.activity")
 public class ActivityService extends BaseNopService {
+    private static final CallDescriptor CREATE_COUPON_ACTIVITY = CallDescriptor.of(ActivityService.class, "createCouponActivity", "eleme.activity.coupon.createCouponActivity");
+    private static final CallDescriptor GIVE_OUT_COUPONS = CallDescriptor.of(ActivityService.class, "giveOutCoupons", "eleme.activity.coupon.giveOutCoupons");
+    private static final CallDescriptor QUERY_COUPON_ACTIVITIES = CallDescriptor.of(ActivityService.class, "queryCouponActivities", "eleme.activity.coupon.queryCouponActivities");
+    private static final CallDescriptor QUERY_RECEIVED_COUPON_DETAILS = CallDescriptor.of(ActivityService.class, "queryReceivedCouponDetails", "eleme.activity.coupon.queryReceivedCouponDetails");
+    private static final CallDescriptor QUERY_INVITED_FOOD_ACTIVITIES = CallDescriptor.of(ActivityService.class, "queryInvitedFoodActivities", "eleme.activity.food.queryInvitedFoodActivities");
+    private static final CallDescriptor APPLY_FOOD_ACTIVITY = CallDescriptor.of(ActivityService.class, "applyFoodActivity", "eleme.activity.food.applyFoodActivity");
+    private static final CallDescriptor QUERY_FOOD_ACTIVITIES = CallDescriptor.of(ActivityService.class, "queryFoodActivities", "eleme.activity.food.queryFoodActivities");
+    private static final CallDescriptor UPDATE_FOOD_ACTIVITY_ITEM_STOCK = CallDescriptor.of(ActivityService.class, "updateFoodActivityItemStock", "eleme.activity.food.updateFoodActivityItemStock");
+    private static final CallDescriptor OFFLINE_FOOD_ACTIVITY_ITEM = CallDescriptor.of(ActivityService.class, "offlineFoodActivityItem", "eleme.activity.food.offlineFoodActivityItem");
+    private static final CallDescriptor UNBIND_FOOD_ACTIVITY = CallDescriptor.of(ActivityService.class, "unbindFoodActivity", "eleme.activity.food.unbindFoodActivity");
+    private static final CallDescriptor GET_INVITED_ACTIVITY_INFOS = CallDescriptor.of(ActivityService.class, "getInvitedActivityInfos", "eleme.activity.flash.getInvitedActivityInfos");
+    private static final CallDescriptor APPLY_FLASH_ACTIVITY = CallDescriptor.of(ActivityService.class, "applyFlashActivity", "eleme.activity.flash.applyFlashActivity");
+    private static final CallDescriptor GET_ACTIVITY_APPLY_INFOS = CallDescriptor.of(ActivityService.class, "getActivityApplyInfos", "eleme.activity.flash.getActivityApplyInfos");
+    private static final CallDescriptor UPDATE_ACTIVITY_ITEM_STOCK = CallDescriptor.of(ActivityService.class, "updateActivityItemStock", "eleme.activity.flash.updateActivityItemStock");
+    private static final CallDescriptor OFFLINE_FLASH_ACTIVITY_ITEM = CallDescriptor.of(ActivityService.class, "offlineFlashActivityItem", "eleme.activity.flash.offlineFlashActivityItem");
+    private static final CallDescriptor INVALID_SHOP_ACTIVITY = CallDescriptor.of(ActivityService.class, "invalidShopActivity", "eleme.activity.flash.invalidShopActivity");
+
     public ActivityService(Config config,Token token) {
         super(config, token, ActivityService.class);
     }
@@ -31,7 +49,7 @@ public class ActivityService extends BaseNopService {
     public Long createCouponActivity(CreateInfo createInfo) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("createInfo", createInfo);
-        return call("eleme.activity.coupon.createCouponActivity", params);
+        return call(CREATE_COUPON_ACTIVITY, params);
     }
 
     /**
@@ -48,7 +66,7 @@ public class ActivityService extends BaseNopService {
         params.put("shopId", shopId);
         params.put("couponActivityId", couponActivityId);
         params.put("mobiles", mobiles);
-        return call("eleme.activity.coupon.giveOutCoupons", params);
+        return call(GIVE_OUT_COUPONS, params);
     }
 
     /**
@@ -69,7 +87,7 @@ public class ActivityService extends BaseNopService {
         params.put("activityStatus", activityStatus);
         params.put("pageNo", pageNo);
         params.put("pageSize", pageSize);
-        return call("eleme.activity.coupon.queryCouponActivities", params);
+        return call(QUERY_COUPON_ACTIVITIES, params);
     }
 
     /**
@@ -90,7 +108,7 @@ public class ActivityService extends BaseNopService {
         params.put("couponStatus", couponStatus);
         params.put("pageNo", pageNo);
         params.put("pageSize", pageSize);
-        return call("eleme.activity.coupon.queryReceivedCouponDetails", params);
+        return call(QUERY_RECEIVED_COUPON_DETAILS, params);
     }
 
     /**
@@ -103,7 +121,7 @@ public class ActivityService extends BaseNopService {
     public List<OActivityDetail> queryInvitedFoodActivities(Long shopId) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("shopId", shopId);
-        return call("eleme.activity.food.queryInvitedFoodActivities", params);
+        return call(QUERY_INVITED_FOOD_ACTIVITIES, params);
     }
 
     /**
@@ -118,7 +136,7 @@ public class ActivityService extends BaseNopService {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("activityId", activityId);
         params.put("activityApplyInfo", activityApplyInfo);
-        return call("eleme.activity.food.applyFoodActivity", params);
+        return call(APPLY_FOOD_ACTIVITY, params);
     }
 
     /**
@@ -137,7 +155,7 @@ public class ActivityService extends BaseNopService {
         params.put("shopId", shopId);
         params.put("pageNo", pageNo);
         params.put("pageSize", pageSize);
-        return call("eleme.activity.food.queryFoodActivities", params);
+        return call(QUERY_FOOD_ACTIVITIES, params);
     }
 
     /**
@@ -156,7 +174,7 @@ public class ActivityService extends BaseNopService {
         params.put("shopId", shopId);
         params.put("itemId", itemId);
         params.put("stock", stock);
-        return call("eleme.activity.food.updateFoodActivityItemStock", params);
+        return call(UPDATE_FOOD_ACTIVITY_ITEM_STOCK, params);
     }
 
     /**
@@ -174,7 +192,7 @@ public class ActivityService extends BaseNopService {
         params.put("activityId", activityId);
         params.put("shopId", shopId);
         params.put("itemId", itemId);
-        return call("eleme.activity.food.offlineFoodActivityItem", params);
+        return call(OFFLINE_FOOD_ACTIVITY_ITEM, params);
     }
 
     /**
@@ -190,7 +208,7 @@ public class ActivityService extends BaseNopService {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("activityId", activityId);
         params.put("shopId", shopId);
-        return call("eleme.activity.food.unbindFoodActivity", params);
+        return call(UNBIND_FOOD_ACTIVITY, params);
     }
 
     /**
@@ -203,7 +221,7 @@ public class ActivityService extends BaseNopService {
     public List<OActivityDetail> getInvitedActivityInfos(Long shopId) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("shopId", shopId);
-        return call("eleme.activity.flash.getInvitedActivityInfos", params);
+        return call(GET_INVITED_ACTIVITY_INFOS, params);
     }
 
     /**
@@ -218,7 +236,7 @@ public class ActivityService extends BaseNopService {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("activityId", activityId);
         params.put("activityApplyInfo", activityApplyInfo);
-        return call("eleme.activity.flash.applyFlashActivity", params);
+        return call(APPLY_FLASH_ACTIVITY, params);
     }
 
     /**
@@ -237,7 +255,7 @@ public class ActivityService extends BaseNopService {
         params.put("shopId", shopId);
         params.put("pageNo", pageNo);
         params.put("pageSize", pageSize);
-        return call("eleme.activity.flash.getActivityApplyInfos", params);
+        return call(GET_ACTIVITY_APPLY_INFOS, params);
     }
 
     /**
@@ -256,7 +274,7 @@ public class ActivityService extends BaseNopService {
         params.put("shopId", shopId);
         params.put("itemId", itemId);
         params.put("stock", stock);
-        return call("eleme.activity.flash.updateActivityItemStock", params);
+        return call(UPDATE_ACTIVITY_ITEM_STOCK, params);
     }
 
     /**
@@ -273,7 +291,7 @@ public class ActivityService extends BaseNopService {
         params.put("activityId", activityId);
         params.put("shopId", shopId);
         params.put("itemId", itemId);
-        return call("eleme.activity.flash.offlineFlashActivityItem", params);
+        return call(OFFLINE_FLASH_ACTIVITY_ITEM, params);
     }
 
     /**
@@ -288,6 +306,6 @@ public class ActivityService extends BaseNopService {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("activityId", activityId);
         params.put("shopId", shopId);
-        return call("eleme.activity.flash.invalidShopActivity", params);
+        return call(INVALID_SHOP_ACTIVITY, params);
     }
 }
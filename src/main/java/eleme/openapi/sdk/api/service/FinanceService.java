@@ -2,6 +2,7 @@ package eleme.openapi.sdk.api.service;
 
 import eleme.openapi.sdk.api.annotation.Service;
 import eleme.openapi.sdk.api.base.BaseNopService;
+import eleme.openapi.sdk.api.base.CallDescriptor;
 import eleme.openapi.sdk.api.exception.ServiceException;
 import eleme.openapi.sdk.oauth.response.Token;
 import eleme.openapi.sdk.config.Config;
@@ -17,6 +18,14 @@ import java.util.*;
  */
 @Service("eleme.finance")
 public class FinanceService extends BaseNopService {
+    private static final CallDescriptor QUERY_BALANCE = CallDescriptor.of(FinanceService.class, "queryBalance", "eleme.finance.queryBalance");
+    private static final CallDescriptor QUERY_BALANCE_LOG = CallDescriptor.of(FinanceService.class, "queryBalanceLog", "eleme.finance.queryBalanceLog");
+    private static final CallDescriptor QUERY_HEAD_BILLS = CallDescriptor.of(FinanceService.class, "queryHeadBills", "eleme.finance.queryHeadBills");
+    private static final CallDescriptor QUERY_HEAD_ORDERS = CallDescriptor.of(FinanceService.class, "queryHeadOrders", "eleme.finance.queryHeadOrders");
+    private static final CallDescriptor QUERY_BRANCH_BILLS = CallDescriptor.of(FinanceService.class, "queryBranchBills", "eleme.finance.queryBranchBills");
+    private static final CallDescriptor QUERY_BRANCH_ORDERS = CallDescriptor.of(FinanceService.class, "queryBranchOrders", "eleme.finance.queryBranchOrders");
+    private static final CallDescriptor GET_ORDER = CallDescriptor.of(FinanceService.class, "getOrder", "eleme.finance.getOrder");
+
     public FinanceService(Config config,Token token) {
         super(config, token, FinanceService.class);
     }
@@ -31,7 +40,7 @@ public class FinanceService extends BaseNopService {
     public OQueryBalanceResponse queryBalance(int shopId) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("shopId", shopId);
-        return call("eleme.finance.queryBalance", params);
+        return call(QUERY_BALANCE, params);
     }
 
     /**
@@ -44,7 +53,7 @@ public class FinanceService extends BaseNopService {
     public OBalanceLogResponse queryBalanceLog(OQueryBalanceLogRequest request) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("request", request);
-        return call("eleme.finance.queryBalanceLog", params);
+        return call(QUERY_BALANCE_LOG, params);
     }
 
     /**
@@ -59,7 +68,7 @@ public class FinanceService extends BaseNopService {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("shopId", shopId);
         params.put("query", query);
-        return call("eleme.finance.queryHeadBills", params);
+        return call(QUERY_HEAD_BILLS, params);
     }
 
     /**
@@ -74,7 +83,7 @@ public class FinanceService extends BaseNopService {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("shopId", shopId);
         params.put("query", query);
-        return call("eleme.finance.queryHeadOrders", params);
+        return call(QUERY_HEAD_ORDERS, params);
     }
 
     /**
@@ -89,7 +98,7 @@ public class FinanceService extends BaseNopService {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("shopId", shopId);
         params.put("query", query);
-        return call("eleme.finance.queryBranchBills", params);
+        return call(QUERY_BRANCH_BILLS, params);
     }
 
     /**
@@ -104,7 +113,7 @@ public class FinanceService extends BaseNopService {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("shopId", shopId);
         params.put("query", query);
-        return call("eleme.finance.queryBranchOrders", params);
+        return call(QUERY_BRANCH_ORDERS, params);
     }
 
     /**
@@ -119,6 +128,6 @@ public class FinanceService extends BaseNopService {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("shopId", shopId);
         params.put("orderId", orderId);
-        return call("eleme.finance.getOrder", params);
+        return call(GET_ORDER, params);
     }
 }
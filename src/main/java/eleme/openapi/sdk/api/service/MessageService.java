@@ -2,6 +2,7 @@ package eleme.openapi.sdk.api.service;
 
 import eleme.openapi.sdk.api.annotation.Service;
 import eleme.openapi.sdk.api.base.BaseNopService;
+import eleme.openapi.sdk.api.base.CallDescriptor;
 import eleme.openapi.sdk.api.exception.ServiceException;
 import eleme.openapi.sdk.oauth.response.Token;
 import eleme.openapi.sdk.config.Config;
@@ -17,6 +18,9 @@ import java.util.*;
  */
 @Service("eleme.message")
 public class MessageService extends BaseNopService {
+    private static final CallDescriptor GET_NON_REACHED_MESSAGES = CallDescriptor.of(MessageService.class, "getNonReachedMessages", "eleme.message.getNonReachedMessages");
+    private static final CallDescriptor GET_NON_REACHED_OMESSAGES = CallDescriptor.of(MessageService.class, "getNonReachedOMessages", "eleme.message.getNonReachedOMessages");
+
     public MessageService(Config config,Token token) {
         super(config, token, MessageService.class);
     }
@@ -31,7 +35,7 @@ public class MessageService extends BaseNopService {
     public List<String> getNonReachedMessages(int appId) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("appId", appId);
-        return call("eleme.message.getNonReachedMessages", params);
+        return call(GET_NON_REACHED_MESSAGES, params);
     }
 
     /**
@@ -44,6 +48,6 @@ public class MessageService extends BaseNopService {
     public List<OMessage> getNonReachedOMessages(int appId) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("appId", appId);
-        return call("eleme.message.getNonReachedOMessages", params);
+        return call(GET_NON_REACHED_OMESSAGES, params);
     }
 }
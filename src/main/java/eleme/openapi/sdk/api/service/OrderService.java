@@ -2,6 +2,7 @@ package eleme.openapi.sdk.api.service;
 
 import eleme.openapi.sdk.api.annotation.Service;
 import eleme.openapi.sdk.api.base.BaseNopService;
+import eleme.openapi.sdk.api.base.CallDescriptor;
 import eleme.openapi.sdk.api.exception.ServiceException;
 import eleme.openapi.sdk.oauth.response.Token;
 import eleme.openapi.sdk.config.Config;
@@ -17,6 +18,41 @@ import java.util.*;
  */
 @Service("eleme.order")
 public class OrderService extends BaseNopService {
+    private static final CallDescriptor GET_ORDER = CallDescriptor.of(OrderService.class, "getOrder", "eleme.order.getOrder");
+    private static final CallDescriptor MGET_ORDERS = CallDescriptor.of(OrderService.class, "mgetOrders", "eleme.order.mgetOrders");
+    private static final CallDescriptor CONFIRM_ORDER_LITE = CallDescriptor.of(OrderService.class, "confirmOrderLite", "eleme.order.confirmOrderLite");
+    private static final CallDescriptor CONFIRM_ORDER = CallDescriptor.of(OrderService.class, "confirmOrder", "eleme.order.confirmOrder");
+    private static final CallDescriptor CANCEL_ORDER_LITE = CallDescriptor.of(OrderService.class, "cancelOrderLite", "eleme.order.cancelOrderLite");
+    private static final CallDescriptor CANCEL_ORDER = CallDescriptor.of(OrderService.class, "cancelOrder", "eleme.order.cancelOrder");
+    private static final CallDescriptor AGREE_REFUND_LITE = CallDescriptor.of(OrderService.class, "agreeRefundLite", "eleme.order.agreeRefundLite");
+    private static final CallDescriptor AGREE_REFUND = CallDescriptor.of(OrderService.class, "agreeRefund", "eleme.order.agreeRefund");
+    private static final CallDescriptor DISAGREE_REFUND_LITE = CallDescriptor.of(OrderService.class, "disagreeRefundLite", "eleme.order.disagreeRefundLite");
+    private static final CallDescriptor DISAGREE_REFUND = CallDescriptor.of(OrderService.class, "disagreeRefund", "eleme.order.disagreeRefund");
+    private static final CallDescriptor GET_DELIVERY_STATE_RECORD = CallDescriptor.of(OrderService.class, "getDeliveryStateRecord", "eleme.order.getDeliveryStateRecord");
+    private static final CallDescriptor BATCH_GET_DELIVERY_STATES = CallDescriptor.of(OrderService.class, "batchGetDeliveryStates", "eleme.order.batchGetDeliveryStates");
+    private static final CallDescriptor DELIVERY_BY_SELF_LITE = CallDescriptor.of(OrderService.class, "deliveryBySelfLite", "eleme.order.deliveryBySelfLite");
+    private static final CallDescriptor DELIVERY_BY_SELF = CallDescriptor.of(OrderService.class, "deliveryBySelf", "eleme.order.deliveryBySelf");
+    private static final CallDescriptor NO_MORE_DELIVERY_LITE = CallDescriptor.of(OrderService.class, "noMoreDeliveryLite", "eleme.order.noMoreDeliveryLite");
+    private static final CallDescriptor NO_MORE_DELIVERY = CallDescriptor.of(OrderService.class, "noMoreDelivery", "eleme.order.noMoreDelivery");
+    private static final CallDescriptor RECEIVED_ORDER_LITE = CallDescriptor.of(OrderService.class, "receivedOrderLite", "eleme.order.receivedOrderLite");
+    private static final CallDescriptor RECEIVED_ORDER = CallDescriptor.of(OrderService.class, "receivedOrder", "eleme.order.receivedOrder");
+    private static final CallDescriptor REPLY_REMINDER = CallDescriptor.of(OrderService.class, "replyReminder", "eleme.order.replyReminder");
+    private static final CallDescriptor GET_COMMODITIES = CallDescriptor.of(OrderService.class, "getCommodities", "eleme.order.getCommodities");
+    private static final CallDescriptor MGET_COMMODITIES = CallDescriptor.of(OrderService.class, "mgetCommodities", "eleme.order.mgetCommodities");
+    private static final CallDescriptor GET_REFUND_ORDER = CallDescriptor.of(OrderService.class, "getRefundOrder", "eleme.order.getRefundOrder");
+    private static final CallDescriptor MGET_REFUND_ORDERS = CallDescriptor.of(OrderService.class, "mgetRefundOrders", "eleme.order.mgetRefundOrders");
+    private static final CallDescriptor CANCEL_DELIVERY = CallDescriptor.of(OrderService.class, "cancelDelivery", "eleme.order.cancelDelivery");
+    private static final CallDescriptor CALL_DELIVERY = CallDescriptor.of(OrderService.class, "callDelivery", "eleme.order.callDelivery");
+    private static final CallDescriptor GET_UNREPLY_REMINDERS = CallDescriptor.of(OrderService.class, "getUnreplyReminders", "eleme.order.getUnreplyReminders");
+    private static final CallDescriptor GET_UNPROCESS_ORDERS = CallDescriptor.of(OrderService.class, "getUnprocessOrders", "eleme.order.getUnprocessOrders");
+    private static final CallDescriptor GET_CANCEL_ORDERS = CallDescriptor.of(OrderService.class, "getCancelOrders", "eleme.order.getCancelOrders");
+    private static final CallDescriptor GET_REFUND_ORDERS = CallDescriptor.of(OrderService.class, "getRefundOrders", "eleme.order.getRefundOrders");
+    private static final CallDescriptor GET_ALL_ORDERS = CallDescriptor.of(OrderService.class, "getAllOrders", "eleme.order.getAllOrders");
+    private static final CallDescriptor QUERY_SUPPORTED_COMPENSATION_ORDERS = CallDescriptor.of(OrderService.class, "querySupportedCompensationOrders", "eleme.order.querySupportedCompensationOrders");
+    private static final CallDescriptor BATCH_APPLY_COMPENSATIONS = CallDescriptor.of(OrderService.class, "batchApplyCompensations", "eleme.order.batchApplyCompensations");
+    private static final CallDescriptor QUERY_COMPENSATION_ORDERS = CallDescriptor.of(OrderService.class, "queryCompensationOrders", "eleme.order.queryCompensationOrders");
+    private static final CallDescriptor GET_DELIVERY_FEE_FOR_CROWD = CallDescriptor.of(OrderService.class, "getDeliveryFeeForCrowd", "eleme.order.getDeliveryFeeForCrowd");
+
     public OrderService(Config config,Token token) {
         super(config, token, OrderService.class);
     }
@@ -31,7 +67,7 @@ public class OrderService extends BaseNopService {
     public OOrder getOrder(String orderId) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("orderId", orderId);
-        return call("eleme.order.getOrder", params);
+        return call(GET_ORDER, params);
     }
 
     /**
@@ -44,7 +80,7 @@ public class OrderService extends BaseNopService {
     public Map<String,OOrder> mgetOrders(List<String> orderIds) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("orderIds", orderIds);
-        return call("eleme.order.mgetOrders", params);
+        return call(MGET_ORDERS, params);
     }
 
     /**
@@ -56,7 +92,7 @@ public class OrderService extends BaseNopService {
     public void confirmOrderLite(String orderId) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("orderId", orderId);
-        call("eleme.order.confirmOrderLite", params);
+        call(CONFIRM_ORDER_LITE, params);
     }
 
     /**
@@ -69,7 +105,7 @@ public class OrderService extends BaseNopService {
     public OOrder confirmOrder(String orderId) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("orderId", orderId);
-        return call("eleme.order.confirmOrder", params);
+        return call(CONFIRM_ORDER, params);
     }
 
     /**
@@ -85,7 +121,7 @@ public class OrderService extends BaseNopService {
         params.put("orderId", orderId);
         params.put("type", type);
         params.put("remark", remark);
-        call("eleme.order.cancelOrderLite", params);
+        call(CANCEL_ORDER_LITE, params);
     }
 
     /**
@@ -102,7 +138,7 @@ public class OrderService extends BaseNopService {
         params.put("orderId", orderId);
         params.put("type", type);
         params.put("remark", remark);
-        return call("eleme.order.cancelOrder", params);
+        return call(CANCEL_ORDER, params);
     }
 
     /**
@@ -114,7 +150,7 @@ public class OrderService extends BaseNopService {
     public void agreeRefundLite(String orderId) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("orderId", orderId);
-        call("eleme.order.agreeRefundLite", params);
+        call(AGREE_REFUND_LITE, params);
     }
 
     /**
@@ -127,7 +163,7 @@ public class OrderService extends BaseNopService {
     public OOrder agreeRefund(String orderId) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("orderId", orderId);
-        return call("eleme.order.agreeRefund", params);
+        return call(AGREE_REFUND, params);
     }
 
     /**
@@ -141,7 +177,7 @@ public class OrderService extends BaseNopService {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("orderId", orderId);
         params.put("reason", reason);
-        call("eleme.order.disagreeRefundLite", params);
+        call(DISAGREE_REFUND_LITE, params);
     }
 
     /**
@@ -156,7 +192,7 @@ public class OrderService extends BaseNopService {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("orderId", orderId);
         params.put("reason", reason);
-        return call("eleme.order.disagreeRefund", params);
+        return call(DISAGREE_REFUND, params);
     }
 
     /**
@@ -169,7 +205,7 @@ public class OrderService extends BaseNopService {
     public List<ODeliveryRecord> getDeliveryStateRecord(String orderId) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("orderId", orderId);
-        return call("eleme.order.getDeliveryStateRecord", params);
+        return call(GET_DELIVERY_STATE_RECORD, params);
     }
 
     /**
@@ -182,7 +218,7 @@ public class OrderService extends BaseNopService {
     public Map<String,ODeliveryRecord> batchGetDeliveryStates(List<String> orderIds) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("orderIds", orderIds);
-        return call("eleme.order.batchGetDeliveryStates", params);
+        return call(BATCH_GET_DELIVERY_STATES, params);
     }
 
     /**
@@ -195,7 +231,7 @@ public class OrderService extends BaseNopService {
     public void deliveryBySelfLite(String orderId) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("orderId", orderId);
-        call("eleme.order.deliveryBySelfLite", params);
+        call(DELIVERY_BY_SELF_LITE, params);
     }
 
     /**
@@ -208,7 +244,7 @@ public class OrderService extends BaseNopService {
     public OOrder deliveryBySelf(String orderId) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("orderId", orderId);
-        return call("eleme.order.deliveryBySelf", params);
+        return call(DELIVERY_BY_SELF, params);
     }
 
     /**
@@ -221,7 +257,7 @@ public class OrderService extends BaseNopService {
     public void noMoreDeliveryLite(String orderId) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("orderId", orderId);
-        call("eleme.order.noMoreDeliveryLite", params);
+        call(NO_MORE_DELIVERY_LITE, params);
     }
 
     /**
@@ -234,7 +270,7 @@ public class OrderService extends BaseNopService {
     public OOrder noMoreDelivery(String orderId) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("orderId", orderId);
-        return call("eleme.order.noMoreDelivery", params);
+        return call(NO_MORE_DELIVERY, params);
     }
 
     /**
@@ -246,7 +282,7 @@ public class OrderService extends BaseNopService {
     public void receivedOrderLite(String orderId) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("orderId", orderId);
-        call("eleme.order.receivedOrderLite", params);
+        call(RECEIVED_ORDER_LITE, params);
     }
 
     /**
@@ -259,7 +295,7 @@ public class OrderService extends BaseNopService {
     public OOrder receivedOrder(String orderId) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("orderId", orderId);
-        return call("eleme.order.receivedOrder", params);
+        return call(RECEIVED_ORDER, params);
     }
 
     /**
@@ -275,7 +311,7 @@ public class OrderService extends BaseNopService {
         params.put("remindId", remindId);
         params.put("type", type);
         params.put("content", content);
-        call("eleme.order.replyReminder", params);
+        call(REPLY_REMINDER, params);
     }
 
     /**
@@ -288,7 +324,7 @@ public class OrderService extends BaseNopService {
     public Map<String,OCommodity> getCommodities(String orderId) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("orderId", orderId);
-        return call("eleme.order.getCommodities", params);
+        return call(GET_COMMODITIES, params);
     }
 
     /**
@@ -301,7 +337,7 @@ public class OrderService extends BaseNopService {
     public Map<String,Map<String,OCommodity>> mgetCommodities(List<String> orderIds) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("orderIds", orderIds);
-        return call("eleme.order.mgetCommodities", params);
+        return call(MGET_COMMODITIES, params);
     }
 
     /**
@@ -314,7 +350,7 @@ public class OrderService extends BaseNopService {
     public ORefundOrder getRefundOrder(String orderId) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("orderId", orderId);
-        return call("eleme.order.getRefundOrder", params);
+        return call(GET_REFUND_ORDER, params);
     }
 
     /**
@@ -327,7 +363,7 @@ public class OrderService extends BaseNopService {
     public Map<String,ORefundOrder> mgetRefundOrders(List<String> orderIds) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("orderIds", orderIds);
-        return call("eleme.order.mgetRefundOrders", params);
+        return call(MGET_REFUND_ORDERS, params);
     }
 
     /**
@@ -339,7 +375,7 @@ public class OrderService extends BaseNopService {
     public void cancelDelivery(String orderId) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("orderId", orderId);
-        call("eleme.order.cancelDelivery", params);
+        call(CANCEL_DELIVERY, params);
     }
 
     /**
@@ -353,7 +389,7 @@ public class OrderService extends BaseNopService {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("orderId", orderId);
         params.put("fee", fee);
-        call("eleme.order.callDelivery", params);
+        call(CALL_DELIVERY, params);
     }
 
     /**
@@ -366,7 +402,7 @@ public class OrderService extends BaseNopService {
     public List<OReminder> getUnreplyReminders(long shopId) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("shopId", shopId);
-        return call("eleme.order.getUnreplyReminders", params);
+        return call(GET_UNREPLY_REMINDERS, params);
     }
 
     /**
@@ -379,7 +415,7 @@ public class OrderService extends BaseNopService {
     public List<String> getUnprocessOrders(long shopId) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("shopId", shopId);
-        return call("eleme.order.getUnprocessOrders", params);
+        return call(GET_UNPROCESS_ORDERS, params);
     }
 
     /**
@@ -392,7 +428,7 @@ public class OrderService extends BaseNopService {
     public List<String> getCancelOrders(long shopId) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("shopId", shopId);
-        return call("eleme.order.getCancelOrders", params);
+        return call(GET_CANCEL_ORDERS, params);
     }
 
     /**
@@ -405,7 +441,7 @@ public class OrderService extends BaseNopService {
     public List<String> getRefundOrders(long shopId) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("shopId", shopId);
-        return call("eleme.order.getRefundOrders", params);
+        return call(GET_REFUND_ORDERS, params);
     }
 
     /**
@@ -424,7 +460,7 @@ public class OrderService extends BaseNopService {
         params.put("pageNo", pageNo);
         params.put("pageSize", pageSize);
         params.put("date", date);
-        return call("eleme.order.getAllOrders", params);
+        return call(GET_ALL_ORDERS, params);
     }
 
     /**
@@ -437,7 +473,7 @@ public class OrderService extends BaseNopService {
     public Map<String,CompensationOrder> querySupportedCompensationOrders(List<String> orderIds) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("orderIds", orderIds);
-        return call("eleme.order.querySupportedCompensationOrders", params);
+        return call(QUERY_SUPPORTED_COMPENSATION_ORDERS, params);
     }
 
     /**
@@ -450,7 +486,7 @@ public class OrderService extends BaseNopService {
     public Map<String,Boolean> batchApplyCompensations(List<CompensationRequest> requests) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("requests", requests);
-        return call("eleme.order.batchApplyCompensations", params);
+        return call(BATCH_APPLY_COMPENSATIONS, params);
     }
 
     /**
@@ -463,7 +499,7 @@ public class OrderService extends BaseNopService {
     public Map<String,CompensationInfo> queryCompensationOrders(List<String> orderIds) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("orderIds", orderIds);
-        return call("eleme.order.queryCompensationOrders", params);
+        return call(QUERY_COMPENSATION_ORDERS, params);
     }
 
     /**
@@ -476,6 +512,6 @@ public class OrderService extends BaseNopService {
     public double getDeliveryFeeForCrowd(String orderId) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("orderId", orderId);
-        return call("eleme.order.getDeliveryFeeForCrowd", params);
+        return call(GET_DELIVERY_FEE_FOR_CROWD, params);
     }
 }
@@ -2,6 +2,7 @@ package eleme.openapi.sdk.api.service;
 
 import eleme.openapi.sdk.api.annotation.Service;
 import eleme.openapi.sdk.api.base.BaseNopService;
+import eleme.openapi.sdk.api.base.CallDescriptor;
 import eleme.openapi.sdk.api.exception.ServiceException;
 import eleme.openapi.sdk.oauth.response.Token;
 import eleme.openapi.sdk.config.Config;
@@ -17,6 +18,8 @@ import java.util.*;
  */
 @Service("eleme.packs")
 public class PacksService extends BaseNopService {
+    private static final CallDescriptor GET_EFFECT_SERVICE_PACK_CONTRACT = CallDescriptor.of(PacksService.class, "getEffectServicePackContract", "eleme.packs.getEffectServicePackContract");
+
     public PacksService(Config config,Token token) {
         super(config, token, PacksService.class);
     }
@@ -31,6 +34,6 @@ public class PacksService extends BaseNopService {
     public ShopContract getEffectServicePackContract(Long shopId) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("shopId", shopId);
-        return call("eleme.packs.getEffectServicePackContract", params);
+        return call(GET_EFFECT_SERVICE_PACK_CONTRACT, params);
     }
 }
@@ -2,6 +2,7 @@ package eleme.openapi.sdk.api.service;
 
 import eleme.openapi.sdk.api.annotation.Service;
 import eleme.openapi.sdk.api.base.BaseNopService;
+import eleme.openapi.sdk.api.base.CallDescriptor;
 import eleme.openapi.sdk.api.exception.ServiceException;
 import eleme.openapi.sdk.oauth.response.Token;
 import eleme.openapi.sdk.config.Config;
@@ -17,6 +18,51 @@ import java.util.*;
  */
 @Service("eleme.product")
 public class ProductService extends BaseNopService {
+    private static final CallDescriptor UPLOAD_IMAGE = CallDescriptor.of(ProductService.class, "uploadImage", "eleme.file.uploadImage");
+    private static final CallDescriptor UPLOAD_IMAGE_WITH_REMOTE_URL = CallDescriptor.of(ProductService.class, "uploadImageWithRemoteUrl", "eleme.file.uploadImageWithRemoteUrl");
+    private static final CallDescriptor GET_UPLOADED_URL = CallDescriptor.of(ProductService.class, "getUploadedUrl", "eleme.file.getUploadedUrl");
+    private static final CallDescriptor GET_IMAGE_URL = CallDescriptor.of(ProductService.class, "getImageUrl", "eleme.file.getImageUrl");
+    private static final CallDescriptor GET_SHOP_CATEGORIES = CallDescriptor.of(ProductService.class, "getShopCategories", "eleme.product.category.getShopCategories");
+    private static final CallDescriptor GET_SHOP_CATEGORIES_WITH_CHILDREN = CallDescriptor.of(ProductService.class, "getShopCategoriesWithChildren", "eleme.product.category.getShopCategoriesWithChildren");
+    private static final CallDescriptor GET_CATEGORY = CallDescriptor.of(ProductService.class, "getCategory", "eleme.product.category.getCategory");
+    private static final CallDescriptor GET_CATEGORY_WITH_CHILDREN = CallDescriptor.of(ProductService.class, "getCategoryWithChildren", "eleme.product.category.getCategoryWithChildren");
+    private static final CallDescriptor CREATE_CATEGORY = CallDescriptor.of(ProductService.class, "createCategory", "eleme.product.category.createCategory");
+    private static final CallDescriptor CREATE_CATEGORY_WITH_CHILDREN = CallDescriptor.of(ProductService.class, "createCategoryWithChildren", "eleme.product.category.createCategoryWithChildren");
+    private static final CallDescriptor UPDATE_CATEGORY = CallDescriptor.of(ProductService.class, "updateCategory", "eleme.product.category.updateCategory");
+    private static final CallDescriptor UPDATE_CATEGORY_WITH_CHILDREN = CallDescriptor.of(ProductService.class, "updateCategoryWithChildren", "eleme.product.category.updateCategoryWithChildren");
+    private static final CallDescriptor REMOVE_CATEGORY = CallDescriptor.of(ProductService.class, "removeCategory", "eleme.product.category.removeCategory");
+    private static final CallDescriptor INVALID_CATEGORY = CallDescriptor.of(ProductService.class, "invalidCategory", "eleme.product.category.invalidCategory");
+    private static final CallDescriptor SET_CATEGORY_POSITIONS = CallDescriptor.of(ProductService.class, "setCategoryPositions", "eleme.product.category.setCategoryPositions");
+    private static final CallDescriptor SET_CATEGORY_SEQUENCE = CallDescriptor.of(ProductService.class, "setCategorySequence", "eleme.product.category.setCategorySequence");
+    private static final CallDescriptor SET_CATEGORY_POSITIONS_WITH_CHILDREN = CallDescriptor.of(ProductService.class, "setCategoryPositionsWithChildren", "eleme.product.category.setCategoryPositionsWithChildren");
+    private static final CallDescriptor GET_BACK_CATEGORY = CallDescriptor.of(ProductService.class, "getBackCategory", "eleme.product.category.getBackCategory");
+    private static final CallDescriptor SET_CATEGORY_TYPE = CallDescriptor.of(ProductService.class, "setCategoryType", "eleme.product.category.setCategoryType");
+    private static final CallDescriptor GET_ITEMS_BY_CATEGORY_ID = CallDescriptor.of(ProductService.class, "getItemsByCategoryId", "eleme.product.item.getItemsByCategoryId");
+    private static final CallDescriptor GET_ITEM = CallDescriptor.of(ProductService.class, "getItem", "eleme.product.item.getItem");
+    private static final CallDescriptor BATCH_GET_ITEMS = CallDescriptor.of(ProductService.class, "batchGetItems", "eleme.product.item.batchGetItems");
+    private static final CallDescriptor CREATE_ITEM = CallDescriptor.of(ProductService.class, "createItem", "eleme.product.item.createItem");
+    private static final CallDescriptor BATCH_CREATE_ITEMS = CallDescriptor.of(ProductService.class, "batchCreateItems", "eleme.product.item.batchCreateItems");
+    private static final CallDescriptor UPDATE_ITEM = CallDescriptor.of(ProductService.class, "updateItem", "eleme.product.item.updateItem");
+    private static final CallDescriptor BATCH_FILL_STOCK = CallDescriptor.of(ProductService.class, "batchFillStock", "eleme.product.item.batchFillStock");
+    private static final CallDescriptor BATCH_CLEAR_STOCK = CallDescriptor.of(ProductService.class, "batchClearStock", "eleme.product.item.batchClearStock");
+    private static final CallDescriptor BATCH_ON_SHELF = CallDescriptor.of(ProductService.class, "batchOnShelf", "eleme.product.item.batchOnShelf");
+    private static final CallDescriptor BATCH_LIST_ITEMS = CallDescriptor.of(ProductService.class, "batchListItems", "eleme.product.item.batchListItems");
+    private static final CallDescriptor BATCH_OFF_SHELF = CallDescriptor.of(ProductService.class, "batchOffShelf", "eleme.product.item.batchOffShelf");
+    private static final CallDescriptor BATCH_DELIST_ITEMS = CallDescriptor.of(ProductService.class, "batchDelistItems", "eleme.product.item.batchDelistItems");
+    private static final CallDescriptor REMOVE_ITEM = CallDescriptor.of(ProductService.class, "removeItem", "eleme.product.item.removeItem");
+    private static final CallDescriptor INVALID_ITEM = CallDescriptor.of(ProductService.class, "invalidItem", "eleme.product.item.invalidItem");
+    private static final CallDescriptor BATCH_REMOVE_ITEMS = CallDescriptor.of(ProductService.class, "batchRemoveItems", "eleme.product.item.batchRemoveItems");
+    private static final CallDescriptor BATCH_UPDATE_SPEC_STOCKS = CallDescriptor.of(ProductService.class, "batchUpdateSpecStocks", "eleme.product.item.batchUpdateSpecStocks");
+    private static final CallDescriptor BATCH_UPDATE_STOCK = CallDescriptor.of(ProductService.class, "batchUpdateStock", "eleme.product.item.batchUpdateStock");
+    private static final CallDescriptor SET_ITEM_POSITIONS = CallDescriptor.of(ProductService.class, "setItemPositions", "eleme.product.item.setItemPositions");
+    private static final CallDescriptor CLEAR_AND_TIMING_MAX_STOCK = CallDescriptor.of(ProductService.class, "clearAndTimingMaxStock", "eleme.product.item.clearAndTimingMaxStock");
+    private static final CallDescriptor GET_ITEM_BY_SHOP_ID_AND_EXTEND_CODE = CallDescriptor.of(ProductService.class, "getItemByShopIdAndExtendCode", "eleme.product.item.getItemByShopIdAndExtendCode");
+    private static final CallDescriptor GET_ITEMS_BY_SHOP_ID_AND_BAR_CODE = CallDescriptor.of(ProductService.class, "getItemsByShopIdAndBarCode", "eleme.product.item.getItemsByShopIdAndBarCode");
+    private static final CallDescriptor BATCH_UPDATE_PRICES = CallDescriptor.of(ProductService.class, "batchUpdatePrices", "eleme.product.item.batchUpdatePrices");
+    private static final CallDescriptor GET_ITEM_IDS_HAS_ACTIVITY_BY_SHOP_ID = CallDescriptor.of(ProductService.class, "getItemIdsHasActivityByShopId", "eleme.product.item.getItemIdsHasActivityByShopId");
+    private static final CallDescriptor GET_SHOP_SALES_ITEMS = CallDescriptor.of(ProductService.class, "getShopSalesItems", "eleme.product.item.getShopSalesItems");
+    private static final CallDescriptor SET_ORDER_PACKING_FEE = CallDescriptor.of(ProductService.class, "setOrderPackingFee", "eleme.product.item.setOrderPackingFee");
+
     public ProductService(Config config,Token token) {
         super(config, token, ProductService.class);
     }
@@ -31,7 +77,7 @@ public class ProductService extends BaseNopService {
     public String uploadImage(String image) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("image", image);
-        return call("eleme.file.uploadImage", params);
+        return call(UPLOAD_IMAGE, params);
     }
 
     /**
@@ -44,7 +90,7 @@ public class ProductService extends BaseNopService {
     public String uploadImageWithRemoteUrl(String url) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("url", url);
-        return call("eleme.file.uploadImageWithRemoteUrl", params);
+        return call(UPLOAD_IMAGE_WITH_REMOTE_URL, params);
     }
 
     /**
@@ -57,7 +103,7 @@ public class ProductService extends BaseNopService {
     public String getUploadedUrl(String hash) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("hash", hash);
-        return call("eleme.file.getUploadedUrl", params);
+        return call(GET_UPLOADED_URL, params);
     }
 
     /**
@@ -70,7 +116,7 @@ public class ProductService extends BaseNopService {
     public String getImageUrl(String hash) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("hash", hash);
-        return call("eleme.file.getImageUrl", params);
+        return call(GET_IMAGE_URL, params);
     }
 
     /**
@@ -83,7 +129,7 @@ public class ProductService extends BaseNopService {
     public List<OCategory> getShopCategories(long shopId) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("shopId", shopId);
-        return call("eleme.product.category.getShopCategories", params);
+        return call(GET_SHOP_CATEGORIES, params);
     }
 
     /**
@@ -96,7 +142,7 @@ public class ProductService extends BaseNopService {
     public List<OCategory> getShopCategoriesWithChildren(long shopId) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("shopId", shopId);
-        return call("eleme.product.category.getShopCategoriesWithChildren", params);
+        return call(GET_SHOP_CATEGORIES_WITH_CHILDREN, params);
     }
 
     /**
@@ -109,7 +155,7 @@ public class ProductService extends BaseNopService {
     public OCategory getCategory(Long categoryId) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("categoryId", categoryId);
-        return call("eleme.product.category.getCategory", params);
+        return call(GET_CATEGORY, params);
     }
 
     /**
@@ -122,7 +168,7 @@ public class ProductService extends BaseNopService {
     public OCategory getCategoryWithChildren(long categoryId) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("categoryId", categoryId);
-        return call("eleme.product.category.getCategoryWithChildren", params);
+        return call(GET_CATEGORY_WITH_CHILDREN, params);
     }
 
     /**
@@ -139,7 +185,7 @@ public class ProductService extends BaseNopService {
         params.put("shopId", shopId);
         params.put("name", name);
         params.put("description", description);
-        return call("eleme.product.category.createCategory", params);
+        return call(CREATE_CATEGORY, params);
     }
 
     /**
@@ -158,7 +204,7 @@ public class ProductService extends BaseNopService {
         params.put("name", name);
         params.put("parentId", parentId);
         params.put("description", description);
-        return call("eleme.product.category.createCategoryWithChildren", params);
+        return call(CREATE_CATEGORY_WITH_CHILDREN, params);
     }
 
     /**
@@ -175,7 +221,7 @@ public class ProductService extends BaseNopService {
         params.put("categoryId", categoryId);
         params.put("name", name);
         params.put("description", description);
-        return call("eleme.product.category.updateCategory", params);
+        return call(UPDATE_CATEGORY, params);
     }
 
     /**
@@ -194,7 +240,7 @@ public class ProductService extends BaseNopService {
         params.put("name", name);
         params.put("parentId", parentId);
         params.put("description", description);
-        return call("eleme.product.category.updateCategoryWithChildren", params);
+        return call(UPDATE_CATEGORY_WITH_CHILDREN, params);
     }
 
     /**
@@ -207,7 +253,7 @@ public class ProductService extends BaseNopService {
     public OCategory removeCategory(long categoryId) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("categoryId", categoryId);
-        return call("eleme.product.category.removeCategory", params);
+        return call(REMOVE_CATEGORY, params);
     }
 
     /**
@@ -220,7 +266,7 @@ public class ProductService extends BaseNopService {
     public OCategory invalidCategory(Long categoryId) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("categoryId", categoryId);
-        return call("eleme.product.category.invalidCategory", params);
+        return call(INVALID_CATEGORY, params);
     }
 
     /**
@@ -234,7 +280,7 @@ public class ProductService extends BaseNopService {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("shopId", shopId);
         params.put("categoryIds", categoryIds);
-        call("eleme.product.category.setCategoryPositions", params);
+        call(SET_CATEGORY_POSITIONS, params);
     }
 
     /**
@@ -248,7 +294,7 @@ public class ProductService extends BaseNopService {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("shopId", shopId);
         params.put("categoryIds", categoryIds);
-        call("eleme.product.category.setCategorySequence", params);
+        call(SET_CATEGORY_SEQUENCE, params);
     }
 
     /**
@@ -262,7 +308,7 @@ public class ProductService extends BaseNopService {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("shopId", shopId);
         params.put("categoryWithChildrenIds", categoryWithChildrenIds);
-        call("eleme.product.category.setCategoryPositionsWithChildren", params);
+        call(SET_CATEGORY_POSITIONS_WITH_CHILDREN, params);
     }
 
     /**
@@ -275,7 +321,7 @@ public class ProductService extends BaseNopService {
     public List<OBackCategory> getBackCategory(Long shopId) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("shopId", shopId);
-        return call("eleme.product.category.getBackCategory", params);
+        return call(GET_BACK_CATEGORY, params);
     }
 
     /**
@@ -291,7 +337,7 @@ public class ProductService extends BaseNopService {
         params.put("shopId", shopId);
         params.put("categoryId", categoryId);
         params.put("categoryType", categoryType);
-        call("eleme.product.category.setCategoryType", params);
+        call(SET_CATEGORY_TYPE, params);
     }
 
     /**
@@ -304,7 +350,7 @@ public class ProductService extends BaseNopService {
     public Map<Long,OItem> getItemsByCategoryId(long categoryId) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("categoryId", categoryId);
-        return call("eleme.product.item.getItemsByCategoryId", params);
+        return call(GET_ITEMS_BY_CATEGORY_ID, params);
     }
 
     /**
@@ -317,7 +363,7 @@ public class ProductService extends BaseNopService {
     public OItem getItem(long itemId) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("itemId", itemId);
-        return call("eleme.product.item.getItem", params);
+        return call(GET_ITEM, params);
     }
 
     /**
@@ -330,7 +376,7 @@ public class ProductService extends BaseNopService {
     public Map<Long,OItem> batchGetItems(List<Long> itemIds) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("itemIds", itemIds);
-        return call("eleme.product.item.batchGetItems", params);
+        return call(BATCH_GET_ITEMS, params);
     }
 
     /**
@@ -345,7 +391,7 @@ public class ProductService extends BaseNopService {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("categoryId", categoryId);
         params.put("properties", properties);
-        return call("eleme.product.item.createItem", params);
+        return call(CREATE_ITEM, params);
     }
 
     /**
@@ -360,7 +406,7 @@ public class ProductService extends BaseNopService {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("categoryId", categoryId);
         params.put("items", items);
-        return call("eleme.product.item.batchCreateItems", params);
+        return call(BATCH_CREATE_ITEMS, params);
     }
 
     /**
@@ -377,7 +423,7 @@ public class ProductService extends BaseNopService {
         params.put("itemId", itemId);
         params.put("categoryId", categoryId);
         params.put("properties", properties);
-        return call("eleme.product.item.updateItem", params);
+        return call(UPDATE_ITEM, params);
     }
 
     /**
@@ -389,7 +435,7 @@ public class ProductService extends BaseNopService {
     public void batchFillStock(List<OItemIdWithSpecIds> specIds) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("specIds", specIds);
-        call("eleme.product.item.batchFillStock", params);
+        call(BATCH_FILL_STOCK, params);
     }
 
     /**
@@ -401,7 +447,7 @@ public class ProductService extends BaseNopService {
     public void batchClearStock(List<OItemIdWithSpecIds> specIds) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("specIds", specIds);
-        call("eleme.product.item.batchClearStock", params);
+        call(BATCH_CLEAR_STOCK, params);
     }
 
     /**
@@ -413,7 +459,7 @@ public class ProductService extends BaseNopService {
     public void batchOnShelf(List<OItemIdWithSpecIds> specIds) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("specIds", specIds);
-        call("eleme.product.item.batchOnShelf", params);
+        call(BATCH_ON_SHELF, params);
     }
 
     /**
@@ -426,7 +472,7 @@ public class ProductService extends BaseNopService {
     public OBatchModifiedResult batchListItems(List<Long> itemIds) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("itemIds", itemIds);
-        return call("eleme.product.item.batchListItems", params);
+        return call(BATCH_LIST_ITEMS, params);
     }
 
     /**
@@ -438,7 +484,7 @@ public class ProductService extends BaseNopService {
     public void batchOffShelf(List<OItemIdWithSpecIds> specIds) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("specIds", specIds);
-        call("eleme.product.item.batchOffShelf", params);
+        call(BATCH_OFF_SHELF, params);
     }
 
     /**
@@ -451,7 +497,7 @@ public class ProductService extends BaseNopService {
     public OBatchModifiedResult batchDelistItems(List<Long> itemIds) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("itemIds", itemIds);
-        return call("eleme.product.item.batchDelistItems", params);
+        return call(BATCH_DELIST_ITEMS, params);
     }
 
     /**
@@ -464,7 +510,7 @@ public class ProductService extends BaseNopService {
     public OItem removeItem(long itemId) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("itemId", itemId);
-        return call("eleme.product.item.removeItem", params);
+        return call(REMOVE_ITEM, params);
     }
 
     /**
@@ -476,7 +522,7 @@ public class ProductService extends BaseNopService {
     public void invalidItem(long itemId) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("itemId", itemId);
-        call("eleme.product.item.invalidItem", params);
+        call(INVALID_ITEM, params);
     }
 
     /**
@@ -489,7 +535,7 @@ public class ProductService extends BaseNopService {
     public Map<Long,OItem> batchRemoveItems(List<Long> itemIds) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("itemIds", itemIds);
-        return call("eleme.product.item.batchRemoveItems", params);
+        return call(BATCH_REMOVE_ITEMS, params);
     }
 
     /**
@@ -501,7 +547,7 @@ public class ProductService extends BaseNopService {
     public void batchUpdateSpecStocks(List<OItemIdWithSpecStock> specStocks) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("specStocks", specStocks);
-        call("eleme.product.item.batchUpdateSpecStocks", params);
+        call(BATCH_UPDATE_SPEC_STOCKS, params);
     }
 
     /**
@@ -514,7 +560,7 @@ public class ProductService extends BaseNopService {
     public OBatchModifiedResult batchUpdateStock(Map<Long,Integer> stockMap) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("stockMap", stockMap);
-        return call("eleme.product.item.batchUpdateStock", params);
+        return call(BATCH_UPDATE_STOCK, params);
     }
 
     /**
@@ -528,7 +574,7 @@ public class ProductService extends BaseNopService {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("categoryId", categoryId);
         params.put("itemIds", itemIds);
-        call("eleme.product.item.setItemPositions", params);
+        call(SET_ITEM_POSITIONS, params);
     }
 
     /**
@@ -540,7 +586,7 @@ public class ProductService extends BaseNopService {
     public void clearAndTimingMaxStock(List<ClearStock> clearStocks) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("clearStocks", clearStocks);
-        call("eleme.product.item.clearAndTimingMaxStock", params);
+        call(CLEAR_AND_TIMING_MAX_STOCK, params);
     }
 
     /**
@@ -555,7 +601,7 @@ public class ProductService extends BaseNopService {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("shopId", shopId);
         params.put("extendCode", extendCode);
-        return call("eleme.product.item.getItemByShopIdAndExtendCode", params);
+        return call(GET_ITEM_BY_SHOP_ID_AND_EXTEND_CODE, params);
     }
 
     /**
@@ -570,7 +616,7 @@ public class ProductService extends BaseNopService {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("shopId", shopId);
         params.put("barCode", barCode);
-        return call("eleme.product.item.getItemsByShopIdAndBarCode", params);
+        return call(GET_ITEMS_BY_SHOP_ID_AND_BAR_CODE, params);
     }
 
     /**
@@ -584,7 +630,7 @@ public class ProductService extends BaseNopService {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("shopId", shopId);
         params.put("specPrices", specPrices);
-        call("eleme.product.item.batchUpdatePrices", params);
+        call(BATCH_UPDATE_PRICES, params);
     }
 
     /**
@@ -597,7 +643,7 @@ public class ProductService extends BaseNopService {
     public List<Long> getItemIdsHasActivityByShopId(Long shopId) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("shopId", shopId);
-        return call("eleme.product.item.getItemIdsHasActivityByShopId", params);
+        return call(GET_ITEM_IDS_HAS_ACTIVITY_BY_SHOP_ID, params);
     }
 
     /**
@@ -610,7 +656,7 @@ public class ProductService extends BaseNopService {
     public List<Long> getShopSalesItems(Long shopId) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("shopId", shopId);
-        return call("eleme.product.item.getShopSalesItems", params);
+        return call(GET_SHOP_SALES_ITEMS, params);
     }
 
     /**
@@ -626,6 +672,6 @@ public class ProductService extends BaseNopService {
         params.put("shopId", shopId);
         params.put("status", status);
         params.put("packingFee", packingFee);
-        call("eleme.product.item.setOrderPackingFee", params);
+        call(SET_ORDER_PACKING_FEE, params);
     }
 }
@@ -2,6 +2,7 @@ package eleme.openapi.sdk.api.service;
 
 import eleme.openapi.sdk.api.annotation.Service;
 import eleme.openapi.sdk.api.base.BaseNopService;
+import eleme.openapi.sdk.api.base.CallDescriptor;
 import eleme.openapi.sdk.api.exception.ServiceException;
 import eleme.openapi.sdk.oauth.response.Token;
 import eleme.openapi.sdk.config.Config;
@@ -17,6 +18,12 @@ import java.util.*;
  */
 @Service("eleme.shop")
 public class ShopService extends BaseNopService {
+    private static final CallDescriptor GET_SHOP = CallDescriptor.of(ShopService.class, "getShop", "eleme.shop.getShop");
+    private static final CallDescriptor UPDATE_SHOP = CallDescriptor.of(ShopService.class, "updateShop", "eleme.shop.updateShop");
+    private static final CallDescriptor MGET_SHOP_STATUS = CallDescriptor.of(ShopService.class, "mgetShopStatus", "eleme.shop.mgetShopStatus");
+    private static final CallDescriptor SET_DELIVERY_TIME = CallDescriptor.of(ShopService.class, "setDeliveryTime", "eleme.shop.setDeliveryTime");
+    private static final CallDescriptor SET_ONLINE_REFUND = CallDescriptor.of(ShopService.class, "setOnlineRefund", "eleme.shop.setOnlineRefund");
+
     public ShopService(Config config,Token token) {
         super(config, token, ShopService.class);
     }
@@ -31,7 +38,7 @@ public class ShopService extends BaseNopService {
     public OShop getShop(long shopId) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("shopId", shopId);
-        return call("eleme.shop.getShop", params);
+        return call(GET_SHOP, params);
     }
 
     /**
@@ -46,7 +53,7 @@ public class ShopService extends BaseNopService {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("shopId", shopId);
         params.put("properties", properties);
-        return call("eleme.shop.updateShop", params);
+        return call(UPDATE_SHOP, params);
     }
 
     /**
@@ -59,7 +66,7 @@ public class ShopService extends BaseNopService {
     public Map<Long,OSimpleShop> mgetShopStatus(List<Long> shopIds) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("shopIds", shopIds);
-        return call("eleme.shop.mgetShopStatus", params);
+        return call(MGET_SHOP_STATUS, params);
     }
 
     /**
@@ -75,7 +82,7 @@ public class ShopService extends BaseNopService {
         params.put("shopId", shopId);
         params.put("deliveryBasicMins", deliveryBasicMins);
         params.put("deliveryAdjustMins", deliveryAdjustMins);
-        call("eleme.shop.setDeliveryTime", params);
+        call(SET_DELIVERY_TIME, params);
     }
 
     /**
@@ -89,6 +96,6 @@ public class ShopService extends BaseNopService {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("shopId", shopId);
         params.put("enable", enable);
-        call("eleme.shop.setOnlineRefund", params);
+        call(SET_ONLINE_REFUND, params);
     }
 }
@@ -2,6 +2,7 @@ package eleme.openapi.sdk.api.service;
 
 import eleme.openapi.sdk.api.annotation.Service;
 import eleme.openapi.sdk.api.base.BaseNopService;
+import eleme.openapi.sdk.api.base.CallDescriptor;
 import eleme.openapi.sdk.api.exception.ServiceException;
 import eleme.openapi.sdk.oauth.response.Token;
 import eleme.openapi.sdk.config.Config;
@@ -17,6 +18,23 @@ import java.util.*;
  */
 @Service("eleme.ugc")
 public class UgcService extends BaseNopService {
+    private static final CallDescriptor GET_ORDER_RATE_BY_ORDER_ID = CallDescriptor.of(UgcService.class, "getOrderRateByOrderId", "eleme.ugc.getOrderRateByOrderId");
+    private static final CallDescriptor GET_ORDER_RATES_BY_ORDER_IDS = CallDescriptor.of(UgcService.class, "getOrderRatesByOrderIds", "eleme.ugc.getOrderRatesByOrderIds");
+    private static final CallDescriptor GET_UNREPLY_ORDER_RATES_BY_ORDER_IDS = CallDescriptor.of(UgcService.class, "getUnreplyOrderRatesByOrderIds", "eleme.ugc.getUnreplyOrderRatesByOrderIds");
+    private static final CallDescriptor GET_ORDER_RATES_BY_SHOP_ID = CallDescriptor.of(UgcService.class, "getOrderRatesByShopId", "eleme.ugc.getOrderRatesByShopId");
+    private static final CallDescriptor GET_ORDER_RATES_BY_SHOP_IDS = CallDescriptor.of(UgcService.class, "getOrderRatesByShopIds", "eleme.ugc.getOrderRatesByShopIds");
+    private static final CallDescriptor GET_UNREPLY_ORDER_RATES_BY_SHOP_IDS = CallDescriptor.of(UgcService.class, "getUnreplyOrderRatesByShopIds", "eleme.ugc.getUnreplyOrderRatesByShopIds");
+    private static final CallDescriptor GET_ORDER_RATES_BY_SHOP_AND_RATING = CallDescriptor.of(UgcService.class, "getOrderRatesByShopAndRating", "eleme.ugc.getOrderRatesByShopAndRating");
+    private static final CallDescriptor GET_ITEM_RATES_BY_ITEM_ID = CallDescriptor.of(UgcService.class, "getItemRatesByItemId", "eleme.ugc.getItemRatesByItemId");
+    private static final CallDescriptor GET_ITEM_RATES_BY_ITEM_IDS = CallDescriptor.of(UgcService.class, "getItemRatesByItemIds", "eleme.ugc.getItemRatesByItemIds");
+    private static final CallDescriptor GET_UNREPLY_ITEM_RATES_BY_ITEM_IDS = CallDescriptor.of(UgcService.class, "getUnreplyItemRatesByItemIds", "eleme.ugc.getUnreplyItemRatesByItemIds");
+    private static final CallDescriptor REPLY_RATE_BY_RATE_ID = CallDescriptor.of(UgcService.class, "replyRateByRateId", "eleme.ugc.replyRateByRateId");
+    private static final CallDescriptor REPLY_RATE_BY_RATE_IDS = CallDescriptor.of(UgcService.class, "replyRateByRateIds", "eleme.ugc.replyRateByRateIds");
+    private static final CallDescriptor REPLY_RATE_BY_ORDER_ID = CallDescriptor.of(UgcService.class, "replyRateByOrderId", "eleme.ugc.replyRateByOrderId");
+    private static final CallDescriptor REPLY_COMMENT_BY_ORDER_IDS = CallDescriptor.of(UgcService.class, "replyCommentByOrderIds", "eleme.ugc.replyCommentByOrderIds");
+    private static final CallDescriptor REPLY_RATES_BY_ITEM_ID = CallDescriptor.of(UgcService.class, "replyRatesByItemId", "eleme.ugc.replyRatesByItemId");
+    private static final CallDescriptor REPLY_RATES_BY_ITEM_IDS = CallDescriptor.of(UgcService.class, "replyRatesByItemIds", "eleme.ugc.replyRatesByItemIds");
+
     public UgcService(Config config,Token token) {
         super(config, token, UgcService.class);
     }
@@ -31,7 +49,7 @@ public class UgcService extends BaseNopService {
     public OpenapiOrderRate getOrderRateByOrderId(String orderId) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("orderId", orderId);
-        return call("eleme.ugc.getOrderRateByOrderId", params);
+        return call(GET_ORDER_RATE_BY_ORDER_ID, params);
     }
 
     /**
@@ -44,7 +62,7 @@ public class UgcService extends BaseNopService {
     public List<OpenapiOrderRate> getOrderRatesByOrderIds(List<String> orderIds) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("orderIds", orderIds);
-        return call("eleme.ugc.getOrderRatesByOrderIds", params);
+        return call(GET_ORDER_RATES_BY_ORDER_IDS, params);
     }
 
     /**
@@ -57,7 +75,7 @@ public class UgcService extends BaseNopService {
     public List<OpenapiOrderRate> getUnreplyOrderRatesByOrderIds(List<String> orderIds) throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("orderIds", orderIds);
-        return call("eleme.ugc.getUnreplyOrderRatesByOrderIds", params);
+        return call(GET_UNREPLY_ORDER_RATES_BY_ORDER_IDS, params);
     }
 
     /**
@@ -78,7 +96,7 @@ public class UgcService extends BaseNopService {
         params.put("endTime", endTime);
         params.put("offset", offset);
         params.put("pageSize", pageSize);
-        return call("eleme.ugc.getOrderRatesByShopId", params);
+        return call(GET_ORDER_RATES_BY_SHOP_ID, params);
     }
 
     /**
@@ -99,7 +117,7 @@ public class UgcService extends BaseNopService {
         params.put("endTime", endTime);
         params.put("offset", offset);
         params.put("pageSize", pageSize);
-        return call("eleme.ugc.getOrderRatesByShopIds", params);
+        return call(GET_ORDER_RATES_BY_SHOP_IDS, params);
     }
 
     /**
@@ -120,7 +138,7 @@ public class UgcService extends BaseNopService {
         params.put("endTime", endTime);
         params.put("offset", offset);
         params.put("pageSize", pageSize);
-        return call("eleme.ugc.getUnreplyOrderRatesByShopIds", params);
+        return call(GET_UNREPLY_ORDER_RATES_BY_SHOP_IDS, params);
     }
 
     /**
@@ -143,7 +161,7 @@ public class UgcService extends BaseNopService {
         params.put("endTime", endTime);
         params.put("offset", offset);
         params.put("pageSize", pageSize);
-        return call("eleme.ugc.getOrderRatesByShopAndRating", params);
+        return call(GET_ORDER_RATES_BY_SHOP_AND_RATING, params);
     }
 
     /**
@@ -164,7 +182,7 @@ public class UgcService extends BaseNopService {
         params.put("endTime", endTime);
         params.put("offset", offset);
         params.put("pageSize", pageSize);
-        return call("eleme.ugc.getItemRatesByItemId", params);
+        return call(GET_ITEM_RATES_BY_ITEM_ID, params);
     }
 
     /**
@@ -185,7 +203,7 @@ public class UgcService extends BaseNopService {
         params.put("endTime", endTime);
         params.put("offset", offset);
         params.put("pageSize", pageSize);
-        return call("eleme.ugc.getItemRatesByItemIds", params);
+        return call(GET_ITEM_RATES_BY_ITEM_IDS, params);
     }
 
     /**
@@ -206,7 +224,7 @@ public class UgcService extends BaseNopService {
         params.put("endTime", endTime);
         params.put("offset", offset);
         params.put("pageSize", pageSize);
-        return call("eleme.ugc.getUnreplyItemRatesByItemIds", params);
+        return call(GET_UNREPLY_ITEM_RATES_BY_ITEM_IDS, params);
     }
 
     /**
@@ -222,7 +240,7 @@ public class UgcService extends BaseNopService {
         params.put("rateId", rateId);
         params.put("replyType", replyType);
         params.put("reply", reply);
-        call("eleme.ugc.replyRateByRateId", params);
+        call(REPLY_RATE_BY_RATE_ID, params);
     }
 
     /**
@@ -238,7 +256,7 @@ public class UgcService extends BaseNopService {
         params.put("rateIds", rateIds);
         params.put("replyType", replyType);
         params.put("reply", reply);
-        call("eleme.ugc.replyRateByRateIds", params);
+        call(REPLY_RATE_BY_RATE_IDS, params);
     }
 
     /**
@@ -252,7 +270,7 @@ public class UgcService extends BaseNopService {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("orderId", orderId);
         params.put("reply", reply);
-        call("eleme.ugc.replyRateByOrderId", params);
+        call(REPLY_RATE_BY_ORDER_ID, params);
     }
 
     /**
@@ -266,7 +284,7 @@ public class UgcService extends BaseNopService {
         Map<String, Object> params = new HashMap<String, Object>();
         params.put("orderIds", orderIds);
         params.put("reply", reply);
-        call("eleme.ugc.replyCommentByOrderIds", params);
+        call(REPLY_COMMENT_BY_ORDER_IDS, params);
     }
 
     /**
@@ -284,7 +302,7 @@ public class UgcService extends BaseNopService {
         params.put("reply", reply);
         params.put("startTime", startTime);
         params.put("endTime", endTime);
-        call("eleme.ugc.replyRatesByItemId", params);
+        call(REPLY_RATES_BY_ITEM_ID, params);
     }
 
     /**
@@ -302,6 +320,6 @@ public class UgcService extends BaseNopService {
         params.put("reply", reply);
         params.put("startTime", startTime);
         params.put("endTime", endTime);
-        call("eleme.ugc.replyRatesByItemIds", params);
+        call(REPLY_RATES_BY_ITEM_IDS, params);
     }
 }
@@ -2,6 +2,7 @@ package eleme.openapi.sdk.api.service;
 
 import eleme.openapi.sdk.api.annotation.Service;
 import eleme.openapi.sdk.api.base.BaseNopService;
+import eleme.openapi.sdk.api.base.CallDescriptor;
 import eleme.openapi.sdk.api.exception.ServiceException;
 import eleme.openapi.sdk.oauth.response.Token;
 import eleme.openapi.sdk.config.Config;
@@ -17,6 +18,9 @@ import java.util.*;
  */
 @Service("eleme.user")
 public class UserService extends BaseNopService {
+    private static final CallDescriptor GET_USER = CallDescriptor.of(UserService.class, "getUser", "eleme.user.getUser");
+    private static final CallDescriptor GET_PHONE_NUMBER = CallDescriptor.of(UserService.class, "getPhoneNumber", "eleme.user.getPhoneNumber");
+
     public UserService(Config config,Token token) {
         super(config, token, UserService.class);
     }
@@ -29,7 +33,7 @@ public class UserService extends BaseNopService {
      */
     public OUser getUser() throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
-        return call("eleme.user.getUser", params);
+        return call(GET_USER, params);
     }
 
     /**
@@ -40,6 +44,6 @@ public class UserService extends BaseNopService {
      */
     public String getPhoneNumber() throws ServiceException {
         Map<String, Object> params = new HashMap<String, Object>();
-        return call("eleme.user.getPhoneNumber", params);
+        return call(GET_PHONE_NUMBER, params);
     }
 }
@@ -0,0 +1,162 @@
+package eleme.openapi.sdk.api.tenant;
+
+import eleme.openapi.sdk.api.async.ServiceFuture;
+import eleme.openapi.sdk.api.exception.ServiceException;
+import eleme.openapi.sdk.api.exception.UnauthorizedException;
+import eleme.openapi.sdk.config.Config;
+import eleme.openapi.sdk.oauth.response.Token;
+import eleme.openapi.sdk.oauth.token.TokenStore;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 一个应用代多个商户调用接口
+ * <p>
+ * 每种服务只创建一个实例, 由所有租户共用; 调用在{@link #call}或{@link #submit}指定的租户下执行,
+ * 每次请求时从{@link TokenStore}读取该租户的Token, 因此Token更新后无需重建服务. 用法:
+ * <pre>
+ * final OrderService orderService = client.getService(OrderService.class);
+ * OOrder order = client.call(shopId, new MultiTenantClient.TenantCall&lt;OOrder&gt;() {
+ *     public OOrder call() throws ServiceException {
+ *         return orderService.getOrder(orderId);
+ *     }
+ * });
+ * </pre>
+ * 在租户之外调用这些服务会抛出IllegalStateException; *ServiceAsync在Token失效后的重放在其他线程中执行, 不能用于多租户, 应使用{@link #submit}
+ */
+public class MultiTenantClient {
+    private static final Token MISSING = new Token();
+
+    /**
+     * 在某个租户下执行的调用
+     */
+    public interface TenantCall<T> {
+        T call() throws ServiceException;
+    }
+
+    private final Config config;
+    private final TokenStore tokenStore;
+    private final TenantToken token = new TenantToken(this);
+    private final ThreadLocal<String> tenant = new ThreadLocal<String>();
+    private final ConcurrentMap<Class<?>, Object> services = new ConcurrentHashMap<Class<?>, Object>();
+
+    public MultiTenantClient(Config config, TokenStore tokenStore) {
+        this.config = config;
+        this.tokenStore = tokenStore;
+    }
+
+    /**
+     * @param type 服务类, 如OrderService.class, 需有(Config, Token)构造函数
+     * @return 所有租户共用的服务实例
+     */
+    public <S> S getService(Class<S> type) {
+        Object service = services.get(type);
+        if (service == null) {
+            service = newService(type);
+            Object existing = services.putIfAbsent(type, service);
+            if (existing != null) {
+                service = existing;
+            }
+        }
+        return type.cast(service);
+    }
+
+    /**
+     * 在当前线程中以指定租户的身份执行调用
+     *
+     * @param tenantId 租户id, 与TokenStore中的key一致
+     * @throws UnauthorizedException TokenStore中没有该租户的Token
+     */
+    public <T> T call(String tenantId, TenantCall<T> call) throws ServiceException {
+        if (tenantId == null) {
+            throw new IllegalArgumentException("tenantId must not be null");
+        }
+        if (tokenStore.get(tenantId) == null) {
+            throw new UnauthorizedException("租户" + tenantId + "没有可用的token");
+        }
+        String previous = tenant.get();
+        tenant.set(tenantId);
+        try {
+            return call.call();
+        } finally {
+            if (previous == null) {
+                tenant.remove();
+            } else {
+                tenant.set(previous);
+            }
+        }
+    }
+
+    /**
+     * @param shopId 店铺id, 以其字符串形式作为租户id
+     */
+    public <T> T call(long shopId, TenantCall<T> call) throws ServiceException {
+        return call(String.valueOf(shopId), call);
+    }
+
+    /**
+     * 在Config的异步线程池中以指定租户的身份执行调用
+     *
+     * @param tenantId 租户id, 与TokenStore中的key一致
+     */
+    public <T> ServiceFuture<T> submit(final String tenantId, final TenantCall<T> call) {
+        final ServiceFuture<T> future = new ServiceFuture<T>(config);
+        try {
+            config.getAsyncExecutor().execute(new Runnable() {
+                public void run() {
+                    if (future.isDone()) {
+                        return;
+                    }
+                    try {
+                        future.complete(MultiTenantClient.this.call(tenantId, call));
+                    } catch (Throwable t) {
+                        future.fail(t);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.fail(e);
+        }
+        return future;
+    }
+
+    public <T> ServiceFuture<T> submit(long shopId, TenantCall<T> call) {
+        return submit(String.valueOf(shopId), call);
+    }
+
+    /**
+     * @return 当前线程所在的租户, 不在租户中时为null
+     */
+    public String currentTenant() {
+        return tenant.get();
+    }
+
+    Token currentToken() {
+        String tenantId = tenant.get();
+        if (tenantId == null) {
+            throw new IllegalStateException("not in a tenant scope, call services through MultiTenantClient.call");
+        }
+        Token current = tokenStore.get(tenantId);
+        // Token在调用期间被移除时按空Token发出, 由服务端返回UNAUTHORIZED
+        return current == null ? MISSING : current;
+    }
+
+    private Object newService(Class<?> type) {
+        try {
+            Constructor<?> constructor = type.getConstructor(Config.class, Token.class);
+            return constructor.newInstance(config, token);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException(type.getName() + " has no (Config, Token) constructor", e);
+        } catch (InvocationTargetException e) {
+            throw new IllegalArgumentException("cannot create " + type.getName(), e.getCause());
+        } catch (InstantiationException e) {
+            throw new IllegalArgumentException("cannot create " + type.getName(), e);
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("cannot create " + type.getName(), e);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package eleme.openapi.sdk.api.tenant;
+
+import eleme.openapi.sdk.oauth.response.Token;
+
+/**
+ * 从TokenStore读取当前线程所在租户Token的视图, 由{@link MultiTenantClient}创建的服务共用; 不可修改
+ */
+class TenantToken extends Token {
+    private final MultiTenantClient client;
+
+    TenantToken(MultiTenantClient client) {
+        this.client = client;
+    }
+
+    @Override
+    public String getAccessToken() {
+        return client.currentToken().getAccessToken();
+    }
+
+    @Override
+    public String getTokenType() {
+        return client.currentToken().getTokenType();
+    }
+
+    @Override
+    public long getExpires() {
+        return client.currentToken().getExpires();
+    }
+
+    @Override
+    public String getRefreshToken() {
+        return client.currentToken().getRefreshToken();
+    }
+
+    @Override
+    public void setAccessToken(String accessToken) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setTokenType(String tokenType) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setExpires(long expires) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setRefreshToken(String refreshToken) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String toString() {
+        return "TenantToken{" + client.currentTenant() + '}';
+    }
+}
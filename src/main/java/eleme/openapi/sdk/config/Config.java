@@ -1,8 +1,25 @@
 package eleme.openapi.sdk.config;
 
+import eleme.openapi.sdk.http.AsyncHttpTransport;
+import eleme.openapi.sdk.http.HttpTransport;
+import eleme.openapi.sdk.http.NioHttpTransport;
+import eleme.openapi.sdk.http.PooledHttpTransport;
+import eleme.openapi.sdk.http.TlsConfig;
+import eleme.openapi.sdk.isolation.ServiceIsolation;
+import eleme.openapi.sdk.metrics.MetricsCollector;
+import eleme.openapi.sdk.ratelimit.RateLimiter;
+import eleme.openapi.sdk.retry.RetryPolicy;
+import eleme.openapi.sdk.utils.NamedThreadFactory;
 import eleme.openapi.sdk.utils.StringUtils;
 
-public class Config {
+import java.io.Closeable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * SDK配置, 不再使用时应调用{@link #close()}释放默认创建的连接池和线程池
+ */
+public class Config implements Closeable {
 
     private String app_key;
     private String app_secret;
@@ -10,6 +27,21 @@ public class Config {
     private String oauthTokenUrl;
     private String apiUrl;
     private ElemeSdkLogger elemeSdkLogger;
+    private int logPayloadLimit = -1;
+    private int logPayloadSampling = 1;
+    private volatile TlsConfig tlsConfig = new TlsConfig();
+    private volatile TimeoutConfig timeoutConfig = new TimeoutConfig();
+    private volatile HttpTransport httpTransport;
+    private volatile ExecutorService asyncExecutor;
+    private volatile AsyncHttpTransport asyncHttpTransport;
+    private volatile MetricsCollector metricsCollector;
+    private volatile RateLimiter rateLimiter;
+    private volatile RetryPolicy retryPolicy;
+    private volatile ServiceIsolation serviceIsolation;
+    private HttpTransport ownedTransport;
+    private ExecutorService ownedExecutor;
+    private NioHttpTransport ownedAsyncTransport;
+    private boolean closed;
 
     public Config(boolean isSandbox, String appKey, String appSecret) {
         if (StringUtils.areNotEmpty(appKey, appKey)) {
@@ -38,6 +70,212 @@ public class Config {
         return elemeSdkLogger;
     }
 
+    /**
+     * 设置日志中请求和响应报文的最大长度(字符数), 超出部分截断, 小于0表示不截断
+     */
+    public void setLogPayloadLimit(int logPayloadLimit) {
+        this.logPayloadLimit = logPayloadLimit;
+    }
+
+    public int getLogPayloadLimit() {
+        return logPayloadLimit;
+    }
+
+    /**
+     * 设置每N次接口调用记录一次请求和响应报文, 其余调用只记录摘要, 默认为1即每次都记录
+     */
+    public void setLogPayloadSampling(int logPayloadSampling) {
+        this.logPayloadSampling = logPayloadSampling;
+    }
+
+    public int getLogPayloadSampling() {
+        return logPayloadSampling;
+    }
+
+    /**
+     * 设置TLS配置, 需在首次调用接口前设置; 自定义HttpTransport时需自行传入TlsConfig
+     */
+    public void setTlsConfig(TlsConfig tlsConfig) {
+        this.tlsConfig = tlsConfig;
+    }
+
+    public TlsConfig getTlsConfig() {
+        return tlsConfig;
+    }
+
+    /**
+     * 设置超时配置, 默认连接和读取超时均为15秒, 获取Token的读取超时为30秒
+     */
+    public void setTimeoutConfig(TimeoutConfig timeoutConfig) {
+        this.timeoutConfig = timeoutConfig;
+    }
+
+    public TimeoutConfig getTimeoutConfig() {
+        return timeoutConfig;
+    }
+
+    /**
+     * 设置HTTP传输层, 默认使用PooledHttpTransport
+     */
+    public void setHttpTransport(HttpTransport httpTransport) {
+        this.httpTransport = httpTransport;
+    }
+
+    public HttpTransport getHttpTransport() {
+        HttpTransport transport = httpTransport;
+        if (transport == null) {
+            synchronized (this) {
+                transport = httpTransport;
+                if (transport == null) {
+                    checkOpen();
+                    transport = new PooledHttpTransport(tlsConfig);
+                    ownedTransport = transport;
+                    httpTransport = transport;
+                }
+            }
+        }
+        return transport;
+    }
+
+    /**
+     * 设置异步接口(*ServiceAsync)使用的非阻塞传输层, 默认使用NioHttpTransport;
+     * 通过{@link #setHttpTransport}设置了不支持异步的传输层时, 异步接口改为在异步线程池中同步调用
+     */
+    public void setAsyncHttpTransport(AsyncHttpTransport asyncHttpTransport) {
+        this.asyncHttpTransport = asyncHttpTransport;
+    }
+
+    /**
+     * @return 异步接口使用的传输层, 为null时异步接口在异步线程池中同步调用
+     */
+    public AsyncHttpTransport getAsyncHttpTransport() {
+        AsyncHttpTransport transport = asyncHttpTransport;
+        if (transport != null) {
+            return transport;
+        }
+        synchronized (this) {
+            if (asyncHttpTransport != null) {
+                return asyncHttpTransport;
+            }
+            HttpTransport custom = httpTransport;
+            if (custom != null && custom != ownedTransport) {
+                return custom instanceof AsyncHttpTransport ? (AsyncHttpTransport) custom : null;
+            }
+            checkOpen();
+            ownedAsyncTransport = new NioHttpTransport(tlsConfig);
+            asyncHttpTransport = ownedAsyncTransport;
+            return ownedAsyncTransport;
+        }
+    }
+
+    /**
+     * 设置异步接口(*ServiceAsync)使用的线程池, 用于解析响应和执行回调, 未使用非阻塞传输层时用于执行整个调用;
+     * 默认线程数与单路由最大连接数一致
+     */
+    public void setAsyncExecutor(ExecutorService asyncExecutor) {
+        this.asyncExecutor = asyncExecutor;
+    }
+
+    public ExecutorService getAsyncExecutor() {
+        ExecutorService executor = asyncExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                executor = asyncExecutor;
+                if (executor == null) {
+                    checkOpen();
+                    executor = Executors.newFixedThreadPool(PooledHttpTransport.DEFAULT_MAX_PER_ROUTE,
+                            new NamedThreadFactory("eleme-sdk-async"));
+                    ownedExecutor = executor;
+                    asyncExecutor = executor;
+                }
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * 关闭由Config默认创建的HTTP传输层、非阻塞传输层和异步线程池, 通过setter传入的由调用方自行关闭.
+     * 线程池中已提交的任务会继续执行完毕, 关闭后不能再使用默认的传输层和线程池
+     */
+    public void close() {
+        HttpTransport transport;
+        HttpTransport asyncTransport;
+        ExecutorService executor;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            transport = ownedTransport;
+            asyncTransport = ownedAsyncTransport;
+            executor = ownedExecutor;
+            ownedTransport = null;
+            ownedAsyncTransport = null;
+            ownedExecutor = null;
+        }
+        if (executor != null) {
+            executor.shutdown();
+        }
+        if (transport != null) {
+            transport.shutdown();
+        }
+        if (asyncTransport != null) {
+            asyncTransport.shutdown();
+        }
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("config is closed");
+        }
+    }
+
+    /**
+     * 设置接口调用指标收集器, 默认不收集
+     *
+     * @see eleme.openapi.sdk.metrics.InMemoryMetricsCollector
+     */
+    public void setMetricsCollector(MetricsCollector metricsCollector) {
+        this.metricsCollector = metricsCollector;
+    }
+
+    public MetricsCollector getMetricsCollector() {
+        return metricsCollector;
+    }
+
+    /**
+     * 设置客户端限流, 默认不限流
+     */
+    public void setRateLimiter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * 设置失败重试策略, 默认不重试
+     */
+    public void setRetryPolicy(RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy;
+    }
+
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    /**
+     * 设置按服务的并发隔离和熔断, 默认不隔离
+     */
+    public void setServiceIsolation(ServiceIsolation serviceIsolation) {
+        this.serviceIsolation = serviceIsolation;
+    }
+
+    public ServiceIsolation getServiceIsolation() {
+        return serviceIsolation;
+    }
+
     public  void setOauthCodeUrl(String oauthCodeUrl) {
         this.oauthCodeUrl = oauthCodeUrl;
     }
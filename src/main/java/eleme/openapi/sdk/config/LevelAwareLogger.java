@@ -0,0 +1,13 @@
+package eleme.openapi.sdk.config;
+
+/**
+ * 可判断日志级别的日志接口, 未开启的级别SDK不会拼接日志内容
+ * <p>
+ * 只实现{@link ElemeSdkLogger}时视为所有级别均开启
+ */
+public interface LevelAwareLogger extends ElemeSdkLogger {
+
+    boolean isInfoEnabled();
+
+    boolean isErrorEnabled();
+}
@@ -0,0 +1,69 @@
+package eleme.openapi.sdk.config;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 接口调用超时配置, 按接口、服务、默认值的顺序查找, 找到的一组设置整体生效
+ * <p>
+ * 例如确认订单需要快速失败, 财务导出允许较长时间:
+ * <pre>
+ * timeoutConfig.setAction("eleme.order.confirmOrderLite", new Timeouts(1000, 2000, 2000));
+ * timeoutConfig.setService("eleme.finance", new Timeouts(15000, 60000, 0));
+ * </pre>
+ */
+public class TimeoutConfig {
+    /**
+     * 获取Token请求使用的服务名
+     */
+    public static final String OAUTH = "oauth";
+    /**
+     * 默认连接超时(毫秒)
+     */
+    public static final int DEFAULT_CONNECT_TIMEOUT = 15000;
+    /**
+     * 默认读取超时(毫秒)
+     */
+    public static final int DEFAULT_READ_TIMEOUT = 15000;
+
+    private volatile Timeouts defaults = new Timeouts(DEFAULT_CONNECT_TIMEOUT, DEFAULT_READ_TIMEOUT, 0);
+    private final ConcurrentMap<String, Timeouts> services = new ConcurrentHashMap<String, Timeouts>();
+    private final ConcurrentMap<String, Timeouts> actions = new ConcurrentHashMap<String, Timeouts>();
+
+    public TimeoutConfig() {
+        services.put(OAUTH, new Timeouts(15000, 30000, 0));
+    }
+
+    public void setDefault(Timeouts timeouts) {
+        this.defaults = timeouts;
+    }
+
+    public Timeouts getDefault() {
+        return defaults;
+    }
+
+    /**
+     * @param service 服务名, 即服务类Service注解的值, 如eleme.finance; 获取Token使用{@link #OAUTH}
+     */
+    public void setService(String service, Timeouts timeouts) {
+        services.put(service, timeouts);
+    }
+
+    /**
+     * @param action 接口名, 如eleme.order.confirmOrderLite
+     */
+    public void setAction(String action, Timeouts timeouts) {
+        actions.put(action, timeouts);
+    }
+
+    /**
+     * @param action 接口名, 可为null
+     */
+    public Timeouts get(String service, String action) {
+        Timeouts timeouts = action == null ? null : actions.get(action);
+        if (timeouts == null && service != null) {
+            timeouts = services.get(service);
+        }
+        return timeouts == null ? defaults : timeouts;
+    }
+}
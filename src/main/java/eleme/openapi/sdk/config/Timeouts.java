@@ -0,0 +1,48 @@
+package eleme.openapi.sdk.config;
+
+/**
+ * 一组超时设置(毫秒)
+ */
+public final class Timeouts {
+    private final int connectTimeout;
+    private final int readTimeout;
+    private final long callTimeout;
+
+    /**
+     * @param connectTimeout 建立连接超时
+     * @param readTimeout    读取响应超时
+     * @param callTimeout    整个调用的截止时间, 包含排队、重试和退避等待, 0表示不限制
+     */
+    public Timeouts(int connectTimeout, int readTimeout, long callTimeout) {
+        if (connectTimeout < 0 || readTimeout < 0 || callTimeout < 0) {
+            throw new IllegalArgumentException("timeout must not be negative");
+        }
+        this.connectTimeout = connectTimeout;
+        this.readTimeout = readTimeout;
+        this.callTimeout = callTimeout;
+    }
+
+    public int getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public int getReadTimeout() {
+        return readTimeout;
+    }
+
+    public long getCallTimeout() {
+        return callTimeout;
+    }
+
+    /**
+     * @return 本次调用的截止时间(System.currentTimeMillis), 0表示不限制
+     */
+    public long deadline(long now) {
+        return callTimeout > 0 ? now + callTimeout : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "connect=" + connectTimeout + "ms, read=" + readTimeout + "ms, call=" + callTimeout + "ms";
+    }
+}
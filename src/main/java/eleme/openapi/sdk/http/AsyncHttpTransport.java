@@ -0,0 +1,17 @@
+package eleme.openapi.sdk.http;
+
+/**
+ * 非阻塞的HTTP传输层, 发送请求后立即返回, 等待响应期间不占用调用方线程
+ *
+ * @see NioHttpTransport
+ */
+public interface AsyncHttpTransport {
+
+    /**
+     * 发送请求, 收到响应头后回调, 响应体在读取时陆续到达. 回调在传输层的I/O线程中执行, 不应阻塞, 也不能在回调中读取响应体
+     *
+     * @param request 请求
+     * @param handler 接收响应或异常, 只回调一次
+     */
+    void executeAsync(HttpRequest request, HttpResponseHandler handler);
+}
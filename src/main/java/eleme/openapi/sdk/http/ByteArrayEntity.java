@@ -0,0 +1,27 @@
+package eleme.openapi.sdk.http;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 内容已在内存中的请求体
+ */
+public class ByteArrayEntity implements RequestEntity {
+    private final byte[] content;
+
+    public ByteArrayEntity(byte[] content) {
+        this.content = content == null ? new byte[0] : content;
+    }
+
+    public byte[] getContent() {
+        return content;
+    }
+
+    public long getContentLength() {
+        return content.length;
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(content);
+    }
+}
@@ -0,0 +1,90 @@
+package eleme.openapi.sdk.http;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 解码Transfer-Encoding: chunked响应体, 读完最后一个chunk及trailer后返回-1
+ */
+class ChunkedInputStream extends InputStream {
+    private final InputStream in;
+    private long chunkRemaining;
+    private boolean started;
+    private boolean eof;
+
+    ChunkedInputStream(InputStream in) {
+        this.in = in;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!nextChunk()) {
+            return -1;
+        }
+        int b = in.read();
+        if (b == -1) {
+            throw new EOFException("Premature end of chunk coded message body");
+        }
+        chunkRemaining--;
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (!nextChunk()) {
+            return -1;
+        }
+        int n = in.read(b, off, (int) Math.min(len, chunkRemaining));
+        if (n == -1) {
+            throw new EOFException("Premature end of chunk coded message body");
+        }
+        chunkRemaining -= n;
+        return n;
+    }
+
+    private boolean nextChunk() throws IOException {
+        if (eof) {
+            return false;
+        }
+        if (chunkRemaining > 0) {
+            return true;
+        }
+        if (started) {
+            // 上一个chunk数据之后的CRLF
+            HttpCodec.readLine(in);
+        }
+        started = true;
+        String line = HttpCodec.readLine(in);
+        if (line == null) {
+            throw new EOFException("Premature end of chunk coded message body");
+        }
+        int ext = line.indexOf(';');
+        String size = (ext >= 0 ? line.substring(0, ext) : line).trim();
+        try {
+            chunkRemaining = Long.parseLong(size, 16);
+        } catch (NumberFormatException e) {
+            throw new IOException("Bad chunk header: " + line);
+        }
+        if (chunkRemaining == 0) {
+            // 跳过trailer直到空行
+            String trailer;
+            do {
+                trailer = HttpCodec.readLine(in);
+            } while (trailer != null && trailer.length() > 0);
+            eof = true;
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return eof ? 0 : (int) Math.min(in.available(), chunkRemaining);
+    }
+
+    @Override
+    public void close() {
+        // 底层连接由ResponseBodyStream负责回收
+    }
+}
@@ -0,0 +1,75 @@
+package eleme.openapi.sdk.http;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 以Transfer-Encoding: chunked编码请求体, 写满缓冲区输出一个chunk, close时输出结束chunk但不关闭底层连接
+ */
+class ChunkedOutputStream extends OutputStream {
+    private static final byte[] CRLF = {'\r', '\n'};
+    private static final byte[] LAST_CHUNK = {'0', '\r', '\n', '\r', '\n'};
+
+    private final OutputStream out;
+    private final byte[] buffer;
+    private int count;
+    private boolean finished;
+
+    ChunkedOutputStream(OutputStream out, int bufferSize) {
+        this.out = out;
+        this.buffer = new byte[bufferSize];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (count == buffer.length) {
+            writeChunk(buffer, 0, count);
+            count = 0;
+        }
+        buffer[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (len >= buffer.length - count) {
+            // 缓冲区放不下时先输出已缓冲的数据, 大块数据直接作为一个chunk输出
+            flushBuffer();
+            if (len >= buffer.length) {
+                writeChunk(b, off, len);
+                return;
+            }
+        }
+        System.arraycopy(b, off, buffer, count, len);
+        count += len;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!finished) {
+            finished = true;
+            flushBuffer();
+            out.write(LAST_CHUNK);
+            out.flush();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (count > 0) {
+            writeChunk(buffer, 0, count);
+            count = 0;
+        }
+    }
+
+    private void writeChunk(byte[] b, int off, int len) throws IOException {
+        out.write(Integer.toHexString(len).getBytes("ISO-8859-1"));
+        out.write(CRLF);
+        out.write(b, off, len);
+        out.write(CRLF);
+    }
+}
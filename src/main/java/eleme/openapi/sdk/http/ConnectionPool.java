@@ -0,0 +1,329 @@
+package eleme.openapi.sdk.http;
+
+import eleme.openapi.sdk.utils.NamedThreadFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 按路由(scheme://host:port)管理持久连接, 限制总连接数和单路由连接数, 并定期回收空闲连接
+ */
+class ConnectionPool {
+    /**
+     * 空闲超过该时间的连接在复用前需检查是否已被服务端关闭
+     */
+    private static final long VALIDATE_AFTER_INACTIVITY = 2000;
+
+    private static final ScheduledExecutorService EVICTOR = Executors.newSingleThreadScheduledExecutor(
+            new NamedThreadFactory("eleme-sdk-connection-evictor"));
+
+    interface Connector {
+        PooledConnection connect() throws IOException;
+    }
+
+    /**
+     * 只弱引用连接池, 未调用shutdown的连接池不再被使用后仍可被回收, 回收后任务自行取消
+     */
+    private static class EvictionTask implements Runnable {
+        private final WeakReference<ConnectionPool> pool;
+        private volatile ScheduledFuture<?> future;
+
+        private EvictionTask(ConnectionPool pool) {
+            this.pool = new WeakReference<ConnectionPool>(pool);
+        }
+
+        public void run() {
+            ConnectionPool target = pool.get();
+            if (target != null) {
+                target.closeExpiredConnections();
+            } else if (future != null) {
+                future.cancel(false);
+            }
+        }
+    }
+
+    private static class RouteState {
+        private final LinkedList<PooledConnection> idle = new LinkedList<PooledConnection>();
+        private int leased;
+        private int pending;
+
+        private boolean isUnused() {
+            return idle.isEmpty() && leased == 0 && pending == 0;
+        }
+    }
+
+    private final int maxTotal;
+    private final int maxPerRoute;
+    private final long idleTimeout;
+    private final Map<String, RouteState> routes = new HashMap<String, RouteState>();
+    private final ScheduledFuture<?> eviction;
+    private int leased;
+    private int available;
+    private int pending;
+    private boolean shutdown;
+
+    ConnectionPool(int maxTotal, int maxPerRoute, long idleTimeout) {
+        if (maxTotal <= 0 || maxPerRoute <= 0) {
+            throw new IllegalArgumentException("maxTotal and maxPerRoute must be positive");
+        }
+        this.maxTotal = maxTotal;
+        this.maxPerRoute = maxPerRoute;
+        this.idleTimeout = idleTimeout > 0 ? idleTimeout : -1;
+        if (idleTimeout > 0) {
+            long period = Math.max(idleTimeout / 2, 1000);
+            EvictionTask task = new EvictionTask(this);
+            eviction = EVICTOR.scheduleWithFixedDelay(task, period, period, TimeUnit.MILLISECONDS);
+            task.future = eviction;
+        } else {
+            eviction = null;
+        }
+    }
+
+    /**
+     * 租用连接, 优先复用空闲连接, 达到上限时最多等待timeout毫秒
+     *
+     * @param timeout 等待超时, 0表示一直等待
+     */
+    PooledConnection lease(String route, int timeout, Connector connector) throws IOException {
+        long deadline = timeout > 0 ? System.currentTimeMillis() + timeout : 0;
+        while (true) {
+            List<PooledConnection> toClose = new ArrayList<PooledConnection>();
+            PooledConnection connection = null;
+            synchronized (this) {
+                RouteState state = state(route);
+                try {
+                    while (true) {
+                        if (shutdown) {
+                            throw new IOException("Connection pool shut down");
+                        }
+                        long now = System.currentTimeMillis();
+                        connection = state.idle.pollFirst();
+                        if (connection != null) {
+                            available--;
+                            if (connection.isExpired(now, idleTimeout)) {
+                                toClose.add(connection);
+                                connection = null;
+                                continue;
+                            }
+                            break;
+                        }
+                        if (state.leased < maxPerRoute && leased < maxTotal) {
+                            if (leased + available >= maxTotal) {
+                                // 总数已满时关闭其他路由最久未用的空闲连接腾出名额
+                                PooledConnection oldest = pollOldestIdle();
+                                if (oldest == null) {
+                                    waitForRelease(state, deadline);
+                                    continue;
+                                }
+                                toClose.add(oldest);
+                            }
+                            break;
+                        }
+                        waitForRelease(state, deadline);
+                    }
+                    state.leased++;
+                    leased++;
+                } finally {
+                    if (state.isUnused()) {
+                        routes.remove(route);
+                    }
+                }
+            }
+            closeAll(toClose);
+
+            if (connection == null) {
+                try {
+                    return connector.connect();
+                } catch (IOException e) {
+                    releaseSlot(route);
+                    throw e;
+                } catch (RuntimeException e) {
+                    releaseSlot(route);
+                    throw e;
+                }
+            }
+            if (System.currentTimeMillis() - connection.getLastUsed() < VALIDATE_AFTER_INACTIVITY || !connection.isStale()) {
+                connection.markReused();
+                return connection;
+            }
+            connection.close();
+            releaseSlot(route);
+        }
+    }
+
+    private void waitForRelease(RouteState state, long deadline) throws IOException {
+        long wait = 0;
+        if (deadline > 0) {
+            wait = deadline - System.currentTimeMillis();
+            if (wait <= 0) {
+                throw new ConnectionPoolTimeoutException("Timeout waiting for connection from pool");
+            }
+        }
+        state.pending++;
+        pending++;
+        try {
+            wait(wait);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for connection from pool");
+        } finally {
+            state.pending--;
+            pending--;
+        }
+    }
+
+    /**
+     * 归还连接
+     *
+     * @param reusable        连接是否可复用
+     * @param keepAliveMillis 服务端声明的Keep-Alive超时, 小于0表示未声明
+     */
+    void release(PooledConnection connection, boolean reusable, long keepAliveMillis) {
+        boolean close = true;
+        synchronized (this) {
+            RouteState state = state(connection.getRoute());
+            state.leased--;
+            leased--;
+            if (reusable && !shutdown) {
+                connection.touch(keepAliveMillis);
+                state.idle.addFirst(connection);
+                available++;
+                close = false;
+            } else if (state.isUnused()) {
+                routes.remove(connection.getRoute());
+            }
+            notifyAll();
+        }
+        if (close) {
+            connection.close();
+        }
+    }
+
+    private synchronized void releaseSlot(String route) {
+        RouteState state = state(route);
+        state.leased--;
+        leased--;
+        if (state.isUnused()) {
+            routes.remove(route);
+        }
+        notifyAll();
+    }
+
+    private RouteState state(String route) {
+        RouteState state = routes.get(route);
+        if (state == null) {
+            state = new RouteState();
+            routes.put(route, state);
+        }
+        return state;
+    }
+
+    private PooledConnection pollOldestIdle() {
+        RouteState oldestState = null;
+        String oldestRoute = null;
+        for (Map.Entry<String, RouteState> entry : routes.entrySet()) {
+            PooledConnection last = entry.getValue().idle.peekLast();
+            if (last != null && (oldestState == null || last.getLastUsed() < oldestState.idle.peekLast().getLastUsed())) {
+                oldestState = entry.getValue();
+                oldestRoute = entry.getKey();
+            }
+        }
+        if (oldestState == null) {
+            return null;
+        }
+        available--;
+        PooledConnection oldest = oldestState.idle.pollLast();
+        if (oldestState.isUnused()) {
+            routes.remove(oldestRoute);
+        }
+        return oldest;
+    }
+
+    /**
+     * 关闭空闲时间超过idleMillis的连接
+     */
+    void closeIdleConnections(long idleMillis) {
+        closeConnections(idleMillis);
+    }
+
+    /**
+     * 关闭超过空闲超时或服务端Keep-Alive超时的连接
+     */
+    void closeExpiredConnections() {
+        closeConnections(idleTimeout);
+    }
+
+    private void closeConnections(long idleMillis) {
+        List<PooledConnection> toClose = new ArrayList<PooledConnection>();
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            Iterator<Map.Entry<String, RouteState>> routeIterator = routes.entrySet().iterator();
+            while (routeIterator.hasNext()) {
+                RouteState state = routeIterator.next().getValue();
+                Iterator<PooledConnection> iterator = state.idle.iterator();
+                while (iterator.hasNext()) {
+                    PooledConnection connection = iterator.next();
+                    if (connection.isExpired(now, idleMillis)) {
+                        iterator.remove();
+                        available--;
+                        toClose.add(connection);
+                    }
+                }
+                if (state.isUnused()) {
+                    routeIterator.remove();
+                }
+            }
+        }
+        closeAll(toClose);
+    }
+
+    synchronized PoolStats getTotalStats() {
+        return new PoolStats(leased, pending, available, maxTotal);
+    }
+
+    synchronized Map<String, PoolStats> getRouteStats() {
+        Map<String, PoolStats> stats = new HashMap<String, PoolStats>();
+        for (Map.Entry<String, RouteState> entry : routes.entrySet()) {
+            RouteState state = entry.getValue();
+            stats.put(entry.getKey(), new PoolStats(state.leased, state.pending, state.idle.size(), maxPerRoute));
+        }
+        return stats;
+    }
+
+    void shutdown() {
+        List<PooledConnection> toClose = new ArrayList<PooledConnection>();
+        synchronized (this) {
+            if (shutdown) {
+                return;
+            }
+            shutdown = true;
+            for (RouteState state : routes.values()) {
+                toClose.addAll(state.idle);
+                available -= state.idle.size();
+                state.idle.clear();
+            }
+            notifyAll();
+        }
+        if (eviction != null) {
+            eviction.cancel(false);
+        }
+        closeAll(toClose);
+    }
+
+    private static void closeAll(List<PooledConnection> connections) {
+        for (PooledConnection connection : connections) {
+            connection.close();
+        }
+    }
+}
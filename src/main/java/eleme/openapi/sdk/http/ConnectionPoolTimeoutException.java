@@ -0,0 +1,12 @@
+package eleme.openapi.sdk.http;
+
+import java.io.IOException;
+
+/**
+ * 在超时时间内未能从连接池获取到连接
+ */
+public class ConnectionPoolTimeoutException extends IOException {
+    public ConnectionPoolTimeoutException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,219 @@
+package eleme.openapi.sdk.http;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * HTTP/1.1报文的编码与解析
+ */
+class HttpCodec {
+    private static final String HEADER_CHARSET = "ISO-8859-1";
+    private static final int MAX_LINE_LENGTH = 8 * 1024;
+    private static final int CHUNK_SIZE = 8 * 1024;
+
+    static class ResponseHead {
+        private int statusCode;
+        private String statusMessage;
+        private boolean http10;
+        private final Map<String, String> headers = new HashMap<String, String>();
+
+        int getStatusCode() {
+            return statusCode;
+        }
+
+        String getStatusMessage() {
+            return statusMessage;
+        }
+
+        Map<String, String> getHeaders() {
+            return headers;
+        }
+
+        boolean isKeepAlive() {
+            String connection = headers.get("connection");
+            if (http10) {
+                return "keep-alive".equalsIgnoreCase(connection);
+            }
+            return !"close".equalsIgnoreCase(connection);
+        }
+
+        /**
+         * 服务端通过Keep-Alive: timeout=N声明的连接保持时间, 未声明时返回-1
+         */
+        long getKeepAliveMillis() {
+            String keepAlive = headers.get("keep-alive");
+            if (keepAlive == null) {
+                return -1;
+            }
+            for (String param : keepAlive.split(",")) {
+                String[] pair = param.trim().split("=", 2);
+                if (pair.length == 2 && "timeout".equalsIgnoreCase(pair[0].trim())) {
+                    try {
+                        return Long.parseLong(pair[1].trim()) * 1000;
+                    } catch (NumberFormatException e) {
+                        return -1;
+                    }
+                }
+            }
+            return -1;
+        }
+
+        boolean hasBody() {
+            return statusCode >= 200 && statusCode != 204 && statusCode != 304;
+        }
+
+        boolean isChunked() {
+            String transferEncoding = headers.get("transfer-encoding");
+            return transferEncoding != null && transferEncoding.toLowerCase().contains("chunked");
+        }
+
+        long getContentLength() throws IOException {
+            String contentLength = headers.get("content-length");
+            if (contentLength == null) {
+                return -1;
+            }
+            try {
+                return Long.parseLong(contentLength.trim());
+            } catch (NumberFormatException e) {
+                throw new IOException("Invalid Content-Length: " + contentLength);
+            }
+        }
+    }
+
+    static void writeRequest(OutputStream out, URL url, HttpRequest request) throws IOException {
+        RequestEntity entity = request.getEntity();
+        long contentLength = entity.getContentLength();
+        out.write(requestHead(url, request, contentLength));
+        if (contentLength >= 0) {
+            entity.writeTo(out);
+        } else {
+            ChunkedOutputStream chunked = new ChunkedOutputStream(out, CHUNK_SIZE);
+            entity.writeTo(chunked);
+            chunked.close();
+        }
+        out.flush();
+    }
+
+    /**
+     * 编码请求行和请求头
+     *
+     * @param contentLength 请求体字节数, 小于0时以Transfer-Encoding: chunked发送
+     */
+    static byte[] requestHead(URL url, HttpRequest request, long contentLength) throws IOException {
+        String path = url.getFile();
+        StringBuilder head = new StringBuilder(256);
+        head.append("POST ").append(path.length() == 0 ? "/" : path).append(" HTTP/1.1\r\n");
+        head.append("Host: ").append(url.getHost());
+        if (url.getPort() != -1 && url.getPort() != url.getDefaultPort()) {
+            head.append(':').append(url.getPort());
+        }
+        head.append("\r\n");
+        if (request.getContentType() != null) {
+            head.append("Content-Type: ").append(request.getContentType()).append("\r\n");
+        }
+        for (Map.Entry<String, String> entry : request.getHeaders().entrySet()) {
+            if (entry.getValue() != null) {
+                head.append(entry.getKey()).append(": ").append(entry.getValue()).append("\r\n");
+            }
+        }
+        if (contentLength >= 0) {
+            head.append("Content-Length: ").append(contentLength).append("\r\n");
+        } else {
+            head.append("Transfer-Encoding: chunked\r\n");
+        }
+        head.append("\r\n");
+        return head.toString().getBytes(HEADER_CHARSET);
+    }
+
+    /**
+     * 读取状态行和响应头, 跳过1xx临时响应
+     */
+    static ResponseHead readResponseHead(InputStream in) throws IOException {
+        while (true) {
+            ResponseHead head = readHead(in);
+            if (head.statusCode >= 200) {
+                return head;
+            }
+        }
+    }
+
+    /**
+     * 读取一个状态行和响应头, 包括1xx临时响应
+     */
+    static ResponseHead readHead(InputStream in) throws IOException {
+        String statusLine = readLine(in);
+        if (statusLine == null) {
+            throw new EOFException("Connection closed by server before response");
+        }
+        ResponseHead head = parseStatusLine(statusLine);
+        String line;
+        String lastName = null;
+        while ((line = readLine(in)) != null && line.length() > 0) {
+            if ((line.charAt(0) == ' ' || line.charAt(0) == '\t') && lastName != null) {
+                head.headers.put(lastName, head.headers.get(lastName) + " " + line.trim());
+                continue;
+            }
+            int colon = line.indexOf(':');
+            if (colon <= 0) {
+                throw new IOException("Invalid header: " + line);
+            }
+            String name = line.substring(0, colon).trim().toLowerCase();
+            String value = line.substring(colon + 1).trim();
+            String previous = head.headers.get(name);
+            head.headers.put(name, previous == null ? value : previous + ", " + value);
+            lastName = name;
+        }
+        if (line == null) {
+            throw new EOFException("Connection closed by server while reading headers");
+        }
+        return head;
+    }
+
+    private static ResponseHead parseStatusLine(String statusLine) throws IOException {
+        ResponseHead head = new ResponseHead();
+        String[] parts = statusLine.split(" ", 3);
+        if (parts.length < 2 || !parts[0].startsWith("HTTP/")) {
+            throw new IOException("Invalid status line: " + statusLine);
+        }
+        head.http10 = "HTTP/1.0".equals(parts[0]);
+        try {
+            head.statusCode = Integer.parseInt(parts[1]);
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid status line: " + statusLine);
+        }
+        head.statusMessage = parts.length > 2 ? parts[2] : "";
+        return head;
+    }
+
+    /**
+     * 读取一行(以LF结尾, 去掉CR), 流结束且未读到任何字节时返回null
+     */
+    static String readLine(InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream(64);
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b == '\n') {
+                break;
+            }
+            if (line.size() >= MAX_LINE_LENGTH) {
+                throw new IOException("Line too long");
+            }
+            line.write(b);
+        }
+        if (b == -1 && line.size() == 0) {
+            return null;
+        }
+        byte[] bytes = line.toByteArray();
+        int length = bytes.length;
+        if (length > 0 && bytes[length - 1] == '\r') {
+            length--;
+        }
+        return new String(bytes, 0, length, HEADER_CHARSET);
+    }
+}
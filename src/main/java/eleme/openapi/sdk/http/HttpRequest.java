@@ -0,0 +1,106 @@
+package eleme.openapi.sdk.http;
+
+import java.net.SocketTimeoutException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * HTTP POST请求
+ */
+public class HttpRequest {
+    private final String url;
+    private String contentType;
+    private RequestEntity entity = new ByteArrayEntity(null);
+    private Map<String, String> headers = new LinkedHashMap<String, String>();
+    private int connectTimeout;
+    private int readTimeout;
+    private long deadline;
+
+    public HttpRequest(String url) {
+        this.url = url;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    /**
+     * @return 内存中的请求体, 请求体为流式写出时返回null
+     */
+    public byte[] getContent() {
+        return entity instanceof ByteArrayEntity ? ((ByteArrayEntity) entity).getContent() : null;
+    }
+
+    public void setContent(byte[] content) {
+        this.entity = new ByteArrayEntity(content);
+    }
+
+    public RequestEntity getEntity() {
+        return entity;
+    }
+
+    public void setEntity(RequestEntity entity) {
+        this.entity = entity == null ? new ByteArrayEntity(null) : entity;
+    }
+
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    public void setHeader(String name, String value) {
+        headers.put(name, value);
+    }
+
+    public int getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(int connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    public int getReadTimeout() {
+        return readTimeout;
+    }
+
+    public void setReadTimeout(int readTimeout) {
+        this.readTimeout = readTimeout;
+    }
+
+    public long getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * 请求的截止时间(System.currentTimeMillis), 0表示不限制; 传输层的连接和读取超时不超过剩余时间
+     */
+    public void setDeadline(long deadline) {
+        this.deadline = deadline;
+    }
+
+    /**
+     * 将超时限制在截止时间之内
+     *
+     * @param timeout 连接或读取超时, 0表示不限制
+     * @return 不超过剩余时间的超时
+     * @throws SocketTimeoutException 已超过截止时间
+     */
+    public int timeoutWithinDeadline(int timeout) throws SocketTimeoutException {
+        if (deadline <= 0) {
+            return timeout;
+        }
+        long remaining = deadline - System.currentTimeMillis();
+        if (remaining <= 0) {
+            throw new SocketTimeoutException("Deadline exceeded");
+        }
+        return timeout > 0 && timeout < remaining ? timeout : (int) Math.min(remaining, Integer.MAX_VALUE);
+    }
+}
@@ -0,0 +1,69 @@
+package eleme.openapi.sdk.http;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+/**
+ * HTTP响应, body为未解压的原始报文
+ */
+public class HttpResponse implements Closeable {
+    private final int statusCode;
+    private final String statusMessage;
+    private final Map<String, String> headers;
+    private final InputStream body;
+    private long connectNanos;
+
+    /**
+     * @param headers 响应头, key需为小写
+     */
+    public HttpResponse(int statusCode, String statusMessage, Map<String, String> headers, InputStream body) {
+        this.statusCode = statusCode;
+        this.statusMessage = statusMessage;
+        this.headers = headers;
+        this.body = body;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public String getStatusMessage() {
+        return statusMessage;
+    }
+
+    public String getHeader(String name) {
+        return headers.get(name.toLowerCase());
+    }
+
+    public String getContentType() {
+        return getHeader("Content-Type");
+    }
+
+    public String getContentEncoding() {
+        return getHeader("Content-Encoding");
+    }
+
+    public InputStream getBody() {
+        return body;
+    }
+
+    /**
+     * @return 获取连接的耗时(纳秒), 包括等待连接池、建立连接和TLS握手, 传输层不区分时为0
+     */
+    public long getConnectNanos() {
+        return connectNanos;
+    }
+
+    public void setConnectNanos(long connectNanos) {
+        this.connectNanos = connectNanos;
+    }
+
+    /**
+     * 关闭响应, 连接池实现会在此时回收连接
+     */
+    public void close() throws IOException {
+        body.close();
+    }
+}
@@ -0,0 +1,19 @@
+package eleme.openapi.sdk.http;
+
+import java.io.IOException;
+
+/**
+ * 接收异步请求的结果
+ */
+public interface HttpResponseHandler {
+
+    /**
+     * @param response 响应, 响应体随读取陆续到达, 需读完或关闭以释放连接
+     */
+    void completed(HttpResponse response);
+
+    /**
+     * @param cause 网络异常, 超时为SocketTimeoutException; 写出请求体时抛出的RuntimeException包装为IOException, 由getCause取得
+     */
+    void failed(IOException cause);
+}
@@ -0,0 +1,24 @@
+package eleme.openapi.sdk.http;
+
+import java.io.IOException;
+
+/**
+ * HTTP传输层接口, 可通过Config.setHttpTransport替换默认实现
+ */
+public interface HttpTransport {
+
+    /**
+     * 发送请求
+     * 调用方读取完响应后必须调用HttpResponse.close(), 以便连接归还连接池
+     *
+     * @param request 请求
+     * @return 响应
+     * @throws IOException 网络异常
+     */
+    HttpResponse execute(HttpRequest request) throws IOException;
+
+    /**
+     * 关闭传输层并释放所有连接
+     */
+    void shutdown();
+}
@@ -0,0 +1,1452 @@
+package eleme.openapi.sdk.http;
+
+import eleme.openapi.sdk.utils.NamedThreadFactory;
+
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLEngineResult;
+import javax.net.ssl.SSLException;
+import javax.net.ssl.SSLPeerUnverifiedException;
+import javax.net.ssl.SSLSession;
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 基于Selector的非阻塞传输层, 单个I/O线程驱动所有连接, 同时进行的请求数不受线程数限制
+ * <p>
+ * TLS由SSLEngine完成, 主机名校验与{@link PooledHttpTransport}一致. 同一路由的连接保持复用,
+ * 超过maxPerRoute的请求排队等待, 等待超过connectTimeout时以ConnectionPoolTimeoutException失败.
+ * 请求体和响应体都经有界缓冲逐块传输: 流式请求体由工作线程写出, 缓冲满时等待; 收到响应头即回调,
+ * 响应体缓冲满时暂停读取该连接, 直到读取方取走数据. DNS解析在工作线程中进行, 结果按路由缓存30秒.
+ * 同步的{@link #execute}等待响应头, 供未使用异步接口的调用共用同一组连接
+ */
+public class NioHttpTransport implements HttpTransport, AsyncHttpTransport {
+    /**
+     * 默认单个路由(scheme://host:port)最大连接数
+     */
+    public static final int DEFAULT_MAX_PER_ROUTE = 1000;
+    /**
+     * 默认空闲连接回收时间(毫秒)
+     */
+    public static final long DEFAULT_IDLE_TIMEOUT = PooledHttpTransport.DEFAULT_IDLE_TIMEOUT;
+
+    /**
+     * 检查超时的间隔(毫秒), 超时的实际触发时间最多晚于设定值这么久
+     */
+    private static final long CHECK_INTERVAL = 100;
+    private static final long ADDRESS_TTL = 30 * 1000L;
+    private static final int WORKER_THREADS = 4;
+    private static final int READ_BUFFER_SIZE = 16 * 1024;
+    private static final int MAX_HEAD_SIZE = 64 * 1024;
+    private static final int REQUEST_CHUNK_SIZE = 8 * 1024;
+    private static final int REQUEST_MAX_CHUNKS = 4;
+    private static final int BODY_BUFFER_LIMIT = 64 * 1024;
+    private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+
+    private enum State {
+        CONNECTING, HANDSHAKING, SENDING, RECEIVING, IDLE
+    }
+
+    private final TlsConfig tlsConfig;
+    private final int maxPerRoute;
+    private final long idleTimeout;
+    private final ConcurrentLinkedQueue<Exchange> incoming = new ConcurrentLinkedQueue<Exchange>();
+    private final ConcurrentLinkedQueue<Runnable> tasks = new ConcurrentLinkedQueue<Runnable>();
+    private final ThreadPoolExecutor workers;
+    // 以下字段只在I/O线程中访问
+    private final Map<String, Route> routes = new HashMap<String, Route>();
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+    private volatile Selector selector;
+    private volatile boolean shutdown;
+    private volatile PoolStats stats;
+
+    public NioHttpTransport() {
+        this(new TlsConfig());
+    }
+
+    public NioHttpTransport(TlsConfig tlsConfig) {
+        this(DEFAULT_MAX_PER_ROUTE, DEFAULT_IDLE_TIMEOUT, tlsConfig);
+    }
+
+    /**
+     * @param maxPerRoute 单个路由最大连接数
+     * @param idleTimeout 空闲连接回收时间(毫秒), 小于等于0表示不回收
+     * @param tlsConfig   TLS配置
+     */
+    public NioHttpTransport(int maxPerRoute, long idleTimeout, TlsConfig tlsConfig) {
+        this.maxPerRoute = Math.max(1, maxPerRoute);
+        this.idleTimeout = idleTimeout;
+        this.tlsConfig = tlsConfig;
+        this.stats = new PoolStats(0, 0, 0, this.maxPerRoute);
+        this.workers = new ThreadPoolExecutor(WORKER_THREADS, WORKER_THREADS, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), new NamedThreadFactory("eleme-sdk-nio-worker"));
+        this.workers.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * 等待响应头, 响应体需读完或关闭
+     */
+    public HttpResponse execute(HttpRequest request) throws IOException {
+        BlockingHandler handler = new BlockingHandler();
+        executeAsync(request, handler);
+        return handler.await();
+    }
+
+    public void executeAsync(HttpRequest request, HttpResponseHandler handler) {
+        Exchange exchange;
+        Selector sel;
+        try {
+            exchange = new Exchange(request, handler);
+            sel = start();
+        } catch (IOException e) {
+            handler.failed(e);
+            return;
+        }
+        incoming.add(exchange);
+        // I/O线程已退出时不会再取队列, 由调用方自己结束
+        if (shutdown && incoming.remove(exchange)) {
+            exchange.fail(new IOException("transport is shut down"));
+            return;
+        }
+        sel.wakeup();
+    }
+
+    /**
+     * 关闭I/O线程、工作线程和所有连接, 未完成的请求以IOException失败
+     */
+    public void shutdown() {
+        Selector sel;
+        synchronized (this) {
+            if (shutdown) {
+                return;
+            }
+            shutdown = true;
+            sel = selector;
+        }
+        workers.shutdownNow();
+        if (sel != null) {
+            sel.wakeup();
+        }
+    }
+
+    /**
+     * @return 所有路由的连接状态, 由I/O线程每100毫秒更新一次, max为单个路由的上限
+     */
+    public PoolStats getTotalStats() {
+        return stats;
+    }
+
+    private synchronized Selector start() throws IOException {
+        if (shutdown) {
+            throw new IOException("transport is shut down");
+        }
+        if (selector == null) {
+            selector = Selector.open();
+            new NamedThreadFactory("eleme-sdk-nio").newThread(new Runnable() {
+                public void run() {
+                    loop();
+                }
+            }).start();
+        }
+        return selector;
+    }
+
+    /**
+     * 在I/O线程中执行task, 供工作线程和响应体读取方通知I/O线程
+     */
+    private void post(Runnable task) {
+        tasks.add(task);
+        Selector sel = selector;
+        if (sel != null) {
+            sel.wakeup();
+        }
+    }
+
+    private void loop() {
+        Selector sel = selector;
+        long nextCheck = 0;
+        try {
+            while (!shutdown) {
+                sel.select(CHECK_INTERVAL);
+                Runnable task;
+                while ((task = tasks.poll()) != null) {
+                    task.run();
+                }
+                Exchange exchange;
+                while ((exchange = incoming.poll()) != null) {
+                    dispatch(exchange);
+                }
+                Iterator<SelectionKey> it = sel.selectedKeys().iterator();
+                while (it.hasNext()) {
+                    SelectionKey key = it.next();
+                    it.remove();
+                    Connection connection = (Connection) key.attachment();
+                    try {
+                        handle(connection, key);
+                    } catch (IOException e) {
+                        fail(connection, e);
+                    } catch (RuntimeException e) {
+                        // SSLEngine等内部异常只影响当前连接
+                        fail(connection, new IOException(e.toString(), e));
+                    }
+                }
+                long now = System.currentTimeMillis();
+                if (now >= nextCheck) {
+                    checkTimeouts(now);
+                    nextCheck = now + CHECK_INTERVAL;
+                }
+            }
+        } catch (Throwable t) {
+            Thread thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, t);
+        } finally {
+            // I/O线程意外退出时同样不再接受请求
+            shutdown = true;
+            workers.shutdownNow();
+            closeAll(sel);
+        }
+    }
+
+    private void closeAll(Selector sel) {
+        IOException cause = new IOException("transport is shut down");
+        for (SelectionKey key : sel.keys()) {
+            Connection connection = (Connection) key.attachment();
+            Exchange exchange = connection.exchange;
+            ResponseParser parser = connection.parser;
+            release(connection);
+            close(connection);
+            if (parser != null && parser.body != null) {
+                parser.body.fail(cause);
+            }
+            if (exchange != null) {
+                exchange.fail(cause);
+            }
+        }
+        for (Route route : routes.values()) {
+            for (Exchange exchange : route.unresolved) {
+                exchange.fail(cause);
+            }
+            for (Exchange exchange : route.waiting) {
+                exchange.fail(cause);
+            }
+        }
+        routes.clear();
+        Exchange exchange;
+        while ((exchange = incoming.poll()) != null) {
+            exchange.fail(cause);
+        }
+        tasks.clear();
+        try {
+            sel.close();
+        } catch (IOException ignored) {
+        }
+        stats = new PoolStats(0, 0, 0, maxPerRoute);
+    }
+
+    private void dispatch(Exchange exchange) {
+        if (exchange.isDone()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long deadline = exchange.request.getDeadline();
+        if (deadline > 0 && now >= deadline) {
+            exchange.fail(new SocketTimeoutException("Deadline exceeded"));
+            return;
+        }
+        Route route = routes.get(exchange.route);
+        if (route == null) {
+            route = new Route(exchange.host, exchange.port);
+            routes.put(exchange.route, route);
+        }
+        // 重试的请求不再使用空闲连接
+        if (!exchange.retried) {
+            Connection idle;
+            while ((idle = route.idle.pollLast()) != null) {
+                if (now < idle.idleUntil) {
+                    idle.reused = true;
+                    assign(idle, exchange);
+                    return;
+                }
+                close(idle);
+            }
+        }
+        if (route.connections < maxPerRoute) {
+            connect(route, exchange, now);
+            return;
+        }
+        exchange.waitingSince = now;
+        route.waiting.add(exchange);
+    }
+
+    /**
+     * 占用路由的一个连接名额, 地址未解析或缓存已过期时先在工作线程中解析
+     */
+    private void connect(Route route, Exchange exchange, long now) {
+        route.connections++;
+        if (route.address != null && now < route.resolvedUntil) {
+            open(route, exchange, now);
+            return;
+        }
+        exchange.waitingSince = now;
+        route.unresolved.add(exchange);
+        if (!route.resolving) {
+            resolve(route);
+        }
+    }
+
+    private void resolve(final Route route) {
+        route.resolving = true;
+        try {
+            workers.execute(new Runnable() {
+                public void run() {
+                    InetAddress address = null;
+                    IOException failure = null;
+                    try {
+                        address = InetAddress.getByName(route.host);
+                    } catch (UnknownHostException e) {
+                        failure = e;
+                    } catch (RuntimeException e) {
+                        failure = new UnknownHostException(route.host + ": " + e);
+                    }
+                    final InetAddress resolved = address;
+                    final IOException cause = failure;
+                    post(new Runnable() {
+                        public void run() {
+                            resolved(route, resolved, cause);
+                        }
+                    });
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            resolved(route, null, new IOException("transport is shut down"));
+        }
+    }
+
+    private void resolved(Route route, InetAddress address, IOException failure) {
+        route.resolving = false;
+        long now = System.currentTimeMillis();
+        if (address != null) {
+            route.address = address;
+            route.resolvedUntil = now + ADDRESS_TTL;
+        }
+        Exchange exchange;
+        while ((exchange = route.unresolved.poll()) != null) {
+            if (address != null && !exchange.isDone()) {
+                open(route, exchange, now);
+                continue;
+            }
+            route.connections--;
+            exchange.fail(failure);
+        }
+        serveWaiting(route);
+    }
+
+    /**
+     * 以已占用的名额建立连接
+     */
+    private void open(Route route, Exchange exchange, long now) {
+        Connection connection;
+        try {
+            connection = new Connection(route, SocketChannel.open());
+        } catch (IOException e) {
+            route.connections--;
+            exchange.fail(e);
+            return;
+        }
+        connection.exchange = exchange;
+        connection.state = State.CONNECTING;
+        connection.timeoutAt = timeoutAt(exchange, now, exchange.request.getConnectTimeout());
+        try {
+            SocketChannel channel = connection.channel;
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+            channel.socket().setKeepAlive(true);
+            if (exchange.https) {
+                SSLEngine engine = tlsConfig.getSslContext().createSSLEngine(exchange.host, exchange.port);
+                engine.setUseClientMode(true);
+                SSLSession session = engine.getSession();
+                connection.engine = engine;
+                connection.netIn = ByteBuffer.allocate(session.getPacketBufferSize());
+                connection.netOut = ByteBuffer.allocate(session.getPacketBufferSize());
+                connection.appIn = ByteBuffer.allocate(session.getApplicationBufferSize());
+            }
+            connection.key = channel.register(selector, 0, connection);
+            if (channel.connect(new InetSocketAddress(route.address, route.port))) {
+                connected(connection);
+            } else {
+                connection.key.interestOps(SelectionKey.OP_CONNECT);
+            }
+        } catch (IOException e) {
+            fail(connection, e);
+        } catch (RuntimeException e) {
+            fail(connection, new IOException(e.toString(), e));
+        }
+    }
+
+    private void handle(Connection connection, SelectionKey key) throws IOException {
+        if (!key.isValid()) {
+            return;
+        }
+        if (key.isConnectable()) {
+            if (connection.channel.finishConnect()) {
+                connected(connection);
+            }
+            return;
+        }
+        if (connection.state == State.IDLE) {
+            // 空闲连接可读表示服务端已关闭连接或发来了意外的数据, 都不能再复用
+            connection.route.idle.remove(connection);
+            close(connection);
+            return;
+        }
+        if (key.isWritable()) {
+            if (connection.state == State.HANDSHAKING) {
+                handshake(connection);
+            } else if (connection.state == State.SENDING) {
+                send(connection);
+            } else if (writeNet(connection)) {
+                connection.key.interestOps(readInterest(connection));
+            }
+        }
+        if (key.isValid() && key.isReadable()) {
+            read(connection);
+        }
+    }
+
+    private void connected(Connection connection) throws IOException {
+        if (connection.engine == null) {
+            startSending(connection);
+            return;
+        }
+        connection.state = State.HANDSHAKING;
+        connection.timeoutAt = timeoutAt(connection.exchange, System.currentTimeMillis(),
+                connection.exchange.request.getReadTimeout());
+        connection.engine.beginHandshake();
+        handshake(connection);
+    }
+
+    private void handshake(Connection connection) throws IOException {
+        SSLEngine engine = connection.engine;
+        while (true) {
+            switch (engine.getHandshakeStatus()) {
+                case NEED_TASK:
+                    runTasks(engine);
+                    break;
+                case NEED_WRAP:
+                    wrap(connection, EMPTY);
+                    if (!writeNet(connection)) {
+                        connection.key.interestOps(SelectionKey.OP_WRITE);
+                        return;
+                    }
+                    break;
+                case NEED_UNWRAP:
+                    if (!unwrap(connection)) {
+                        connection.key.interestOps(SelectionKey.OP_READ);
+                        return;
+                    }
+                    break;
+                default:
+                    if (!writeNet(connection)) {
+                        connection.key.interestOps(SelectionKey.OP_WRITE);
+                        return;
+                    }
+                    verifyHost(connection);
+                    startSending(connection);
+                    return;
+            }
+        }
+    }
+
+    private void verifyHost(Connection connection) throws IOException {
+        String host = connection.exchange.host;
+        if (!tlsConfig.getHostnameVerifier().verify(host, connection.engine.getSession())) {
+            throw new SSLPeerUnverifiedException("Hostname " + host + " not verified");
+        }
+    }
+
+    /**
+     * 先发送请求头, 内存中的请求体直接发送, 其余请求体由工作线程写入有界缓冲后逐块发送
+     */
+    private void startSending(Connection connection) throws IOException {
+        Exchange exchange = connection.exchange;
+        exchange.connectNanos = System.nanoTime() - exchange.startNanos;
+        connection.parser = new ResponseParser(connection);
+        connection.outgoing = ByteBuffer.wrap(exchange.head);
+        connection.state = State.SENDING;
+        connection.timeoutAt = timeoutAt(exchange, System.currentTimeMillis(), exchange.request.getReadTimeout());
+        RequestEntity entity = exchange.request.getEntity();
+        if (entity instanceof ByteArrayEntity) {
+            connection.content = ((ByteArrayEntity) entity).getContent();
+        } else {
+            startWriting(connection, entity);
+        }
+        send(connection);
+    }
+
+    private void startWriting(final Connection connection, final RequestEntity entity) throws IOException {
+        final PipedRequestBody body = new PipedRequestBody(entity.getContentLength() < 0, REQUEST_CHUNK_SIZE, REQUEST_MAX_CHUNKS,
+                new Runnable() {
+                    public void run() {
+                        post(new Runnable() {
+                            public void run() {
+                                resumeSending(connection);
+                            }
+                        });
+                    }
+                });
+        connection.requestBody = body;
+        try {
+            workers.execute(new Runnable() {
+                public void run() {
+                    writeEntity(entity, body);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            throw new IOException("transport is shut down");
+        }
+    }
+
+    private static void writeEntity(RequestEntity entity, PipedRequestBody body) {
+        try {
+            entity.writeTo(body);
+            body.finish();
+        } catch (IOException e) {
+            body.fail(e);
+        } catch (RuntimeException e) {
+            body.fail(e);
+        } catch (Error e) {
+            body.fail(e);
+            throw e;
+        }
+    }
+
+    /**
+     * 工作线程写入了新的数据; 连接可能已换给其他请求, 多余的调用没有影响
+     */
+    private void resumeSending(Connection connection) {
+        if (connection.closed || connection.state != State.SENDING) {
+            return;
+        }
+        try {
+            send(connection);
+        } catch (IOException e) {
+            fail(connection, e);
+        } catch (RuntimeException e) {
+            fail(connection, new IOException(e.toString(), e));
+        }
+    }
+
+    private void send(Connection connection) throws IOException {
+        while (true) {
+            ByteBuffer outgoing = connection.outgoing;
+            if (connection.engine == null) {
+                while (outgoing != null && outgoing.hasRemaining() && connection.channel.write(outgoing) > 0) {
+                    // 写到发送缓冲区满为止
+                }
+                if (outgoing != null && outgoing.hasRemaining()) {
+                    connection.key.interestOps(SelectionKey.OP_WRITE);
+                    return;
+                }
+            } else {
+                boolean flushed;
+                while ((flushed = writeNet(connection)) && outgoing != null && outgoing.hasRemaining()) {
+                    wrap(connection, outgoing);
+                }
+                if (!flushed) {
+                    connection.key.interestOps(SelectionKey.OP_WRITE);
+                    return;
+                }
+            }
+            outgoing = nextOutgoing(connection);
+            connection.outgoing = outgoing;
+            if (outgoing == null) {
+                break;
+            }
+            connection.timeoutAt = timeoutAt(connection.exchange, System.currentTimeMillis(),
+                    connection.exchange.request.getReadTimeout());
+        }
+        if (connection.requestBody != null && !connection.requestBody.isDrained()) {
+            // 等待工作线程写入
+            connection.key.interestOps(0);
+            return;
+        }
+        connection.requestBody = null;
+        connection.state = State.RECEIVING;
+        connection.timeoutAt = timeoutAt(connection.exchange, System.currentTimeMillis(),
+                connection.exchange.request.getReadTimeout());
+        connection.key.interestOps(SelectionKey.OP_READ);
+    }
+
+    /**
+     * @return 下一段要发送的数据, 暂无数据时为null
+     */
+    private static ByteBuffer nextOutgoing(Connection connection) throws IOException {
+        if (connection.content != null) {
+            ByteBuffer content = ByteBuffer.wrap(connection.content);
+            connection.content = null;
+            return content;
+        }
+        return connection.requestBody == null ? null : connection.requestBody.poll();
+    }
+
+    private void read(Connection connection) throws IOException {
+        if (connection.engine == null) {
+            readBuffer.clear();
+            int n = connection.channel.read(readBuffer);
+            if (n < 0) {
+                endOfStream(connection);
+                return;
+            }
+            readBuffer.flip();
+            received(connection, readBuffer);
+            return;
+        }
+        if (!connection.netIn.hasRemaining()) {
+            connection.netIn = enlarge(connection.netIn, connection.engine.getSession().getPacketBufferSize());
+        }
+        int n = connection.channel.read(connection.netIn);
+        if (connection.state == State.HANDSHAKING) {
+            if (n < 0) {
+                throw new EOFException("Connection closed by server during TLS handshake");
+            }
+            handshake(connection);
+            return;
+        }
+        boolean eof = n < 0;
+        while (connection.state == State.RECEIVING) {
+            boolean more;
+            try {
+                more = unwrap(connection);
+            } catch (EOFException e) {
+                // 服务端发送close_notify
+                eof = true;
+                break;
+            }
+            ByteBuffer appIn = connection.appIn;
+            if (appIn.position() > 0) {
+                appIn.flip();
+                boolean done = received(connection, appIn);
+                appIn.clear();
+                if (done) {
+                    return;
+                }
+            }
+            if (!more) {
+                break;
+            }
+            // TLS 1.3的NewSessionTicket、KeyUpdate等握手后消息
+            SSLEngineResult.HandshakeStatus status = connection.engine.getHandshakeStatus();
+            if (status == SSLEngineResult.HandshakeStatus.NEED_TASK) {
+                runTasks(connection.engine);
+            } else if (status == SSLEngineResult.HandshakeStatus.NEED_WRAP) {
+                wrap(connection, EMPTY);
+                if (!writeNet(connection)) {
+                    connection.key.interestOps(readInterest(connection) | SelectionKey.OP_WRITE);
+                }
+            }
+        }
+        if (eof && connection.state == State.RECEIVING) {
+            endOfStream(connection);
+        }
+    }
+
+    /**
+     * 收到响应头时回调, 响应体写入缓冲, 缓冲已满时暂停读取
+     *
+     * @return 响应是否已完整
+     */
+    private boolean received(Connection connection, ByteBuffer data) throws IOException {
+        ResponseParser parser = connection.parser;
+        if (data.hasRemaining() && !connection.paused) {
+            connection.timeoutAt = timeoutAt(connection.exchange, System.currentTimeMillis(),
+                    connection.exchange.request.getReadTimeout());
+        }
+        parser.feed(data);
+        if (parser.head != null && !parser.delivered) {
+            deliver(connection);
+        }
+        if (parser.done) {
+            complete(connection);
+            return true;
+        }
+        if (parser.body != null && parser.body.isFull() && !connection.paused) {
+            // 暂停期间不计读超时, 截止时间仍然有效
+            connection.paused = true;
+            connection.timeoutAt = timeoutAt(connection.exchange, System.currentTimeMillis(), 0);
+            connection.key.interestOps(0);
+        }
+        return false;
+    }
+
+    private void deliver(Connection connection) {
+        ResponseParser parser = connection.parser;
+        parser.delivered = true;
+        Exchange exchange = connection.exchange;
+        InputStream body = parser.body == null ? new ByteArrayInputStream(new byte[0]) : parser.body;
+        HttpResponse response = new HttpResponse(parser.head.getStatusCode(), parser.head.getStatusMessage(),
+                parser.head.getHeaders(), body);
+        response.setConnectNanos(exchange.connectNanos);
+        if (!exchange.complete(response) && parser.body != null) {
+            parser.body.close();
+        }
+    }
+
+    /**
+     * 读取方取走了数据, 恢复读取
+     */
+    private void resumeReading(Connection connection, ResponseParser parser) {
+        if (connection.closed || connection.parser != parser || !connection.paused) {
+            return;
+        }
+        connection.paused = false;
+        connection.timeoutAt = timeoutAt(connection.exchange, System.currentTimeMillis(),
+                connection.exchange.request.getReadTimeout());
+        connection.key.interestOps(SelectionKey.OP_READ);
+    }
+
+    /**
+     * 读取方未读完就关闭了响应体, 剩余数据无法跳过, 连接不能复用
+     */
+    private void abandon(Connection connection, ResponseParser parser) {
+        if (connection.closed || connection.parser != parser) {
+            return;
+        }
+        release(connection);
+        close(connection);
+        serveWaiting(connection.route);
+    }
+
+    private void endOfStream(Connection connection) throws IOException {
+        ResponseParser parser = connection.parser;
+        if (parser != null && parser.finishOnClose()) {
+            complete(connection);
+            return;
+        }
+        if (parser != null && parser.started) {
+            throw new EOFException("Connection closed by server while reading response");
+        }
+        throw new EOFException("Connection closed by server before response");
+    }
+
+    /**
+     * 响应体已完整, 连接可复用时交给下一个等待的请求或放回空闲连接
+     */
+    private void complete(Connection connection) {
+        ResponseParser parser = connection.parser;
+        if (parser.body != null) {
+            parser.body.finish();
+        }
+        release(connection);
+        Route route = connection.route;
+        if (parser.keepAlive && !shutdown) {
+            long now = System.currentTimeMillis();
+            long ttl = idleTimeout > 0 ? idleTimeout : Long.MAX_VALUE;
+            long keepAliveMillis = parser.head.getKeepAliveMillis();
+            if (keepAliveMillis > 0) {
+                ttl = Math.min(ttl, keepAliveMillis);
+            }
+            connection.idleUntil = ttl == Long.MAX_VALUE ? Long.MAX_VALUE : now + ttl;
+            Exchange next = nextWaiting(route);
+            if (next != null) {
+                connection.reused = true;
+                assign(connection, next);
+                return;
+            }
+            connection.state = State.IDLE;
+            connection.key.interestOps(SelectionKey.OP_READ);
+            route.idle.add(connection);
+        } else {
+            close(connection);
+            serveWaiting(route);
+        }
+    }
+
+    /**
+     * 解除连接与当前请求的关联, 停止写入请求体
+     */
+    private static void release(Connection connection) {
+        if (connection.requestBody != null) {
+            connection.requestBody.abort();
+        }
+        connection.exchange = null;
+        connection.parser = null;
+        connection.outgoing = null;
+        connection.content = null;
+        connection.requestBody = null;
+        connection.paused = false;
+    }
+
+    private void assign(Connection connection, Exchange exchange) {
+        connection.exchange = exchange;
+        try {
+            startSending(connection);
+        } catch (IOException e) {
+            fail(connection, e);
+        }
+    }
+
+    /**
+     * 连接出错时关闭连接; 复用的连接在收到响应前出错可能已被服务端关闭, 换新连接重试一次,
+     * 读超时不重试. 已回调的请求由响应体的读取方收到异常
+     */
+    private void fail(Connection connection, IOException cause) {
+        Exchange exchange = connection.exchange;
+        ResponseParser parser = connection.parser;
+        boolean stale = connection.state == State.SENDING
+                || (connection.state == State.RECEIVING && parser != null && !parser.started
+                && !(cause instanceof SocketTimeoutException));
+        boolean retry = exchange != null && connection.reused && stale
+                && !exchange.retried && !(cause instanceof PipedRequestBody.EntityException);
+        if (connection.state == State.CONNECTING) {
+            // 地址可能已失效, 下次连接时重新解析
+            connection.route.address = null;
+        }
+        release(connection);
+        close(connection);
+        if (parser != null && parser.body != null) {
+            parser.body.fail(cause);
+        }
+        if (exchange != null) {
+            if (retry) {
+                exchange.retried = true;
+                dispatch(exchange);
+            } else {
+                exchange.fail(unwrap(cause));
+            }
+        }
+        serveWaiting(connection.route);
+    }
+
+    /**
+     * 请求体写出时抛出的IOException原样交给调用方, RuntimeException保持包装
+     */
+    private static IOException unwrap(IOException cause) {
+        if (cause instanceof PipedRequestBody.EntityException && cause.getCause() instanceof IOException) {
+            return (IOException) cause.getCause();
+        }
+        return cause;
+    }
+
+    private void serveWaiting(Route route) {
+        while (route.connections < maxPerRoute) {
+            Exchange next = nextWaiting(route);
+            if (next == null) {
+                return;
+            }
+            dispatch(next);
+        }
+    }
+
+    private static Exchange nextWaiting(Route route) {
+        Exchange next;
+        while ((next = route.waiting.poll()) != null) {
+            if (!next.isDone()) {
+                return next;
+            }
+        }
+        return null;
+    }
+
+    private void close(Connection connection) {
+        if (connection.closed) {
+            return;
+        }
+        connection.closed = true;
+        connection.route.connections--;
+        if (connection.key != null) {
+            connection.key.cancel();
+        }
+        try {
+            connection.channel.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    private void checkTimeouts(long now) {
+        int leased = 0;
+        int available = 0;
+        int pending = 0;
+        // 先收集再处理, 处理过程中会注册新连接
+        List<Connection> expired = new ArrayList<Connection>();
+        for (SelectionKey key : selector.keys()) {
+            Connection connection = (Connection) key.attachment();
+            if (!key.isValid() || connection.closed) {
+                continue;
+            }
+            if (connection.state == State.IDLE) {
+                available++;
+                if (now >= connection.idleUntil) {
+                    expired.add(connection);
+                }
+            } else {
+                leased++;
+                if (now >= connection.timeoutAt) {
+                    expired.add(connection);
+                }
+            }
+        }
+        for (Connection connection : expired) {
+            if (connection.closed) {
+                continue;
+            }
+            if (connection.state == State.IDLE) {
+                connection.route.idle.remove(connection);
+                close(connection);
+                available--;
+            } else {
+                long deadline = connection.exchange.request.getDeadline();
+                String message = deadline > 0 && now >= deadline ? "Deadline exceeded"
+                        : connection.state == State.CONNECTING ? "connect timed out" : "Read timed out";
+                fail(connection, new SocketTimeoutException(message));
+                leased--;
+            }
+        }
+        Iterator<Route> it = routes.values().iterator();
+        while (it.hasNext()) {
+            Route route = it.next();
+            int released = expireUnresolved(route, now);
+            Iterator<Exchange> waiting = route.waiting.iterator();
+            while (waiting.hasNext()) {
+                Exchange exchange = waiting.next();
+                if (exchange.isDone()) {
+                    waiting.remove();
+                    continue;
+                }
+                long deadline = exchange.request.getDeadline();
+                if (deadline > 0 && now >= deadline) {
+                    waiting.remove();
+                    exchange.fail(new SocketTimeoutException("Deadline exceeded"));
+                } else if (exchange.request.getConnectTimeout() > 0
+                        && now - exchange.waitingSince >= exchange.request.getConnectTimeout()) {
+                    waiting.remove();
+                    exchange.fail(new ConnectionPoolTimeoutException("Timeout waiting for connection"));
+                } else {
+                    pending++;
+                }
+            }
+            if (released > 0) {
+                serveWaiting(route);
+            }
+            pending += route.unresolved.size();
+            if (route.connections == 0 && route.waiting.isEmpty()) {
+                it.remove();
+            }
+        }
+        stats = new PoolStats(leased, pending, available, maxPerRoute);
+    }
+
+    /**
+     * 地址解析超过connectTimeout或截止时间的请求以超时失败, 解析结果仍会缓存
+     *
+     * @return 释放的连接名额
+     */
+    private static int expireUnresolved(Route route, long now) {
+        int released = 0;
+        Iterator<Exchange> it = route.unresolved.iterator();
+        while (it.hasNext()) {
+            Exchange exchange = it.next();
+            long deadline = exchange.request.getDeadline();
+            int connectTimeout = exchange.request.getConnectTimeout();
+            if (exchange.isDone()) {
+                it.remove();
+            } else if (deadline > 0 && now >= deadline) {
+                it.remove();
+                exchange.fail(new SocketTimeoutException("Deadline exceeded"));
+            } else if (connectTimeout > 0 && now - exchange.waitingSince >= connectTimeout) {
+                it.remove();
+                exchange.fail(new SocketTimeoutException("connect timed out"));
+            } else {
+                continue;
+            }
+            route.connections--;
+            released++;
+        }
+        return released;
+    }
+
+    private static long timeoutAt(Exchange exchange, long now, int timeout) {
+        long at = timeout > 0 ? now + timeout : Long.MAX_VALUE;
+        long deadline = exchange.request.getDeadline();
+        return deadline > 0 ? Math.min(at, deadline) : at;
+    }
+
+    private static int readInterest(Connection connection) {
+        return connection.paused ? 0 : SelectionKey.OP_READ;
+    }
+
+    private static void runTasks(SSLEngine engine) {
+        Runnable task;
+        while ((task = engine.getDelegatedTask()) != null) {
+            task.run();
+        }
+    }
+
+    private static void wrap(Connection connection, ByteBuffer source) throws IOException {
+        while (true) {
+            SSLEngineResult result = connection.engine.wrap(source, connection.netOut);
+            switch (result.getStatus()) {
+                case BUFFER_OVERFLOW:
+                    connection.netOut = enlarge(connection.netOut, connection.engine.getSession().getPacketBufferSize());
+                    break;
+                case CLOSED:
+                    throw new SSLException("SSLEngine is closed");
+                default:
+                    return;
+            }
+        }
+    }
+
+    /**
+     * @return false表示需要从网络读取更多数据
+     * @throws EOFException 服务端关闭了TLS连接
+     */
+    private static boolean unwrap(Connection connection) throws IOException {
+        connection.netIn.flip();
+        SSLEngineResult result;
+        try {
+            result = connection.engine.unwrap(connection.netIn, connection.appIn);
+        } finally {
+            connection.netIn.compact();
+        }
+        switch (result.getStatus()) {
+            case BUFFER_UNDERFLOW:
+                return false;
+            case BUFFER_OVERFLOW:
+                connection.appIn = enlarge(connection.appIn, connection.engine.getSession().getApplicationBufferSize());
+                return true;
+            case CLOSED:
+                throw new EOFException("TLS connection closed by server");
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * 将netOut中待发送的数据写出
+     *
+     * @return 是否已全部写出
+     */
+    private static boolean writeNet(Connection connection) throws IOException {
+        ByteBuffer netOut = connection.netOut;
+        if (netOut == null) {
+            return true;
+        }
+        netOut.flip();
+        try {
+            while (netOut.hasRemaining() && connection.channel.write(netOut) > 0) {
+                // 写到发送缓冲区满为止
+            }
+            return !netOut.hasRemaining();
+        } finally {
+            netOut.compact();
+        }
+    }
+
+    /**
+     * @param buffer 写模式的缓冲区
+     */
+    private static ByteBuffer enlarge(ByteBuffer buffer, int required) {
+        ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + required));
+        buffer.flip();
+        larger.put(buffer);
+        return larger;
+    }
+
+    /**
+     * 同一路由的连接, 地址解析结果缓存ADDRESS_TTL毫秒, 连接失败时作废
+     */
+    private static class Route {
+        private final String host;
+        private final int port;
+        private final LinkedList<Connection> idle = new LinkedList<Connection>();
+        private final LinkedList<Exchange> waiting = new LinkedList<Exchange>();
+        private final LinkedList<Exchange> unresolved = new LinkedList<Exchange>();
+        private InetAddress address;
+        private long resolvedUntil;
+        private boolean resolving;
+        private int connections;
+
+        private Route(String host, int port) {
+            this.host = host;
+            this.port = port;
+        }
+    }
+
+    private static class Connection {
+        private final Route route;
+        private final SocketChannel channel;
+        private SelectionKey key;
+        private SSLEngine engine;
+        private ByteBuffer netIn;
+        private ByteBuffer netOut;
+        private ByteBuffer appIn;
+        private State state;
+        private Exchange exchange;
+        private ByteBuffer outgoing;
+        private byte[] content;
+        private PipedRequestBody requestBody;
+        private ResponseParser parser;
+        private boolean paused;
+        private long timeoutAt;
+        private long idleUntil;
+        private boolean reused;
+        private boolean closed;
+
+        private Connection(Route route, SocketChannel channel) {
+            this.route = route;
+            this.channel = channel;
+        }
+    }
+
+    /**
+     * 一次请求, 在调用方线程中解析URL并编码请求头
+     */
+    private static class Exchange {
+        private final HttpRequest request;
+        private final HttpResponseHandler handler;
+        private final AtomicBoolean done = new AtomicBoolean();
+        private final long startNanos = System.nanoTime();
+        private final boolean https;
+        private final String host;
+        private final int port;
+        private final String route;
+        private final byte[] head;
+        private long connectNanos;
+        private long waitingSince;
+        private boolean retried;
+
+        private Exchange(HttpRequest request, HttpResponseHandler handler) throws IOException {
+            this.request = request;
+            this.handler = handler;
+            URL url = new URL(request.getUrl());
+            this.https = "https".equalsIgnoreCase(url.getProtocol());
+            this.host = url.getHost();
+            this.port = url.getPort() == -1 ? url.getDefaultPort() : url.getPort();
+            this.route = url.getProtocol().toLowerCase() + "://" + host.toLowerCase() + ":" + port;
+            this.head = HttpCodec.requestHead(url, request, request.getEntity().getContentLength());
+        }
+
+        private boolean isDone() {
+            return done.get();
+        }
+
+        /**
+         * @return 是否已回调, 请求已结束时为false
+         */
+        private boolean complete(HttpResponse response) {
+            if (!done.compareAndSet(false, true)) {
+                return false;
+            }
+            try {
+                handler.completed(response);
+            } catch (RuntimeException e) {
+                uncaught(e);
+            }
+            return true;
+        }
+
+        private void fail(IOException cause) {
+            if (done.compareAndSet(false, true)) {
+                try {
+                    handler.failed(cause);
+                } catch (RuntimeException e) {
+                    uncaught(e);
+                }
+            }
+        }
+
+        /**
+         * 回调的异常不能影响I/O线程
+         */
+        private static void uncaught(RuntimeException e) {
+            Thread thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+        }
+    }
+
+    /**
+     * 增量解析响应, 响应体解码分块后写入{@link PipedResponseBody}
+     */
+    private class ResponseParser {
+        private static final int LENGTH = 0;
+        private static final int CHUNKED = 1;
+        private static final int UNTIL_CLOSE = 2;
+        private static final int CHUNK_SIZE = 0;
+        private static final int CHUNK_DATA = 1;
+        private static final int CHUNK_END = 2;
+        private static final int CHUNK_TRAILER = 3;
+
+        private final Connection connection;
+        private byte[] buf = new byte[4096];
+        private int len;
+        private int pos;
+        private boolean started;
+        private HttpCodec.ResponseHead head;
+        private PipedResponseBody body;
+        private boolean delivered;
+        private int bodyMode;
+        private int chunkState;
+        private long remaining;
+        private boolean keepAlive;
+        private boolean done;
+
+        private ResponseParser(Connection connection) {
+            this.connection = connection;
+        }
+
+        private void feed(ByteBuffer data) throws IOException {
+            int n = data.remaining();
+            if (n == 0) {
+                return;
+            }
+            started = true;
+            if (len + n > buf.length) {
+                byte[] larger = new byte[Math.max(buf.length * 2, len + n)];
+                System.arraycopy(buf, 0, larger, 0, len);
+                buf = larger;
+            }
+            data.get(buf, len, n);
+            len += n;
+            parse();
+        }
+
+        /**
+         * 连接关闭时以此为响应结尾
+         *
+         * @return 响应是否因此完整
+         */
+        private boolean finishOnClose() {
+            if (head != null && !done && bodyMode == UNTIL_CLOSE) {
+                done = true;
+                return true;
+            }
+            return false;
+        }
+
+        private void emit(int n) {
+            body.feed(buf, pos, n);
+            pos += n;
+        }
+
+        private void parse() throws IOException {
+            while (!done) {
+                if (head == null) {
+                    if (!parseHead()) {
+                        break;
+                    }
+                } else if (bodyMode == LENGTH) {
+                    int n = (int) Math.min(remaining, len - pos);
+                    emit(n);
+                    remaining -= n;
+                    if (remaining > 0) {
+                        break;
+                    }
+                    done = true;
+                } else if (bodyMode == CHUNKED) {
+                    if (!parseChunks()) {
+                        break;
+                    }
+                } else {
+                    emit(len - pos);
+                    break;
+                }
+            }
+            if (done && pos < len) {
+                // 响应后还有多余的数据, 连接不能复用
+                keepAlive = false;
+            }
+            System.arraycopy(buf, pos, buf, 0, len - pos);
+            len -= pos;
+            pos = 0;
+            if (len == 0 && buf.length > READ_BUFFER_SIZE) {
+                buf = new byte[4096];
+            }
+        }
+
+        private boolean parseHead() throws IOException {
+            int end = headEnd();
+            if (end < 0) {
+                if (len - pos > MAX_HEAD_SIZE) {
+                    throw new IOException("Response head too large");
+                }
+                return false;
+            }
+            HttpCodec.ResponseHead parsed = HttpCodec.readHead(new ByteArrayInputStream(buf, pos, end - pos));
+            pos = end;
+            if (parsed.getStatusCode() < 200) {
+                // 跳过1xx临时响应
+                return true;
+            }
+            head = parsed;
+            keepAlive = parsed.isKeepAlive();
+            if (!parsed.hasBody()) {
+                done = true;
+                return true;
+            }
+            final ResponseParser parser = this;
+            body = new PipedResponseBody(BODY_BUFFER_LIMIT, new Runnable() {
+                public void run() {
+                    post(new Runnable() {
+                        public void run() {
+                            resumeReading(connection, parser);
+                        }
+                    });
+                }
+            }, new Runnable() {
+                public void run() {
+                    post(new Runnable() {
+                        public void run() {
+                            abandon(connection, parser);
+                        }
+                    });
+                }
+            });
+            if (parsed.isChunked()) {
+                bodyMode = CHUNKED;
+                chunkState = CHUNK_SIZE;
+            } else if (parsed.getContentLength() >= 0) {
+                bodyMode = LENGTH;
+                remaining = parsed.getContentLength();
+                done = remaining == 0;
+            } else {
+                bodyMode = UNTIL_CLOSE;
+                keepAlive = false;
+            }
+            return true;
+        }
+
+        /**
+         * @return 空行之后的位置, 响应头不完整时为-1
+         */
+        private int headEnd() {
+            int lineStart = pos;
+            for (int i = pos; i < len; i++) {
+                if (buf[i] != '\n') {
+                    continue;
+                }
+                if (i > pos && (i == lineStart || (i == lineStart + 1 && buf[lineStart] == '\r'))) {
+                    return i + 1;
+                }
+                lineStart = i + 1;
+            }
+            return -1;
+        }
+
+        /**
+         * @return 响应体是否已完整
+         */
+        private boolean parseChunks() throws IOException {
+            while (true) {
+                if (chunkState == CHUNK_DATA) {
+                    int n = (int) Math.min(remaining, len - pos);
+                    emit(n);
+                    remaining -= n;
+                    if (remaining > 0) {
+                        return false;
+                    }
+                    chunkState = CHUNK_END;
+                    continue;
+                }
+                int eol = -1;
+                for (int i = pos; i < len; i++) {
+                    if (buf[i] == '\n') {
+                        eol = i;
+                        break;
+                    }
+                }
+                if (eol < 0) {
+                    if (len - pos > MAX_HEAD_SIZE) {
+                        throw new IOException("Line too long");
+                    }
+                    return false;
+                }
+                String line = new String(buf, pos, eol - pos, "ISO-8859-1").trim();
+                pos = eol + 1;
+                if (chunkState == CHUNK_SIZE) {
+                    int semicolon = line.indexOf(';');
+                    String size = semicolon >= 0 ? line.substring(0, semicolon).trim() : line;
+                    try {
+                        remaining = Long.parseLong(size, 16);
+                    } catch (NumberFormatException e) {
+                        throw new IOException("Invalid chunk size: " + line);
+                    }
+                    if (remaining < 0) {
+                        throw new IOException("Invalid chunk size: " + line);
+                    }
+                    chunkState = remaining == 0 ? CHUNK_TRAILER : CHUNK_DATA;
+                } else if (chunkState == CHUNK_END) {
+                    chunkState = CHUNK_SIZE;
+                } else if (line.length() == 0) {
+                    done = true;
+                    return true;
+                }
+            }
+        }
+    }
+
+    /**
+     * 同步调用等待响应头
+     */
+    private static class BlockingHandler implements HttpResponseHandler {
+        private final CountDownLatch latch = new CountDownLatch(1);
+        private volatile HttpResponse response;
+        private volatile IOException cause;
+
+        public void completed(HttpResponse response) {
+            this.response = response;
+            latch.countDown();
+        }
+
+        public void failed(IOException cause) {
+            this.cause = cause;
+            latch.countDown();
+        }
+
+        private HttpResponse await() throws IOException {
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("interrupted while waiting for response");
+            }
+            if (cause instanceof PipedRequestBody.EntityException) {
+                // 与其他传输层一致, 请求体编码失败的RuntimeException直接抛出
+                Throwable original = cause.getCause();
+                if (original instanceof RuntimeException) {
+                    throw (RuntimeException) original;
+                }
+                if (original instanceof Error) {
+                    throw (Error) original;
+                }
+            }
+            if (cause != null) {
+                throw cause;
+            }
+            return response;
+        }
+    }
+}
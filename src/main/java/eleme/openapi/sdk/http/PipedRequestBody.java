@@ -0,0 +1,165 @@
+package eleme.openapi.sdk.http;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.LinkedList;
+
+/**
+ * 流式请求体的有界缓冲, 工作线程通过{@link RequestEntity#writeTo}写入, I/O线程逐块取出写到连接.
+ * 已缓冲maxChunks块时写入方等待, 内存占用与请求体大小无关; chunked为true时每块按Transfer-Encoding: chunked编码
+ */
+class PipedRequestBody extends OutputStream {
+    private static final byte[] CRLF = {'\r', '\n'};
+    private static final byte[] LAST_CHUNK = {'0', '\r', '\n', '\r', '\n'};
+
+    private final boolean chunked;
+    private final int maxChunks;
+    private final Runnable onAvailable;
+    private final LinkedList<ByteBuffer> chunks = new LinkedList<ByteBuffer>();
+    private final byte[] buffer;
+    private int count;
+    private boolean finished;
+    private boolean aborted;
+    private Throwable failure;
+
+    /**
+     * @param chunkSize   每块的大小
+     * @param maxChunks   最多缓冲的块数
+     * @param onAvailable 有新的块、写入结束或失败时在写入方线程中调用
+     */
+    PipedRequestBody(boolean chunked, int chunkSize, int maxChunks, Runnable onAvailable) {
+        this.chunked = chunked;
+        this.maxChunks = maxChunks;
+        this.onAvailable = onAvailable;
+        this.buffer = new byte[chunkSize];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (count == buffer.length) {
+            flushBuffer();
+        }
+        buffer[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            if (count == buffer.length) {
+                flushBuffer();
+            }
+            int n = Math.min(len, buffer.length - count);
+            System.arraycopy(b, off, buffer, count, n);
+            count += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    /**
+     * 写入方在writeTo返回后调用, 输出剩余数据和结束块
+     */
+    void finish() throws IOException {
+        flushBuffer();
+        if (chunked) {
+            put(ByteBuffer.wrap(LAST_CHUNK));
+        }
+        synchronized (this) {
+            finished = true;
+        }
+        onAvailable.run();
+    }
+
+    /**
+     * 写入方在writeTo抛出异常时调用, I/O线程取下一块时抛出{@link EntityException}
+     */
+    void fail(Throwable cause) {
+        synchronized (this) {
+            if (aborted || finished) {
+                return;
+            }
+            failure = cause;
+        }
+        onAvailable.run();
+    }
+
+    /**
+     * I/O线程取出下一块
+     *
+     * @return 暂无数据时返回null
+     * @throws EntityException 写入方失败
+     */
+    synchronized ByteBuffer poll() throws EntityException {
+        if (failure != null) {
+            throw new EntityException(failure);
+        }
+        ByteBuffer chunk = chunks.poll();
+        if (chunk != null) {
+            notifyAll();
+        }
+        return chunk;
+    }
+
+    /**
+     * @return 所有数据都已取出
+     */
+    synchronized boolean isDrained() {
+        return finished && chunks.isEmpty();
+    }
+
+    /**
+     * 连接失败或请求结束时调用, 等待中的写入方以IOException结束
+     */
+    synchronized void abort() {
+        aborted = true;
+        chunks.clear();
+        notifyAll();
+    }
+
+    private void flushBuffer() throws IOException {
+        if (count == 0) {
+            return;
+        }
+        ByteBuffer chunk;
+        if (chunked) {
+            byte[] size = Integer.toHexString(count).getBytes("ISO-8859-1");
+            chunk = ByteBuffer.allocate(size.length + count + 4);
+            chunk.put(size).put(CRLF).put(buffer, 0, count).put(CRLF);
+            chunk.flip();
+        } else {
+            byte[] copy = new byte[count];
+            System.arraycopy(buffer, 0, copy, 0, count);
+            chunk = ByteBuffer.wrap(copy);
+        }
+        count = 0;
+        put(chunk);
+        onAvailable.run();
+    }
+
+    private synchronized void put(ByteBuffer chunk) throws IOException {
+        while (chunks.size() >= maxChunks && !aborted) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("interrupted while writing request body");
+            }
+        }
+        if (aborted) {
+            throw new IOException("request aborted");
+        }
+        chunks.add(chunk);
+    }
+
+    /**
+     * 写出请求体时抛出的异常, 不是网络异常, 不换连接重试
+     */
+    static class EntityException extends IOException {
+        EntityException(Throwable cause) {
+            super(cause.toString());
+            initCause(cause);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package eleme.openapi.sdk.http;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.LinkedList;
+
+/**
+ * 非阻塞传输层的响应体输入流, I/O线程写入收到的数据, 读取方在数据到达前等待.
+ * 缓冲超过limit时I/O线程暂停读取该连接, 读取方取走一半后恢复, 内存占用与响应大小无关.
+ * 未读完就关闭时连接不能复用, 由I/O线程关闭
+ */
+class PipedResponseBody extends InputStream {
+    private final int limit;
+    private final Runnable onDrained;
+    private final Runnable onAbandoned;
+    private final LinkedList<byte[]> chunks = new LinkedList<byte[]>();
+    private byte[] current;
+    private int pos;
+    private int buffered;
+    private boolean full;
+    private boolean finished;
+    private boolean closed;
+    private IOException failure;
+
+    /**
+     * @param limit       最多缓冲的字节数
+     * @param onDrained   缓冲曾满且降到一半以下时在读取方线程中调用
+     * @param onAbandoned 响应体未读完就关闭时在读取方线程中调用
+     */
+    PipedResponseBody(int limit, Runnable onDrained, Runnable onAbandoned) {
+        this.limit = limit;
+        this.onDrained = onDrained;
+        this.onAbandoned = onAbandoned;
+    }
+
+    /**
+     * I/O线程写入数据
+     */
+    synchronized void feed(byte[] data, int off, int len) {
+        if (len > 0 && !closed) {
+            byte[] copy = new byte[len];
+            System.arraycopy(data, off, copy, 0, len);
+            chunks.add(copy);
+            buffered += len;
+            notifyAll();
+        }
+        full = buffered >= limit;
+    }
+
+    /**
+     * @return 缓冲已满, I/O线程应暂停读取直到onDrained
+     */
+    synchronized boolean isFull() {
+        return full;
+    }
+
+    synchronized void finish() {
+        finished = true;
+        notifyAll();
+    }
+
+    /**
+     * 读取中的连接失败, 数据读完后读取方收到cause
+     */
+    synchronized void fail(IOException cause) {
+        if (!finished && failure == null) {
+            failure = cause;
+            notifyAll();
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] b = new byte[1];
+        int n = read(b, 0, 1);
+        return n == -1 ? -1 : b[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        boolean resume = false;
+        int n;
+        synchronized (this) {
+            if (closed) {
+                throw new IOException("response body is closed");
+            }
+            while (current == null) {
+                current = chunks.poll();
+                pos = 0;
+                if (current != null) {
+                    break;
+                }
+                if (finished) {
+                    return -1;
+                }
+                if (failure != null) {
+                    throw failure;
+                }
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("interrupted while reading response");
+                }
+            }
+            n = Math.min(len, current.length - pos);
+            System.arraycopy(current, pos, b, off, n);
+            pos += n;
+            buffered -= n;
+            if (pos == current.length) {
+                current = null;
+            }
+            if (full && buffered <= limit / 2) {
+                full = false;
+                resume = true;
+            }
+        }
+        if (resume) {
+            onDrained.run();
+        }
+        return n;
+    }
+
+    @Override
+    public synchronized int available() {
+        return buffered;
+    }
+
+    @Override
+    public void close() {
+        boolean abandoned;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            abandoned = !finished && failure == null;
+            chunks.clear();
+            current = null;
+            buffered = 0;
+        }
+        if (abandoned) {
+            onAbandoned.run();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package eleme.openapi.sdk.http;
+
+/**
+ * 连接池状态快照
+ */
+public class PoolStats {
+    private final int leased;
+    private final int pending;
+    private final int available;
+    private final int max;
+
+    public PoolStats(int leased, int pending, int available, int max) {
+        this.leased = leased;
+        this.pending = pending;
+        this.available = available;
+        this.max = max;
+    }
+
+    /**
+     * 正在使用的连接数
+     */
+    public int getLeased() {
+        return leased;
+    }
+
+    /**
+     * 等待获取连接的请求数
+     */
+    public int getPending() {
+        return pending;
+    }
+
+    /**
+     * 空闲的可复用连接数
+     */
+    public int getAvailable() {
+        return available;
+    }
+
+    /**
+     * 连接数上限
+     */
+    public int getMax() {
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return "PoolStats{" +
+                "leased=" + leased +
+                ", pending=" + pending +
+                ", available=" + available +
+                ", max=" + max +
+                '}';
+    }
+}
@@ -0,0 +1,111 @@
+package eleme.openapi.sdk.http;
+
+import eleme.openapi.sdk.config.Constants;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+
+/**
+ * 连接池中的一条持久连接
+ */
+class PooledConnection {
+    private final String route;
+    private final Socket socket;
+    private final InputStream in;
+    private final OutputStream out;
+    private long lastUsed;
+    private long expiry = Long.MAX_VALUE;
+    private boolean reused;
+
+    PooledConnection(String route, Socket socket) throws IOException {
+        this.route = route;
+        this.socket = socket;
+        this.in = new BufferedInputStream(socket.getInputStream(), Constants.READ_BUFFER_SIZE);
+        this.out = new BufferedOutputStream(socket.getOutputStream(), Constants.READ_BUFFER_SIZE);
+        this.lastUsed = System.currentTimeMillis();
+    }
+
+    String getRoute() {
+        return route;
+    }
+
+    InputStream getInputStream() {
+        return in;
+    }
+
+    OutputStream getOutputStream() {
+        return out;
+    }
+
+    void setReadTimeout(int readTimeout) throws SocketException {
+        socket.setSoTimeout(readTimeout);
+    }
+
+    long getLastUsed() {
+        return lastUsed;
+    }
+
+    /**
+     * 归还连接池时记录时间, keepAliveMillis为服务端声明的Keep-Alive超时, 小于0表示未声明
+     */
+    void touch(long keepAliveMillis) {
+        lastUsed = System.currentTimeMillis();
+        expiry = keepAliveMillis < 0 ? Long.MAX_VALUE : lastUsed + keepAliveMillis;
+    }
+
+    /**
+     * @param idleTimeout 空闲超时, 小于0表示只检查服务端Keep-Alive超时
+     */
+    boolean isExpired(long now, long idleTimeout) {
+        return now >= expiry || (idleTimeout >= 0 && now - lastUsed >= idleTimeout);
+    }
+
+    boolean isReused() {
+        return reused;
+    }
+
+    void markReused() {
+        reused = true;
+    }
+
+    /**
+     * 检查连接是否已被服务端关闭, 空闲期间收到的任何数据都视为连接失效
+     */
+    boolean isStale() {
+        if (socket.isClosed() || socket.isInputShutdown() || socket.isOutputShutdown()) {
+            return true;
+        }
+        try {
+            if (in.available() > 0) {
+                return true;
+            }
+            int timeout = socket.getSoTimeout();
+            try {
+                socket.setSoTimeout(1);
+                // 读到EOF说明服务端已关闭, 读到数据说明协议已错位, 两种情况都不可复用
+                in.read();
+                return true;
+            } catch (SocketTimeoutException e) {
+                return false;
+            } finally {
+                socket.setSoTimeout(timeout);
+            }
+        } catch (IOException e) {
+            return true;
+        }
+    }
+
+    void close() {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // ignore
+        }
+    }
+}
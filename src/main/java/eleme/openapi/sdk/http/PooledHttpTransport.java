@@ -0,0 +1,169 @@
+package eleme.openapi.sdk.http;
+
+import javax.net.ssl.SSLPeerUnverifiedException;
+import javax.net.ssl.SSLSocket;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URL;
+import java.util.Map;
+
+/**
+ * 默认传输层实现, 基于连接池复用TCP/TLS连接
+ */
+public class PooledHttpTransport implements HttpTransport {
+    /**
+     * 默认最大连接数
+     */
+    public static final int DEFAULT_MAX_TOTAL = 100;
+    /**
+     * 默认单个路由(scheme://host:port)最大连接数
+     */
+    public static final int DEFAULT_MAX_PER_ROUTE = 50;
+    /**
+     * 默认空闲连接回收时间(毫秒)
+     */
+    public static final long DEFAULT_IDLE_TIMEOUT = 30000;
+
+    private final ConnectionPool pool;
+    private final TlsConfig tlsConfig;
+
+    public PooledHttpTransport() {
+        this(new TlsConfig());
+    }
+
+    public PooledHttpTransport(TlsConfig tlsConfig) {
+        this(DEFAULT_MAX_TOTAL, DEFAULT_MAX_PER_ROUTE, DEFAULT_IDLE_TIMEOUT, tlsConfig);
+    }
+
+    /**
+     * @param maxTotal    最大连接数
+     * @param maxPerRoute 单个路由最大连接数
+     * @param idleTimeout 空闲连接回收时间(毫秒), 小于等于0表示不回收
+     * @param tlsConfig   TLS配置
+     */
+    public PooledHttpTransport(int maxTotal, int maxPerRoute, long idleTimeout, TlsConfig tlsConfig) {
+        this.pool = new ConnectionPool(maxTotal, maxPerRoute, idleTimeout);
+        this.tlsConfig = tlsConfig;
+    }
+
+    public HttpResponse execute(final HttpRequest request) throws IOException {
+        final URL url = new URL(request.getUrl());
+        final String route = route(url);
+        long connectNanos = 0;
+        for (int attempt = 0; ; attempt++) {
+            long leaseStart = System.nanoTime();
+            PooledConnection connection = pool.lease(route, request.timeoutWithinDeadline(request.getConnectTimeout()), new ConnectionPool.Connector() {
+                public PooledConnection connect() throws IOException {
+                    return PooledHttpTransport.this.connect(route, url, request);
+                }
+            });
+            connectNanos += System.nanoTime() - leaseStart;
+            try {
+                connection.setReadTimeout(request.timeoutWithinDeadline(request.getReadTimeout()));
+                HttpCodec.writeRequest(connection.getOutputStream(), url, request);
+            } catch (IOException e) {
+                pool.release(connection, false, -1);
+                // 复用的连接可能已被服务端关闭, 请求发送失败时换新连接重试一次
+                if (connection.isReused() && attempt == 0) {
+                    continue;
+                }
+                throw e;
+            } catch (RuntimeException e) {
+                // 请求体编码失败, 连接上已写出部分请求, 不能复用
+                pool.release(connection, false, -1);
+                throw e;
+            }
+            try {
+                HttpResponse response = readResponse(connection);
+                response.setConnectNanos(connectNanos);
+                return response;
+            } catch (IOException e) {
+                pool.release(connection, false, -1);
+                throw e;
+            } catch (RuntimeException e) {
+                pool.release(connection, false, -1);
+                throw e;
+            }
+        }
+    }
+
+    private PooledConnection connect(String route, URL url, HttpRequest request) throws IOException {
+        String host = url.getHost();
+        int port = url.getPort() == -1 ? url.getDefaultPort() : url.getPort();
+        Socket socket = new Socket();
+        try {
+            socket.setTcpNoDelay(true);
+            socket.setKeepAlive(true);
+            socket.connect(new InetSocketAddress(host, port), request.timeoutWithinDeadline(request.getConnectTimeout()));
+            if ("https".equals(url.getProtocol())) {
+                SSLSocket sslSocket = (SSLSocket) tlsConfig.getSocketFactory().createSocket(socket, host, port, true);
+                socket = sslSocket;
+                sslSocket.setSoTimeout(request.timeoutWithinDeadline(request.getReadTimeout()));
+                sslSocket.startHandshake();
+                if (!tlsConfig.getHostnameVerifier().verify(host, sslSocket.getSession())) {
+                    throw new SSLPeerUnverifiedException("Certificate does not match host name " + host);
+                }
+            }
+            return new PooledConnection(route, socket);
+        } catch (IOException e) {
+            try {
+                socket.close();
+            } catch (IOException ignore) {
+            }
+            throw e;
+        }
+    }
+
+    private HttpResponse readResponse(PooledConnection connection) throws IOException {
+        InputStream in = connection.getInputStream();
+        HttpCodec.ResponseHead head = HttpCodec.readResponseHead(in);
+        boolean keepAlive = head.isKeepAlive();
+        InputStream body;
+        if (!head.hasBody()) {
+            body = new ByteArrayInputStream(new byte[0]);
+        } else if (head.isChunked()) {
+            body = new ChunkedInputStream(in);
+        } else if (head.getContentLength() >= 0) {
+            body = new ContentLengthInputStream(in, head.getContentLength());
+        } else {
+            // 没有长度信息时以连接关闭作为响应结束
+            body = in;
+            keepAlive = false;
+        }
+        return new HttpResponse(head.getStatusCode(), head.getStatusMessage(), head.getHeaders(),
+                new ResponseBodyStream(body, connection, pool, keepAlive, head.getKeepAliveMillis()));
+    }
+
+    private static String route(URL url) {
+        int port = url.getPort() == -1 ? url.getDefaultPort() : url.getPort();
+        return url.getProtocol() + "://" + url.getHost().toLowerCase() + ":" + port;
+    }
+
+    /**
+     * 连接池整体状态
+     */
+    public PoolStats getTotalStats() {
+        return pool.getTotalStats();
+    }
+
+    /**
+     * 各路由的连接池状态, key为scheme://host:port
+     */
+    public Map<String, PoolStats> getRouteStats() {
+        return pool.getRouteStats();
+    }
+
+    /**
+     * 关闭空闲时间超过idleMillis的连接
+     */
+    public void closeIdleConnections(long idleMillis) {
+        pool.closeIdleConnections(idleMillis);
+    }
+
+    public void shutdown() {
+        pool.shutdown();
+    }
+}
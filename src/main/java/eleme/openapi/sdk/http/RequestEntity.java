@@ -0,0 +1,22 @@
+package eleme.openapi.sdk.http;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 请求体, 由传输层直接写出到连接
+ * <p>
+ * 复用连接发送失败时传输层会换新连接再次调用{@link #writeTo}, 实现需保证可重复写出且结果一致
+ */
+public interface RequestEntity {
+
+    /**
+     * @return 请求体字节数, 未知时返回-1, 此时以Transfer-Encoding: chunked发送
+     */
+    long getContentLength();
+
+    /**
+     * 写出请求体, 不要关闭out
+     */
+    void writeTo(OutputStream out) throws IOException;
+}
@@ -0,0 +1,100 @@
+package eleme.openapi.sdk.http;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 响应体输入流, 关闭时把连接归还连接池; 未读完的响应体会尝试少量丢弃, 超出或读取出错(如读超时)则直接关闭连接
+ */
+class ResponseBodyStream extends InputStream {
+    private static final int DRAIN_LIMIT = 8 * 1024;
+
+    private final InputStream in;
+    private final PooledConnection connection;
+    private final ConnectionPool pool;
+    private final boolean keepAlive;
+    private final long keepAliveMillis;
+    private boolean eof;
+    private boolean failed;
+    private boolean closed;
+
+    ResponseBodyStream(InputStream in, PooledConnection connection, ConnectionPool pool, boolean keepAlive, long keepAliveMillis) {
+        this.in = in;
+        this.connection = connection;
+        this.pool = pool;
+        this.keepAlive = keepAlive;
+        this.keepAliveMillis = keepAliveMillis;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (eof) {
+            return -1;
+        }
+        int b;
+        try {
+            b = in.read();
+        } catch (IOException e) {
+            failed = true;
+            throw e;
+        }
+        if (b == -1) {
+            eof = true;
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (eof) {
+            return -1;
+        }
+        int n;
+        try {
+            n = in.read(b, off, len);
+        } catch (IOException e) {
+            failed = true;
+            throw e;
+        }
+        if (n == -1) {
+            eof = true;
+        }
+        return n;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return eof ? 0 : in.available();
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        boolean reusable = keepAlive && !failed && drain();
+        pool.release(connection, reusable, keepAliveMillis);
+    }
+
+    private boolean drain() {
+        if (eof) {
+            return true;
+        }
+        try {
+            byte[] buffer = new byte[512];
+            int drained = 0;
+            while (drained <= DRAIN_LIMIT) {
+                int n = in.read(buffer);
+                if (n == -1) {
+                    eof = true;
+                    return true;
+                }
+                drained += n;
+            }
+        } catch (IOException e) {
+            // 连接已不可用
+        }
+        return false;
+    }
+}
@@ -0,0 +1,131 @@
+package eleme.openapi.sdk.http;
+
+import javax.naming.InvalidNameException;
+import javax.naming.ldap.LdapName;
+import javax.naming.ldap.Rdn;
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.SSLPeerUnverifiedException;
+import javax.net.ssl.SSLSession;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.security.cert.Certificate;
+import java.security.cert.CertificateParsingException;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * 按RFC 2818校验服务端证书中的主机名, 优先匹配subjectAltName, 没有DNS类型的subjectAltName时匹配CN.
+ * IP地址按InetAddress比较, 与书写形式无关, URL中IPv6地址的方括号会被去掉
+ */
+class StrictHostnameVerifier implements HostnameVerifier {
+    static final StrictHostnameVerifier INSTANCE = new StrictHostnameVerifier();
+
+    private static final int SAN_DNS = 2;
+    private static final int SAN_IP = 7;
+    private static final String OCTET = "(?:25[0-5]|2[0-4]\\d|1?\\d?\\d)";
+    private static final Pattern IPV4 = Pattern.compile(OCTET + "(?:\\." + OCTET + "){3}");
+    private static final Pattern IPV6 = Pattern.compile("(?i)[0-9a-f:.]*:[0-9a-f:.]*(?:%.+)?");
+
+    public boolean verify(String hostname, SSLSession session) {
+        try {
+            Certificate[] certificates = session.getPeerCertificates();
+            return certificates.length > 0 && certificates[0] instanceof X509Certificate
+                    && verify(hostname, (X509Certificate) certificates[0]);
+        } catch (SSLPeerUnverifiedException e) {
+            return false;
+        }
+    }
+
+    boolean verify(String hostname, X509Certificate certificate) {
+        String host = hostname.toLowerCase(Locale.ENGLISH);
+        if (host.startsWith("[") && host.endsWith("]")) {
+            host = host.substring(1, host.length() - 1);
+        }
+        InetAddress ip = isIpAddress(host) ? toAddress(host) : null;
+        if (ip == null && host.indexOf(':') >= 0) {
+            return false;
+        }
+        List<String> dnsNames = new ArrayList<String>();
+        try {
+            Collection<List<?>> subjectAltNames = certificate.getSubjectAlternativeNames();
+            if (subjectAltNames != null) {
+                for (List<?> entry : subjectAltNames) {
+                    int type = (Integer) entry.get(0);
+                    String value = String.valueOf(entry.get(1));
+                    if (ip != null && type == SAN_IP && isIpAddress(value) && ip.equals(toAddress(value))) {
+                        return true;
+                    }
+                    if (type == SAN_DNS) {
+                        dnsNames.add(value);
+                    }
+                }
+            }
+        } catch (CertificateParsingException e) {
+            return false;
+        }
+        if (ip != null) {
+            return false;
+        }
+        if (dnsNames.isEmpty()) {
+            String cn = commonName(certificate);
+            if (cn != null) {
+                dnsNames.add(cn);
+            }
+        }
+        for (String name : dnsNames) {
+            if (matches(host, name.toLowerCase(Locale.ENGLISH))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 通配符只允许出现在最左侧标签, 且只匹配一级
+     */
+    private static boolean matches(String host, String pattern) {
+        if (pattern.startsWith("*.")) {
+            String suffix = pattern.substring(1);
+            int firstDot = host.indexOf('.');
+            return firstDot > 0 && host.substring(firstDot).equals(suffix) && suffix.indexOf('.', 1) > 0;
+        }
+        return host.equals(pattern);
+    }
+
+    /**
+     * 按RFC 2253解析subject, 取最具体的CN, 值中转义的逗号等字符不会截断
+     */
+    private static String commonName(X509Certificate certificate) {
+        try {
+            List<Rdn> rdns = new LdapName(certificate.getSubjectX500Principal().getName()).getRdns();
+            // getRdns从最右侧开始, RFC 2253字符串中最具体的名称在最左侧
+            for (int i = rdns.size() - 1; i >= 0; i--) {
+                Rdn rdn = rdns.get(i);
+                if ("CN".equalsIgnoreCase(rdn.getType()) && rdn.getValue() instanceof String) {
+                    return ((String) rdn.getValue()).trim();
+                }
+            }
+        } catch (InvalidNameException ignored) {
+        }
+        return null;
+    }
+
+    private static boolean isIpAddress(String host) {
+        return IPV4.matcher(host).matches() || IPV6.matcher(host).matches();
+    }
+
+    /**
+     * 只用于IP地址字面量, 不会查询DNS
+     */
+    private static InetAddress toAddress(String literal) {
+        try {
+            return InetAddress.getByName(literal);
+        } catch (UnknownHostException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package eleme.openapi.sdk.http;
+
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.KeyManager;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSession;
+import javax.net.ssl.SSLSessionContext;
+import javax.net.ssl.SSLSocketFactory;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.TrustManagerFactory;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.SecureRandom;
+
+/**
+ * TLS配置, SSLContext在首次使用时创建并被所有请求复用, 以便复用TLS会话
+ * 默认使用JDK内置的信任证书并校验主机名
+ */
+public class TlsConfig {
+    /**
+     * 默认TLS会话缓存数量
+     */
+    public static final int DEFAULT_SESSION_CACHE_SIZE = 256;
+    /**
+     * 默认TLS会话缓存时间(秒)
+     */
+    public static final int DEFAULT_SESSION_TIMEOUT = 24 * 60 * 60;
+
+    private static final HostnameVerifier TRUST_ALL_HOSTNAME_VERIFIER = new HostnameVerifier() {
+        public boolean verify(String hostname, SSLSession session) {
+            return true;
+        }
+    };
+
+    private String protocol = "TLS";
+    private KeyStore trustStore;
+    private boolean trustAll;
+    private int sessionCacheSize = DEFAULT_SESSION_CACHE_SIZE;
+    private int sessionTimeout = DEFAULT_SESSION_TIMEOUT;
+    private volatile SSLContext sslContext;
+
+    /**
+     * 信任所有证书且不校验主机名, 与旧版本行为一致, 仅建议在测试环境使用
+     */
+    public static TlsConfig trustAll() {
+        TlsConfig tlsConfig = new TlsConfig();
+        tlsConfig.setTrustAll(true);
+        return tlsConfig;
+    }
+
+    /**
+     * 从文件加载信任证书库
+     *
+     * @param path     证书库路径
+     * @param type     证书库类型, 如JKS/PKCS12
+     * @param password 证书库密码, 可为null
+     * @return 证书库
+     * @throws IOException 读取失败
+     */
+    public static KeyStore loadTrustStore(String path, String type, String password) throws IOException {
+        InputStream in = new FileInputStream(path);
+        try {
+            KeyStore keyStore = KeyStore.getInstance(type);
+            keyStore.load(in, password == null ? null : password.toCharArray());
+            return keyStore;
+        } catch (GeneralSecurityException e) {
+            throw new IOException("Failed to load trust store " + path, e);
+        } finally {
+            in.close();
+        }
+    }
+
+    public String getProtocol() {
+        return protocol;
+    }
+
+    public void setProtocol(String protocol) {
+        this.protocol = protocol;
+        reset();
+    }
+
+    public KeyStore getTrustStore() {
+        return trustStore;
+    }
+
+    /**
+     * 设置信任证书库, 为null时使用JDK内置的信任证书
+     */
+    public void setTrustStore(KeyStore trustStore) {
+        this.trustStore = trustStore;
+        reset();
+    }
+
+    public boolean isTrustAll() {
+        return trustAll;
+    }
+
+    public void setTrustAll(boolean trustAll) {
+        this.trustAll = trustAll;
+        reset();
+    }
+
+    public int getSessionCacheSize() {
+        return sessionCacheSize;
+    }
+
+    /**
+     * 设置TLS会话缓存数量, 0表示不限制
+     */
+    public void setSessionCacheSize(int sessionCacheSize) {
+        this.sessionCacheSize = sessionCacheSize;
+        reset();
+    }
+
+    public int getSessionTimeout() {
+        return sessionTimeout;
+    }
+
+    /**
+     * 设置TLS会话缓存时间(秒), 0表示不限制
+     */
+    public void setSessionTimeout(int sessionTimeout) {
+        this.sessionTimeout = sessionTimeout;
+        reset();
+    }
+
+    /**
+     * 获取SSLSocketFactory, 首次调用时创建
+     *
+     * @throws IOException SSLContext初始化失败
+     */
+    public SSLSocketFactory getSocketFactory() throws IOException {
+        return getSslContext().getSocketFactory();
+    }
+
+    /**
+     * 获取SSLContext, 首次调用时创建, 非阻塞传输层由此创建SSLEngine
+     *
+     * @throws IOException SSLContext初始化失败
+     */
+    public SSLContext getSslContext() throws IOException {
+        SSLContext context = sslContext;
+        if (context == null) {
+            synchronized (this) {
+                context = sslContext;
+                if (context == null) {
+                    context = createSslContext();
+                    sslContext = context;
+                }
+            }
+        }
+        return context;
+    }
+
+    public HostnameVerifier getHostnameVerifier() {
+        return trustAll ? TRUST_ALL_HOSTNAME_VERIFIER : StrictHostnameVerifier.INSTANCE;
+    }
+
+    private SSLContext createSslContext() throws IOException {
+        try {
+            TrustManager[] trustManagers;
+            if (trustAll) {
+                trustManagers = new TrustManager[]{new TrustAllTrustManager()};
+            } else {
+                TrustManagerFactory factory = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+                factory.init(trustStore);
+                trustManagers = factory.getTrustManagers();
+            }
+            SSLContext ctx = SSLContext.getInstance(protocol);
+            ctx.init(new KeyManager[0], trustManagers, new SecureRandom());
+            SSLSessionContext sessionContext = ctx.getClientSessionContext();
+            if (sessionContext != null) {
+                sessionContext.setSessionCacheSize(sessionCacheSize);
+                sessionContext.setSessionTimeout(sessionTimeout);
+            }
+            return ctx;
+        } catch (GeneralSecurityException e) {
+            throw new IOException("Failed to init SSLContext", e);
+        }
+    }
+
+    private synchronized void reset() {
+        sslContext = null;
+    }
+}
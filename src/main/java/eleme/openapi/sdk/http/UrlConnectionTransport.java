@@ -0,0 +1,84 @@
+package eleme.openapi.sdk.http;
+
+import javax.net.ssl.HttpsURLConnection;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 基于HttpURLConnection的传输层实现, 连接复用依赖JDK自带的keep-alive缓存, 支持JDK代理配置
+ */
+public class UrlConnectionTransport implements HttpTransport {
+    private final TlsConfig tlsConfig;
+
+    public UrlConnectionTransport() {
+        this(new TlsConfig());
+    }
+
+    public UrlConnectionTransport(TlsConfig tlsConfig) {
+        this.tlsConfig = tlsConfig;
+    }
+
+    public HttpResponse execute(HttpRequest request) throws IOException {
+        HttpURLConnection conn = getConnection(new URL(request.getUrl()), request);
+        RequestEntity entity = request.getEntity();
+        long contentLength = entity.getContentLength();
+        if (contentLength >= 0 && contentLength <= Integer.MAX_VALUE) {
+            conn.setFixedLengthStreamingMode((int) contentLength);
+        } else {
+            conn.setChunkedStreamingMode(0);
+        }
+        OutputStream out = conn.getOutputStream();
+        try {
+            entity.writeTo(out);
+        } finally {
+            out.close();
+        }
+        int statusCode = conn.getResponseCode();
+        InputStream body = conn.getErrorStream();
+        if (body == null) {
+            body = statusCode >= 400 ? new ByteArrayInputStream(new byte[0]) : conn.getInputStream();
+        }
+        Map<String, String> headers = new HashMap<String, String>();
+        for (Map.Entry<String, List<String>> entry : conn.getHeaderFields().entrySet()) {
+            if (entry.getKey() != null && !entry.getValue().isEmpty()) {
+                headers.put(entry.getKey().toLowerCase(), entry.getValue().get(0));
+            }
+        }
+        return new HttpResponse(statusCode, conn.getResponseMessage(), headers, body);
+    }
+
+    private HttpURLConnection getConnection(URL url, HttpRequest request) throws IOException {
+        HttpURLConnection conn;
+        if ("https".equals(url.getProtocol())) {
+            HttpsURLConnection connHttps = (HttpsURLConnection) url.openConnection();
+            connHttps.setSSLSocketFactory(tlsConfig.getSocketFactory());
+            connHttps.setHostnameVerifier(tlsConfig.getHostnameVerifier());
+            conn = connHttps;
+        } else {
+            conn = (HttpURLConnection) url.openConnection();
+        }
+
+        conn.setRequestMethod("POST");
+        conn.setDoInput(true);
+        conn.setDoOutput(true);
+        conn.setConnectTimeout(request.timeoutWithinDeadline(request.getConnectTimeout()));
+        conn.setReadTimeout(request.timeoutWithinDeadline(request.getReadTimeout()));
+        if (request.getContentType() != null) {
+            conn.setRequestProperty("Content-Type", request.getContentType());
+        }
+        for (Map.Entry<String, String> entry : request.getHeaders().entrySet()) {
+            conn.setRequestProperty(entry.getKey(), entry.getValue());
+        }
+        return conn;
+    }
+
+    public void shutdown() {
+    }
+}
@@ -0,0 +1,65 @@
+package eleme.openapi.sdk.isolation;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 限制单个服务的并发调用数
+ */
+public class Bulkhead {
+    private final String service;
+    private final int maxConcurrent;
+    private final long maxWaitMillis;
+    private final Semaphore semaphore;
+
+    Bulkhead(String service, int maxConcurrent, long maxWaitMillis) {
+        this.service = service;
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaitMillis = maxWaitMillis;
+        this.semaphore = new Semaphore(maxConcurrent);
+    }
+
+    /**
+     * @return false表示等待maxWaitMillis后仍无空闲名额或等待被中断
+     */
+    boolean tryAcquire() {
+        if (semaphore.tryAcquire()) {
+            return true;
+        }
+        if (maxWaitMillis <= 0) {
+            return false;
+        }
+        try {
+            return semaphore.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * @return false表示当前无空闲名额, 不等待
+     */
+    boolean tryAcquireNow() {
+        return semaphore.tryAcquire();
+    }
+
+    void release() {
+        semaphore.release();
+    }
+
+    public String getService() {
+        return service;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    /**
+     * @return 正在进行的调用数
+     */
+    public int getActiveCalls() {
+        return maxConcurrent - semaphore.availablePermits();
+    }
+}
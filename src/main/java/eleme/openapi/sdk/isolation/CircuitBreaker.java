@@ -0,0 +1,158 @@
+package eleme.openapi.sdk.isolation;
+
+/**
+ * 按最近windowSize次请求的失败率熔断
+ * <p>
+ * 请求数达到minimumCalls且失败率不低于failureRateThreshold时打开, openMillis后进入半开状态,
+ * 放行halfOpenCalls个探测请求, 全部成功则关闭, 任一失败则重新打开.
+ * <p>
+ * 每次状态切换代次加一, 结果只计入放行时所在的代次, 打开前放行的慢请求不会影响之后的半开探测
+ */
+public class CircuitBreaker {
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String service;
+    private final double failureRateThreshold;
+    private final int minimumCalls;
+    private final long openMillis;
+    private final int halfOpenCalls;
+    private final boolean[] window;
+    private int index;
+    private int calls;
+    private int failures;
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+    private long generation;
+
+    CircuitBreaker(String service, double failureRateThreshold, int windowSize, int minimumCalls, long openMillis, int halfOpenCalls) {
+        this.service = service;
+        this.failureRateThreshold = failureRateThreshold;
+        this.window = new boolean[Math.max(1, windowSize)];
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, window.length));
+        this.openMillis = openMillis;
+        this.halfOpenCalls = Math.max(1, halfOpenCalls);
+    }
+
+    /**
+     * @return 放行时的代次, 熔断中返回-1, 不应发送请求
+     */
+    synchronized long tryAcquire(long now) {
+        if (state == State.OPEN) {
+            if (now - openedAt < openMillis) {
+                return -1;
+            }
+            state = State.HALF_OPEN;
+            generation++;
+            halfOpenPermits = halfOpenCalls;
+            halfOpenSuccesses = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits == 0) {
+                return -1;
+            }
+            halfOpenPermits--;
+        }
+        return generation;
+    }
+
+    /**
+     * @param generation {@link #tryAcquire}返回的代次, 已切换状态时忽略
+     */
+    synchronized void onSuccess(long generation) {
+        if (generation != this.generation) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            if (++halfOpenSuccesses >= halfOpenCalls) {
+                reset();
+            }
+            return;
+        }
+        record(false);
+    }
+
+    synchronized void onFailure(long generation, long now) {
+        if (generation != this.generation) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            open(now);
+            return;
+        }
+        if (state == State.OPEN) {
+            return;
+        }
+        record(true);
+        if (calls >= minimumCalls && failures >= failureRateThreshold * calls) {
+            open(now);
+        }
+    }
+
+    /**
+     * 请求被取消等无法判断结果时归还半开状态的探测名额
+     */
+    synchronized void release(long generation) {
+        if (generation == this.generation && state == State.HALF_OPEN && halfOpenPermits < halfOpenCalls) {
+            halfOpenPermits++;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public String getService() {
+        return service;
+    }
+
+    /**
+     * 一次放行, 由{@link ServiceIsolation#check}返回, 结果通过{@link ServiceIsolation#onResult}或
+     * {@link ServiceIsolation#onSkipped}归还
+     */
+    public static final class Permit {
+        private final CircuitBreaker breaker;
+        final long generation;
+
+        Permit(CircuitBreaker breaker, long generation) {
+            this.breaker = breaker;
+            this.generation = generation;
+        }
+
+        public CircuitBreaker getBreaker() {
+            return breaker;
+        }
+    }
+
+    private void record(boolean failure) {
+        if (calls == window.length) {
+            if (window[index]) {
+                failures--;
+            }
+        } else {
+            calls++;
+        }
+        window[index] = failure;
+        if (failure) {
+            failures++;
+        }
+        index = (index + 1) % window.length;
+    }
+
+    private void open(long now) {
+        state = State.OPEN;
+        generation++;
+        openedAt = now;
+    }
+
+    private void reset() {
+        state = State.CLOSED;
+        generation++;
+        index = 0;
+        calls = 0;
+        failures = 0;
+    }
+}
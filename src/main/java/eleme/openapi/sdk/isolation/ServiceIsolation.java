@@ -0,0 +1,228 @@
+package eleme.openapi.sdk.isolation;
+
+import eleme.openapi.sdk.api.exception.BulkheadFullException;
+import eleme.openapi.sdk.api.exception.CircuitOpenException;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 按服务隔离调用, 通过{@link eleme.openapi.sdk.config.Config#setServiceIsolation}设置
+ * <p>
+ * 服务名为服务类{@link eleme.openapi.sdk.api.annotation.Service}注解的值, 如eleme.order、eleme.ugc.
+ * 每个服务使用独立的并发名额(bulkhead)和熔断器, 某个服务变慢或故障时只占满自身的名额,
+ * 不影响其他服务, 例如商品、评价接口超时不会耗尽订单接口的调用线程.
+ * <p>
+ * 未配置的服务不做限制, 修改配置会重置已创建的熔断器和并发名额
+ */
+public class ServiceIsolation {
+    private volatile BulkheadSpec defaultBulkhead;
+    private volatile BreakerSpec defaultBreaker;
+    private final ConcurrentMap<String, BulkheadSpec> bulkheadSpecs = new ConcurrentHashMap<String, BulkheadSpec>();
+    private final ConcurrentMap<String, BreakerSpec> breakerSpecs = new ConcurrentHashMap<String, BreakerSpec>();
+    private final ConcurrentMap<String, Bulkhead> bulkheads = new ConcurrentHashMap<String, Bulkhead>();
+    private final ConcurrentMap<String, CircuitBreaker> breakers = new ConcurrentHashMap<String, CircuitBreaker>();
+    private volatile long slowCallMillis = -1;
+
+    /**
+     * 每个服务默认的并发调用数上限
+     *
+     * @param maxConcurrent 最大并发调用数
+     * @param maxWaitMillis 名额已满时最长等待时间, 0表示直接拒绝
+     */
+    public void setDefaultBulkhead(int maxConcurrent, long maxWaitMillis) {
+        defaultBulkhead = new BulkheadSpec(maxConcurrent, maxWaitMillis);
+        bulkheads.clear();
+    }
+
+    /**
+     * 指定服务的并发调用数上限, 优先于默认配置
+     *
+     * @param service 服务名, 如eleme.order
+     */
+    public void setBulkhead(String service, int maxConcurrent, long maxWaitMillis) {
+        bulkheadSpecs.put(service, new BulkheadSpec(maxConcurrent, maxWaitMillis));
+        bulkheads.remove(service);
+    }
+
+    /**
+     * 每个服务默认的熔断配置
+     *
+     * @param failureRateThreshold 失败率阈值, 如0.5
+     * @param windowSize           统计最近的请求数
+     * @param minimumCalls         请求数达到该值后才计算失败率
+     * @param openMillis           熔断持续时间, 之后放行一个探测请求
+     */
+    public void setDefaultCircuitBreaker(double failureRateThreshold, int windowSize, int minimumCalls, long openMillis) {
+        defaultBreaker = new BreakerSpec(failureRateThreshold, windowSize, minimumCalls, openMillis);
+        breakers.clear();
+    }
+
+    /**
+     * 指定服务的熔断配置, 优先于默认配置
+     */
+    public void setCircuitBreaker(String service, double failureRateThreshold, int windowSize, int minimumCalls, long openMillis) {
+        breakerSpecs.put(service, new BreakerSpec(failureRateThreshold, windowSize, minimumCalls, openMillis));
+        breakers.remove(service);
+    }
+
+    /**
+     * 耗时超过该值的请求计为失败, 默认-1不计
+     */
+    public void setSlowCallMillis(long slowCallMillis) {
+        this.slowCallMillis = slowCallMillis;
+    }
+
+    public long getSlowCallMillis() {
+        return slowCallMillis;
+    }
+
+    /**
+     * @return 服务的熔断器, 未配置熔断时返回null
+     */
+    public CircuitBreaker getCircuitBreaker(String service) {
+        CircuitBreaker breaker = breakers.get(service);
+        if (breaker == null) {
+            BreakerSpec spec = breakerSpecs.get(service);
+            if (spec == null) {
+                spec = defaultBreaker;
+            }
+            if (spec == null) {
+                return null;
+            }
+            breaker = new CircuitBreaker(service, spec.failureRateThreshold, spec.windowSize, spec.minimumCalls, spec.openMillis, 1);
+            CircuitBreaker existing = breakers.putIfAbsent(service, breaker);
+            if (existing != null) {
+                breaker = existing;
+            }
+        }
+        return breaker;
+    }
+
+    /**
+     * @return 服务的并发名额, 未配置时返回null
+     */
+    public Bulkhead getBulkhead(String service) {
+        Bulkhead bulkhead = bulkheads.get(service);
+        if (bulkhead == null) {
+            BulkheadSpec spec = bulkheadSpecs.get(service);
+            if (spec == null) {
+                spec = defaultBulkhead;
+            }
+            if (spec == null) {
+                return null;
+            }
+            bulkhead = new Bulkhead(service, spec.maxConcurrent, spec.maxWaitMillis);
+            Bulkhead existing = bulkheads.putIfAbsent(service, bulkhead);
+            if (existing != null) {
+                bulkhead = existing;
+            }
+        }
+        return bulkhead;
+    }
+
+    /**
+     * 占用服务的并发名额, 调用结束后须调用{@link #release(Bulkhead)}
+     *
+     * @return 占用的名额, 服务未配置时返回null
+     * @throws BulkheadFullException 名额已满
+     */
+    public Bulkhead enter(String service) throws BulkheadFullException {
+        Bulkhead bulkhead = getBulkhead(service);
+        if (bulkhead != null && !bulkhead.tryAcquire()) {
+            throw new BulkheadFullException("服务" + service + "并发调用数已达上限" + bulkhead.getMaxConcurrent());
+        }
+        return bulkhead;
+    }
+
+    /**
+     * 占用服务的并发名额但不等待, 用于异步调用, 名额已满时直接拒绝
+     *
+     * @see #enter(String)
+     */
+    public Bulkhead tryEnter(String service) throws BulkheadFullException {
+        Bulkhead bulkhead = getBulkhead(service);
+        if (bulkhead != null && !bulkhead.tryAcquireNow()) {
+            throw new BulkheadFullException("服务" + service + "并发调用数已达上限" + bulkhead.getMaxConcurrent());
+        }
+        return bulkhead;
+    }
+
+    public void release(Bulkhead bulkhead) {
+        if (bulkhead != null) {
+            bulkhead.release();
+        }
+    }
+
+    /**
+     * 每次发送请求前检查熔断状态
+     *
+     * @return 熔断器的放行凭证, 未配置熔断时返回null
+     * @throws CircuitOpenException 熔断中
+     */
+    public CircuitBreaker.Permit check(String service) throws CircuitOpenException {
+        CircuitBreaker breaker = getCircuitBreaker(service);
+        if (breaker == null) {
+            return null;
+        }
+        long generation = breaker.tryAcquire(System.currentTimeMillis());
+        if (generation < 0) {
+            throw new CircuitOpenException("服务" + service + "熔断中");
+        }
+        return new CircuitBreaker.Permit(breaker, generation);
+    }
+
+    /**
+     * 记录一次请求的结果
+     *
+     * @param permit        {@link #check}返回的凭证, 熔断器此后已切换状态时不计入
+     * @param failed        网络异常、超时或服务端错误
+     * @param elapsedMillis 请求耗时
+     */
+    public void onResult(CircuitBreaker.Permit permit, boolean failed, long elapsedMillis) {
+        if (permit == null) {
+            return;
+        }
+        if (failed || (slowCallMillis >= 0 && elapsedMillis > slowCallMillis)) {
+            permit.getBreaker().onFailure(permit.generation, System.currentTimeMillis());
+        } else {
+            permit.getBreaker().onSuccess(permit.generation);
+        }
+    }
+
+    /**
+     * 请求未发送时归还探测名额
+     */
+    public void onSkipped(CircuitBreaker.Permit permit) {
+        if (permit != null) {
+            permit.getBreaker().release(permit.generation);
+        }
+    }
+
+    private static class BulkheadSpec {
+        private final int maxConcurrent;
+        private final long maxWaitMillis;
+
+        private BulkheadSpec(int maxConcurrent, long maxWaitMillis) {
+            if (maxConcurrent <= 0) {
+                throw new IllegalArgumentException("maxConcurrent must be positive");
+            }
+            this.maxConcurrent = maxConcurrent;
+            this.maxWaitMillis = maxWaitMillis;
+        }
+    }
+
+    private static class BreakerSpec {
+        private final double failureRateThreshold;
+        private final int windowSize;
+        private final int minimumCalls;
+        private final long openMillis;
+
+        private BreakerSpec(double failureRateThreshold, int windowSize, int minimumCalls, long openMillis) {
+            this.failureRateThreshold = failureRateThreshold;
+            this.windowSize = windowSize;
+            this.minimumCalls = minimumCalls;
+            this.openMillis = openMillis;
+        }
+    }
+}
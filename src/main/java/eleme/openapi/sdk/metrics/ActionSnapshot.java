@@ -0,0 +1,73 @@
+package eleme.openapi.sdk.metrics;
+
+import java.util.Map;
+
+/**
+ * 单个接口(action)的指标快照
+ */
+public class ActionSnapshot {
+    private final String action;
+    private final HistogramSnapshot latency;
+    private final Map<Phase, HistogramSnapshot> phases;
+    private final HistogramSnapshot requestBytes;
+    private final HistogramSnapshot responseBytes;
+    private final Map<String, Long> errorCodes;
+
+    ActionSnapshot(String action, HistogramSnapshot latency, Map<Phase, HistogramSnapshot> phases,
+                   HistogramSnapshot requestBytes, HistogramSnapshot responseBytes, Map<String, Long> errorCodes) {
+        this.action = action;
+        this.latency = latency;
+        this.phases = phases;
+        this.requestBytes = requestBytes;
+        this.responseBytes = responseBytes;
+        this.errorCodes = errorCodes;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public long getCalls() {
+        return latency.getCount();
+    }
+
+    public long getErrors() {
+        long errors = 0;
+        for (Long count : errorCodes.values()) {
+            errors += count;
+        }
+        return errors;
+    }
+
+    /**
+     * @return 调用总耗时
+     */
+    public HistogramSnapshot getLatency() {
+        return latency;
+    }
+
+    public HistogramSnapshot getLatency(Phase phase) {
+        return phases.get(phase);
+    }
+
+    public HistogramSnapshot getRequestBytes() {
+        return requestBytes;
+    }
+
+    public HistogramSnapshot getResponseBytes() {
+        return responseBytes;
+    }
+
+    /**
+     * @return 各错误码出现次数
+     */
+    public Map<String, Long> getErrorCodes() {
+        return errorCodes;
+    }
+
+    @Override
+    public String toString() {
+        return action + "{calls=" + getCalls() + ", errors=" + errorCodes + ", latency=" + latency + ", phases=" + phases
+                + ", requestBytes=" + requestBytes + ", responseBytes=" + responseBytes + "}";
+    }
+}
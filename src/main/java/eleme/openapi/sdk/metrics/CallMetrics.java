@@ -0,0 +1,77 @@
+package eleme.openapi.sdk.metrics;
+
+/**
+ * 一次接口调用的指标
+ */
+public class CallMetrics {
+    private final String action;
+    private final long[] phaseNanos = new long[Phase.values().length];
+    private long totalNanos;
+    private long requestBytes;
+    private long responseBytes;
+    private String errorCode;
+
+    public CallMetrics(String action) {
+        this.action = action;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public long getNanos(Phase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    /**
+     * 累加阶段耗时, 请求重发时同一阶段会累加多次
+     */
+    public void addNanos(Phase phase, long nanos) {
+        phaseNanos[phase.ordinal()] += nanos;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public void setTotalNanos(long totalNanos) {
+        this.totalNanos = totalNanos;
+    }
+
+    /**
+     * @return 请求体字节数
+     */
+    public long getRequestBytes() {
+        return requestBytes;
+    }
+
+    public void setRequestBytes(long requestBytes) {
+        this.requestBytes = requestBytes;
+    }
+
+    /**
+     * @return 响应体字节数(压缩后)
+     */
+    public long getResponseBytes() {
+        return responseBytes;
+    }
+
+    public void setResponseBytes(long responseBytes) {
+        this.responseBytes = responseBytes;
+    }
+
+    /**
+     * @return 错误码, 开放平台返回的错误码或SDK异常的code, 调用成功时为null
+     */
+    public String getErrorCode() {
+        return errorCode;
+    }
+
+    public void setErrorCode(String errorCode) {
+        this.errorCode = errorCode;
+    }
+
+    public boolean isSuccess() {
+        return errorCode == null;
+    }
+}
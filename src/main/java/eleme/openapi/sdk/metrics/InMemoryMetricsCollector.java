@@ -0,0 +1,94 @@
+package eleme.openapi.sdk.metrics;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 按action聚合指标的内存收集器, 记录时无锁, 通过{@link #snapshot()}读取
+ */
+public class InMemoryMetricsCollector implements MetricsCollector {
+    private final ConcurrentMap<String, ActionRecorder> actions = new ConcurrentHashMap<String, ActionRecorder>();
+
+    public void record(CallMetrics metrics) {
+        ActionRecorder recorder = actions.get(metrics.getAction());
+        if (recorder == null) {
+            recorder = new ActionRecorder();
+            ActionRecorder existing = actions.putIfAbsent(metrics.getAction(), recorder);
+            if (existing != null) {
+                recorder = existing;
+            }
+        }
+        recorder.record(metrics);
+    }
+
+    /**
+     * @return 按action排序的各接口指标快照
+     */
+    public Map<String, ActionSnapshot> snapshot() {
+        Map<String, ActionSnapshot> snapshot = new TreeMap<String, ActionSnapshot>();
+        for (Map.Entry<String, ActionRecorder> entry : actions.entrySet()) {
+            snapshot.put(entry.getKey(), entry.getValue().snapshot(entry.getKey()));
+        }
+        return snapshot;
+    }
+
+    /**
+     * @return 指定接口的指标快照, 未调用过时返回null
+     */
+    public ActionSnapshot snapshot(String action) {
+        ActionRecorder recorder = actions.get(action);
+        return recorder == null ? null : recorder.snapshot(action);
+    }
+
+    private static class ActionRecorder {
+        private final AtomicHistogram latency = new AtomicHistogram();
+        private final AtomicHistogram[] phases = new AtomicHistogram[Phase.values().length];
+        private final AtomicHistogram requestBytes = new AtomicHistogram();
+        private final AtomicHistogram responseBytes = new AtomicHistogram();
+        private final ConcurrentMap<String, AtomicLong> errorCodes = new ConcurrentHashMap<String, AtomicLong>();
+
+        private ActionRecorder() {
+            for (int i = 0; i < phases.length; i++) {
+                phases[i] = new AtomicHistogram();
+            }
+        }
+
+        private void record(CallMetrics metrics) {
+            latency.record(metrics.getTotalNanos());
+            for (Phase phase : Phase.values()) {
+                phases[phase.ordinal()].record(metrics.getNanos(phase));
+            }
+            requestBytes.record(metrics.getRequestBytes());
+            responseBytes.record(metrics.getResponseBytes());
+            if (!metrics.isSuccess()) {
+                AtomicLong count = errorCodes.get(metrics.getErrorCode());
+                if (count == null) {
+                    count = new AtomicLong();
+                    AtomicLong existing = errorCodes.putIfAbsent(metrics.getErrorCode(), count);
+                    if (existing != null) {
+                        count = existing;
+                    }
+                }
+                count.incrementAndGet();
+            }
+        }
+
+        private ActionSnapshot snapshot(String action) {
+            Map<Phase, HistogramSnapshot> phaseSnapshots = new EnumMap<Phase, HistogramSnapshot>(Phase.class);
+            for (Phase phase : Phase.values()) {
+                phaseSnapshots.put(phase, phases[phase.ordinal()].snapshot());
+            }
+            Map<String, Long> errors = new TreeMap<String, Long>();
+            for (Map.Entry<String, AtomicLong> entry : errorCodes.entrySet()) {
+                errors.put(entry.getKey(), entry.getValue().get());
+            }
+            return new ActionSnapshot(action, latency.snapshot(), Collections.unmodifiableMap(phaseSnapshots),
+                    requestBytes.snapshot(), responseBytes.snapshot(), Collections.unmodifiableMap(errors));
+        }
+    }
+}
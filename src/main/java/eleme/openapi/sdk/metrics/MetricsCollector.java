@@ -0,0 +1,11 @@
+package eleme.openapi.sdk.metrics;
+
+/**
+ * 接口调用指标收集器, 通过{@link eleme.openapi.sdk.config.Config#setMetricsCollector}设置
+ * <p>
+ * 每次调用结束后在调用线程上回调, 实现需线程安全且尽量轻量
+ */
+public interface MetricsCollector {
+
+    void record(CallMetrics metrics);
+}
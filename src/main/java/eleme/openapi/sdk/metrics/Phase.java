@@ -0,0 +1,27 @@
+package eleme.openapi.sdk.metrics;
+
+/**
+ * 一次接口调用的耗时阶段
+ */
+public enum Phase {
+    /**
+     * 从连接池获取连接, 包括新建TCP连接和TLS握手
+     */
+    CONNECT,
+    /**
+     * 计算签名
+     */
+    SIGN,
+    /**
+     * 生成请求报文
+     */
+    SERIALIZE,
+    /**
+     * 发送请求并等待响应头
+     */
+    NETWORK,
+    /**
+     * 读取并解析响应体
+     */
+    DESERIALIZE
+}
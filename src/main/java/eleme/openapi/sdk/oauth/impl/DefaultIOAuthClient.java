@@ -3,6 +3,8 @@ package eleme.openapi.sdk.oauth.impl;
 
 import eleme.openapi.sdk.config.Constants;
 import eleme.openapi.sdk.config.Config;
+import eleme.openapi.sdk.config.TimeoutConfig;
+import eleme.openapi.sdk.config.Timeouts;
 import eleme.openapi.sdk.oauth.IOAuthClient;
 import eleme.openapi.sdk.oauth.OAuthRequest;
 import eleme.openapi.sdk.oauth.parser.OAuthParser;
@@ -16,8 +18,6 @@ import java.io.IOException;
  * 客户端模式获取Token
  */
 public class DefaultIOAuthClient implements IOAuthClient {
-    private int connectTimeout = 15000; // 默认连接超时时间为15秒
-    private int readTimeout = 30000; // 默认响应超时时间为30秒
     private boolean useSimplifyJson = false; // 是否采用精简化的JSON返回
     private Config context;
 
@@ -26,13 +26,16 @@ public class DefaultIOAuthClient implements IOAuthClient {
     }
 
     public <T extends ErrorResponse> T execute(OAuthRequest<T> request) {
+        // 默认连接超时时间为15秒, 响应超时时间为30秒, 可通过TimeoutConfig.OAUTH调整, 设置了callTimeout时整个请求不超过该时间
+        Timeouts timeouts = context.getTimeoutConfig().get(TimeoutConfig.OAUTH, null);
         try {
             String respJson = WebUtils.doPost(context, context.getOauthTokenUrl(),
                     request.getBodyMap(),
                     Constants.CHARSET_UTF8,
                     WebUtils.generateUUID(),
-                    connectTimeout,
-                    readTimeout,
+                    timeouts.getConnectTimeout(),
+                    timeouts.getReadTimeout(),
+                    timeouts.deadline(System.currentTimeMillis()),
                     request.getHeaderMap()
             );
             // 构建响应解释器
@@ -0,0 +1,31 @@
+package eleme.openapi.sdk.oauth.token;
+
+import eleme.openapi.sdk.config.Config;
+import eleme.openapi.sdk.oauth.OAuthClient;
+import eleme.openapi.sdk.oauth.OAuthException;
+import eleme.openapi.sdk.oauth.response.Token;
+import eleme.openapi.sdk.utils.StringUtils;
+
+/**
+ * 有refreshToken时用refreshToken刷新, 否则按客户端授权模式重新获取
+ */
+public class DefaultTokenRefresher implements TokenRefresher {
+    private final OAuthClient client;
+
+    public DefaultTokenRefresher(Config config) {
+        this.client = new OAuthClient(config);
+    }
+
+    public Token refresh(Token current) throws OAuthException {
+        Token token = StringUtils.isEmpty(current.getRefreshToken())
+                ? client.getTokenInClientCredentials()
+                : client.getTokenByRefreshToken(current.getRefreshToken());
+        if (token == null) {
+            throw new OAuthException("token request failed");
+        }
+        if (!token.isSuccess()) {
+            throw new OAuthException(token.getError(), token.getError_description());
+        }
+        return token;
+    }
+}
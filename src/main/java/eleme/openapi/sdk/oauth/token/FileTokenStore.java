@@ -0,0 +1,320 @@
+package eleme.openapi.sdk.oauth.token;
+
+import eleme.openapi.sdk.config.ElemeSdkLogger;
+import eleme.openapi.sdk.oauth.response.Token;
+import eleme.openapi.sdk.utils.JacksonUtils;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 保存在本地文件中的Token
+ * <p>
+ * 所有Token常驻内存, 查询不读文件; 每次保存或删除向文件末尾追加一行JSON记录, 启动时按顺序重放.
+ * 记录中保存Token过期的时间戳, 重启后仍能判断Token是否有效.
+ * 失效的记录超过compactThreshold条且多于有效记录时, 将当前全部Token写入临时文件后替换原文件,
+ * 替换前原文件改名为.bak, 替换过程中进程退出时下次打开从.tmp或.bak恢复.
+ * 写入失败时内存中已是新Token, 抛出IllegalStateException; 压缩失败不影响已写入的记录, 只记录日志. 只支持单个进程使用同一文件
+ */
+public class FileTokenStore implements TokenStore, Closeable {
+    /**
+     * 默认触发压缩的失效记录数
+     */
+    public static final int DEFAULT_COMPACT_THRESHOLD = 1000;
+
+    private static final String CHARSET = "UTF-8";
+
+    private final File file;
+    private final File tmpFile;
+    private final File bakFile;
+    private final ConcurrentMap<String, StoredToken> tokens = new ConcurrentHashMap<String, StoredToken>();
+    private final Object writeLock = new Object();
+    private FileOutputStream out;
+    private Writer writer;
+    private int records;
+    private int retryCompactAt;
+    private volatile int compactThreshold = DEFAULT_COMPACT_THRESHOLD;
+    private volatile boolean sync;
+    private volatile ElemeSdkLogger logger;
+
+    /**
+     * @param file 记录文件, 不存在时创建
+     * @throws IOException 读取或创建文件失败
+     */
+    public FileTokenStore(File file) throws IOException {
+        this.file = file;
+        this.tmpFile = new File(file.getPath() + ".tmp");
+        this.bakFile = new File(file.getPath() + ".bak");
+        recover();
+        load();
+        open();
+        if (records - tokens.size() >= compactThreshold && records - tokens.size() > tokens.size()) {
+            doCompact();
+        }
+    }
+
+    public FileTokenStore(String path) throws IOException {
+        this(new File(path));
+    }
+
+    public void setCompactThreshold(int compactThreshold) {
+        this.compactThreshold = Math.max(1, compactThreshold);
+    }
+
+    /**
+     * @param sync 每次写入后是否同步到磁盘, 默认false, 进程崩溃时不丢失, 断电时可能丢失最近的写入
+     */
+    public void setSync(boolean sync) {
+        this.sync = sync;
+    }
+
+    /**
+     * @param logger 记录压缩失败等不影响保存结果的异常, 默认输出到System.err
+     */
+    public void setLog(ElemeSdkLogger logger) {
+        this.logger = logger;
+    }
+
+    public Token get(String tenantId) {
+        StoredToken entry = tokens.get(tenantId);
+        return entry == null ? null : entry.getToken();
+    }
+
+    public StoredToken getEntry(String tenantId) {
+        return tokens.get(tenantId);
+    }
+
+    public void put(String tenantId, Token token) {
+        put(tenantId, token, Tokens.expiresAt(token, System.currentTimeMillis()));
+    }
+
+    public void put(String tenantId, Token token, long expiresAt) {
+        StoredToken entry = new StoredToken(Tokens.copy(token), expiresAt);
+        synchronized (writeLock) {
+            tokens.put(tenantId, entry);
+            append(record(tenantId, entry));
+        }
+    }
+
+    public void remove(String tenantId) {
+        Map<String, Object> record = new LinkedHashMap<String, Object>();
+        record.put("tenant", tenantId);
+        record.put("removed", true);
+        synchronized (writeLock) {
+            if (tokens.remove(tenantId) != null) {
+                append(record);
+            }
+        }
+    }
+
+    public int size() {
+        return tokens.size();
+    }
+
+    /**
+     * 立即压缩记录文件
+     */
+    public void compact() throws IOException {
+        synchronized (writeLock) {
+            doCompact();
+        }
+    }
+
+    public void close() throws IOException {
+        synchronized (writeLock) {
+            if (writer != null) {
+                writer.close();
+                writer = null;
+            }
+        }
+    }
+
+    private void append(Map<String, Object> record) {
+        if (writer == null) {
+            throw new IllegalStateException("token store is closed or unavailable: " + file);
+        }
+        try {
+            writer.write(JacksonUtils.obj2json(record));
+            writer.write('\n');
+            writer.flush();
+            if (sync) {
+                out.getFD().sync();
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("failed to write token store " + file, e);
+        }
+        records++;
+        int garbage = records - tokens.size();
+        if (garbage >= compactThreshold && garbage > tokens.size() && records >= retryCompactAt) {
+            try {
+                doCompact();
+            } catch (IOException e) {
+                // 记录已写入, 再追加compactThreshold条后重试压缩
+                retryCompactAt = records + compactThreshold;
+                error("failed to compact token store " + file + ": " + e);
+            }
+        }
+    }
+
+    /**
+     * 依次写入并同步.tmp, 将原文件改名为.bak, .tmp改名为原文件, 最后删除.bak; 任一步骤中断时原文件、.tmp或.bak至少有一个是完整的
+     */
+    private void doCompact() throws IOException {
+        FileOutputStream tmpOut = new FileOutputStream(tmpFile);
+        int written = 0;
+        try {
+            Writer tmpWriter = new BufferedWriter(new OutputStreamWriter(tmpOut, CHARSET));
+            for (Map.Entry<String, StoredToken> entry : tokens.entrySet()) {
+                tmpWriter.write(JacksonUtils.obj2json(record(entry.getKey(), entry.getValue())));
+                tmpWriter.write('\n');
+                written++;
+            }
+            tmpWriter.flush();
+            tmpOut.getFD().sync();
+        } finally {
+            tmpOut.close();
+        }
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+        try {
+            // Java 6没有原子替换, 先将原文件改名保留, 替换成功后再删除
+            if (bakFile.exists() && !bakFile.delete()) {
+                throw new IOException("cannot delete " + bakFile);
+            }
+            if (!file.renameTo(bakFile)) {
+                throw new IOException("cannot rename " + file + " to " + bakFile);
+            }
+            if (!tmpFile.renameTo(file)) {
+                if (!bakFile.renameTo(file)) {
+                    // 原文件保留在.bak, 下次打开时恢复
+                    throw new IOException("cannot restore " + file + " from " + bakFile);
+                }
+                throw new IOException("cannot rename " + tmpFile + " to " + file);
+            }
+            records = written;
+            bakFile.delete();
+        } finally {
+            // 原文件未能恢复时不再写入, 避免新建的空文件在下次打开时覆盖.bak
+            if (file.exists()) {
+                open();
+            }
+        }
+    }
+
+    private static Map<String, Object> record(String tenantId, StoredToken entry) {
+        Token token = entry.getToken();
+        Map<String, Object> record = new LinkedHashMap<String, Object>();
+        record.put("tenant", tenantId);
+        record.put("accessToken", token.getAccessToken());
+        record.put("tokenType", token.getTokenType());
+        record.put("expires", token.getExpires());
+        record.put("expiresAt", entry.getExpiresAt());
+        record.put("refreshToken", token.getRefreshToken());
+        return record;
+    }
+
+    /**
+     * 压缩过程中进程退出时原文件可能不存在: .tmp已同步完成后原文件才会改名, 优先使用.tmp, 其次是.bak
+     */
+    private void recover() throws IOException {
+        if (!file.exists()) {
+            File source = tmpFile.exists() && bakFile.exists() ? tmpFile : bakFile.exists() ? bakFile : null;
+            if (source != null && !source.renameTo(file)) {
+                throw new IOException("cannot recover " + file + " from " + source);
+            }
+        }
+        // 原文件存在时.tmp可能未写完, .bak已被替换, 都不再需要
+        tmpFile.delete();
+        bakFile.delete();
+    }
+
+    private void load() throws IOException {
+        if (!file.exists()) {
+            return;
+        }
+        BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), CHARSET));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.length() == 0) {
+                    continue;
+                }
+                records++;
+                Map<String, Object> record;
+                try {
+                    record = JacksonUtils.json2map(line);
+                } catch (RuntimeException e) {
+                    // 进程在写入过程中退出时最后一行可能不完整
+                    continue;
+                }
+                String tenantId = (String) record.get("tenant");
+                if (tenantId == null) {
+                    continue;
+                }
+                if (Boolean.TRUE.equals(record.get("removed"))) {
+                    tokens.remove(tenantId);
+                    continue;
+                }
+                Token token = new Token();
+                token.setAccessToken((String) record.get("accessToken"));
+                token.setTokenType((String) record.get("tokenType"));
+                Object expires = record.get("expires");
+                token.setExpires(expires instanceof Number ? ((Number) expires).longValue() : 0);
+                token.setRefreshToken((String) record.get("refreshToken"));
+                // 没有expiresAt的记录无法判断签发时间, 过期时间按未知处理
+                Object expiresAt = record.get("expiresAt");
+                tokens.put(tenantId, new StoredToken(token, expiresAt instanceof Number ? ((Number) expiresAt).longValue() : 0));
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+    private void error(String message) {
+        ElemeSdkLogger log = logger;
+        if (log != null) {
+            log.error(message);
+        } else {
+            System.err.println(message);
+        }
+    }
+
+    private void open() throws IOException {
+        endWithNewline();
+        out = new FileOutputStream(file, true);
+        writer = new BufferedWriter(new OutputStreamWriter(out, CHARSET));
+    }
+
+    /**
+     * 不完整的最后一行之后换行, 避免与新记录连在一起
+     */
+    private void endWithNewline() throws IOException {
+        if (!file.exists() || file.length() == 0) {
+            return;
+        }
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        try {
+            raf.seek(raf.length() - 1);
+            if (raf.read() != '\n') {
+                raf.write('\n');
+            }
+        } finally {
+            raf.close();
+        }
+    }
+}
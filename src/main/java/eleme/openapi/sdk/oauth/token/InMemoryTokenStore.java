@@ -0,0 +1,38 @@
+package eleme.openapi.sdk.oauth.token;
+
+import eleme.openapi.sdk.oauth.response.Token;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 保存在内存中的Token, 进程退出后丢失
+ */
+public class InMemoryTokenStore implements TokenStore {
+    private final ConcurrentMap<String, StoredToken> tokens = new ConcurrentHashMap<String, StoredToken>();
+
+    public Token get(String tenantId) {
+        StoredToken entry = tokens.get(tenantId);
+        return entry == null ? null : entry.getToken();
+    }
+
+    public StoredToken getEntry(String tenantId) {
+        return tokens.get(tenantId);
+    }
+
+    public void put(String tenantId, Token token) {
+        put(tenantId, token, Tokens.expiresAt(token, System.currentTimeMillis()));
+    }
+
+    public void put(String tenantId, Token token, long expiresAt) {
+        tokens.put(tenantId, new StoredToken(Tokens.copy(token), expiresAt));
+    }
+
+    public void remove(String tenantId) {
+        tokens.remove(tenantId);
+    }
+
+    public int size() {
+        return tokens.size();
+    }
+}
@@ -0,0 +1,75 @@
+package eleme.openapi.sdk.oauth.token;
+
+import eleme.openapi.sdk.oauth.response.Token;
+
+/**
+ * 始终读取{@link TokenManager}当前Token的视图, 传给服务的构造函数后刷新无需重建服务
+ * <p>
+ * 每次调用只读取一次accessToken, 刷新对进行中的调用无影响; 不可修改
+ */
+class ManagedToken extends Token {
+    private final TokenManager manager;
+
+    ManagedToken(TokenManager manager) {
+        this.manager = manager;
+    }
+
+    TokenManager getManager() {
+        return manager;
+    }
+
+    @Override
+    public String getAccessToken() {
+        return manager.getSnapshot().getAccessToken();
+    }
+
+    @Override
+    public String getTokenType() {
+        return manager.getSnapshot().getTokenType();
+    }
+
+    @Override
+    public long getExpires() {
+        return manager.getSnapshot().getExpires();
+    }
+
+    @Override
+    public String getRefreshToken() {
+        return manager.getSnapshot().getRefreshToken();
+    }
+
+    @Override
+    public String getError() {
+        return manager.getSnapshot().getError();
+    }
+
+    @Override
+    public String getError_description() {
+        return manager.getSnapshot().getError_description();
+    }
+
+    @Override
+    public void setAccessToken(String accessToken) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setTokenType(String tokenType) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setExpires(long expires) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setRefreshToken(String refreshToken) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String toString() {
+        return manager.getSnapshot().toString();
+    }
+}
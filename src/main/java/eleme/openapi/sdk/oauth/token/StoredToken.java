@@ -0,0 +1,31 @@
+package eleme.openapi.sdk.oauth.token;
+
+import eleme.openapi.sdk.oauth.response.Token;
+
+/**
+ * TokenStore中保存的Token及其过期时间
+ */
+public final class StoredToken {
+    private final Token token;
+    private final long expiresAt;
+
+    StoredToken(Token token, long expiresAt) {
+        this.token = token;
+        this.expiresAt = expiresAt;
+    }
+
+    public Token getToken() {
+        return token;
+    }
+
+    /**
+     * @return Token过期的时间戳(毫秒), 不大于0表示未知
+     */
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    public boolean isExpired() {
+        return expiresAt > 0 && System.currentTimeMillis() >= expiresAt;
+    }
+}
@@ -0,0 +1,328 @@
+package eleme.openapi.sdk.oauth.token;
+
+import eleme.openapi.sdk.api.async.ServiceFuture;
+import eleme.openapi.sdk.api.exception.ServiceException;
+import eleme.openapi.sdk.config.Config;
+import eleme.openapi.sdk.oauth.OAuthException;
+import eleme.openapi.sdk.oauth.response.Token;
+import eleme.openapi.sdk.utils.LogUtils;
+import eleme.openapi.sdk.utils.NamedThreadFactory;
+import eleme.openapi.sdk.utils.StringUtils;
+
+import java.io.Closeable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 管理一个Token的刷新
+ * <p>
+ * 按Token的有效期在到期前refreshAheadMillis(不超过有效期的一半)于后台刷新, 失败时每隔retryMillis重试.
+ * 同一时间只有一次刷新在进行, 期间其他刷新请求等待同一个结果.
+ * 将{@link #getToken()}传给服务的构造函数, 刷新后服务的后续调用自动使用新的accessToken
+ * <p>
+ * 开启{@link #setReauthOnUnauthorized}后, 使用该Token的调用返回UNAUTHORIZED时等待刷新完成并用新Token重放一次
+ */
+public class TokenManager implements Closeable {
+    /**
+     * 默认提前刷新的时间
+     */
+    public static final long DEFAULT_REFRESH_AHEAD_MILLIS = 10 * 60 * 1000L;
+    /**
+     * 默认刷新失败后的重试间隔
+     */
+    public static final long DEFAULT_RETRY_MILLIS = 30 * 1000L;
+
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(
+            new NamedThreadFactory("eleme-sdk-token-refresher"));
+
+    private final Config config;
+    private final TokenRefresher refresher;
+    private final AtomicReference<Issued> current = new AtomicReference<Issued>();
+    private final AtomicReference<ServiceFuture<Token>> refreshing = new AtomicReference<ServiceFuture<Token>>();
+    private final ManagedToken view = new ManagedToken(this);
+    private volatile long refreshAheadMillis = DEFAULT_REFRESH_AHEAD_MILLIS;
+    private volatile long retryMillis = DEFAULT_RETRY_MILLIS;
+    private volatile boolean reauthOnUnauthorized;
+    private volatile TokenStore tokenStore;
+    private volatile String tenantId;
+    private ScheduledFuture<?> scheduled;
+    private boolean closed;
+
+    /**
+     * @param token 当前Token, 视为刚刚获取
+     */
+    public TokenManager(Config config, Token token) {
+        this(config, token, new DefaultTokenRefresher(config));
+    }
+
+    /**
+     * @param token     当前Token, 视为刚刚获取
+     * @param refresher 获取新Token的方式
+     */
+    public TokenManager(Config config, Token token, TokenRefresher refresher) {
+        this(config, token, Tokens.expiresAt(token, System.currentTimeMillis()), refresher);
+    }
+
+    /**
+     * @param token     当前Token
+     * @param expiresAt Token过期的时间戳(毫秒), 不大于0表示不自动刷新
+     * @param refresher 获取新Token的方式
+     */
+    public TokenManager(Config config, Token token, long expiresAt, TokenRefresher refresher) {
+        if (token == null || StringUtils.isEmpty(token.getAccessToken())) {
+            throw new IllegalArgumentException("token must have an access token");
+        }
+        this.config = config;
+        this.refresher = refresher;
+        this.current.set(new Issued(token, expiresAt));
+        schedule(expiresAt);
+    }
+
+    /**
+     * 用TokenStore中保存的Token创建, 按保存的过期时间安排刷新, 过期时间未知时立即刷新; 刷新后的Token保存回该TokenStore
+     *
+     * @param tenantId 在tokenStore中的租户id
+     * @throws IllegalArgumentException tokenStore中没有该租户的Token
+     */
+    public static TokenManager fromStore(Config config, TokenStore tokenStore, String tenantId) {
+        return fromStore(config, tokenStore, tenantId, new DefaultTokenRefresher(config));
+    }
+
+    /**
+     * @param refresher 获取新Token的方式
+     * @see #fromStore(Config, TokenStore, String)
+     */
+    public static TokenManager fromStore(Config config, TokenStore tokenStore, String tenantId, TokenRefresher refresher) {
+        StoredToken entry = tokenStore.getEntry(tenantId);
+        if (entry == null) {
+            throw new IllegalArgumentException("no token stored for tenant " + tenantId);
+        }
+        long expiresAt = entry.getExpiresAt() > 0 ? entry.getExpiresAt() : System.currentTimeMillis();
+        TokenManager manager = new TokenManager(config, entry.getToken(), expiresAt, refresher);
+        manager.setTokenStore(tokenStore, tenantId);
+        return manager;
+    }
+
+    public void setRefreshAheadMillis(long refreshAheadMillis) {
+        this.refreshAheadMillis = Math.max(0, refreshAheadMillis);
+        schedule(current.get().expiresAt);
+    }
+
+    public void setRetryMillis(long retryMillis) {
+        this.retryMillis = Math.max(1, retryMillis);
+    }
+
+    /**
+     * 调用返回UNAUTHORIZED时刷新Token并重放一次, 同时失败的调用共用同一次刷新, 默认关闭.
+     * 服务端在执行接口前校验Token, 被拒绝的调用未被执行, 因此非幂等接口也会重放
+     */
+    public void setReauthOnUnauthorized(boolean reauthOnUnauthorized) {
+        this.reauthOnUnauthorized = reauthOnUnauthorized;
+    }
+
+    public boolean isReauthOnUnauthorized() {
+        return reauthOnUnauthorized;
+    }
+
+    /**
+     * 刷新成功后将新Token及其过期时间保存到tokenStore, 保存失败不影响刷新结果
+     *
+     * @param tenantId 在tokenStore中的租户id
+     */
+    public void setTokenStore(TokenStore tokenStore, String tenantId) {
+        this.tenantId = tenantId;
+        this.tokenStore = tokenStore;
+    }
+
+    /**
+     * @return token为{@link #getToken()}返回的视图时为其TokenManager, 否则为null
+     */
+    public static TokenManager managerOf(Token token) {
+        return token instanceof ManagedToken ? ((ManagedToken) token).getManager() : null;
+    }
+
+    /**
+     * @return 始终读取当前Token的视图, 用于构造服务, 不可修改
+     */
+    public Token getToken() {
+        return view;
+    }
+
+    /**
+     * @return 当前Token
+     */
+    public Token getSnapshot() {
+        return current.get().token;
+    }
+
+    /**
+     * @return 当前Token过期的时间戳(毫秒), 不大于0表示未知
+     */
+    public long getExpiresAt() {
+        return current.get().expiresAt;
+    }
+
+    public boolean isExpired() {
+        long expiresAt = current.get().expiresAt;
+        return expiresAt > 0 && System.currentTimeMillis() >= expiresAt;
+    }
+
+    /**
+     * 当前Token已过期时等待刷新完成
+     *
+     * @return 未过期的Token
+     * @throws ServiceException 刷新失败
+     */
+    public Token getValidToken() throws ServiceException {
+        return isExpired() ? refresh().getResult() : getSnapshot();
+    }
+
+    /**
+     * 在Config的异步线程池中刷新Token, 已有刷新在进行时返回同一个结果
+     *
+     * @return 刷新结果, 失败时为OAuthException
+     */
+    public ServiceFuture<Token> refresh() {
+        while (true) {
+            ServiceFuture<Token> future = refreshing.get();
+            if (future != null) {
+                return future;
+            }
+            future = new ServiceFuture<Token>(config);
+            if (refreshing.compareAndSet(null, future)) {
+                start(future);
+                return future;
+            }
+        }
+    }
+
+    /**
+     * 仅当当前Token仍是staleAccessToken时刷新, 用于调用方发现Token失效的场景, 避免重复刷新已被替换的Token
+     *
+     * @param staleAccessToken 调用方认为已失效的accessToken
+     */
+    public ServiceFuture<Token> refresh(String staleAccessToken) {
+        Token token = getSnapshot();
+        if (staleAccessToken != null && !staleAccessToken.equals(token.getAccessToken())) {
+            ServiceFuture<Token> future = refreshing.get();
+            if (future != null) {
+                return future;
+            }
+            future = new ServiceFuture<Token>(config);
+            future.complete(token);
+            return future;
+        }
+        return refresh();
+    }
+
+    /**
+     * 停止后台刷新, 已在进行的刷新不受影响
+     */
+    public synchronized void close() {
+        closed = true;
+        if (scheduled != null) {
+            scheduled.cancel(false);
+            scheduled = null;
+        }
+    }
+
+    private void start(final ServiceFuture<Token> future) {
+        try {
+            config.getAsyncExecutor().execute(new Runnable() {
+                public void run() {
+                    doRefresh(future);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.compareAndSet(future, null);
+            future.fail(e);
+        }
+    }
+
+    private void doRefresh(ServiceFuture<Token> future) {
+        Issued issued = current.get();
+        Token token;
+        try {
+            token = refresher.refresh(issued.token);
+            if (token == null || StringUtils.isEmpty(token.getAccessToken())) {
+                throw new OAuthException("refreshed token has no access token");
+            }
+        } catch (Throwable t) {
+            LogUtils.error(config, "token refresh failed: {}", t.toString());
+            refreshing.compareAndSet(future, null);
+            future.fail(t);
+            retryLater();
+            return;
+        }
+        if (StringUtils.isEmpty(token.getRefreshToken())) {
+            token.setRefreshToken(issued.token.getRefreshToken());
+        }
+        long expiresAt = Tokens.expiresAt(token, System.currentTimeMillis());
+        // 先替换Token再结束本次刷新, 之后发起的刷新一定基于新Token
+        current.set(new Issued(token, expiresAt));
+        save(token, expiresAt);
+        refreshing.compareAndSet(future, null);
+        future.complete(token);
+        schedule(expiresAt);
+    }
+
+    private void save(Token token, long expiresAt) {
+        TokenStore store = tokenStore;
+        if (store == null) {
+            return;
+        }
+        try {
+            store.put(tenantId, token, expiresAt);
+        } catch (RuntimeException e) {
+            LogUtils.error(config, "token save failed: {}", e.toString());
+        }
+    }
+
+    private synchronized void schedule(long expiresAt) {
+        if (closed) {
+            return;
+        }
+        if (scheduled != null) {
+            scheduled.cancel(false);
+            scheduled = null;
+        }
+        if (expiresAt <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long ahead = Math.min(refreshAheadMillis, Math.max(0, expiresAt - now) / 2);
+        scheduleRefresh(Math.max(0, expiresAt - ahead - now));
+    }
+
+    private synchronized void retryLater() {
+        if (closed) {
+            return;
+        }
+        if (scheduled != null) {
+            scheduled.cancel(false);
+        }
+        scheduleRefresh(retryMillis);
+    }
+
+    private void scheduleRefresh(long delayMillis) {
+        scheduled = SCHEDULER.schedule(new Runnable() {
+            public void run() {
+                refresh();
+            }
+        }, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private static class Issued {
+        private final Token token;
+        private final long expiresAt;
+
+        private Issued(Token token, long expiresAt) {
+            this.token = token;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package eleme.openapi.sdk.oauth.token;
+
+import eleme.openapi.sdk.oauth.OAuthException;
+import eleme.openapi.sdk.oauth.response.Token;
+
+/**
+ * 获取新的Token
+ */
+public interface TokenRefresher {
+
+    /**
+     * @param current 当前Token
+     * @return 新的Token
+     * @throws OAuthException 授权异常
+     */
+    Token refresh(Token current) throws OAuthException;
+}
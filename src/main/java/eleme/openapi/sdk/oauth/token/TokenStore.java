@@ -0,0 +1,50 @@
+package eleme.openapi.sdk.oauth.token;
+
+import eleme.openapi.sdk.oauth.response.Token;
+
+/**
+ * 按租户(商户或店铺)保存Token
+ *
+ * @see InMemoryTokenStore
+ * @see FileTokenStore
+ */
+public interface TokenStore {
+
+    /**
+     * 每次接口调用都会查询, 实现应线程安全且不做网络或磁盘读取
+     *
+     * @param tenantId 租户id, 如商户id或店铺id
+     * @return 该租户的Token, 不存在时为null
+     */
+    Token get(String tenantId);
+
+    /**
+     * @param tenantId 租户id
+     * @return 该租户的Token及其过期时间, 不存在时为null
+     */
+    StoredToken getEntry(String tenantId);
+
+    /**
+     * 保存租户的Token, 视为刚刚获取, 按{@link Token#getExpires()}计算过期时间
+     *
+     * @param tenantId 租户id
+     * @param token    新的Token
+     */
+    void put(String tenantId, Token token);
+
+    /**
+     * 保存租户的Token, 覆盖原有的Token; 多个线程同时保存同一租户时以最后一次为准
+     *
+     * @param tenantId  租户id
+     * @param token     新的Token
+     * @param expiresAt Token过期的时间戳(毫秒), 不大于0表示未知
+     */
+    void put(String tenantId, Token token, long expiresAt);
+
+    /**
+     * 删除租户的Token, 如商户取消授权时
+     *
+     * @param tenantId 租户id
+     */
+    void remove(String tenantId);
+}
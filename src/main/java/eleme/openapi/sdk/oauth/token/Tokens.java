@@ -0,0 +1,27 @@
+package eleme.openapi.sdk.oauth.token;
+
+import eleme.openapi.sdk.oauth.response.Token;
+
+final class Tokens {
+    private Tokens() {
+    }
+
+    /**
+     * 复制Token的当前值, 保存后调用方再修改原对象或传入{@link TokenManager#getToken()}视图时不受影响
+     */
+    static Token copy(Token token) {
+        Token copy = new Token();
+        copy.setAccessToken(token.getAccessToken());
+        copy.setTokenType(token.getTokenType());
+        copy.setExpires(token.getExpires());
+        copy.setRefreshToken(token.getRefreshToken());
+        return copy;
+    }
+
+    /**
+     * @return 在now时获取的Token过期的时间戳, 有效期未知时为0
+     */
+    static long expiresAt(Token token, long now) {
+        return token.getExpires() > 0 ? now + token.getExpires() * 1000 : 0;
+    }
+}
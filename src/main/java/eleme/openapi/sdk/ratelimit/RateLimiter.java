@@ -0,0 +1,277 @@
+package eleme.openapi.sdk.ratelimit;
+
+import eleme.openapi.sdk.api.exception.RateLimitedException;
+import eleme.openapi.sdk.api.exception.SourceTimeoutException;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 客户端限流, 通过{@link eleme.openapi.sdk.config.Config#setRateLimiter}设置
+ * <p>
+ * 分别按应用(app_key)、店铺(shopId参数)和接口(action)维度配置令牌桶, 未配置的维度不限流.
+ * 令牌不足时最多排队等待maxWaitMillis, 超出则抛出{@link RateLimitedException}, 请求不会发送.
+ * 开放平台返回EXCEED_LIMIT时, 本次调用涉及的令牌桶速率按decreaseFactor下调, 之后每隔recoveryMillis逐步恢复.
+ * <p>
+ * 限流配置需在首次调用前设置, 修改配置会重置所有令牌桶
+ */
+public class RateLimiter {
+    /**
+     * 默认最大排队等待时间(毫秒)
+     */
+    public static final long DEFAULT_MAX_WAIT_MILLIS = 1000;
+    private static final int SWEEP_THRESHOLD = 10000;
+
+    private volatile Limit appLimit;
+    private volatile Limit shopLimit;
+    private volatile Limit actionLimit;
+    private final ConcurrentMap<String, Limit> actionLimits = new ConcurrentHashMap<String, Limit>();
+    private final ConcurrentMap<String, TokenBucket> buckets = new ConcurrentHashMap<String, TokenBucket>();
+
+    private volatile long maxWaitMillis = DEFAULT_MAX_WAIT_MILLIS;
+    private volatile boolean adaptive = true;
+    private volatile double decreaseFactor = 0.5;
+    private volatile double minRateRatio = 0.1;
+    private volatile long recoveryMillis = 10000;
+    private volatile double recoveryStep = 0.1;
+
+    /**
+     * 单个应用的总速率
+     *
+     * @param permitsPerSecond 每秒请求数
+     * @param burst            允许的突发请求数
+     */
+    public void setAppLimit(double permitsPerSecond, int burst) {
+        appLimit = new Limit(permitsPerSecond, burst);
+        buckets.clear();
+    }
+
+    /**
+     * 单个店铺的速率, 按请求参数中的shopId区分, 没有shopId参数的接口不受此限制
+     */
+    public void setShopLimit(double permitsPerSecond, int burst) {
+        shopLimit = new Limit(permitsPerSecond, burst);
+        buckets.clear();
+    }
+
+    /**
+     * 每个接口默认的速率
+     */
+    public void setActionLimit(double permitsPerSecond, int burst) {
+        actionLimit = new Limit(permitsPerSecond, burst);
+        buckets.clear();
+    }
+
+    /**
+     * 指定接口的速率, 优先于默认的接口速率
+     *
+     * @param action 接口名, 如eleme.order.getOrder
+     */
+    public void setActionLimit(String action, double permitsPerSecond, int burst) {
+        actionLimits.put(action, new Limit(permitsPerSecond, burst));
+        buckets.clear();
+    }
+
+    /**
+     * 令牌不足时最大排队等待时间, 0表示不等待直接拒绝
+     */
+    public void setMaxWaitMillis(long maxWaitMillis) {
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    public long getMaxWaitMillis() {
+        return maxWaitMillis;
+    }
+
+    /**
+     * 是否在开放平台返回EXCEED_LIMIT时自动下调速率, 默认开启
+     */
+    public void setAdaptive(boolean adaptive) {
+        this.adaptive = adaptive;
+    }
+
+    public boolean isAdaptive() {
+        return adaptive;
+    }
+
+    /**
+     * 每次EXCEED_LIMIT时速率乘以该系数, 默认0.5, 最低降至配置速率的minRateRatio倍(默认0.1)
+     */
+    public void setDecreaseFactor(double decreaseFactor, double minRateRatio) {
+        this.decreaseFactor = decreaseFactor;
+        this.minRateRatio = minRateRatio;
+    }
+
+    /**
+     * 连续recoveryMillis(默认10秒)未出现EXCEED_LIMIT时, 速率恢复配置速率的step倍(默认0.1), 直至恢复到配置速率
+     */
+    public void setRecovery(long recoveryMillis, double step) {
+        this.recoveryMillis = recoveryMillis;
+        this.recoveryStep = step;
+    }
+
+    /**
+     * 获取一次调用的许可, 必要时排队等待
+     *
+     * @param shopId 请求参数中的shopId, 可为null
+     * @throws RateLimitedException 超过最大等待时间或等待被中断
+     */
+    public void acquire(String appKey, String action, Object shopId) throws RateLimitedException {
+        sleep(reserve(appKey, action, shopId, TimeUnit.MILLISECONDS.toNanos(maxWaitMillis), System.nanoTime()));
+    }
+
+    /**
+     * @param deadline 调用的截止时间(System.currentTimeMillis), 0表示不限制; 排队时间不超过截止时间
+     * @throws SourceTimeoutException 已超过截止时间, 未占用许可
+     */
+    public void acquire(String appKey, String action, Object shopId, long deadline)
+            throws RateLimitedException, SourceTimeoutException {
+        sleep(reserve(appKey, action, shopId, deadline));
+    }
+
+    /**
+     * 预订一次调用的许可但不等待, 供异步调用在定时器中延后发送
+     *
+     * @param deadline 调用的截止时间(System.currentTimeMillis), 0表示不限制
+     * @return 需要等待的时间(纳秒), 0表示可以立即发送
+     * @throws RateLimitedException   需要等待的时间超过最大等待时间或截止时间, 许可已退回
+     * @throws SourceTimeoutException 已超过截止时间, 未占用许可
+     */
+    public long reserve(String appKey, String action, Object shopId, long deadline)
+            throws RateLimitedException, SourceTimeoutException {
+        long maxWait = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        if (deadline > 0) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                throw new SourceTimeoutException("调用" + action + "已超过截止时间");
+            }
+            maxWait = Math.min(maxWait, TimeUnit.MILLISECONDS.toNanos(remaining));
+        }
+        return reserve(appKey, action, shopId, maxWait, System.nanoTime());
+    }
+
+    private long reserve(String appKey, String action, Object shopId, long maxWait, long now)
+            throws RateLimitedException {
+        TokenBucket app = bucket(appLimit, "a|", appKey, null, now);
+        TokenBucket shop = shopId == null ? null : bucket(shopLimit, "s|", appKey, String.valueOf(shopId), now);
+        TokenBucket act = bucket(actionLimit(action), "o|", appKey, action, now);
+        long wait = Math.max(reserve(app, now), Math.max(reserve(shop, now), reserve(act, now)));
+        if (wait > maxWait) {
+            refund(app);
+            refund(shop);
+            refund(act);
+            throw new RateLimitedException("本地限流: " + action + " 需等待" + TimeUnit.NANOSECONDS.toMillis(wait) + "ms");
+        }
+        return wait;
+    }
+
+    /**
+     * 开放平台返回EXCEED_LIMIT时回调, 下调本次调用涉及的令牌桶速率
+     */
+    public void onExceedLimit(String appKey, String action, Object shopId) {
+        if (!adaptive) {
+            return;
+        }
+        long now = System.nanoTime();
+        decrease(buckets.get(key("a|", appKey, null)), now);
+        if (shopId != null) {
+            decrease(buckets.get(key("s|", appKey, String.valueOf(shopId))), now);
+        }
+        decrease(buckets.get(key("o|", appKey, action)), now);
+    }
+
+    /**
+     * @return 指定接口当前生效的速率(每秒请求数), 未配置或尚未调用时返回-1
+     */
+    public double getCurrentActionRate(String appKey, String action) {
+        TokenBucket bucket = buckets.get(key("o|", appKey, action));
+        return bucket == null ? -1 : bucket.getRate();
+    }
+
+    private Limit actionLimit(String action) {
+        Limit limit = actionLimits.get(action);
+        return limit == null ? actionLimit : limit;
+    }
+
+    private TokenBucket bucket(Limit limit, String prefix, String appKey, String name, long now) {
+        if (limit == null) {
+            return null;
+        }
+        String key = key(prefix, appKey, name);
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= SWEEP_THRESHOLD) {
+                sweep(now);
+            }
+            bucket = new TokenBucket(limit.permitsPerSecond, limit.burst, now);
+            TokenBucket existing = buckets.putIfAbsent(key, bucket);
+            if (existing != null) {
+                bucket = existing;
+            }
+        }
+        return bucket;
+    }
+
+    private static void sleep(long wait) throws RateLimitedException {
+        if (wait == 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RateLimitedException("本地限流: 等待被中断");
+        }
+    }
+
+    private long reserve(TokenBucket bucket, long now) {
+        if (bucket == null) {
+            return 0;
+        }
+        bucket.recover(now, TimeUnit.MILLISECONDS.toNanos(recoveryMillis), recoveryStep);
+        return bucket.reserve(now);
+    }
+
+    private static void refund(TokenBucket bucket) {
+        if (bucket != null) {
+            bucket.refund();
+        }
+    }
+
+    private void decrease(TokenBucket bucket, long now) {
+        if (bucket != null) {
+            bucket.decrease(decreaseFactor, minRateRatio, now);
+        }
+    }
+
+    /**
+     * 移除空闲的令牌桶, 避免店铺数量多时无限增长
+     */
+    private void sweep(long now) {
+        Iterator<TokenBucket> iterator = buckets.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().isIdle(now)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static String key(String prefix, String appKey, String name) {
+        return name == null ? prefix + appKey : prefix + appKey + "|" + name;
+    }
+
+    private static class Limit {
+        private final double permitsPerSecond;
+        private final int burst;
+
+        private Limit(double permitsPerSecond, int burst) {
+            if (permitsPerSecond <= 0) {
+                throw new IllegalArgumentException("permitsPerSecond must be positive");
+            }
+            this.permitsPerSecond = permitsPerSecond;
+            this.burst = burst;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package eleme.openapi.sdk.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 无锁令牌桶(GCRA), 以理论到达时间表示桶内剩余令牌, 速率可在运行时下调和恢复
+ */
+class TokenBucket {
+    private final double configuredRate;
+    private final int burst;
+    private final AtomicLong theoreticalArrival;
+    private volatile double rate;
+    private volatile long lastAdjust;
+
+    TokenBucket(double permitsPerSecond, int burst, long now) {
+        this.configuredRate = permitsPerSecond;
+        this.burst = Math.max(1, burst);
+        this.rate = permitsPerSecond;
+        this.theoreticalArrival = new AtomicLong(now);
+        this.lastAdjust = now;
+    }
+
+    /**
+     * 预占一个令牌
+     *
+     * @return 需要等待的纳秒数, 0表示可立即发送
+     */
+    long reserve(long now) {
+        long interval = interval();
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, now) + interval;
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return Math.max(0, next - now - burst * interval);
+            }
+        }
+    }
+
+    /**
+     * 归还预占的令牌
+     */
+    void refund() {
+        theoreticalArrival.addAndGet(-interval());
+    }
+
+    /**
+     * 下调速率, 不低于配置速率的minRatio倍
+     */
+    void decrease(double factor, double minRatio, long now) {
+        rate = Math.max(configuredRate * minRatio, rate * factor);
+        lastAdjust = now;
+    }
+
+    /**
+     * 距上次调整超过recoveryNanos时, 按配置速率的step比例恢复
+     */
+    void recover(long now, long recoveryNanos, double step) {
+        if (rate < configuredRate && now - lastAdjust >= recoveryNanos) {
+            rate = Math.min(configuredRate, rate + configuredRate * step);
+            lastAdjust = now;
+        }
+    }
+
+    double getRate() {
+        return rate;
+    }
+
+    /**
+     * 桶已满且速率未被下调, 移除后重建不影响限流效果
+     */
+    boolean isIdle(long now) {
+        return theoreticalArrival.get() <= now && rate >= configuredRate;
+    }
+
+    private long interval() {
+        return (long) (1000000000L / rate);
+    }
+}
@@ -0,0 +1,60 @@
+package eleme.openapi.sdk.retry;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 重试预算, 限制重试请求占总请求的比例, 避免服务端故障时重试放大流量
+ * <p>
+ * 每次调用存入ratio次重试额度, 每次重试消耗1次, 额度最多累积reserve次
+ */
+public class RetryBudget {
+    private static final long UNIT = 1000;
+
+    private final long deposit;
+    private final long capacity;
+    private final AtomicLong balance;
+
+    /**
+     * @param ratio   重试请求与调用次数的比例, 如0.1表示每10次调用允许1次重试
+     * @param reserve 最多累积的重试次数, 也是初始可用的重试次数
+     */
+    public RetryBudget(double ratio, int reserve) {
+        if (ratio < 0 || reserve < 0) {
+            throw new IllegalArgumentException("ratio and reserve must not be negative");
+        }
+        this.deposit = (long) (ratio * UNIT);
+        this.capacity = reserve * UNIT;
+        this.balance = new AtomicLong(capacity);
+    }
+
+    void deposit() {
+        while (true) {
+            long current = balance.get();
+            if (current >= capacity) {
+                return;
+            }
+            if (balance.compareAndSet(current, Math.min(capacity, current + deposit))) {
+                return;
+            }
+        }
+    }
+
+    boolean tryWithdraw() {
+        while (true) {
+            long current = balance.get();
+            if (current < UNIT) {
+                return false;
+            }
+            if (balance.compareAndSet(current, current - UNIT)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @return 当前可用的重试次数
+     */
+    public long getAvailable() {
+        return balance.get() / UNIT;
+    }
+}
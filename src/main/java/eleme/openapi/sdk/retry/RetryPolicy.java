@@ -0,0 +1,153 @@
+package eleme.openapi.sdk.retry;
+
+import java.util.Collections;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 失败重试策略, 通过{@link eleme.openapi.sdk.config.Config#setRetryPolicy}设置
+ * <p>
+ * 只重试幂等的查询接口, 默认按接口名识别: get、mget、batchGet、query开头的接口视为幂等,
+ * 其余接口(如confirmOrderLite、cancelOrder)一律不重试, 可通过{@link #addIdempotentAction}和{@link #addNonIdempotentAction}调整.
+ * <p>
+ * 网络异常、超时以及服务端未知错误时按指数退避加随机抖动等待后重试, 重试次数受{@link RetryBudget}限制.
+ * 重试使用相同的请求id和请求报文, 便于服务端去重
+ */
+public class RetryPolicy {
+    private static final String[] IDEMPOTENT_PREFIXES = {"get", "mget", "batchGet", "query"};
+
+    private final Set<String> idempotentActions = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+    private final Set<String> nonIdempotentActions = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+    private final Random random = new Random();
+
+    private volatile int maxAttempts = 3;
+    private volatile long baseDelayMillis = 100;
+    private volatile long maxDelayMillis = 2000;
+    private volatile RetryBudget budget = new RetryBudget(0.1, 10);
+
+    /**
+     * 最多尝试次数(含首次请求), 默认3
+     */
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * 第n次重试前等待[0, min(maxDelayMillis, baseDelayMillis * 2^(n-1))]之间的随机时间, 默认100ms和2000ms
+     */
+    public void setBackoff(long baseDelayMillis, long maxDelayMillis) {
+        this.baseDelayMillis = baseDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+    }
+
+    /**
+     * 重试预算, 默认每10次调用允许1次重试, 最多累积10次
+     */
+    public void setBudget(RetryBudget budget) {
+        this.budget = budget;
+    }
+
+    public RetryBudget getBudget() {
+        return budget;
+    }
+
+    /**
+     * 将接口标记为幂等, 允许重试
+     *
+     * @param action 接口名, 如eleme.product.item.getItem
+     */
+    public void addIdempotentAction(String action) {
+        nonIdempotentActions.remove(action);
+        idempotentActions.add(action);
+    }
+
+    /**
+     * 将接口标记为非幂等, 不再重试
+     */
+    public void addNonIdempotentAction(String action) {
+        idempotentActions.remove(action);
+        nonIdempotentActions.add(action);
+    }
+
+    public boolean isIdempotent(String action) {
+        if (idempotentActions.contains(action)) {
+            return true;
+        }
+        if (nonIdempotentActions.contains(action)) {
+            return false;
+        }
+        String method = action.substring(action.lastIndexOf('.') + 1);
+        for (String prefix : IDEMPOTENT_PREFIXES) {
+            if (method.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 每次调用开始时存入重试预算
+     */
+    public void onCall() {
+        budget.deposit();
+    }
+
+    /**
+     * 第attempt次请求失败后判断能否重试, 可以时等待退避时间
+     *
+     * @param attempt 已完成的请求次数, 从1开始
+     * @return false表示已达最大次数、预算耗尽或等待被中断, 不应重试
+     */
+    public boolean awaitRetry(int attempt) {
+        return awaitRetry(attempt, 0);
+    }
+
+    /**
+     * @param deadline 调用的截止时间(System.currentTimeMillis), 0表示不限制; 退避等待后已到截止时间时不重试
+     */
+    public boolean awaitRetry(int attempt, long deadline) {
+        long delay = retryDelay(attempt, deadline);
+        if (delay <= 0) {
+            return delay == 0;
+        }
+        try {
+            Thread.sleep(delay);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * 判断是否重试但不等待, 供异步调用在定时器中延后重试; 决定重试时已从重试预算中扣除
+     *
+     * @return 重试前的退避时间(毫秒), -1表示不重试
+     */
+    public long retryDelay(int attempt, long deadline) {
+        if (attempt >= maxAttempts) {
+            return -1;
+        }
+        long delay = backoffMillis(attempt);
+        if (deadline > 0 && System.currentTimeMillis() + delay >= deadline) {
+            return -1;
+        }
+        if (!budget.tryWithdraw()) {
+            return -1;
+        }
+        return delay;
+    }
+
+    long backoffMillis(int attempt) {
+        long ceiling = baseDelayMillis << Math.min(attempt - 1, 30);
+        if (ceiling <= 0 || ceiling > maxDelayMillis) {
+            ceiling = maxDelayMillis;
+        }
+        return (long) (random.nextDouble() * ceiling);
+    }
+}
@@ -0,0 +1,421 @@
+package eleme.openapi.sdk.utils;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import eleme.openapi.sdk.api.async.ServiceCallback;
+import eleme.openapi.sdk.api.async.ServiceFuture;
+import eleme.openapi.sdk.api.exception.ExceedLimitException;
+import eleme.openapi.sdk.api.exception.ServerErrorException;
+import eleme.openapi.sdk.api.exception.ServiceException;
+import eleme.openapi.sdk.api.exception.SourceTimeoutException;
+import eleme.openapi.sdk.api.exception.UnauthorizedException;
+import eleme.openapi.sdk.api.protocol.ResponsePayload;
+import eleme.openapi.sdk.config.Config;
+import eleme.openapi.sdk.config.Timeouts;
+import eleme.openapi.sdk.http.AsyncHttpTransport;
+import eleme.openapi.sdk.http.ByteArrayEntity;
+import eleme.openapi.sdk.http.HttpResponse;
+import eleme.openapi.sdk.http.HttpResponseHandler;
+import eleme.openapi.sdk.http.RequestEntity;
+import eleme.openapi.sdk.isolation.Bulkhead;
+import eleme.openapi.sdk.isolation.CircuitBreaker;
+import eleme.openapi.sdk.isolation.ServiceIsolation;
+import eleme.openapi.sdk.metrics.CallMetrics;
+import eleme.openapi.sdk.metrics.MetricsCollector;
+import eleme.openapi.sdk.metrics.Phase;
+import eleme.openapi.sdk.oauth.response.Token;
+import eleme.openapi.sdk.oauth.token.TokenManager;
+import eleme.openapi.sdk.ratelimit.RateLimiter;
+import eleme.openapi.sdk.retry.RetryPolicy;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 一次非阻塞的接口调用, 与{@link WebUtils}的同步调用流程一致: 限流、熔断、并发名额、幂等接口重试和Token失效后重放.
+ * 请求由{@link AsyncHttpTransport}发送, 请求体与同步调用一样流式编码; 收到响应头后在异步线程池中边接收边解析.
+ * 限流排队和重试退避由定时器计时, 到期后交给异步线程池继续, 定时器线程不执行其他工作.
+ * <p>
+ * 各步骤依次在调用方线程、I/O线程和异步线程池中执行, 同一时间只有一个步骤在执行, 状态的可见性由线程间的交接保证
+ */
+class AsyncCall<T> implements HttpResponseHandler {
+    private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(
+            new NamedThreadFactory("eleme-sdk-async-timer"));
+    private static final String CONTENT_TYPE = "application/json; charset=utf-8";
+
+    private final Config context;
+    private final AsyncHttpTransport transport;
+    private final String service;
+    private final String action;
+    private final Map<String, Object> parameters;
+    private final Token token;
+    private final ObjectReader resultReader;
+    private final ServiceFuture<T> future;
+    private final MetricsCollector collector;
+    private final CallMetrics metrics;
+    private final long beginNanos = System.nanoTime();
+    private final Timeouts timeouts;
+    private final long deadline;
+    private final Object shopId;
+    private final ServiceIsolation isolation;
+    private final RateLimiter rateLimiter;
+    private final RetryPolicy retryPolicy;
+    // 每轮(首次及重放)的请求
+    private boolean replayed;
+    private String accessToken;
+    private String requestId;
+    private boolean logPayload;
+    private RequestEntity requestEntity;
+    private Bulkhead bulkhead;
+    // 每次请求
+    private int attempt;
+    private CircuitBreaker.Permit permit;
+    private long attemptBegin;
+    private long sendNanos;
+    private long encodedBefore;
+
+    AsyncCall(Config context, AsyncHttpTransport transport, String service, String action,
+              Map<String, Object> parameters, Token token, ObjectReader resultReader) {
+        this.context = context;
+        this.transport = transport;
+        this.service = service;
+        this.action = action;
+        this.parameters = parameters;
+        this.token = token;
+        this.resultReader = resultReader;
+        this.future = new ServiceFuture<T>(context);
+        this.collector = context.getMetricsCollector();
+        this.metrics = collector == null ? null : new CallMetrics(action);
+        this.timeouts = context.getTimeoutConfig().get(service, action);
+        this.deadline = timeouts.deadline(System.currentTimeMillis());
+        this.shopId = parameters == null ? null : parameters.get("shopId");
+        this.isolation = context.getServiceIsolation();
+        this.rateLimiter = context.getRateLimiter();
+        this.retryPolicy = context.getRetryPolicy();
+    }
+
+    ServiceFuture<T> getFuture() {
+        return future;
+    }
+
+    void start() {
+        if (retryPolicy != null) {
+            retryPolicy.onCall();
+        }
+        round();
+    }
+
+    /**
+     * 重放时使用新的accessToken、时间戳和请求id重新签名; 记录报文时请求体在内存中编码, 否则由传输层流式写出, 重试沿用同一报文
+     */
+    private void round() {
+        try {
+            long timestamp = System.currentTimeMillis();
+            accessToken = token.getAccessToken();
+            requestId = WebUtils.generateUUID();
+            LogUtils.info(context, "requestId: {}", requestId);
+            logPayload = LogUtils.isPayloadEnabled(context);
+            requestEntity = logPayload
+                    ? new ByteArrayEntity(RequestEncoder.encode(context.getApp_key(), context.getApp_secret(),
+                    timestamp, action, accessToken, requestId, parameters, metrics))
+                    : RequestEncoder.entity(context.getApp_key(), context.getApp_secret(),
+                    timestamp, action, accessToken, requestId, parameters, metrics);
+            bulkhead = isolation == null ? null : isolation.tryEnter(service);
+        } catch (Throwable t) {
+            finish(null, t);
+            return;
+        }
+        attempt = 0;
+        nextAttempt();
+    }
+
+    private void nextAttempt() {
+        if (future.isDone()) {
+            // 已被取消
+            endRound();
+            return;
+        }
+        attempt++;
+        permit = null;
+        long waitNanos = 0;
+        try {
+            permit = isolation == null ? null : isolation.check(service);
+            if (rateLimiter != null) {
+                waitNanos = rateLimiter.reserve(context.getApp_key(), action, shopId, deadline);
+            }
+        } catch (ServiceException e) {
+            abort(e);
+            return;
+        }
+        if (waitNanos == 0) {
+            send();
+            return;
+        }
+        schedule(new Runnable() {
+            public void run() {
+                send();
+            }
+        }, waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void send() {
+        attemptBegin = System.currentTimeMillis();
+        sendNanos = System.nanoTime();
+        if (metrics != null) {
+            encodedBefore = metrics.getNanos(Phase.SIGN) + metrics.getNanos(Phase.SERIALIZE);
+        }
+        try {
+            transport.executeAsync(WebUtils.newRequest(context.getApiUrl(), CONTENT_TYPE, requestEntity, requestId,
+                    timeouts.getConnectTimeout(), timeouts.getReadTimeout(), deadline, null), this);
+        } catch (RuntimeException e) {
+            abort(e);
+        }
+    }
+
+    public void completed(final HttpResponse response) {
+        // 流式请求体的签名和序列化耗时已由RequestEncoder记录, 从网络耗时中扣除
+        long encoded = metrics == null ? 0
+                : metrics.getNanos(Phase.SIGN) + metrics.getNanos(Phase.SERIALIZE) - encodedBefore;
+        final long networkNanos = System.nanoTime() - sendNanos - encoded;
+        // 响应体在异步线程池中边接收边解析, 不在I/O线程中读取
+        boolean accepted = execute(new Runnable() {
+            public void run() {
+                onResponse(response, networkNanos);
+            }
+        });
+        if (!accepted) {
+            try {
+                response.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    public void failed(final IOException cause) {
+        execute(new Runnable() {
+            public void run() {
+                onFailure(cause);
+            }
+        });
+    }
+
+    /**
+     * @return 线程池已关闭或已满时结束调用并返回false
+     */
+    private boolean execute(Runnable task) {
+        try {
+            context.getAsyncExecutor().execute(task);
+            return true;
+        } catch (RuntimeException e) {
+            abort(e);
+            return false;
+        }
+    }
+
+    /**
+     * 延迟后在异步线程池中执行task, 定时器线程由所有调用共用, 只负责计时
+     */
+    private void schedule(final Runnable task, long delay, TimeUnit unit) {
+        TIMER.schedule(new Runnable() {
+            public void run() {
+                execute(task);
+            }
+        }, delay, unit);
+    }
+
+    private void onResponse(HttpResponse response, long networkNanos) {
+        ResponsePayload responsePayload;
+        try {
+            responsePayload = WebUtils.readResponse(context, response, action, resultReader, logPayload,
+                    requestEntity, metrics, attemptBegin);
+        } catch (IOException e) {
+            onFailure(e);
+            return;
+        } catch (ServerErrorException e) {
+            onFailure(e);
+            return;
+        } catch (RuntimeException e) {
+            abort(e);
+            return;
+        }
+        if (metrics != null) {
+            metrics.addNanos(Phase.CONNECT, response.getConnectNanos());
+            metrics.addNanos(Phase.NETWORK, networkNanos - response.getConnectNanos());
+        }
+        boolean serverError = WebUtils.isServerError(responsePayload);
+        if (isolation != null) {
+            isolation.onResult(permit, serverError, System.currentTimeMillis() - attemptBegin);
+        }
+        if (serverError && retry(responsePayload.getError().getCode())) {
+            return;
+        }
+        endRound();
+        if (responsePayload.getError() == null) {
+            @SuppressWarnings("unchecked")
+            T result = (T) responsePayload.getResult();
+            finish(result, null);
+            return;
+        }
+        ServiceException serviceException = WebUtils.toException(responsePayload.getError());
+        if (!replayed && serviceException instanceof UnauthorizedException) {
+            TokenManager manager = TokenManager.managerOf(token);
+            if (manager != null && manager.isReauthOnUnauthorized()) {
+                reauthenticate(manager, responsePayload, serviceException);
+                return;
+            }
+        }
+        reject(responsePayload, serviceException);
+    }
+
+    private void onFailure(Exception failure) {
+        if (failure.getCause() instanceof RequestEncoder.EncodingException) {
+            // 流式请求体序列化失败, 与同步调用一样直接结束, 不计入熔断也不重试
+            abort(failure.getCause());
+            return;
+        }
+        if (isolation != null) {
+            isolation.onResult(permit, true, System.currentTimeMillis() - attemptBegin);
+        }
+        if (retry(failure)) {
+            return;
+        }
+        endRound();
+        if (failure instanceof SocketTimeoutException) {
+            finish(null, new SourceTimeoutException());
+        } else if (failure instanceof IOException) {
+            finish(null, new ServiceException(failure.getClass().getName(), failure));
+        } else {
+            finish(null, failure);
+        }
+    }
+
+    /**
+     * @return 是否已安排重试
+     */
+    private boolean retry(Object reason) {
+        if (retryPolicy == null || !retryPolicy.isIdempotent(action) || future.isDone()) {
+            return false;
+        }
+        long delay = retryPolicy.retryDelay(attempt, deadline);
+        if (delay < 0) {
+            return false;
+        }
+        LogUtils.info(context, "retry {} requestId: {} after {}", action, requestId, reason);
+        if (delay == 0) {
+            nextAttempt();
+        } else {
+            schedule(new Runnable() {
+                public void run() {
+                    nextAttempt();
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+        }
+        return true;
+    }
+
+    /**
+     * 等待TokenManager刷新后用新Token重放, 刷新失败或超过截止时间时按原异常处理
+     */
+    private void reauthenticate(TokenManager manager, final ResponsePayload responsePayload,
+                                final ServiceException serviceException) {
+        final String staleAccessToken = accessToken;
+        final AtomicBoolean settled = new AtomicBoolean();
+        final ScheduledFuture<?> timeout = deadline <= 0 ? null : TIMER.schedule(new Runnable() {
+            public void run() {
+                if (settled.compareAndSet(false, true)) {
+                    execute(new Runnable() {
+                        public void run() {
+                            reject(responsePayload, serviceException);
+                        }
+                    });
+                }
+            }
+        }, Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+        manager.refresh(staleAccessToken).addCallback(new ServiceCallback<Token>() {
+            public void onSuccess(Token fresh) {
+                if (!settled.compareAndSet(false, true)) {
+                    return;
+                }
+                if (timeout != null) {
+                    timeout.cancel(false);
+                }
+                if (fresh != null && fresh.getAccessToken() != null && !fresh.getAccessToken().equals(staleAccessToken)) {
+                    LogUtils.info(context, "replay {} requestId: {} with refreshed token", action, requestId);
+                    replayed = true;
+                    round();
+                } else {
+                    reject(responsePayload, serviceException);
+                }
+            }
+
+            public void onFailure(Throwable cause) {
+                if (!settled.compareAndSet(false, true)) {
+                    return;
+                }
+                if (timeout != null) {
+                    timeout.cancel(false);
+                }
+                LogUtils.error(context, "reauthentication failed: {}", cause.toString());
+                reject(responsePayload, serviceException);
+            }
+        });
+    }
+
+    private void reject(ResponsePayload responsePayload, ServiceException serviceException) {
+        if (metrics != null) {
+            metrics.setErrorCode(responsePayload.getError().getCode());
+        }
+        if (rateLimiter != null && serviceException instanceof ExceedLimitException) {
+            rateLimiter.onExceedLimit(context.getApp_key(), action, shopId);
+        }
+        if (serviceException != null) {
+            LogUtils.error(context, "error: {}", serviceException.getMessage());
+            finish(null, serviceException);
+        } else {
+            finish(null, new ServerErrorException());
+        }
+    }
+
+    /**
+     * 请求未发送或响应未能处理时结束调用, 不计入熔断
+     */
+    private void abort(Throwable cause) {
+        if (isolation != null) {
+            isolation.onSkipped(permit);
+        }
+        endRound();
+        finish(null, cause);
+    }
+
+    private void endRound() {
+        if (isolation != null) {
+            isolation.release(bulkhead);
+        }
+        bulkhead = null;
+    }
+
+    private void finish(T result, Throwable cause) {
+        if (collector != null) {
+            if (cause instanceof ServiceException) {
+                if (metrics.isSuccess()) {
+                    ServiceException e = (ServiceException) cause;
+                    metrics.setErrorCode(e.getCode() == null ? e.getClass().getSimpleName() : e.getCode());
+                }
+            } else if (cause instanceof RuntimeException) {
+                metrics.setErrorCode(cause.getClass().getSimpleName());
+            }
+            metrics.setTotalNanos(System.nanoTime() - beginNanos);
+            collector.record(metrics);
+        }
+        if (cause == null) {
+            future.complete(result);
+        } else {
+            future.fail(cause);
+        }
+    }
+}
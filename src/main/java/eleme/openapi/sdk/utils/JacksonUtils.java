@@ -7,16 +7,22 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import eleme.openapi.sdk.api.exception.JsonParseException;
 
 import java.io.IOException;
+import java.lang.reflect.Type;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public class JacksonUtils {
 
     private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final ConcurrentMap<Type, JavaType> javaTypes = new ConcurrentHashMap<Type, JavaType>();
+    private static final ConcurrentMap<JavaType, ObjectReader> readers = new ConcurrentHashMap<JavaType, ObjectReader>();
 
     static {
         //去掉默认的时间戳格式
@@ -48,6 +54,33 @@ public class JacksonUtils {
         return objectMapper;
     }
 
+    /**
+     * 解析并缓存Type对应的JavaType
+     */
+    public static JavaType javaType(Type type) {
+        JavaType javaType = javaTypes.get(type);
+        if (javaType == null) {
+            javaType = objectMapper.getTypeFactory().constructType(type);
+            javaTypes.putIfAbsent(type, javaType);
+        }
+        return javaType;
+    }
+
+    /**
+     * 获取并缓存JavaType对应的ObjectReader, 相同返回值类型的接口共用同一个reader
+     */
+    public static ObjectReader reader(JavaType javaType) {
+        ObjectReader reader = readers.get(javaType);
+        if (reader == null) {
+            reader = objectMapper.reader(javaType);
+            ObjectReader existing = readers.putIfAbsent(javaType, reader);
+            if (existing != null) {
+                reader = existing;
+            }
+        }
+        return reader;
+    }
+
     public static String obj2json(Object obj) {
 
         try {
@@ -0,0 +1,135 @@
+package eleme.openapi.sdk.utils;
+
+import eleme.openapi.sdk.config.Config;
+import eleme.openapi.sdk.config.Constants;
+import eleme.openapi.sdk.config.ElemeSdkLogger;
+import eleme.openapi.sdk.config.LevelAwareLogger;
+
+import java.io.UnsupportedEncodingException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * SDK内部日志, 消息使用{}占位符, 仅在对应级别开启时才格式化
+ */
+public class LogUtils {
+    private static final AtomicLong payloadSequence = new AtomicLong();
+
+    private LogUtils() {
+    }
+
+    public static boolean isInfoEnabled(Config context) {
+        ElemeSdkLogger logger = context.getElemeSdkLogger();
+        if (logger instanceof LevelAwareLogger) {
+            return ((LevelAwareLogger) logger).isInfoEnabled();
+        }
+        return logger != null;
+    }
+
+    public static boolean isErrorEnabled(Config context) {
+        ElemeSdkLogger logger = context.getElemeSdkLogger();
+        if (logger instanceof LevelAwareLogger) {
+            return ((LevelAwareLogger) logger).isErrorEnabled();
+        }
+        return logger != null;
+    }
+
+    /**
+     * 本次调用是否记录请求和响应报文, 按{@link Config#getLogPayloadSampling()}抽样
+     */
+    public static boolean isPayloadEnabled(Config context) {
+        if (!isInfoEnabled(context)) {
+            return false;
+        }
+        int sampling = context.getLogPayloadSampling();
+        return sampling <= 1 || payloadSequence.getAndIncrement() % sampling == 0;
+    }
+
+    /**
+     * 作为日志参数的报文, 格式化时才按{@link Config#getLogPayloadLimit()}截断
+     */
+    public static Object payload(Config context, String payload) {
+        return new Payload(payload, context.getLogPayloadLimit());
+    }
+
+    /**
+     * UTF-8编码的报文, 格式化时才解码并截断
+     */
+    public static Object payload(Config context, byte[] payload) {
+        return new Payload(payload, context.getLogPayloadLimit());
+    }
+
+    public static void info(Config context, String message) {
+        if (isInfoEnabled(context)) {
+            context.getElemeSdkLogger().info(message);
+        }
+    }
+
+    public static void info(Config context, String pattern, Object arg) {
+        if (isInfoEnabled(context)) {
+            context.getElemeSdkLogger().info(format(pattern, arg));
+        }
+    }
+
+    public static void info(Config context, String pattern, Object arg1, Object arg2) {
+        if (isInfoEnabled(context)) {
+            context.getElemeSdkLogger().info(format(pattern, arg1, arg2));
+        }
+    }
+
+    public static void info(Config context, String pattern, Object... args) {
+        if (isInfoEnabled(context)) {
+            context.getElemeSdkLogger().info(format(pattern, args));
+        }
+    }
+
+    public static void error(Config context, String pattern, Object arg) {
+        if (isErrorEnabled(context)) {
+            context.getElemeSdkLogger().error(format(pattern, arg));
+        }
+    }
+
+    /**
+     * 依次用参数替换消息中的{}, 多余的参数忽略, 缺少的参数保留{}
+     */
+    static String format(String pattern, Object... args) {
+        StringBuilder message = new StringBuilder(pattern.length() + 32 * args.length);
+        int start = 0;
+        for (Object arg : args) {
+            int index = pattern.indexOf("{}", start);
+            if (index < 0) {
+                break;
+            }
+            message.append(pattern, start, index).append(arg);
+            start = index + 2;
+        }
+        return message.append(pattern, start, pattern.length()).toString();
+    }
+
+    private static class Payload {
+        private final Object content;
+        private final int limit;
+
+        private Payload(Object content, int limit) {
+            this.content = content;
+            this.limit = limit;
+        }
+
+        @Override
+        public String toString() {
+            String payload;
+            if (content instanceof byte[]) {
+                try {
+                    payload = new String((byte[]) content, Constants.CHARSET_UTF8);
+                } catch (UnsupportedEncodingException e) {
+                    throw new IllegalStateException(e);
+                }
+            } else {
+                payload = String.valueOf(content);
+            }
+            if (limit < 0 || payload.length() <= limit) {
+                return payload;
+            }
+            return payload.substring(0, limit) + "...(" + payload.length() + " chars)";
+        }
+    }
+}
@@ -6,6 +6,12 @@ import java.util.Map;
 import java.util.Properties;
 import java.util.ResourceBundle;
 
+/**
+ * 每次读写都重新打开classpath下的token.properties, 只能保存一个Token
+ *
+ * @deprecated 使用 {@link eleme.openapi.sdk.oauth.token.FileTokenStore} 或 {@link eleme.openapi.sdk.oauth.token.InMemoryTokenStore}
+ */
+@Deprecated
 public class PropertiesUtils {
     public static void main(String[] args) throws Exception {
 //        Map<String, String> map = new EleHashMap();
@@ -0,0 +1,298 @@
+package eleme.openapi.sdk.utils;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import eleme.openapi.sdk.api.exception.JsonParseException;
+import eleme.openapi.sdk.config.Constants;
+import eleme.openapi.sdk.http.RequestEntity;
+import eleme.openapi.sdk.metrics.CallMetrics;
+import eleme.openapi.sdk.metrics.Phase;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.util.Map;
+
+/**
+ * 编码NOP请求报文, 单次遍历参数, 每个参数值只序列化一次, 写出的同时计算签名, 签名位于报文末尾
+ */
+public class RequestEncoder {
+    private static final byte[] NOP = ascii("{\"nop\":\"1.0.0\"");
+    private static final byte[] ID = ascii(",\"id\":");
+    private static final byte[] ACTION = ascii(",\"action\":");
+    private static final byte[] TOKEN = ascii(",\"token\":");
+    private static final byte[] METAS = ascii(",\"metas\":{");
+    private static final byte[] META_APP_KEY = ascii("\"app_key\":");
+    private static final byte[] META_TIMESTAMP = ascii("\"timestamp\":");
+    private static final byte[] PARAMS = ascii("},\"params\":{");
+    private static final byte[] SIGNATURE = ascii("},\"signature\":");
+    private static final byte[] NULL = ascii("null");
+    private static final byte[] EQUALS = ascii("=");
+
+    private final String appKey;
+    private final String secret;
+    private final long timestamp;
+    private final String action;
+    private final String token;
+    private final String requestId;
+    private final Map<String, Object> parameters;
+    private final CallMetrics metrics;
+
+    private RequestEncoder(String appKey, String secret, long timestamp, String action, String token,
+                           String requestId, Map<String, Object> parameters, CallMetrics metrics) {
+        this.appKey = appKey;
+        this.secret = secret;
+        this.timestamp = timestamp;
+        this.action = action;
+        this.token = token;
+        this.requestId = requestId;
+        this.parameters = parameters;
+        this.metrics = metrics;
+    }
+
+    /**
+     * 生成请求体, 与原先序列化requestPayload的结果等价: 值为null的字段和参数不输出, 参数按key升序排列
+     *
+     * @return UTF-8编码的请求体
+     */
+    public static byte[] encode(String appKey, String secret, long timestamp, String action, String token,
+                                String requestId, Map<String, Object> parameters) {
+        return encode(appKey, secret, timestamp, action, token, requestId, parameters, null);
+    }
+
+    /**
+     * @param metrics 不为null时记录签名和序列化耗时及请求体大小
+     */
+    public static byte[] encode(String appKey, String secret, long timestamp, String action, String token,
+                                String requestId, Map<String, Object> parameters, CallMetrics metrics) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        try {
+            new RequestEncoder(appKey, secret, timestamp, action, token, requestId, parameters, metrics).writeTo(out);
+        } catch (IOException e) {
+            throw new JsonParseException();
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * 生成直接写出到连接的请求体, 长度未知, 内存占用与参数大小无关.
+     * 参数序列化失败时writeTo抛出JsonParseException, 与{@link #encode}一致, 不作为网络异常处理
+     */
+    public static RequestEntity entity(String appKey, String secret, long timestamp, String action, String token,
+                                       String requestId, Map<String, Object> parameters) {
+        return entity(appKey, secret, timestamp, action, token, requestId, parameters, null);
+    }
+
+    /**
+     * @param metrics 不为null时记录签名和序列化耗时及请求体大小, 写出到连接的耗时不计入
+     */
+    public static RequestEntity entity(String appKey, String secret, long timestamp, String action, String token,
+                                       String requestId, Map<String, Object> parameters, CallMetrics metrics) {
+        final RequestEncoder encoder = new RequestEncoder(appKey, secret, timestamp, action, token, requestId, parameters, metrics);
+        return new RequestEntity() {
+            public long getContentLength() {
+                return -1;
+            }
+
+            public void writeTo(OutputStream out) throws IOException {
+                encoder.writeTo(out);
+            }
+        };
+    }
+
+    private void writeTo(OutputStream target) throws IOException {
+        long start = metrics == null ? 0 : System.nanoTime();
+        MessageDigest md = SignatureUtil.MD5.get();
+        md.reset();
+        DigestOutputStream out = new DigestOutputStream(target, md, metrics != null);
+        out.update(utf8(String.valueOf(action)));
+        out.update(utf8(String.valueOf(token)));
+        JsonGenerator generator = JacksonUtils.getInstance().getFactory().createGenerator(out, JsonEncoding.UTF8);
+        generator.setRootValueSeparator(null);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+
+        byte[] appKeyValue = appKey == null ? NULL : quote(appKey);
+        byte[] timestampValue = ascii(Long.toString(timestamp));
+        out.write(NOP);
+        writeField(out, ID, requestId);
+        writeField(out, ACTION, action);
+        writeField(out, TOKEN, token);
+        out.write(METAS);
+        if (appKey != null) {
+            out.write(META_APP_KEY);
+            out.write(appKeyValue);
+            out.write(',');
+        }
+        out.write(META_TIMESTAMP);
+        out.write(timestampValue);
+        out.write(PARAMS);
+
+        boolean first = true;
+        for (String key : SignatureUtil.sortedKeys(parameters)) {
+            out.update(utf8(key));
+            out.update(EQUALS);
+            boolean meta = SignatureUtil.APP_KEY.equals(key) || SignatureUtil.TIMESTAMP.equals(key);
+            if (meta) {
+                // 与metas重名的参数签名时使用metas的值, 请求体中仍保留参数原值
+                out.update(SignatureUtil.APP_KEY.equals(key) ? appKeyValue : timestampValue);
+            }
+            Object value = parameters.get(key);
+            if (value == null) {
+                if (!meta) {
+                    out.update(NULL);
+                }
+                continue;
+            }
+            if (!first) {
+                out.write(',');
+            }
+            first = false;
+            out.write(quote(key));
+            out.write(':');
+            out.digest = !meta;
+            try {
+                generator.writeObject(value);
+            } catch (JsonProcessingException e) {
+                throw new EncodingException(key, e);
+            }
+            generator.flush();
+            out.digest = false;
+        }
+        generator.close();
+
+        out.update(utf8(String.valueOf(secret)));
+        out.write(SIGNATURE);
+        out.write(quote(SignatureUtil.toHex(out.digest(), SignatureUtil.HEX_UPPER)));
+        out.write('}');
+
+        if (metrics != null) {
+            metrics.addNanos(Phase.SIGN, out.digestNanos);
+            metrics.addNanos(Phase.SERIALIZE, System.nanoTime() - start - out.digestNanos - out.writeNanos);
+            metrics.setRequestBytes(out.bytes);
+        }
+    }
+
+    private static void writeField(OutputStream out, byte[] name, String value) throws IOException {
+        if (value != null) {
+            out.write(name);
+            out.write(quote(value));
+        }
+    }
+
+    private static byte[] quote(String value) {
+        byte[] content = JsonStringEncoder.getInstance().quoteAsUTF8(value);
+        byte[] quoted = new byte[content.length + 2];
+        quoted[0] = '"';
+        System.arraycopy(content, 0, quoted, 1, content.length);
+        quoted[quoted.length - 1] = '"';
+        return quoted;
+    }
+
+    private static byte[] utf8(String value) throws IOException {
+        return value.getBytes(Constants.CHARSET_UTF8);
+    }
+
+    private static byte[] ascii(String s) {
+        byte[] bytes = new byte[s.length()];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) s.charAt(i);
+        }
+        return bytes;
+    }
+
+    /**
+     * 参数序列化失败, 写出请求体的过程中抛出, 发送方据此区分序列化错误与网络异常, 不计入熔断也不重试
+     */
+    static class EncodingException extends JsonParseException {
+        EncodingException(String key, Throwable cause) {
+            super("参数" + key + "序列化出错");
+            initCause(cause);
+        }
+    }
+
+    /**
+     * 写出到目标流, digest为true时同时更新摘要; timed为true时分别统计摘要和写出目标流的耗时
+     */
+    private static class DigestOutputStream extends OutputStream {
+        private final OutputStream out;
+        private final MessageDigest md;
+        private final boolean timed;
+        private boolean digest;
+        private long bytes;
+        private long digestNanos;
+        private long writeNanos;
+
+        private DigestOutputStream(OutputStream out, MessageDigest md, boolean timed) {
+            this.out = out;
+            this.md = md;
+            this.timed = timed;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            bytes++;
+            if (!timed) {
+                out.write(b);
+                if (digest) {
+                    md.update((byte) b);
+                }
+                return;
+            }
+            long start = System.nanoTime();
+            out.write(b);
+            long written = System.nanoTime();
+            writeNanos += written - start;
+            if (digest) {
+                md.update((byte) b);
+                digestNanos += System.nanoTime() - written;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            bytes += len;
+            if (!timed) {
+                out.write(b, off, len);
+                if (digest) {
+                    md.update(b, off, len);
+                }
+                return;
+            }
+            long start = System.nanoTime();
+            out.write(b, off, len);
+            long written = System.nanoTime();
+            writeNanos += written - start;
+            if (digest) {
+                md.update(b, off, len);
+                digestNanos += System.nanoTime() - written;
+            }
+        }
+
+        /**
+         * 只更新摘要, 不写出
+         */
+        private void update(byte[] b) {
+            if (!timed) {
+                md.update(b);
+                return;
+            }
+            long start = System.nanoTime();
+            md.update(b);
+            digestNanos += System.nanoTime() - start;
+        }
+
+        private byte[] digest() {
+            if (!timed) {
+                return md.digest();
+            }
+            long start = System.nanoTime();
+            byte[] result = md.digest();
+            digestNanos += System.nanoTime() - start;
+            return result;
+        }
+    }
+}
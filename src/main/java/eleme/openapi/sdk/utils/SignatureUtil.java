@@ -1,41 +1,126 @@
 package eleme.openapi.sdk.utils;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import eleme.openapi.sdk.api.exception.JsonParseException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
 import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
 import java.util.Map;
-import java.util.TreeMap;
 
 public class SignatureUtil {
+    static final String APP_KEY = "app_key";
+    static final String TIMESTAMP = "timestamp";
+    static final char[] HEX_UPPER = "0123456789ABCDEF".toCharArray();
+    private static final char[] HEX_LOWER = "0123456789abcdef".toCharArray();
+
+    /**
+     * 每个线程复用一个MessageDigest, 避免每次签名都查找Provider
+     */
+    static final ThreadLocal<MessageDigest> MD5 = new ThreadLocal<MessageDigest>() {
+        @Override
+        protected MessageDigest initialValue() {
+            try {
+                return MessageDigest.getInstance("MD5");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    };
 
+    /**
+     * 签名串为 action + token + 按key排序的(key=JSON(value)) + secret, 逐段以UTF-8写入摘要, 不拼接中间字符串
+     */
     public static String generateSignature(String appKey, String secret, long timestamp, String action, String token, Map<String, Object> parameters) {
-        final Map<String, Object> sorted = new TreeMap();
-        for (Map.Entry<String, Object> entry : parameters.entrySet()) {
-            sorted.put(entry.getKey(), entry.getValue());
-        }
-        sorted.put("app_key", appKey);
-        sorted.put("timestamp", timestamp);
-        StringBuffer string = new StringBuffer();
-        for (Map.Entry<String, Object> entry : sorted.entrySet()) {
-            string.append(entry.getKey()).append("=").append(JacksonUtils.obj2json(entry.getValue()));
-        }
-        String splice = String.format("%s%s%s%s", action, token, string, secret);
-        String calculatedSignature = md5(splice);
-        return calculatedSignature.toUpperCase();
+        String[] keys = sortedKeys(parameters);
+        MessageDigest md = MD5.get();
+        md.reset();
+        try {
+            JsonGenerator generator = JacksonUtils.getInstance().getFactory().createGenerator(new DigestSink(md), JsonEncoding.UTF8);
+            generator.setRootValueSeparator(null);
+            generator.writeRaw(String.valueOf(action));
+            generator.writeRaw(String.valueOf(token));
+            for (String key : keys) {
+                generator.writeRaw(key);
+                generator.writeRaw('=');
+                if (APP_KEY.equals(key)) {
+                    generator.writeObject(appKey);
+                } else if (TIMESTAMP.equals(key)) {
+                    generator.writeNumber(timestamp);
+                } else {
+                    generator.writeObject(parameters.get(key));
+                }
+            }
+            generator.writeRaw(String.valueOf(secret));
+            generator.close();
+        } catch (IOException e) {
+            throw new JsonParseException();
+        }
+        return toHex(md.digest(), HEX_UPPER);
+    }
+
+    /**
+     * 参与签名的key升序排列, 始终包含app_key和timestamp
+     */
+    static String[] sortedKeys(Map<String, Object> parameters) {
+        String[] keys = new String[parameters.size() + 2];
+        int size = 0;
+        for (String key : parameters.keySet()) {
+            if (!APP_KEY.equals(key) && !TIMESTAMP.equals(key)) {
+                keys[size++] = key;
+            }
+        }
+        keys[size++] = APP_KEY;
+        keys[size++] = TIMESTAMP;
+        if (size < keys.length) {
+            keys = Arrays.copyOf(keys, size);
+        }
+        Arrays.sort(keys);
+        return keys;
     }
 
     public static String md5(String str) {
-        MessageDigest md = null;
+        MessageDigest md = MD5.get();
+        md.reset();
         try {
-            md = MessageDigest.getInstance("MD5");
             md.update(str.getBytes("UTF-8"));
-        } catch (Exception e) {
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
         }
+        return toHex(md.digest(), HEX_LOWER);
+    }
 
-        byte byteData[] = md.digest();
-        StringBuilder buffer = new StringBuilder();
-        for (int i = 0; i < byteData.length; i++)
-            buffer.append(Integer.toString((byteData[i] & 0xff) + 0x100, 16).substring(1));
-
-        return buffer.toString();
+    static String toHex(byte[] bytes, char[] digits) {
+        char[] hex = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            hex[i * 2] = digits[(bytes[i] >> 4) & 0x0f];
+            hex[i * 2 + 1] = digits[bytes[i] & 0x0f];
+        }
+        return new String(hex);
     }
 
+    /**
+     * 将写入的字节直接更新到摘要中
+     */
+    private static class DigestSink extends OutputStream {
+        private final MessageDigest md;
+
+        private DigestSink(MessageDigest md) {
+            this.md = md;
+        }
+
+        @Override
+        public void write(int b) {
+            md.update((byte) b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            md.update(b, off, len);
+        }
+    }
 }
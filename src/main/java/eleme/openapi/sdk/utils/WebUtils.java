@@ -1,123 +1,115 @@
 package eleme.openapi.sdk.utils;
 
 import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectReader;
+import eleme.openapi.sdk.api.async.ServiceFuture;
 import eleme.openapi.sdk.api.exception.*;
 import eleme.openapi.sdk.api.protocol.ErrorPayload;
+import eleme.openapi.sdk.api.protocol.ResponseDecoder;
 import eleme.openapi.sdk.api.protocol.ResponsePayload;
 import eleme.openapi.sdk.config.Constants;
 import eleme.openapi.sdk.config.Config;
+import eleme.openapi.sdk.config.Timeouts;
+import eleme.openapi.sdk.http.AsyncHttpTransport;
+import eleme.openapi.sdk.http.ByteArrayEntity;
+import eleme.openapi.sdk.http.HttpRequest;
+import eleme.openapi.sdk.http.HttpResponse;
+import eleme.openapi.sdk.http.RequestEntity;
+import eleme.openapi.sdk.isolation.Bulkhead;
+import eleme.openapi.sdk.isolation.CircuitBreaker;
+import eleme.openapi.sdk.isolation.ServiceIsolation;
+import eleme.openapi.sdk.metrics.CallMetrics;
+import eleme.openapi.sdk.metrics.MetricsCollector;
+import eleme.openapi.sdk.metrics.Phase;
 import eleme.openapi.sdk.oauth.response.Token;
+import eleme.openapi.sdk.oauth.token.TokenManager;
+import eleme.openapi.sdk.ratelimit.RateLimiter;
+import eleme.openapi.sdk.retry.RetryPolicy;
 
-import javax.net.ssl.*;
 import java.io.*;
 import java.lang.reflect.Type;
 import java.net.*;
-import java.security.SecureRandom;
-import java.security.cert.CertificateException;
-import java.security.cert.X509Certificate;
 import java.util.*;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.zip.GZIPInputStream;
 
 public abstract class WebUtils {
     private static final String DEFAULT_CHARSET = Constants.CHARSET_UTF8;
-    private static final String METHOD_POST = "POST";
 
-    private static class DefaultTrustManager implements X509TrustManager {
-        public X509Certificate[] getAcceptedIssuers() {
-            return null;
-        }
-
-        public void checkClientTrusted(X509Certificate[] chain, String authType) throws CertificateException {
-        }
-
-        public void checkServerTrusted(X509Certificate[] chain, String authType) throws CertificateException {
-        }
+    public static String doPost(Config context, String url,
+                                Map<String, String> params,
+                                String charset,
+                                String rid,
+                                int connectTimeout,
+                                int readTimeout,
+                                Map<String, String> headerMap) throws IOException {
+        return doPost(context, url, params, charset, rid, connectTimeout, readTimeout, 0, headerMap);
     }
 
+    /**
+     * @param deadline 请求的截止时间戳(毫秒), 连接和读取的超时都不超过该时间, 0表示不限制
+     */
     public static String doPost(Config context, String url,
                                 Map<String, String> params,
                                 String charset,
                                 String rid,
                                 int connectTimeout,
                                 int readTimeout,
+                                long deadline,
                                 Map<String, String> headerMap) throws IOException {
         String ctype = "application/x-www-form-urlencoded;charset=" + charset;
         String query = buildQuery(params, charset);
-        setLogInfo(context, "request: " + query);
+        LogUtils.info(context, "request: {}", LogUtils.payload(context, query));
 
         byte[] content = {};
         if (query != null) {
             content = query.getBytes(charset);
         }
-        return _doPost(context, url, ctype, content, rid, connectTimeout, readTimeout, headerMap);
+        return _doPost(context, url, ctype, new ByteArrayEntity(content), rid, connectTimeout, readTimeout, deadline, headerMap);
     }
 
     public static String doPost(Config context, String url, String ctype, byte[] content, String rid, int connectTimeout, int readTimeout)
             throws SocketTimeoutException, IOException {
-        return _doPost(context, url, ctype, content, rid, connectTimeout, readTimeout, null);
+        return _doPost(context, url, ctype, new ByteArrayEntity(content), rid, connectTimeout, readTimeout, 0, null);
     }
 
-    private static String _doPost(Config context, String url, String ctype, byte[] content, String rid, int connectTimeout, int readTimeout,
-                                  Map<String, String> headerMap) throws SocketTimeoutException, IOException {
-        HttpURLConnection conn = null;
-        OutputStream out = null;
-        String rsp = null;
+    private static String _doPost(Config context, String url, String ctype, RequestEntity entity, String rid, int connectTimeout, int readTimeout,
+                                  long deadline, Map<String, String> headerMap) throws SocketTimeoutException, IOException {
+        HttpResponse response = execute(context, url, ctype, entity, rid, connectTimeout, readTimeout, deadline, headerMap);
+        String rsp;
         try {
-            conn = getConnection(new URL(url), METHOD_POST, ctype, headerMap, rid);
-            conn.setConnectTimeout(connectTimeout);
-            conn.setReadTimeout(readTimeout);
-            out = conn.getOutputStream();
-            out.write(content);
-            rsp = getResponseAsString(conn);
+            rsp = getResponseAsString(response);
         } finally {
-            if (out != null) {
-                out.close();
-            }
-            if (conn != null) {
-                conn.disconnect();
-            }
+            response.close();
         }
-        setLogInfo(context, "response: " + rsp);
+        LogUtils.info(context, "response: {}", LogUtils.payload(context, rsp));
         return rsp;
     }
 
-    private static HttpURLConnection getConnection(URL url, String method, String ctype, Map<String, String> headerMap, String rid) throws IOException {
-        HttpURLConnection conn;
-        if ("https".equals(url.getProtocol())) {
-            SSLContext ctx;
-            try {
-                ctx = SSLContext.getInstance("TLS");
-                ctx.init(new KeyManager[0], new TrustManager[]{new DefaultTrustManager()}, new SecureRandom());
-            } catch (Exception e) {
-                throw new IOException(e);
-            }
-            HttpsURLConnection connHttps = (HttpsURLConnection) url.openConnection();
-            connHttps.setSSLSocketFactory(ctx.getSocketFactory());
-            connHttps.setHostnameVerifier(new HostnameVerifier() {
-                public boolean verify(String hostname, SSLSession session) {
-                    return true;// 默认都认证通过
-                }
-            });
-            conn = connHttps;
-        } else {
-            conn = (HttpURLConnection) url.openConnection();
-        }
+    private static HttpResponse execute(Config context, String url, String ctype, RequestEntity entity, String rid, int connectTimeout, int readTimeout,
+                                        long deadline, Map<String, String> headerMap) throws SocketTimeoutException, IOException {
+        return context.getHttpTransport().execute(newRequest(url, ctype, entity, rid, connectTimeout, readTimeout, deadline, headerMap));
+    }
 
-        conn.setRequestMethod(method);
-        conn.setDoInput(true);
-        conn.setDoOutput(true);
-        conn.setRequestProperty("Accept", "text/xml,text/javascript,text/html");
-        conn.setRequestProperty("Content-Type", ctype);
-        conn.setRequestProperty("Accept-Encoding", "gzip");
-        conn.setRequestProperty("User-Agent", "eleme-openapi-java-sdk");
-        String elemeRequestId = getReqID(rid);
-        conn.setRequestProperty("x-eleme-requestid", elemeRequestId);
+    static HttpRequest newRequest(String url, String ctype, RequestEntity entity, String rid, int connectTimeout, int readTimeout,
+                                  long deadline, Map<String, String> headerMap) {
+        HttpRequest request = new HttpRequest(url);
+        request.setContentType(ctype);
+        request.setEntity(entity);
+        request.setConnectTimeout(connectTimeout);
+        request.setReadTimeout(readTimeout);
+        request.setDeadline(deadline);
+        request.setHeader("Accept", "text/xml,text/javascript,text/html");
+        request.setHeader("Accept-Encoding", "gzip");
+        request.setHeader("User-Agent", "eleme-openapi-java-sdk");
+        request.setHeader("x-eleme-requestid", getReqID(rid));
         if (headerMap != null) {
             for (Map.Entry<String, String> entry : headerMap.entrySet()) {
-                conn.setRequestProperty(entry.getKey(), entry.getValue());
+                request.setHeader(entry.getKey(), entry.getValue());
             }
         }
-        return conn;
+        return request;
     }
 
     public static String buildQuery(Map<String, String> params, String charset) throws IOException {
@@ -145,43 +137,35 @@ public abstract class WebUtils {
         return query.toString();
     }
 
-    protected static String getResponseAsString(HttpURLConnection conn) throws IOException {
-        String charset = getResponseCharset(conn.getContentType());
-        InputStream es = conn.getErrorStream();
-        if (es == null) {
-            return getStreamAsString(conn.getInputStream(), charset, conn);
-        } else {
-            String msg = getStreamAsString(es, charset, conn);
-            if (StringUtils.isEmpty(msg)) {
-                throw new IOException(conn.getResponseCode() + ":" + conn.getResponseMessage());
-            } else {
-                return msg;
-            }
-        }
+    protected static String getResponseAsString(HttpResponse response) throws IOException {
+        return getResponseAsString(response, response.getBody());
     }
 
-    private static String getStreamAsString(InputStream stream, String charset, HttpURLConnection conn) throws IOException {
-        try {
-            Reader reader;
-            if ("gzip".equals(conn.getContentEncoding())) {
-                reader = new InputStreamReader(new GZIPInputStream(stream), charset);
-            } else {
-                reader = new InputStreamReader(stream, charset);
-            }
+    private static String getResponseAsString(HttpResponse response, InputStream body) throws IOException {
+        String charset = getResponseCharset(response.getContentType());
+        String msg = getStreamAsString(body, charset, response);
+        if (response.getStatusCode() >= 400 && StringUtils.isEmpty(msg)) {
+            throw new IOException(response.getStatusCode() + ":" + response.getStatusMessage());
+        }
+        return msg;
+    }
 
-            StringBuilder response = new StringBuilder();
-            final char[] buff = new char[1024];
-            int read = 0;
-            while ((read = reader.read(buff)) > 0) {
-                response.append(buff, 0, read);
-            }
+    private static String getStreamAsString(InputStream stream, String charset, HttpResponse httpResponse) throws IOException {
+        Reader reader;
+        if ("gzip".equals(httpResponse.getContentEncoding())) {
+            reader = new InputStreamReader(new GZIPInputStream(stream), charset);
+        } else {
+            reader = new InputStreamReader(stream, charset);
+        }
 
-            return response.toString();
-        } finally {
-            if (stream != null) {
-                stream.close();
-            }
+        StringBuilder response = new StringBuilder();
+        final char[] buff = new char[1024];
+        int read = 0;
+        while ((read = reader.read(buff)) > 0) {
+            response.append(buff, 0, read);
         }
+
+        return response.toString();
     }
 
     private static String getReqID(String rid) {
@@ -228,72 +212,361 @@ public abstract class WebUtils {
                              Token token,
                              Type type
     ) throws ServiceException {
-        final long timestamp = System.currentTimeMillis();
+        JavaType javaType = JacksonUtils.javaType(type);
+        ObjectReader resultReader = javaType.getRawClass() == void.class ? null : JacksonUtils.reader(javaType);
+        return call(context, action, parameters, token, resultReader);
+    }
+
+    /**
+     * @param resultReader 返回值类型的ObjectReader, 无返回值的接口传null
+     */
+    public static <T> T call(Config context, String action,
+                             Map<String, Object> parameters,
+                             Token token,
+                             ObjectReader resultReader
+    ) throws ServiceException {
+        return call(context, serviceName(action), action, parameters, token, resultReader);
+    }
+
+    /**
+     * @param service      服务名, 即服务类{@link eleme.openapi.sdk.api.annotation.Service}注解的值, 用于按服务隔离
+     * @param resultReader 返回值类型的ObjectReader, 无返回值的接口传null
+     */
+    public static <T> T call(Config context, String service, String action,
+                             Map<String, Object> parameters,
+                             Token token,
+                             ObjectReader resultReader
+    ) throws ServiceException {
+        MetricsCollector collector = context.getMetricsCollector();
+        if (collector == null) {
+            return call(context, service, action, parameters, token, resultReader, null);
+        }
+        CallMetrics metrics = new CallMetrics(action);
+        long begin = System.nanoTime();
+        try {
+            return call(context, service, action, parameters, token, resultReader, metrics);
+        } catch (ServiceException e) {
+            if (metrics.isSuccess()) {
+                metrics.setErrorCode(e.getCode() == null ? e.getClass().getSimpleName() : e.getCode());
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            metrics.setErrorCode(e.getClass().getSimpleName());
+            throw e;
+        } finally {
+            metrics.setTotalNanos(System.nanoTime() - begin);
+            collector.record(metrics);
+        }
+    }
+
+    /**
+     * 非阻塞调用, 流程与{@link #call(Config, String, String, Map, Token, ObjectReader)}一致,
+     * 请求由{@link Config#getAsyncHttpTransport()}发送, 限流排队、重试退避和等待响应期间不占用线程, 响应在异步线程池中解析.
+     * 并发名额已满时直接失败, 不等待; 没有非阻塞传输层时在异步线程池中同步调用
+     *
+     * @return 调用结果, 失败时的异常与同步调用相同
+     */
+    public static <T> ServiceFuture<T> callAsync(final Config context, final String service, final String action,
+                                                 final Map<String, Object> parameters,
+                                                 final Token token,
+                                                 final ObjectReader resultReader) {
+        AsyncHttpTransport transport = context.getAsyncHttpTransport();
+        if (transport != null) {
+            AsyncCall<T> call = new AsyncCall<T>(context, transport, service, action, parameters, token, resultReader);
+            call.start();
+            return call.getFuture();
+        }
+        final ServiceFuture<T> future = new ServiceFuture<T>(context);
+        try {
+            context.getAsyncExecutor().execute(new Runnable() {
+                public void run() {
+                    if (future.isDone()) {
+                        return;
+                    }
+                    try {
+                        future.complete(WebUtils.<T>call(context, service, action, parameters, token, resultReader));
+                    } catch (Throwable t) {
+                        future.fail(t);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.fail(e);
+        }
+        return future;
+    }
+
+    private static <T> T call(Config context, String service, String action,
+                              Map<String, Object> parameters,
+                              Token token,
+                              ObjectReader resultReader,
+                              CallMetrics metrics
+    ) throws ServiceException {
+        Timeouts timeouts = context.getTimeoutConfig().get(service, action);
+        long deadline = timeouts.deadline(System.currentTimeMillis());
         final String appKey = context.getApp_key();
         String secret = context.getApp_secret();
-        String accessToken = token.getAccessToken();
-        String requestId = generateUUID();
-
-        setLogInfo(context,"requestId: " + requestId);
-        Map<String, Object> requestPayload = new HashMap<String, Object>();
-        requestPayload.put("nop", "1.0.0");
-        requestPayload.put("id", requestId);
-        requestPayload.put("action", action);
-        requestPayload.put("token", accessToken);
-
-        Map<String, Object> metasHashMap = new HashMap<String, Object>();
-        metasHashMap.put("app_key", appKey);
-        metasHashMap.put("timestamp", timestamp);
-
-        requestPayload.put("metas", metasHashMap);
-        requestPayload.put("params", parameters);
-        String signature = SignatureUtil.generateSignature(appKey, secret, timestamp, action, accessToken, parameters);
-        requestPayload.put("signature", signature);
-
-        String requestJson = JacksonUtils.obj2json(requestPayload);
-        ResponsePayload responsePayload;
-        try {
-            responsePayload = doRequest(context, requestJson,requestId,action);
-        } catch (SocketTimeoutException ex) {
-            throw new SourceTimeoutException();
-        } catch (IOException ex) {
-            throw new ServiceException(ex.getClass().getName(), ex);
+        Object shopId = parameters == null ? null : parameters.get("shopId");
+        RetryPolicy retryPolicy = context.getRetryPolicy();
+        if (retryPolicy != null) {
+            retryPolicy.onCall();
         }
-        setLogInfo(context, "request: " + requestJson);
-        if (responsePayload != null && null != responsePayload.getError()) {
+
+        for (boolean replayed = false; ; replayed = true) {
+            // 重放时使用新的accessToken、时间戳和请求id重新签名
+            long timestamp = System.currentTimeMillis();
+            String accessToken = token.getAccessToken();
+            String requestId = generateUUID();
+            LogUtils.info(context, "requestId: {}", requestId);
+            // 记录报文的调用需要完整的请求和响应报文, 其余调用请求体直接写出到连接, 响应直接从连接解析
+            boolean logPayload = LogUtils.isPayloadEnabled(context);
+            RequestEntity requestEntity = logPayload
+                    ? new ByteArrayEntity(RequestEncoder.encode(appKey, secret, timestamp, action, accessToken, requestId, parameters, metrics))
+                    : RequestEncoder.entity(appKey, secret, timestamp, action, accessToken, requestId, parameters, metrics);
+            ServiceIsolation isolation = context.getServiceIsolation();
+            Bulkhead bulkhead = isolation == null ? null : isolation.enter(service);
+            ResponsePayload responsePayload;
+            try {
+                responsePayload = send(context, service, action, shopId, requestEntity, requestId, resultReader, logPayload, metrics, timeouts, deadline);
+            } finally {
+                if (isolation != null) {
+                    isolation.release(bulkhead);
+                }
+            }
+            if (logPayload) {
+                LogUtils.info(context, "request: {}", LogUtils.payload(context, ((ByteArrayEntity) requestEntity).getContent()));
+            }
+            if (null == responsePayload.getError()) {
+                @SuppressWarnings("unchecked")
+                T result = (T) responsePayload.getResult();
+                return result;
+            }
             ServiceException serviceException = toException(responsePayload.getError());
+            if (!replayed && serviceException instanceof UnauthorizedException
+                    && reauthenticate(context, token, accessToken, deadline)) {
+                LogUtils.info(context, "replay {} requestId: {} with refreshed token", action, requestId);
+                continue;
+            }
+            if (metrics != null) {
+                metrics.setErrorCode(responsePayload.getError().getCode());
+            }
+            RateLimiter rateLimiter = context.getRateLimiter();
+            if (rateLimiter != null && serviceException instanceof ExceedLimitException) {
+                rateLimiter.onExceedLimit(appKey, action, shopId);
+            }
             if (serviceException != null) {
-                setLogError(context, "error: " + serviceException.getMessage());
+                LogUtils.error(context, "error: {}", serviceException.getMessage());
                 throw serviceException;
             }
             throw new ServerErrorException();
         }
-        if (type == void.class)
-            return null;
-        String s2 = JacksonUtils.obj2json(responsePayload.getResult());
-        JavaType javaType = JacksonUtils.getInstance().getTypeFactory().constructType(type);
-        return JacksonUtils.json2pojo(s2,javaType);
+    }
+
+    /**
+     * token由开启了重新授权的{@link TokenManager}管理时等待刷新, 刷新失败或超过截止时间时返回false, 按原异常处理
+     *
+     * @param staleAccessToken 被拒绝的accessToken, 已被其他调用刷新时不再重复刷新
+     * @return 已取得新的accessToken, 可以重放
+     */
+    private static boolean reauthenticate(Config context, Token token, String staleAccessToken, long deadline) {
+        TokenManager manager = TokenManager.managerOf(token);
+        if (manager == null || !manager.isReauthOnUnauthorized()) {
+            return false;
+        }
+        try {
+            ServiceFuture<Token> future = manager.refresh(staleAccessToken);
+            Token fresh = deadline > 0
+                    ? future.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS)
+                    : future.get();
+            return fresh != null && fresh.getAccessToken() != null && !fresh.getAccessToken().equals(staleAccessToken);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            LogUtils.error(context, "reauthentication failed: {}", e.toString());
+            return false;
+        }
+    }
+
+    /**
+     * 发送请求, 每次请求前检查熔断和限流, 幂等接口失败时按重试策略重试, 重试沿用同一请求id和请求报文
+     *
+     * @param deadline 整个调用的截止时间, 限流排队、重试退避和每次请求的超时都不超过该时间, 0表示不限制
+     * @return 响应报文, 服务端返回错误时由调用方处理
+     */
+    private static ResponsePayload send(Config context, String service, String action, Object shopId,
+                                        RequestEntity requestEntity, String requestId, ObjectReader resultReader,
+                                        boolean logPayload, CallMetrics metrics, Timeouts timeouts, long deadline) throws ServiceException {
+        RateLimiter rateLimiter = context.getRateLimiter();
+        RetryPolicy retryPolicy = context.getRetryPolicy();
+        ServiceIsolation isolation = context.getServiceIsolation();
+        boolean idempotent = retryPolicy != null && retryPolicy.isIdempotent(action);
+        for (int attempt = 1; ; attempt++) {
+            CircuitBreaker.Permit permit = isolation == null ? null : isolation.check(service);
+            ResponsePayload responsePayload = null;
+            Exception failure = null;
+            long begin = System.currentTimeMillis();
+            try {
+                if (rateLimiter != null) {
+                    rateLimiter.acquire(context.getApp_key(), action, shopId, deadline);
+                    begin = System.currentTimeMillis();
+                }
+                responsePayload = doRequest(context, requestEntity, requestId, action, resultReader, logPayload, metrics, timeouts, deadline);
+            } catch (IOException ex) {
+                failure = ex;
+            } catch (RequestEncoder.EncodingException ex) {
+                // 流式请求体序列化失败, 与记录报文时编码失败一样直接抛出
+                if (isolation != null) {
+                    isolation.onSkipped(permit);
+                }
+                throw ex;
+            } catch (ServerErrorException ex) {
+                failure = ex;
+            } catch (ServiceException ex) {
+                if (isolation != null) {
+                    isolation.onSkipped(permit);
+                }
+                throw ex;
+            } catch (RuntimeException ex) {
+                if (isolation != null) {
+                    isolation.onSkipped(permit);
+                }
+                throw ex;
+            }
+            boolean serverError = failure != null || isServerError(responsePayload);
+            if (isolation != null) {
+                isolation.onResult(permit, serverError, System.currentTimeMillis() - begin);
+            }
+            if (!serverError) {
+                return responsePayload;
+            }
+            if (idempotent && retryPolicy.awaitRetry(attempt, deadline)) {
+                LogUtils.info(context, "retry {} requestId: {} after {}",
+                        action, requestId, failure == null ? responsePayload.getError().getCode() : failure);
+                continue;
+            }
+            if (failure == null) {
+                return responsePayload;
+            }
+            if (failure instanceof SocketTimeoutException) {
+                throw new SourceTimeoutException();
+            }
+            if (failure instanceof IOException) {
+                throw new ServiceException(failure.getClass().getName(), failure);
+            }
+            throw (ServerErrorException) failure;
+        }
+    }
+
+    /**
+     * 接口名的前两段, 如eleme.order.getOrder对应eleme.order, 与服务类的Service注解一致
+     */
+    static String serviceName(String action) {
+        int first = action.indexOf('.');
+        int second = first < 0 ? -1 : action.indexOf('.', first + 1);
+        return second < 0 ? action : action.substring(0, second);
     }
 
     private static ResponsePayload doRequest(Config context, String requestJson, String rid) throws SocketTimeoutException, IOException {
-        String response = doPost(context, context.getApiUrl(), "application/json; charset=utf-8", requestJson.getBytes(Constants.CHARSET_UTF8), rid, 15000, 15000);
-        setLogInfo(context, "response: " + response);
+        Timeouts timeouts = context.getTimeoutConfig().getDefault();
+        String response = doPost(context, context.getApiUrl(), "application/json; charset=utf-8", requestJson.getBytes(Constants.CHARSET_UTF8), rid,
+                timeouts.getConnectTimeout(), timeouts.getReadTimeout());
+        LogUtils.info(context, "response: {}", LogUtils.payload(context, response));
         return JacksonUtils.json2pojo(response, ResponsePayload.class);
     }
 
-    private static ResponsePayload doRequest(Config context, String requestJson, String rid,String action) throws SocketTimeoutException, IOException {
-        Long begin = System.currentTimeMillis();
-        String response = doPost(context, context.getApiUrl(), "application/json; charset=utf-8", requestJson.getBytes(Constants.CHARSET_UTF8),rid, 15000, 15000);
-        setLogInfo(context,"ELEBEG*************************************************************************");
-        setLogInfo(context,"ELE* 饿了么外卖接口调用 URL: "+context.getApiUrl() + "   Action:"+action+" Res time:"+(System.currentTimeMillis()-begin)+"ms");
-        setLogInfo(context,"ELE* 请求:"+requestJson);
-        setLogInfo(context,"ELE* 响应:"+response);
-        setLogInfo(context,"ELEEND*************************************************************************");
+    /**
+     * @param logPayload 为true时读取完整响应报文并记录日志, 否则直接从响应流解析
+     */
+    private static ResponsePayload doRequest(Config context, RequestEntity requestEntity, String rid, String action,
+                                             ObjectReader resultReader, boolean logPayload, CallMetrics metrics,
+                                             Timeouts timeouts, long deadline) throws SocketTimeoutException, IOException {
+        long begin = System.currentTimeMillis();
+        HttpResponse response = execute(context, requestEntity, rid, metrics, timeouts, deadline);
+        return readResponse(context, response, action, resultReader, logPayload, requestEntity, metrics, begin);
+    }
 
-        return JacksonUtils.json2pojo(response, ResponsePayload.class);
+    /**
+     * 解析响应报文并记录日志, 读取完毕后关闭响应
+     *
+     * @param begin 发送请求的时间, 用于记录耗时
+     */
+    static ResponsePayload readResponse(Config context, HttpResponse response, String action, ObjectReader resultReader,
+                                        boolean logPayload, RequestEntity requestEntity, CallMetrics metrics,
+                                        long begin) throws IOException {
+        long readBegin = System.nanoTime();
+        CountingInputStream body = new CountingInputStream(response.getBody());
+        ResponsePayload responsePayload;
+        String rsp = null;
+        try {
+            if (logPayload || response.getStatusCode() >= 400) {
+                rsp = getResponseAsString(response, body);
+                responsePayload = ResponseDecoder.decode(rsp, resultReader);
+            } else {
+                responsePayload = decode(response, body, resultReader);
+            }
+        } finally {
+            response.close();
+        }
+        if (metrics != null) {
+            metrics.addNanos(Phase.DESERIALIZE, System.nanoTime() - readBegin);
+            metrics.setResponseBytes(body.count);
+        }
+        if (LogUtils.isInfoEnabled(context)) {
+            long elapsed = System.currentTimeMillis() - begin;
+            if (logPayload) {
+                LogUtils.info(context, "response: {}", LogUtils.payload(context, rsp));
+                LogUtils.info(context, "ELEBEG*************************************************************************");
+                LogUtils.info(context, "ELE* 饿了么外卖接口调用 URL: {}   Action:{} Res time:{}ms", context.getApiUrl(), action, elapsed);
+                LogUtils.info(context, "ELE* 请求:{}", LogUtils.payload(context, ((ByteArrayEntity) requestEntity).getContent()));
+                LogUtils.info(context, "ELE* 响应:{}", LogUtils.payload(context, rsp));
+                LogUtils.info(context, "ELEEND*************************************************************************");
+            } else {
+                LogUtils.info(context, "ELE* 饿了么外卖接口调用 URL: {}   Action:{} Res time:{}ms", context.getApiUrl(), action, elapsed);
+            }
+        }
+        return responsePayload;
+    }
+
+    /**
+     * 发送请求并读取响应头, 流式请求体在此期间编码, 其签名和序列化耗时已由RequestEncoder记录, 从网络耗时中扣除
+     */
+    private static HttpResponse execute(Config context, RequestEntity requestEntity, String rid, CallMetrics metrics,
+                                        Timeouts timeouts, long deadline) throws IOException {
+        if (metrics == null) {
+            return execute(context, context.getApiUrl(), "application/json; charset=utf-8", requestEntity, rid,
+                    timeouts.getConnectTimeout(), timeouts.getReadTimeout(), deadline, null);
+        }
+        long encodeBefore = metrics.getNanos(Phase.SIGN) + metrics.getNanos(Phase.SERIALIZE);
+        long begin = System.nanoTime();
+        HttpResponse response = execute(context, context.getApiUrl(), "application/json; charset=utf-8", requestEntity, rid,
+                timeouts.getConnectTimeout(), timeouts.getReadTimeout(), deadline, null);
+        long elapsed = System.nanoTime() - begin;
+        long encoded = metrics.getNanos(Phase.SIGN) + metrics.getNanos(Phase.SERIALIZE) - encodeBefore;
+        metrics.addNanos(Phase.CONNECT, response.getConnectNanos());
+        metrics.addNanos(Phase.NETWORK, elapsed - response.getConnectNanos() - encoded);
+        return response;
+    }
+
+    private static ResponsePayload decode(HttpResponse response, InputStream body, ObjectReader resultReader) throws IOException {
+        if ("gzip".equals(response.getContentEncoding())) {
+            body = new GZIPInputStream(body);
+        }
+        String charset = getResponseCharset(response.getContentType());
+        if (DEFAULT_CHARSET.equalsIgnoreCase(charset)) {
+            return ResponseDecoder.decode(body, resultReader);
+        }
+        return ResponseDecoder.decode(new InputStreamReader(body, charset), resultReader);
+    }
+
+    /**
+     * 未知错误码按服务端异常处理, 可重试
+     */
+    static boolean isServerError(ResponsePayload responsePayload) {
+        return responsePayload != null && responsePayload.getError() != null && toException(responsePayload.getError()) == null;
     }
 
-    private static ServiceException toException(ErrorPayload error) throws ServiceException {
+    static ServiceException toException(ErrorPayload error) {
         String code = error.getCode();
         if(StringUtils.isEmpty(code)) return null;
         String message = error.getMessage();
@@ -319,15 +592,39 @@ public abstract class WebUtils {
         return null;
     }
 
-    private static void setLogInfo(Config context, String msg) {
-        if (null != context.getElemeSdkLogger()) {
-            context.getElemeSdkLogger().info(msg);
+    /**
+     * 统计读取的字节数
+     */
+    private static class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
         }
-    }
 
-    private static void setLogError(Config context, String msg) {
-        if (null != context.getElemeSdkLogger()) {
-            context.getElemeSdkLogger().error(msg);
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
         }
     }
 }
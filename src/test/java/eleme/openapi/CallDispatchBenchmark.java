@@ -0,0 +1,101 @@
+package eleme.openapi;
+
+import eleme.openapi.sdk.api.annotation.Service;
+import eleme.openapi.sdk.api.base.BaseNopService;
+import eleme.openapi.sdk.api.base.CallDescriptor;
+import eleme.openapi.sdk.api.entity.order.OOrder;
+import eleme.openapi.sdk.api.exception.ServiceException;
+import eleme.openapi.sdk.config.Config;
+import eleme.openapi.sdk.http.HttpRequest;
+import eleme.openapi.sdk.http.HttpResponse;
+import eleme.openapi.sdk.http.HttpTransport;
+import eleme.openapi.sdk.oauth.response.Token;
+
+import java.io.ByteArrayInputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 对比通过调用栈查找服务方法与使用CallDescriptor的单次调用开销
+ * 使用内存中的HttpTransport返回固定响应, 不发起网络请求
+ */
+public class CallDispatchBenchmark {
+    private static final int WARMUP = 20000;
+    private static final int ITERATIONS = 200000;
+
+    @Service("eleme.order")
+    public static class BenchOrderService extends BaseNopService {
+        private static final CallDescriptor GET_ORDER = CallDescriptor.of(BenchOrderService.class, "getOrder", "eleme.order.getOrder");
+
+        public BenchOrderService(Config config, Token token) {
+            super(config, token, BenchOrderService.class);
+        }
+
+        public OOrder getOrder(String orderId) throws ServiceException {
+            Map<String, Object> params = new HashMap<String, Object>();
+            params.put("orderId", orderId);
+            return call(GET_ORDER, params);
+        }
+
+        @SuppressWarnings("deprecation")
+        public OOrder getOrderByStackTrace(String orderId) throws ServiceException {
+            Map<String, Object> params = new HashMap<String, Object>();
+            params.put("orderId", orderId);
+            return call("eleme.order.getOrder", params);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        final byte[] response = "{\"id\":\"1\",\"result\":{\"id\":\"1200897812792016668\",\"shopId\":150128203,\"totalPrice\":39.7},\"error\":null}".getBytes("UTF-8");
+        Config config = new Config(true, "app key", "app secret");
+        config.setHttpTransport(new HttpTransport() {
+            public HttpResponse execute(HttpRequest request) {
+                Map<String, String> headers = new HashMap<String, String>();
+                headers.put("content-type", "application/json; charset=utf-8");
+                return new HttpResponse(200, "OK", headers, new ByteArrayInputStream(response));
+            }
+
+            public void shutdown() {
+            }
+        });
+        Token token = new Token();
+        token.setAccessToken("token");
+        final BenchOrderService service = new BenchOrderService(config, token);
+
+        Runnable byDescriptor = new Runnable() {
+            public void run() {
+                try {
+                    service.getOrder("1200897812792016668");
+                } catch (ServiceException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        };
+        Runnable byStackTrace = new Runnable() {
+            public void run() {
+                try {
+                    service.getOrderByStackTrace("1200897812792016668");
+                } catch (ServiceException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        };
+
+        for (int round = 0; round < 3; round++) {
+            System.out.println("round " + round);
+            System.out.println("  stack trace    : " + measure(byStackTrace) + " ns/op");
+            System.out.println("  CallDescriptor : " + measure(byDescriptor) + " ns/op");
+        }
+    }
+
+    private static long measure(Runnable task) {
+        for (int i = 0; i < WARMUP; i++) {
+            task.run();
+        }
+        long begin = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            task.run();
+        }
+        return (System.nanoTime() - begin) / ITERATIONS;
+    }
+}
@@ -0,0 +1,138 @@
+package eleme.openapi;
+
+import eleme.openapi.sdk.api.exception.CircuitOpenException;
+import eleme.openapi.sdk.isolation.CircuitBreaker;
+import eleme.openapi.sdk.isolation.CircuitBreaker.State;
+import eleme.openapi.sdk.isolation.ServiceIsolation;
+
+/**
+ * ServiceIsolation熔断器的状态切换自检: CLOSED→OPEN→HALF_OPEN→CLOSED/OPEN、探测名额归还、慢调用计为失败,
+ * 以及打开前放行的请求在半开状态返回时不计入, 失败时抛出IllegalStateException
+ */
+public class CircuitBreakerCheck {
+    private static final String SERVICE = "eleme.check";
+    private static final long OPEN_MILLIS = 100;
+
+    public static void main(String[] args) throws Exception {
+        closedToOpen();
+        halfOpenToClosed();
+        halfOpenToOpen();
+        skippedProbe();
+        staleResults();
+        slowCalls();
+        System.out.println("CircuitBreaker checks passed");
+    }
+
+    private static void closedToOpen() throws CircuitOpenException {
+        ServiceIsolation isolation = isolation();
+        for (int i = 0; i < 3; i++) {
+            isolation.onResult(isolation.check(SERVICE), false, 0);
+        }
+        isolation.onResult(isolation.check(SERVICE), true, 0);
+        check(state(isolation) == State.CLOSED, "failure rate below threshold keeps CLOSED");
+        isolation.onResult(isolation.check(SERVICE), true, 0);
+        check(state(isolation) == State.OPEN, "failure rate at threshold opens");
+        check(rejected(isolation), "OPEN rejects calls");
+    }
+
+    private static void halfOpenToClosed() throws Exception {
+        ServiceIsolation isolation = isolation();
+        trip(isolation);
+        Thread.sleep(OPEN_MILLIS + 50);
+        CircuitBreaker.Permit probe = isolation.check(SERVICE);
+        check(state(isolation) == State.HALF_OPEN, "OPEN turns HALF_OPEN after openMillis");
+        check(rejected(isolation), "HALF_OPEN admits a single probe");
+        isolation.onResult(probe, false, 0);
+        check(state(isolation) == State.CLOSED, "successful probe closes");
+        for (int i = 0; i < 3; i++) {
+            isolation.onResult(isolation.check(SERVICE), true, 0);
+        }
+        check(state(isolation) == State.CLOSED, "window is reset after closing");
+    }
+
+    private static void halfOpenToOpen() throws Exception {
+        ServiceIsolation isolation = isolation();
+        trip(isolation);
+        Thread.sleep(OPEN_MILLIS + 50);
+        isolation.onResult(isolation.check(SERVICE), true, 0);
+        check(state(isolation) == State.OPEN, "failed probe reopens");
+        check(rejected(isolation), "reopened breaker waits openMillis again");
+    }
+
+    private static void skippedProbe() throws Exception {
+        ServiceIsolation isolation = isolation();
+        trip(isolation);
+        Thread.sleep(OPEN_MILLIS + 50);
+        isolation.onSkipped(isolation.check(SERVICE));
+        check(state(isolation) == State.HALF_OPEN, "skipped probe keeps HALF_OPEN");
+        check(isolation.check(SERVICE) != null, "skipped probe returns its permit");
+    }
+
+    /**
+     * 打开前放行的慢请求在半开状态返回, 不能替探测请求关闭或重新打开熔断器
+     */
+    private static void staleResults() throws Exception {
+        ServiceIsolation isolation = isolation();
+        CircuitBreaker.Permit slowSuccess = isolation.check(SERVICE);
+        CircuitBreaker.Permit slowFailure = isolation.check(SERVICE);
+        CircuitBreaker.Permit slowSkipped = isolation.check(SERVICE);
+        trip(isolation);
+        Thread.sleep(OPEN_MILLIS + 50);
+        CircuitBreaker.Permit probe = isolation.check(SERVICE);
+
+        isolation.onResult(slowSuccess, false, 0);
+        check(state(isolation) == State.HALF_OPEN, "stale success does not close");
+        isolation.onResult(slowFailure, true, 0);
+        check(state(isolation) == State.HALF_OPEN, "stale failure does not reopen");
+        isolation.onSkipped(slowSkipped);
+        check(rejected(isolation), "stale skip does not add a probe permit");
+
+        isolation.onResult(probe, false, 0);
+        check(state(isolation) == State.CLOSED, "probe result still decides");
+    }
+
+    private static void slowCalls() throws CircuitOpenException {
+        ServiceIsolation isolation = isolation();
+        isolation.setSlowCallMillis(50);
+        for (int i = 0; i < 4; i++) {
+            isolation.onResult(isolation.check(SERVICE), false, 100);
+        }
+        check(state(isolation) == State.OPEN, "slow calls count as failures");
+    }
+
+    /**
+     * 最近4次请求中失败不少于一半时打开
+     */
+    private static ServiceIsolation isolation() {
+        ServiceIsolation isolation = new ServiceIsolation();
+        isolation.setCircuitBreaker(SERVICE, 0.5, 4, 4, OPEN_MILLIS);
+        return isolation;
+    }
+
+    private static void trip(ServiceIsolation isolation) throws CircuitOpenException {
+        for (int i = 0; i < 4; i++) {
+            isolation.onResult(isolation.check(SERVICE), true, 0);
+        }
+        check(state(isolation) == State.OPEN, "tripped");
+    }
+
+    private static boolean rejected(ServiceIsolation isolation) {
+        try {
+            isolation.check(SERVICE);
+            return false;
+        } catch (CircuitOpenException e) {
+            return true;
+        }
+    }
+
+    private static State state(ServiceIsolation isolation) {
+        return isolation.getCircuitBreaker(SERVICE).getState();
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalStateException("check failed: " + message);
+        }
+        System.out.println("ok: " + message);
+    }
+}
@@ -0,0 +1,181 @@
+package eleme.openapi;
+
+import eleme.openapi.sdk.oauth.response.Token;
+import eleme.openapi.sdk.oauth.token.FileTokenStore;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * FileTokenStore的重放、不完整记录、压缩及压缩中断后恢复的自检, 失败时抛出IllegalStateException
+ */
+public class FileTokenStoreCheck {
+
+    public static void main(String[] args) throws Exception {
+        File dir = File.createTempFile("token-store", "");
+        if (!dir.delete() || !dir.mkdir()) {
+            throw new IOException("cannot create " + dir);
+        }
+        try {
+            replay(new File(dir, "replay.log"));
+            tornLine(new File(dir, "torn.log"));
+            compaction(new File(dir, "compact.log"));
+            recoverFromTmp(new File(dir, "tmp.log"));
+            recoverFromBak(new File(dir, "bak.log"));
+            discardPartialTmp(new File(dir, "partial.log"));
+            System.out.println("FileTokenStore checks passed");
+        } finally {
+            File[] files = dir.listFiles();
+            if (files != null) {
+                for (File file : files) {
+                    file.delete();
+                }
+            }
+            dir.delete();
+        }
+    }
+
+    private static void replay(File file) throws IOException {
+        long expiresAt = System.currentTimeMillis() + 3600 * 1000L;
+        FileTokenStore store = new FileTokenStore(file);
+        store.put("a", token("a1"), expiresAt);
+        store.put("b", token("b1"));
+        store.put("a", token("a2"), expiresAt);
+        store.remove("b");
+        store.close();
+
+        FileTokenStore reloaded = new FileTokenStore(file);
+        check(reloaded.size() == 1, "replay keeps only live tenants");
+        check("a2".equals(reloaded.get("a").getAccessToken()), "replay keeps the last token");
+        check(reloaded.getEntry("a").getExpiresAt() == expiresAt, "replay keeps expiresAt");
+        check(reloaded.get("b") == null, "replay applies removals");
+        reloaded.close();
+    }
+
+    private static void tornLine(File file) throws IOException {
+        FileTokenStore store = new FileTokenStore(file);
+        store.put("a", token("a1"));
+        store.close();
+        append(file, "{\"tenant\":\"a\",\"accessToken\":\"a2");
+
+        FileTokenStore reloaded = new FileTokenStore(file);
+        check("a1".equals(reloaded.get("a").getAccessToken()), "torn last line is ignored");
+        reloaded.put("b", token("b1"));
+        reloaded.close();
+
+        FileTokenStore again = new FileTokenStore(file);
+        check("b1".equals(again.get("b").getAccessToken()), "record after a torn line is readable");
+        again.close();
+    }
+
+    private static void compaction(File file) throws IOException {
+        FileTokenStore store = new FileTokenStore(file);
+        store.setCompactThreshold(10);
+        for (int i = 0; i < 100; i++) {
+            store.put("t" + (i % 3), token("v" + i));
+        }
+        check(lines(file) < 20, "log is compacted after the threshold");
+        store.close();
+
+        FileTokenStore reloaded = new FileTokenStore(file);
+        check(reloaded.size() == 3, "compacted log keeps all tenants");
+        check("v99".equals(reloaded.get("t0").getAccessToken()), "compacted log keeps the latest token");
+        reloaded.close();
+        check(!new File(file.getPath() + ".tmp").exists() && !new File(file.getPath() + ".bak").exists(),
+                "no leftovers after compaction");
+    }
+
+    /**
+     * 模拟原文件改名为.bak后、.tmp改名前进程退出
+     */
+    private static void recoverFromTmp(File file) throws IOException {
+        FileTokenStore store = new FileTokenStore(file);
+        store.put("a", token("old"));
+        store.close();
+        File bak = new File(file.getPath() + ".bak");
+        check(file.renameTo(bak), "rename to .bak");
+        FileTokenStore compacted = new FileTokenStore(new File(file.getPath() + ".tmp"));
+        compacted.put("a", token("new"));
+        compacted.close();
+
+        FileTokenStore recovered = new FileTokenStore(file);
+        check("new".equals(recovered.get("a").getAccessToken()), "recovers from a complete .tmp");
+        recovered.close();
+        check(!bak.exists(), ".bak is removed after recovery");
+    }
+
+    /**
+     * 模拟.tmp改名失败且未能改回原文件
+     */
+    private static void recoverFromBak(File file) throws IOException {
+        FileTokenStore store = new FileTokenStore(file);
+        store.put("a", token("kept"));
+        store.close();
+        check(file.renameTo(new File(file.getPath() + ".bak")), "rename to .bak");
+
+        FileTokenStore recovered = new FileTokenStore(file);
+        check("kept".equals(recovered.get("a").getAccessToken()), "recovers from .bak");
+        recovered.close();
+    }
+
+    /**
+     * 模拟写入.tmp的过程中进程退出, 原文件仍然完整
+     */
+    private static void discardPartialTmp(File file) throws IOException {
+        FileTokenStore store = new FileTokenStore(file);
+        store.put("a", token("a1"));
+        store.close();
+        File tmp = new File(file.getPath() + ".tmp");
+        append(tmp, "{\"tenant\":\"a\",\"accessToken\":\"partial");
+
+        FileTokenStore reloaded = new FileTokenStore(file);
+        check("a1".equals(reloaded.get("a").getAccessToken()), "partial .tmp is ignored");
+        reloaded.close();
+        check(!tmp.exists(), "partial .tmp is removed");
+    }
+
+    private static Token token(String accessToken) {
+        Token token = new Token();
+        token.setAccessToken(accessToken);
+        token.setTokenType("Bearer");
+        token.setExpires(86400);
+        token.setRefreshToken("refresh-" + accessToken);
+        return token;
+    }
+
+    private static void append(File file, String content) throws IOException {
+        OutputStream out = new FileOutputStream(file, true);
+        try {
+            out.write(content.getBytes("UTF-8"));
+        } finally {
+            out.close();
+        }
+    }
+
+    private static int lines(File file) throws IOException {
+        InputStream in = new FileInputStream(file);
+        try {
+            int lines = 0;
+            int b;
+            while ((b = in.read()) != -1) {
+                if (b == '\n') {
+                    lines++;
+                }
+            }
+            return lines;
+        } finally {
+            in.close();
+        }
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalStateException("check failed: " + message);
+        }
+        System.out.println("ok: " + message);
+    }
+}
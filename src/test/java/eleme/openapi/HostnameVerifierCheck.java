@@ -0,0 +1,161 @@
+package eleme.openapi;
+
+import eleme.openapi.sdk.http.TlsConfig;
+
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.SSLSession;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.security.KeyStore;
+import java.security.cert.Certificate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 默认主机名校验的自检: 通配符层级、IP地址subjectAltName(含IPv6)和CN回退, 证书由keytool临时生成,
+ * 失败时抛出IllegalStateException
+ */
+public class HostnameVerifierCheck {
+    private static final String PASSWORD = "changeit";
+
+    public static void main(String[] args) throws Exception {
+        File keyStore = File.createTempFile("hostname-check", ".jks");
+        if (!keyStore.delete()) {
+            throw new IOException("cannot delete " + keyStore);
+        }
+        try {
+            generate(keyStore, "wildcard", "CN=wildcard", "SAN=dns:*.a.com,dns:*.com");
+            generate(keyStore, "ip", "CN=ip-only", "SAN=ip:127.0.0.1,ip:::1");
+            generate(keyStore, "cn", "O=x\\,CN=evil.com, CN=good.a.com", null);
+            generate(keyStore, "cn-wildcard", "CN=*.cn.com", null);
+            generate(keyStore, "san-over-cn", "CN=cn.a.com", "SAN=dns:san.a.com");
+            KeyStore store = load(keyStore);
+            HostnameVerifier verifier = new TlsConfig().getHostnameVerifier();
+
+            wildcard(verifier, session(store, "wildcard"));
+            ipAddress(verifier, session(store, "ip"));
+            commonName(verifier, session(store, "cn"), session(store, "cn-wildcard"), session(store, "san-over-cn"));
+            System.out.println("hostname verifier checks passed");
+        } finally {
+            keyStore.delete();
+        }
+    }
+
+    private static void wildcard(HostnameVerifier verifier, SSLSession session) {
+        check(verifier.verify("b.a.com", session), "*.a.com matches b.a.com");
+        check(verifier.verify("B.A.Com", session), "matching ignores case");
+        check(!verifier.verify("b.c.a.com", session), "*.a.com does not match b.c.a.com");
+        check(!verifier.verify("a.com", session), "*.a.com does not match a.com");
+        check(!verifier.verify("x.com", session), "*.com matches nothing");
+        check(!verifier.verify("b.a.com.evil.com", session), "suffix must match exactly");
+    }
+
+    private static void ipAddress(HostnameVerifier verifier, SSLSession session) {
+        check(verifier.verify("127.0.0.1", session), "IPv4 SAN");
+        check(verifier.verify("[::1]", session), "bracketed IPv6 host matches IPv6 SAN");
+        check(verifier.verify("::1", session), "IPv6 host matches IPv6 SAN");
+        check(verifier.verify("[0:0:0:0:0:0:0:1]", session), "IPv6 is compared by address, not text");
+        check(!verifier.verify("127.0.0.2", session), "other IPv4 does not match");
+        check(!verifier.verify("[::2]", session), "other IPv6 does not match");
+        check(!verifier.verify("localhost", session), "host name does not match IP SANs");
+    }
+
+    private static void commonName(HostnameVerifier verifier, SSLSession escaped, SSLSession wildcard,
+                                   SSLSession sanOverCn) {
+        check(verifier.verify("good.a.com", escaped), "CN fallback without SAN");
+        check(!verifier.verify("evil.com", escaped), "escaped comma does not start a CN");
+        check(verifier.verify("x.cn.com", wildcard), "wildcard CN fallback");
+        check(!verifier.verify("y.x.cn.com", wildcard), "wildcard CN matches one label only");
+        check(!verifier.verify("127.0.0.1", wildcard), "IP host never falls back to CN");
+        check(verifier.verify("san.a.com", sanOverCn), "DNS SAN matches");
+        check(!verifier.verify("cn.a.com", sanOverCn), "CN is ignored when DNS SANs are present");
+    }
+
+    private static void generate(File keyStore, String alias, String dname, String ext)
+            throws IOException, InterruptedException {
+        List<String> command = new ArrayList<String>();
+        command.add(new File(new File(System.getProperty("java.home"), "bin"), "keytool").getPath());
+        command.add("-genkeypair");
+        command.add("-alias");
+        command.add(alias);
+        command.add("-keyalg");
+        command.add("RSA");
+        command.add("-keysize");
+        command.add("2048");
+        command.add("-validity");
+        command.add("2");
+        command.add("-dname");
+        command.add(dname);
+        if (ext != null) {
+            command.add("-ext");
+            command.add(ext);
+        }
+        command.add("-storetype");
+        command.add("JKS");
+        command.add("-keystore");
+        command.add(keyStore.getPath());
+        command.add("-storepass");
+        command.add(PASSWORD);
+        command.add("-keypass");
+        command.add(PASSWORD);
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        String output = readAll(process.getInputStream());
+        if (process.waitFor() != 0) {
+            throw new IOException("keytool failed for " + alias + ": " + output);
+        }
+    }
+
+    private static KeyStore load(File file) throws Exception {
+        KeyStore store = KeyStore.getInstance("JKS");
+        InputStream in = new FileInputStream(file);
+        try {
+            store.load(in, PASSWORD.toCharArray());
+        } finally {
+            in.close();
+        }
+        return store;
+    }
+
+    /**
+     * 只提供对端证书的SSLSession
+     */
+    private static SSLSession session(KeyStore store, String alias) throws Exception {
+        final Certificate[] certificates = new Certificate[]{store.getCertificate(alias)};
+        return (SSLSession) Proxy.newProxyInstance(HostnameVerifierCheck.class.getClassLoader(),
+                new Class<?>[]{SSLSession.class}, new InvocationHandler() {
+                    public Object invoke(Object proxy, Method method, Object[] args) {
+                        if (method.getName().equals("getPeerCertificates")) {
+                            return certificates.clone();
+                        }
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    private static String readAll(InputStream in) throws IOException {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[1024];
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+            }
+            return out.toString();
+        } finally {
+            in.close();
+        }
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalStateException("check failed: " + message);
+        }
+        System.out.println("ok: " + message);
+    }
+}
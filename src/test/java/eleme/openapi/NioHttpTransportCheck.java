@@ -0,0 +1,531 @@
+package eleme.openapi;
+
+import eleme.openapi.sdk.api.async.OrderServiceAsync;
+import eleme.openapi.sdk.api.async.ServiceCallback;
+import eleme.openapi.sdk.api.async.ServiceFuture;
+import eleme.openapi.sdk.api.entity.order.OOrder;
+import eleme.openapi.sdk.api.exception.ServiceException;
+import eleme.openapi.sdk.api.exception.SourceTimeoutException;
+import eleme.openapi.sdk.api.exception.ValidationFailedException;
+import eleme.openapi.sdk.config.Config;
+import eleme.openapi.sdk.config.TimeoutConfig;
+import eleme.openapi.sdk.config.Timeouts;
+import eleme.openapi.sdk.http.HttpRequest;
+import eleme.openapi.sdk.http.HttpResponse;
+import eleme.openapi.sdk.http.HttpResponseHandler;
+import eleme.openapi.sdk.http.NioHttpTransport;
+import eleme.openapi.sdk.http.RequestEntity;
+import eleme.openapi.sdk.http.TlsConfig;
+import eleme.openapi.sdk.oauth.response.Token;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * NioHttpTransport和异步接口调用对本地ServerSocket的自检: 三种响应体分帧、流式请求体、服务端关闭空闲连接、
+ * 读取超时、截止时间和大响应的流控, 失败时抛出IllegalStateException
+ */
+public class NioHttpTransportCheck {
+    private static final int LARGE_BODY_SIZE = 4 * 1024 * 1024;
+    private static final Pattern ID = Pattern.compile("\"id\":\"([^\"]*)\"");
+    private static final Pattern ACTION = Pattern.compile("\"action\":\"([^\"]*)\"");
+    private static final Pattern ORDER_ID = Pattern.compile("\"orderId\":\"([^\"]*)\"");
+
+    public static void main(String[] args) throws Exception {
+        LocalServer server = new LocalServer();
+        NioHttpTransport transport = new NioHttpTransport(4, 30000, new TlsConfig());
+        try {
+            contentLength(server, transport);
+            chunked(server, transport);
+            closeDelimited(server, transport);
+            streamedRequest(server, transport);
+            serverClosesIdleConnection(server, transport);
+            serverDropsNextRequest(server, transport);
+            readTimeout(server, transport);
+            deadline(server, transport);
+            largeBody(server, transport);
+            asyncCallback(server, transport);
+            asyncCall(server);
+            System.out.println("NioHttpTransport checks passed");
+        } finally {
+            transport.shutdown();
+            server.close();
+        }
+    }
+
+    private static void contentLength(LocalServer server, NioHttpTransport transport) throws IOException {
+        check("hello".equals(post(transport, server.url("/length"), "hello")), "Content-Length body");
+        int accepted = server.accepted.get();
+        check("again".equals(post(transport, server.url("/length"), "again")), "second Content-Length body");
+        check(server.accepted.get() == accepted, "kept-alive connection is reused");
+    }
+
+    private static void chunked(LocalServer server, NioHttpTransport transport) throws IOException {
+        check("chunked body".equals(post(transport, server.url("/chunked"), "chunked body")), "chunked body");
+        int accepted = server.accepted.get();
+        check("after chunked".equals(post(transport, server.url("/length"), "after chunked")),
+                "request after a chunked body");
+        check(server.accepted.get() == accepted, "connection is reused after a chunked body");
+    }
+
+    private static void closeDelimited(LocalServer server, NioHttpTransport transport) throws IOException {
+        check("until close".equals(post(transport, server.url("/close"), "until close")), "close-delimited body");
+        int accepted = server.accepted.get();
+        check("next".equals(post(transport, server.url("/length"), "next")), "request after a close-delimited body");
+        check(server.accepted.get() == accepted + 1, "close-delimited connection is not reused");
+    }
+
+    private static void streamedRequest(LocalServer server, NioHttpTransport transport) throws IOException {
+        final byte[] block = new byte[10000];
+        for (int i = 0; i < block.length; i++) {
+            block[i] = (byte) ('a' + i % 26);
+        }
+        HttpRequest request = new HttpRequest(server.url("/length"));
+        request.setEntity(new RequestEntity() {
+            public long getContentLength() {
+                return -1;
+            }
+
+            public void writeTo(OutputStream out) throws IOException {
+                for (int i = 0; i < 10; i++) {
+                    out.write(block);
+                }
+            }
+        });
+        request.setReadTimeout(5000);
+        String body = read(transport.execute(request));
+        check(body.length() == 100000 && body.startsWith("abc"), "entity of unknown length is sent chunked");
+    }
+
+    private static void serverClosesIdleConnection(LocalServer server, NioHttpTransport transport)
+            throws IOException, InterruptedException {
+        check("idle".equals(post(transport, server.url("/idle-close"), "idle")), "response before idle close");
+        Thread.sleep(300);
+        int accepted = server.accepted.get();
+        check("fresh".equals(post(transport, server.url("/length"), "fresh")),
+                "request after the server closed the idle connection");
+        check(server.accepted.get() == accepted + 1, "closed idle connection is replaced");
+    }
+
+    /**
+     * 服务端读完复用连接上的下一个请求后直接关闭, 请求已发出但未收到任何响应, 换新连接重试
+     */
+    private static void serverDropsNextRequest(LocalServer server, NioHttpTransport transport) throws IOException {
+        check("drop".equals(post(transport, server.url("/drop-next"), "drop")), "response before the dropped request");
+        int accepted = server.accepted.get();
+        check("retried".equals(post(transport, server.url("/length"), "retried")),
+                "request dropped on a reused connection is retried");
+        check(server.accepted.get() == accepted + 1, "retry uses a new connection");
+    }
+
+    private static void readTimeout(LocalServer server, NioHttpTransport transport) throws IOException {
+        HttpRequest request = request(server.url("/slow"), "slow");
+        request.setReadTimeout(300);
+        long begin = System.currentTimeMillis();
+        try {
+            read(transport.execute(request));
+            check(false, "read timeout");
+        } catch (SocketTimeoutException e) {
+            long elapsed = System.currentTimeMillis() - begin;
+            check(elapsed >= 250 && elapsed < 2000, "read timeout after " + elapsed + "ms");
+        }
+    }
+
+    private static void deadline(LocalServer server, NioHttpTransport transport) throws IOException {
+        HttpRequest request = request(server.url("/slow"), "slow");
+        request.setReadTimeout(10000);
+        long begin = System.currentTimeMillis();
+        request.setDeadline(begin + 300);
+        try {
+            read(transport.execute(request));
+            check(false, "deadline expiry");
+        } catch (SocketTimeoutException e) {
+            long elapsed = System.currentTimeMillis() - begin;
+            check(elapsed >= 250 && elapsed < 2000, "deadline expiry after " + elapsed + "ms");
+        }
+
+        HttpRequest expired = request(server.url("/length"), "late");
+        expired.setDeadline(System.currentTimeMillis() - 1);
+        int accepted = server.accepted.get();
+        try {
+            read(transport.execute(expired));
+            check(false, "expired deadline");
+        } catch (SocketTimeoutException e) {
+            check(server.accepted.get() == accepted, "expired deadline fails without connecting");
+        }
+    }
+
+    /**
+     * 读取方慢于服务端时I/O线程暂停读取, 响应体仍完整到达
+     */
+    private static void largeBody(LocalServer server, NioHttpTransport transport)
+            throws IOException, InterruptedException {
+        HttpResponse response = transport.execute(request(server.url("/large"), ""));
+        InputStream body = response.getBody();
+        try {
+            byte[] buffer = new byte[8192];
+            long total = 0;
+            boolean intact = true;
+            int n;
+            while ((n = body.read(buffer)) != -1) {
+                for (int i = 0; i < n; i++) {
+                    intact &= buffer[i] == (byte) ((total + i) % 251);
+                }
+                total += n;
+                if (total < 512 * 1024) {
+                    Thread.sleep(1);
+                }
+            }
+            check(total == LARGE_BODY_SIZE && intact, "large body arrives intact under back-pressure");
+        } finally {
+            response.close();
+        }
+        check("small".equals(post(transport, server.url("/length"), "small")), "request after a large body");
+    }
+
+    /**
+     * 回调在I/O线程中执行, 响应体交给其他线程读取
+     */
+    private static void asyncCallback(LocalServer server, NioHttpTransport transport) throws InterruptedException {
+        final int calls = 50;
+        final CountDownLatch done = new CountDownLatch(calls);
+        final AtomicInteger matched = new AtomicInteger();
+        for (int i = 0; i < calls; i++) {
+            final String content = "async-" + i;
+            transport.executeAsync(request(server.url(i % 2 == 0 ? "/length" : "/chunked"), content),
+                    new HttpResponseHandler() {
+                        public void completed(final HttpResponse response) {
+                            new Thread(new Runnable() {
+                                public void run() {
+                                    try {
+                                        if (content.equals(read(response))) {
+                                            matched.incrementAndGet();
+                                        }
+                                    } catch (IOException ignored) {
+                                    } finally {
+                                        done.countDown();
+                                    }
+                                }
+                            }).start();
+                        }
+
+                        public void failed(IOException cause) {
+                            done.countDown();
+                        }
+                    });
+        }
+        check(done.await(10, TimeUnit.SECONDS) && matched.get() == calls, "concurrent async calls");
+    }
+
+    private static void asyncCall(LocalServer server) throws Exception {
+        Config config = new Config(true, "key", "secret");
+        config.setApiUrl(server.url("/api/v1/"));
+        TimeoutConfig timeoutConfig = new TimeoutConfig();
+        timeoutConfig.setAction("eleme.order.getDeliveryFeeForCrowd", new Timeouts(1000, 10000, 300));
+        config.setTimeoutConfig(timeoutConfig);
+        Token token = new Token();
+        token.setAccessToken("token");
+        OrderServiceAsync service = new OrderServiceAsync(config, token);
+        try {
+            List<ServiceFuture<OOrder>> futures =
+                    new ArrayList<ServiceFuture<OOrder>>();
+            for (int i = 0; i < 20; i++) {
+                futures.add(service.getOrder("o" + i));
+            }
+            boolean ok = true;
+            for (int i = 0; i < futures.size(); i++) {
+                ok &= ("o" + i).equals(futures.get(i).getResult().getId());
+            }
+            check(ok, "async service calls");
+
+            final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+            final CountDownLatch done = new CountDownLatch(1);
+            service.getOrder("bad").addCallback(new ServiceCallback<OOrder>() {
+                public void onSuccess(OOrder result) {
+                    done.countDown();
+                }
+
+                public void onFailure(Throwable cause) {
+                    failure.set(cause);
+                    done.countDown();
+                }
+            });
+            check(done.await(5, TimeUnit.SECONDS) && failure.get() instanceof ValidationFailedException,
+                    "async error response");
+
+            long begin = System.currentTimeMillis();
+            try {
+                service.getDeliveryFeeForCrowd("slow").get();
+                check(false, "async deadline");
+            } catch (ExecutionException e) {
+                long elapsed = System.currentTimeMillis() - begin;
+                check(e.getCause() instanceof SourceTimeoutException && elapsed < 2000,
+                        "async deadline expiry after " + elapsed + "ms");
+            }
+        } catch (ServiceException e) {
+            throw new IllegalStateException("check failed: " + e, e);
+        } finally {
+            config.close();
+        }
+    }
+
+    private static HttpRequest request(String url, String content) {
+        HttpRequest request = new HttpRequest(url);
+        try {
+            request.setContent(content.getBytes("UTF-8"));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        request.setConnectTimeout(1000);
+        request.setReadTimeout(5000);
+        return request;
+    }
+
+    private static String post(NioHttpTransport transport, String url, String content) throws IOException {
+        return read(transport.execute(request(url, content)));
+    }
+
+    private static String read(HttpResponse response) throws IOException {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            InputStream body = response.getBody();
+            byte[] buffer = new byte[4096];
+            int n;
+            while ((n = body.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+            }
+            return out.toString("UTF-8");
+        } finally {
+            response.close();
+        }
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalStateException("check failed: " + message);
+        }
+        System.out.println("ok: " + message);
+    }
+
+    /**
+     * 按路径决定响应方式的HTTP/1.1服务端, 每个连接一个线程
+     */
+    private static class LocalServer implements Runnable {
+        final AtomicInteger accepted = new AtomicInteger();
+        private final ServerSocket serverSocket;
+
+        LocalServer() throws IOException {
+            serverSocket = new ServerSocket(0, 100, InetAddress.getByName("127.0.0.1"));
+            start(this);
+        }
+
+        String url(String path) {
+            return "http://127.0.0.1:" + serverSocket.getLocalPort() + path;
+        }
+
+        void close() throws IOException {
+            serverSocket.close();
+        }
+
+        public void run() {
+            while (true) {
+                final Socket socket;
+                try {
+                    socket = serverSocket.accept();
+                } catch (IOException e) {
+                    return;
+                }
+                accepted.incrementAndGet();
+                start(new Runnable() {
+                    public void run() {
+                        try {
+                            serve(socket);
+                        } catch (Exception ignored) {
+                        } finally {
+                            try {
+                                socket.close();
+                            } catch (IOException ignored) {
+                            }
+                        }
+                    }
+                });
+            }
+        }
+
+        private static void start(Runnable task) {
+            Thread thread = new Thread(task);
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        private void serve(Socket socket) throws Exception {
+            InputStream in = new BufferedInputStream(socket.getInputStream());
+            OutputStream out = socket.getOutputStream();
+            boolean drop = false;
+            while (true) {
+                String requestLine = readLine(in);
+                if (requestLine == null) {
+                    return;
+                }
+                String path = requestLine.split(" ")[1];
+                long contentLength = 0;
+                boolean chunked = false;
+                String line;
+                while ((line = readLine(in)) != null && line.length() > 0) {
+                    int colon = line.indexOf(':');
+                    String name = line.substring(0, colon).trim();
+                    String value = line.substring(colon + 1).trim();
+                    if (name.equalsIgnoreCase("Content-Length")) {
+                        contentLength = Long.parseLong(value);
+                    } else if (name.equalsIgnoreCase("Transfer-Encoding")) {
+                        chunked = value.equalsIgnoreCase("chunked");
+                    }
+                }
+                byte[] content = chunked ? readChunked(in) : readFully(in, (int) contentLength);
+                if (drop || !respond(path, content, out)) {
+                    return;
+                }
+                drop = path.equals("/drop-next");
+            }
+        }
+
+        /**
+         * @return 连接是否保持
+         */
+        private boolean respond(String path, byte[] content, OutputStream out) throws Exception {
+            if (path.equals("/chunked")) {
+                out.write("HTTP/1.1 200 OK\r\nTransfer-Encoding: chunked\r\n\r\n".getBytes("ISO-8859-1"));
+                for (int i = 0; i < content.length; i += 3) {
+                    int n = Math.min(3, content.length - i);
+                    out.write((Integer.toHexString(n) + ";ext=1\r\n").getBytes("ISO-8859-1"));
+                    out.write(content, i, n);
+                    out.write("\r\n".getBytes("ISO-8859-1"));
+                    out.flush();
+                }
+                out.write("0\r\nX-Trailer: done\r\n\r\n".getBytes("ISO-8859-1"));
+                out.flush();
+                return true;
+            }
+            if (path.equals("/close")) {
+                out.write("HTTP/1.1 200 OK\r\nConnection: close\r\n\r\n".getBytes("ISO-8859-1"));
+                out.write(content);
+                out.flush();
+                return false;
+            }
+            if (path.equals("/idle-close")) {
+                writeLength(out, "text/plain", content);
+                Thread.sleep(50);
+                return false;
+            }
+            if (path.equals("/slow")) {
+                Thread.sleep(3000);
+                writeLength(out, "text/plain", content);
+                return true;
+            }
+            if (path.equals("/large")) {
+                out.write(("HTTP/1.1 200 OK\r\nContent-Length: " + LARGE_BODY_SIZE + "\r\n\r\n").getBytes("ISO-8859-1"));
+                byte[] block = new byte[8192];
+                for (int written = 0; written < LARGE_BODY_SIZE; written += block.length) {
+                    for (int i = 0; i < block.length; i++) {
+                        block[i] = (byte) ((written + i) % 251);
+                    }
+                    out.write(block);
+                }
+                out.flush();
+                return true;
+            }
+            if (path.startsWith("/api/")) {
+                writeLength(out, "application/json; charset=utf-8", api(new String(content, "UTF-8")).getBytes("UTF-8"));
+                return true;
+            }
+            writeLength(out, "text/plain", content);
+            return true;
+        }
+
+        private String api(String request) throws InterruptedException {
+            String id = find(ID, request);
+            String action = find(ACTION, request);
+            String orderId = find(ORDER_ID, request);
+            if ("slow".equals(orderId)) {
+                Thread.sleep(3000);
+            }
+            if ("bad".equals(orderId)) {
+                return "{\"id\":\"" + id + "\",\"result\":null,"
+                        + "\"error\":{\"code\":\"VALIDATION_FAILED\",\"message\":\"bad order\"}}";
+            }
+            String result = "eleme.order.getOrder".equals(action) ? "{\"id\":\"" + orderId + "\"}" : "1.5";
+            return "{\"id\":\"" + id + "\",\"result\":" + result + ",\"error\":null}";
+        }
+
+        private static String find(Pattern pattern, String text) {
+            Matcher matcher = pattern.matcher(text);
+            return matcher.find() ? matcher.group(1) : null;
+        }
+
+        private static void writeLength(OutputStream out, String contentType, byte[] content) throws IOException {
+            out.write(("HTTP/1.1 200 OK\r\nContent-Type: " + contentType + "\r\nContent-Length: " + content.length
+                    + "\r\n\r\n").getBytes("ISO-8859-1"));
+            out.write(content);
+            out.flush();
+        }
+
+        private static byte[] readChunked(InputStream in) throws IOException {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            while (true) {
+                String line = readLine(in);
+                int semicolon = line.indexOf(';');
+                int size = Integer.parseInt((semicolon < 0 ? line : line.substring(0, semicolon)).trim(), 16);
+                if (size == 0) {
+                    while (readLine(in).length() > 0) {
+                        // 跳过trailer
+                    }
+                    return out.toByteArray();
+                }
+                out.write(readFully(in, size));
+                readLine(in);
+            }
+        }
+
+        private static byte[] readFully(InputStream in, int length) throws IOException {
+            byte[] data = new byte[length];
+            int read = 0;
+            while (read < length) {
+                int n = in.read(data, read, length - read);
+                if (n == -1) {
+                    throw new IOException("unexpected end of request");
+                }
+                read += n;
+            }
+            return data;
+        }
+
+        private static String readLine(InputStream in) throws IOException {
+            StringBuilder line = new StringBuilder();
+            int b;
+            while ((b = in.read()) != -1) {
+                if (b == '\n') {
+                    int length = line.length();
+                    return length > 0 && line.charAt(length - 1) == '\r' ? line.substring(0, length - 1) : line.toString();
+                }
+                line.append((char) b);
+            }
+            return line.length() == 0 ? null : line.toString();
+        }
+    }
+}
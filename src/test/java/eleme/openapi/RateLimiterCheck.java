@@ -0,0 +1,176 @@
+package eleme.openapi;
+
+import eleme.openapi.sdk.api.exception.RateLimitedException;
+import eleme.openapi.sdk.api.exception.SourceTimeoutException;
+import eleme.openapi.sdk.ratelimit.RateLimiter;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RateLimiter令牌桶的自检: 突发、排队、拒绝时退回许可、应用/店铺/接口维度、截止时间和EXCEED_LIMIT后的降速与恢复,
+ * 失败时抛出IllegalStateException
+ */
+public class RateLimiterCheck {
+    private static final String APP = "app";
+
+    public static void main(String[] args) throws Exception {
+        burst();
+        queueing();
+        refundOnReject();
+        dimensions();
+        refundAcrossBuckets();
+        deadline();
+        adaptive();
+        System.out.println("RateLimiter checks passed");
+    }
+
+    private static void burst() throws Exception {
+        RateLimiter limiter = new RateLimiter();
+        limiter.setActionLimit(10, 5);
+        limiter.setMaxWaitMillis(0);
+        boolean immediate = true;
+        for (int i = 0; i < 5; i++) {
+            immediate &= limiter.reserve(APP, "a", null, 0) == 0;
+        }
+        check(immediate, "burst is sent without waiting");
+        check(rejected(limiter, "a", null), "call after the burst is rejected when maxWait is 0");
+        check(rejected(limiter, "a", null), "rejected calls do not consume tokens");
+        Thread.sleep(150);
+        check(limiter.reserve(APP, "a", null, 0) == 0, "token is refilled after one interval");
+        check(rejected(limiter, "a", null), "only one token is refilled");
+    }
+
+    private static void queueing() throws Exception {
+        RateLimiter limiter = new RateLimiter();
+        limiter.setActionLimit(20, 1);
+        limiter.setMaxWaitMillis(1000);
+        long first = limiter.reserve(APP, "a", null, 0);
+        long second = millis(limiter.reserve(APP, "a", null, 0));
+        long third = millis(limiter.reserve(APP, "a", null, 0));
+        check(first == 0, "first call is immediate");
+        check(second >= 30 && second <= 50, "second call waits one interval: " + second + "ms");
+        check(third >= 80 && third <= 100, "third call waits two intervals: " + third + "ms");
+        long begin = System.currentTimeMillis();
+        limiter.acquire(APP, "a", null);
+        long elapsed = System.currentTimeMillis() - begin;
+        check(elapsed >= 100, "acquire sleeps until its slot: " + elapsed + "ms");
+    }
+
+    private static void refundOnReject() throws Exception {
+        RateLimiter limiter = new RateLimiter();
+        limiter.setActionLimit(20, 1);
+        limiter.setMaxWaitMillis(120);
+        for (int i = 0; i < 3; i++) {
+            limiter.reserve(APP, "a", null, 0);
+        }
+        check(rejected(limiter, "a", null), "wait beyond maxWait is rejected");
+        limiter.setMaxWaitMillis(1000);
+        long wait = millis(limiter.reserve(APP, "a", null, 0));
+        check(wait >= 130 && wait <= 150, "rejected reservation is returned: next wait " + wait + "ms");
+    }
+
+    private static void dimensions() throws Exception {
+        RateLimiter limiter = new RateLimiter();
+        limiter.setShopLimit(1, 1);
+        limiter.setMaxWaitMillis(0);
+        check(limiter.reserve(APP, "a", 1L, 0) == 0, "first call of shop 1");
+        check(rejected(limiter, "b", 1L), "shop limit spans actions");
+        check(limiter.reserve(APP, "a", 2L, 0) == 0, "shops are limited separately");
+        check(limiter.reserve(APP, "a", null, 0) == 0 && limiter.reserve(APP, "a", null, 0) == 0,
+                "calls without shopId are not shop limited");
+
+        RateLimiter actions = new RateLimiter();
+        actions.setActionLimit(1, 1);
+        actions.setActionLimit("fast", 100, 10);
+        actions.setMaxWaitMillis(0);
+        actions.reserve(APP, "slow", null, 0);
+        check(rejected(actions, "slow", null), "default action limit");
+        boolean fast = true;
+        for (int i = 0; i < 10; i++) {
+            fast &= actions.reserve(APP, "fast", null, 0) == 0;
+        }
+        check(fast, "per-action limit overrides the default");
+        check(actions.reserve("other", "slow", null, 0) == 0, "apps are limited separately");
+    }
+
+    /**
+     * 某个维度拒绝时, 其他维度已预占的许可一并退回
+     */
+    private static void refundAcrossBuckets() throws Exception {
+        RateLimiter limiter = new RateLimiter();
+        limiter.setAppLimit(1, 3);
+        limiter.setActionLimit("a", 1, 1);
+        limiter.setMaxWaitMillis(0);
+        limiter.reserve(APP, "a", null, 0);
+        for (int i = 0; i < 5; i++) {
+            check(rejected(limiter, "a", null), "action limit rejects " + (i + 1));
+        }
+        check(limiter.reserve(APP, "b", null, 0) == 0 && limiter.reserve(APP, "b", null, 0) == 0,
+                "app tokens are returned when the action bucket rejects");
+        check(rejected(limiter, "b", null), "app burst is then used up");
+    }
+
+    private static void deadline() throws Exception {
+        RateLimiter limiter = new RateLimiter();
+        limiter.setActionLimit(1, 1);
+        try {
+            limiter.reserve(APP, "a", null, System.currentTimeMillis() - 1);
+            check(false, "expired deadline");
+        } catch (SourceTimeoutException e) {
+            check(limiter.getCurrentActionRate(APP, "a") == -1, "expired deadline is a timeout and touches no bucket");
+        }
+        check(limiter.reserve(APP, "a", null, 0) == 0, "token is still available after the timeout");
+        try {
+            limiter.reserve(APP, "a", null, System.currentTimeMillis() + 100);
+            check(false, "wait beyond the deadline");
+        } catch (RateLimitedException e) {
+            check(true, "wait beyond a pending deadline is throttling");
+        }
+    }
+
+    private static void adaptive() throws Exception {
+        RateLimiter limiter = new RateLimiter();
+        limiter.setActionLimit(100, 10);
+        limiter.setDecreaseFactor(0.5, 0.2);
+        limiter.setRecovery(50, 0.5);
+        check(limiter.getCurrentActionRate(APP, "a") == -1, "no rate before the first call");
+        limiter.reserve(APP, "a", null, 0);
+        limiter.onExceedLimit(APP, "a", null);
+        check(limiter.getCurrentActionRate(APP, "a") == 50, "EXCEED_LIMIT halves the rate");
+        limiter.onExceedLimit(APP, "a", null);
+        limiter.onExceedLimit(APP, "a", null);
+        check(limiter.getCurrentActionRate(APP, "a") == 20, "rate does not drop below minRateRatio");
+        limiter.reserve(APP, "a", null, 0);
+        check(limiter.getCurrentActionRate(APP, "a") == 20, "no recovery before recoveryMillis");
+        Thread.sleep(70);
+        limiter.reserve(APP, "a", null, 0);
+        check(limiter.getCurrentActionRate(APP, "a") == 70, "rate recovers by step after recoveryMillis");
+        Thread.sleep(70);
+        limiter.reserve(APP, "a", null, 0);
+        check(limiter.getCurrentActionRate(APP, "a") == 100, "rate recovers up to the configured rate");
+
+        limiter.setAdaptive(false);
+        limiter.onExceedLimit(APP, "a", null);
+        check(limiter.getCurrentActionRate(APP, "a") == 100, "non-adaptive limiter ignores EXCEED_LIMIT");
+    }
+
+    private static boolean rejected(RateLimiter limiter, String action, Object shopId) throws SourceTimeoutException {
+        try {
+            limiter.reserve(APP, action, shopId, 0);
+            return false;
+        } catch (RateLimitedException e) {
+            return true;
+        }
+    }
+
+    private static long millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalStateException("check failed: " + message);
+        }
+        System.out.println("ok: " + message);
+    }
+}
@@ -0,0 +1,99 @@
+package eleme.openapi;
+
+import eleme.openapi.sdk.retry.RetryBudget;
+import eleme.openapi.sdk.retry.RetryPolicy;
+
+/**
+ * RetryPolicy的自检: 幂等接口识别、最大次数、指数退避上限、重试预算的存取和截止时间, 失败时抛出IllegalStateException
+ */
+public class RetryPolicyCheck {
+
+    public static void main(String[] args) throws Exception {
+        idempotency();
+        maxAttempts();
+        backoff();
+        budget();
+        deadline();
+        System.out.println("RetryPolicy checks passed");
+    }
+
+    private static void idempotency() {
+        RetryPolicy policy = new RetryPolicy();
+        check(policy.isIdempotent("eleme.order.getOrder"), "get is idempotent");
+        check(policy.isIdempotent("eleme.order.mgetOrders"), "mget is idempotent");
+        check(policy.isIdempotent("eleme.product.item.batchGetItems"), "batchGet is idempotent");
+        check(policy.isIdempotent("eleme.order.queryOrders"), "query is idempotent");
+        check(!policy.isIdempotent("eleme.order.confirmOrderLite"), "confirm is not idempotent");
+        check(!policy.isIdempotent("eleme.getter.confirmOrder"), "only the method name is matched");
+        policy.addIdempotentAction("eleme.order.confirmOrderLite");
+        check(policy.isIdempotent("eleme.order.confirmOrderLite"), "action marked idempotent");
+        policy.addNonIdempotentAction("eleme.order.confirmOrderLite");
+        check(!policy.isIdempotent("eleme.order.confirmOrderLite"), "later marking wins");
+        policy.addNonIdempotentAction("eleme.order.getOrder");
+        check(!policy.isIdempotent("eleme.order.getOrder"), "prefix rule can be overridden");
+    }
+
+    private static void maxAttempts() {
+        RetryPolicy policy = new RetryPolicy();
+        policy.setBudget(new RetryBudget(0, 100));
+        policy.setMaxAttempts(3);
+        check(policy.retryDelay(1, 0) >= 0 && policy.retryDelay(2, 0) >= 0, "retries below maxAttempts");
+        long available = policy.getBudget().getAvailable();
+        check(policy.retryDelay(3, 0) == -1, "no retry after maxAttempts");
+        check(policy.getBudget().getAvailable() == available, "refused retry does not use the budget");
+    }
+
+    private static void backoff() {
+        RetryPolicy policy = new RetryPolicy();
+        policy.setBudget(new RetryBudget(0, 10000));
+        policy.setMaxAttempts(100);
+        policy.setBackoff(100, 300);
+        long[] max = new long[5];
+        for (int i = 0; i < 500; i++) {
+            for (int attempt = 1; attempt < max.length; attempt++) {
+                max[attempt] = Math.max(max[attempt], policy.retryDelay(attempt, 0));
+            }
+        }
+        check(max[1] < 100 && max[1] > 50, "first backoff is below baseDelay: " + max[1]);
+        check(max[2] < 200 && max[2] > 100, "second backoff doubles: " + max[2]);
+        check(max[3] < 300 && max[3] > 200, "backoff is capped at maxDelay: " + max[3]);
+        check(max[4] < 300, "backoff stays capped: " + max[4]);
+        check(policy.retryDelay(64, 0) < 300, "large attempt does not overflow");
+    }
+
+    private static void budget() {
+        RetryPolicy policy = new RetryPolicy();
+        policy.setMaxAttempts(10);
+        policy.setBudget(new RetryBudget(0.5, 2));
+        check(policy.getBudget().getAvailable() == 2, "budget starts full");
+        check(policy.retryDelay(1, 0) >= 0 && policy.retryDelay(1, 0) >= 0, "retries within budget");
+        check(policy.retryDelay(1, 0) == -1, "retry refused when budget is exhausted");
+        policy.onCall();
+        check(policy.retryDelay(1, 0) == -1, "half a retry is not enough");
+        policy.onCall();
+        check(policy.retryDelay(1, 0) >= 0, "two calls at ratio 0.5 earn one retry");
+        for (int i = 0; i < 100; i++) {
+            policy.onCall();
+        }
+        check(policy.getBudget().getAvailable() == 2, "budget is capped at reserve");
+    }
+
+    private static void deadline() {
+        RetryPolicy policy = new RetryPolicy();
+        policy.setBudget(new RetryBudget(0, 10));
+        policy.setBackoff(100, 100);
+        check(policy.retryDelay(1, System.currentTimeMillis() - 1) == -1, "no retry after the deadline");
+        check(policy.getBudget().getAvailable() == 10, "deadline refusal does not use the budget");
+        check(policy.retryDelay(1, System.currentTimeMillis() + 10000) >= 0, "retry well before the deadline");
+        long begin = System.currentTimeMillis();
+        boolean retried = policy.awaitRetry(1, begin + 10000);
+        check(retried && System.currentTimeMillis() - begin < 100 + 50, "awaitRetry waits at most the backoff");
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalStateException("check failed: " + message);
+        }
+        System.out.println("ok: " + message);
+    }
+}
@@ -0,0 +1,170 @@
+package eleme.openapi;
+
+import eleme.openapi.sdk.api.enumeration.order.OInvalidateType;
+import eleme.openapi.sdk.utils.JacksonUtils;
+import eleme.openapi.sdk.utils.RequestEncoder;
+import eleme.openapi.sdk.utils.SignatureUtil;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.security.MessageDigest;
+import java.util.*;
+
+/**
+ * 对比原签名实现(TreeMap + 逐个obj2json + String.format + 每次获取MessageDigest)与SignatureUtil的耗时和内存分配,
+ * 以及原请求报文(签名后再整体序列化requestPayload)与RequestEncoder的耗时和内存分配
+ */
+public class SignatureBenchmark {
+    private static final int WARMUP = 50000;
+    private static final int ITERATIONS = 500000;
+
+    public static void main(String[] args) throws IOException {
+        List<Map<String, Object>> samples = samples();
+        for (Map<String, Object> params : samples) {
+            String expected = legacySignature("app key", "app secret", 1506507130645L, "eleme.order.getOrder", "token", params);
+            String actual = SignatureUtil.generateSignature("app key", "app secret", 1506507130645L, "eleme.order.getOrder", "token", params);
+            if (!expected.equals(actual)) {
+                throw new IllegalStateException("签名不一致: " + params);
+            }
+        }
+        System.out.println("签名结果一致, 样本数: " + samples.size());
+        for (Map<String, Object> params : samples) {
+            String expected = legacyRequest(params);
+            byte[] actual = RequestEncoder.encode("app key", "app secret", 1506507130645L, "eleme.order.getOrder", "token", "REQUEST_ID", params);
+            if (!JacksonUtils.getInstance().readTree(expected).equals(JacksonUtils.getInstance().readTree(actual))) {
+                throw new IllegalStateException("请求报文不一致: " + expected + " / " + new String(actual, "UTF-8"));
+            }
+        }
+        System.out.println("请求报文一致, 样本数: " + samples.size());
+
+        final Map<String, Object> params = samples.get(samples.size() - 1);
+        Runnable legacy = new Runnable() {
+            public void run() {
+                legacySignature("app key", "app secret", 1506507130645L, "eleme.order.getOrder", "token", params);
+            }
+        };
+        Runnable current = new Runnable() {
+            public void run() {
+                SignatureUtil.generateSignature("app key", "app secret", 1506507130645L, "eleme.order.getOrder", "token", params);
+            }
+        };
+        Runnable legacyRequest = new Runnable() {
+            public void run() {
+                try {
+                    legacyRequest(params).getBytes("UTF-8");
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        };
+        Runnable encoder = new Runnable() {
+            public void run() {
+                RequestEncoder.encode("app key", "app secret", 1506507130645L, "eleme.order.getOrder", "token", "REQUEST_ID", params);
+            }
+        };
+        for (int round = 0; round < 3; round++) {
+            System.out.println("round " + round);
+            System.out.println("  legacy signature : " + measure(legacy));
+            System.out.println("  SignatureUtil    : " + measure(current));
+            System.out.println("  legacy request   : " + measure(legacyRequest));
+            System.out.println("  RequestEncoder   : " + measure(encoder));
+        }
+    }
+
+    private static List<Map<String, Object>> samples() {
+        List<Map<String, Object>> samples = new ArrayList<Map<String, Object>>();
+        samples.add(new HashMap<String, Object>());
+
+        Map<String, Object> simple = new HashMap<String, Object>();
+        simple.put("orderId", "1200897812792016668");
+        samples.add(simple);
+
+        Map<String, Object> mixed = new HashMap<String, Object>();
+        mixed.put("shopId", 150128203L);
+        mixed.put("remark", "顾客要求取消 \"加急\"\n\t\u0001");
+        mixed.put("type", OInvalidateType.others);
+        mixed.put("enable", true);
+        mixed.put("price", 20.09);
+        mixed.put("nothing", null);
+        mixed.put("timestamp", 1L);
+        samples.add(mixed);
+
+        Map<String, Object> batch = new HashMap<String, Object>();
+        List<String> mobiles = new ArrayList<String>();
+        for (int i = 0; i < 200; i++) {
+            mobiles.add("185" + (12177992 + i));
+        }
+        Map<Long, Integer> stocks = new HashMap<Long, Integer>();
+        for (long i = 0; i < 50; i++) {
+            stocks.put(238364002730L + i, (int) i);
+        }
+        batch.put("shopId", 150128203L);
+        batch.put("couponActivityId", 1000L);
+        batch.put("mobiles", mobiles);
+        batch.put("stockMap", stocks);
+        samples.add(batch);
+        return samples;
+    }
+
+    private static String measure(Runnable task) {
+        for (int i = 0; i < WARMUP; i++) {
+            task.run();
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long allocated = threads.getThreadAllocatedBytes(threadId);
+        long begin = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            task.run();
+        }
+        long nanos = (System.nanoTime() - begin) / ITERATIONS;
+        long bytes = (threads.getThreadAllocatedBytes(threadId) - allocated) / ITERATIONS;
+        return nanos + " ns/op, " + bytes + " B/op";
+    }
+
+    /**
+     * 1.11.21版本的请求报文: 先签名, 再整体序列化requestPayload
+     */
+    private static String legacyRequest(Map<String, Object> parameters) {
+        Map<String, Object> requestPayload = new HashMap<String, Object>();
+        requestPayload.put("nop", "1.0.0");
+        requestPayload.put("id", "REQUEST_ID");
+        requestPayload.put("action", "eleme.order.getOrder");
+        requestPayload.put("token", "token");
+        Map<String, Object> metas = new HashMap<String, Object>();
+        metas.put("app_key", "app key");
+        metas.put("timestamp", 1506507130645L);
+        requestPayload.put("metas", metas);
+        requestPayload.put("params", parameters);
+        requestPayload.put("signature", legacySignature("app key", "app secret", 1506507130645L, "eleme.order.getOrder", "token", parameters));
+        return JacksonUtils.obj2json(requestPayload);
+    }
+
+    /**
+     * 1.11.21版本的签名实现
+     */
+    private static String legacySignature(String appKey, String secret, long timestamp, String action, String token, Map<String, Object> parameters) {
+        final Map<String, Object> sorted = new TreeMap<String, Object>();
+        for (Map.Entry<String, Object> entry : parameters.entrySet()) {
+            sorted.put(entry.getKey(), entry.getValue());
+        }
+        sorted.put("app_key", appKey);
+        sorted.put("timestamp", timestamp);
+        StringBuffer string = new StringBuffer();
+        for (Map.Entry<String, Object> entry : sorted.entrySet()) {
+            string.append(entry.getKey()).append("=").append(JacksonUtils.obj2json(entry.getValue()));
+        }
+        String splice = String.format("%s%s%s%s", action, token, string, secret);
+        MessageDigest md = null;
+        try {
+            md = MessageDigest.getInstance("MD5");
+            md.update(splice.getBytes("UTF-8"));
+        } catch (Exception e) {
+        }
+        byte byteData[] = md.digest();
+        StringBuilder buffer = new StringBuilder();
+        for (int i = 0; i < byteData.length; i++)
+            buffer.append(Integer.toString((byteData[i] & 0xff) + 0x100, 16).substring(1));
+        return buffer.toString().toUpperCase();
+    }
+}